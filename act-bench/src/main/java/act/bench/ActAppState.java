@@ -0,0 +1,74 @@
+package act.bench;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.Act;
+import act.bench.app.BenchApp;
+import act.bench.app.HotPathProbes;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * Boots the {@link BenchApp} once per benchmark fork and exposes
+ * the hot path probes published by {@link HotPathProbes}.
+ */
+@State(Scope.Benchmark)
+public class ActAppState {
+
+    private static final long BOOT_TIMEOUT = 60 * 1000;
+
+    private Map<String, Callable<Object>> probes;
+
+    @Setup
+    public void boot() throws Exception {
+        Object o = System.getProperties().get(HotPathProbes.KEY);
+        if (null == o) {
+            Act.start("act-bench", BenchApp.class);
+            long deadline = System.currentTimeMillis() + BOOT_TIMEOUT;
+            while (null == o) {
+                if (System.currentTimeMillis() > deadline) {
+                    throw new IllegalStateException("act-bench app not started in " + BOOT_TIMEOUT + "ms");
+                }
+                Thread.sleep(100);
+                o = System.getProperties().get(HotPathProbes.KEY);
+            }
+        }
+        probes = cast(o);
+    }
+
+    Callable<Object> probe(String name) {
+        Callable<Object> probe = probes.get(name);
+        if (null == probe) {
+            throw new IllegalArgumentException("probe not found: " + name);
+        }
+        return probe;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Callable<Object>> cast(Object o) {
+        return (Map<String, Callable<Object>>) o;
+    }
+
+}
@@ -0,0 +1,80 @@
+package act.bench;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.bench.app.HotPathProbes;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks `EventBus.emit` with synchronous listeners on 1, 8 and 32
+ * concurrent emitter threads.
+ *
+ * The `registry` case binds a once listener and emits the event consuming
+ * it, then binds a system event listener and emits a system event on each
+ * call, which contends on the listener registry and the system event lock.
+ *
+ * Compare the result file with one produced by a previous release to
+ * see how emit throughput scales with contention.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class EventBusBench {
+
+    @Param({"adhoc", "act", "registry"})
+    public String event;
+
+    private Callable<Object> emit;
+
+    @Setup
+    public void setup(ActAppState app) {
+        if ("registry".equals(event)) {
+            emit = app.probe(HotPathProbes.EVENT_REGISTRY);
+        } else {
+            emit = app.probe("act".equals(event) ? HotPathProbes.EVENT_EMIT_ACT : HotPathProbes.EVENT_EMIT_ADHOC);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Object emit1() throws Exception {
+        return emit.call();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Object emit8() throws Exception {
+        return emit.call();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public Object emit32() throws Exception {
+        return emit.call();
+    }
+
+}
@@ -0,0 +1,68 @@
+package act.bench;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.crypto.HMAC;
+import act.session.JWT;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks `JWT.serialize` and `JWT.deserialize`.
+ *
+ * JWT does not depend on a running app, thus it is benchmarked directly.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class JwtBench {
+
+    private static final String ISSUER = "act-bench";
+
+    private JWT jwt;
+    private JWT.Token token;
+    private String encoded;
+
+    @Setup
+    public void setup() {
+        jwt = new JWT(new HMAC("QnG1aQ9rWb2JmVxk0Tz7YcE4uLh8sDf3", HMAC.Algorithm.SHA256), ISSUER);
+        token = new JWT.Token(ISSUER);
+        token.payload("username", "tom@bench.act");
+        token.payload(JWT.Payload.EXPIRES_AT, (int) ((System.currentTimeMillis() + 1000 * 60 * 30) / 1000));
+        token.payload(JWT.Payload.JWT_ID, "bench-token");
+        encoded = jwt.serialize(token);
+    }
+
+    @Benchmark
+    public String serialize() {
+        return jwt.serialize(token);
+    }
+
+    @Benchmark
+    public JWT.Token deserialize() {
+        return jwt.deserialize(encoded);
+    }
+
+}
@@ -0,0 +1,61 @@
+package act.bench;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.bench.app.HotPathProbes;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks POJO parameter binding with the generated binder and with reflection.
+ *
+ * The `flat` shape binds a bean with six scalar fields, the `nested` shape binds
+ * a bean with three scalar fields and a nested bean with three fields.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class PojoParamBindingBench {
+
+    @Param({HotPathProbes.SHAPE_FLAT, HotPathProbes.SHAPE_NESTED})
+    public String shape;
+
+    @Param({HotPathProbes.BINDER_GENERATED, HotPathProbes.BINDER_REFLECTIVE})
+    public String binder;
+
+    private Callable<Object> probe;
+
+    @Setup
+    public void setup(ActAppState app) {
+        probe = app.probe(HotPathProbes.PARAM_BINDING_POJO + "." + shape + "." + binder);
+    }
+
+    @Benchmark
+    public Object loadMethodParams() throws Exception {
+        return probe.call();
+    }
+
+}
@@ -0,0 +1,63 @@
+package act.bench;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.bench.app.HotPathProbes;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks rendering a list of 10k beans filtered by a `PropertySpec`, with the
+ * spec compiled into the serializers and with the spec evaluated as a property filter.
+ *
+ * The `include` spec outputs `id,name,address.city`, the `exclude` spec outputs all
+ * properties but `email` and `address.postcode`.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class PropertySpecBench {
+
+    @Param({HotPathProbes.SPEC_INCLUDE, HotPathProbes.SPEC_EXCLUDE})
+    public String spec;
+
+    @Param({HotPathProbes.FILTER_COMPILED, HotPathProbes.FILTER_DYNAMIC})
+    public String filter;
+
+    private Callable<Object> probe;
+
+    @Setup
+    public void setup(ActAppState app) throws Exception {
+        app.probe(HotPathProbes.RENDER_JSON_PROPERTY_SPEC_MODE + "." + filter).call();
+        probe = app.probe(HotPathProbes.RENDER_JSON_PROPERTY_SPEC + "." + spec);
+    }
+
+    @Benchmark
+    public Object renderFilteredJson() throws Exception {
+        return probe.call();
+    }
+
+}
@@ -0,0 +1,56 @@
+package act.bench;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.bench.app.HotPathProbes;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks `Router.getInvoker` on both the legacy and the compiled routing engine.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class RouterBench {
+
+    @Param({HotPathProbes.ENGINE_LEGACY, HotPathProbes.ENGINE_COMPILED})
+    public String engine;
+
+    private Callable<Object> probe;
+
+    @Setup
+    public void setup(ActAppState app) throws Exception {
+        app.probe(HotPathProbes.ROUTER_MODE + "." + engine).call();
+        probe = app.probe(HotPathProbes.ROUTER);
+    }
+
+    @Benchmark
+    public Object getInvoker() throws Exception {
+        return probe.call();
+    }
+
+}
@@ -0,0 +1,120 @@
+package act.bench;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.app.AppThreadFactory;
+import act.job.TimingWheel;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks scheduling and cancelling a delayed task while a large number
+ * of tasks are pending, comparing {@link TimingWheel}, which backs
+ * `JobManager`, with `ScheduledThreadPoolExecutor`:
+ *
+ * * `wheel` - {@link TimingWheel} with 10ms tick and 512 buckets per level
+ * * `stpe` - `ScheduledThreadPoolExecutor` with remove on cancel policy
+ *
+ * The heap used per pending task is printed at setup.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class SchedulerBench {
+
+    private static final Runnable NOOP = new Runnable() {
+        @Override
+        public void run() {
+        }
+    };
+
+    @Param({"wheel", "stpe"})
+    public String scheduler;
+
+    @Param({"1000000"})
+    public int pendingTasks;
+
+    private TimingWheel wheel;
+    private ScheduledThreadPoolExecutor executor;
+
+    @Setup
+    public void setup() {
+        long before = usedHeap();
+        if ("wheel".equals(scheduler)) {
+            wheel = new TimingWheel(10, TimeUnit.MILLISECONDS, 512, new AppThreadFactory("bench-wheel", true));
+        } else {
+            executor = new ScheduledThreadPoolExecutor(1, new AppThreadFactory("bench-stpe", true));
+            executor.setRemoveOnCancelPolicy(true);
+        }
+        // tasks due in one to two hours, thus none of them is run during the benchmark
+        for (int i = 0; i < pendingTasks; ++i) {
+            schedule(3600 + i % 3600);
+        }
+        long used = usedHeap() - before;
+        System.out.printf("%n%s scheduler: %d pending tasks, %d bytes per task%n", scheduler, pendingTasks, used / pendingTasks);
+    }
+
+    @TearDown
+    public void teardown() {
+        if (null != wheel) {
+            wheel.destroy();
+        } else {
+            executor.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean scheduleAndCancel1() {
+        return scheduleAndCancel();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean scheduleAndCancel8() {
+        return scheduleAndCancel();
+    }
+
+    private boolean scheduleAndCancel() {
+        Object task = schedule(ThreadLocalRandom.current().nextInt(60, 7200));
+        return task instanceof TimingWheel.Timeout ? ((TimingWheel.Timeout) task).cancel() : ((ScheduledFuture) task).cancel(false);
+    }
+
+    private Object schedule(long delaySeconds) {
+        return null != wheel ? wheel.schedule(NOOP, delaySeconds, TimeUnit.SECONDS) : executor.schedule(NOOP, delaySeconds, TimeUnit.SECONDS);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; ++i) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+}
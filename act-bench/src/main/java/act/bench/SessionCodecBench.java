@@ -0,0 +1,70 @@
+package act.bench;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.bench.app.HotPathProbes;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks encode and decode of the built-in session codecs:
+ *
+ * * `default` - {@link act.session.DefaultSessionCodec}
+ * * `jwt` - {@link act.session.JsonWebTokenSessionCodec}
+ * * `binary` - {@link act.session.BinarySessionCodec}
+ *
+ * The encoded session size of each codec is printed at setup.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SessionCodecBench {
+
+    @Param({HotPathProbes.CODEC_DEFAULT, HotPathProbes.CODEC_JWT, HotPathProbes.CODEC_BINARY})
+    public String codec;
+
+    private Callable<Object> encode;
+    private Callable<Object> decode;
+
+    @Setup
+    public void setup(ActAppState app) throws Exception {
+        encode = app.probe(HotPathProbes.SESSION_ENCODE + "." + codec);
+        decode = app.probe(HotPathProbes.SESSION_DECODE + "." + codec);
+        Object encoded = encode.call();
+        System.out.printf("%n%s session codec: encoded session size %d chars%n", codec, String.valueOf(encoded).length());
+    }
+
+    @Benchmark
+    public Object encodeSession() throws Exception {
+        return encode.call();
+    }
+
+    @Benchmark
+    public Object decodeSession() throws Exception {
+        return decode.call();
+    }
+
+}
@@ -0,0 +1,101 @@
+package act.bench;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.data.UrlEncodedParams;
+import org.openjdk.jmh.annotations.*;
+import org.osgl.util.Codec;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks parsing `application/x-www-form-urlencoded` bodies of 1KB,
+ * 100KB and 1MB with {@link UrlEncodedParams}:
+ *
+ * * `bindFew` - parse and look up the three params an action binds
+ * * `bindAll` - parse and look up every param
+ * * `splitAndDecode` - the previous `String.split` and `Codec.decodeUrl`
+ *   implementation of `UrlEncodedParser`, as the baseline
+ *
+ * The parser does not depend on a running app, thus it is benchmarked directly.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class UrlEncodedParserBench {
+
+    private static final Charset UTF_8 = StandardCharsets.UTF_8;
+
+    @Param({"1024", "102400", "1048576"})
+    public int size;
+
+    private byte[] body;
+
+    @Setup
+    public void setup() {
+        StringBuilder sb = new StringBuilder(size + 64);
+        for (int i = 0; sb.length() < size; ++i) {
+            if (i > 0) {
+                sb.append('&');
+            }
+            sb.append("field").append(i).append("=value+").append(i).append("+%E4%B8%AD%E6%96%87%21");
+        }
+        body = sb.toString().getBytes(UTF_8);
+    }
+
+    @Benchmark
+    public Object bindFew() {
+        Map<String, String[]> params = UrlEncodedParams.parse(body, body.length, UTF_8, 0, true);
+        return new Object[]{params.get("field0"), params.get("field1"), params.get("field2")};
+    }
+
+    @Benchmark
+    public int bindAll() {
+        Map<String, String[]> params = UrlEncodedParams.parse(body, body.length, UTF_8, 0, true);
+        int n = 0;
+        for (Map.Entry<String, String[]> entry : params.entrySet()) {
+            n += entry.getValue().length;
+        }
+        return n;
+    }
+
+    @Benchmark
+    public Map<String, String[]> splitAndDecode() {
+        String data = new String(body, UTF_8);
+        Map<String, String[]> params = new LinkedHashMap<>();
+        for (String keyValue : data.split("&")) {
+            int i = keyValue.indexOf('=');
+            String key = i > 0 ? keyValue.substring(0, i) : keyValue;
+            String value = i > 0 ? keyValue.substring(i + 1) : null;
+            params.put(Codec.decodeUrl(key, UTF_8), new String[]{null == value ? null : Codec.decodeUrl(value, UTF_8)});
+        }
+        params.put("_body", new String[]{data});
+        return params;
+    }
+
+}
@@ -0,0 +1,120 @@
+package act.bench.app;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.Act;
+import org.osgl.mvc.annotation.GetAction;
+import org.osgl.mvc.annotation.PostAction;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The application under benchmark.
+ *
+ * It provides a small set of action handlers that exercise
+ * routing, parameter binding and JSON rendering.
+ */
+@SuppressWarnings("unused")
+public class BenchApp {
+
+    public static class User {
+        public int id;
+        public String name;
+        public String email;
+        public Address address;
+
+        public User() {}
+
+        public User(int id, String name) {
+            this.id = id;
+            this.name = name;
+            this.email = name + "@bench.act";
+            this.address = new Address("1 Bench St", "Sydney", "2000");
+        }
+    }
+
+    public static class Address {
+        public String street;
+        public String city;
+        public String postcode;
+
+        public Address() {}
+
+        public Address(String street, String city, String postcode) {
+            this.street = street;
+            this.city = city;
+            this.postcode = postcode;
+        }
+    }
+
+    public static class Profile {
+        public int id;
+        public String name;
+        public String email;
+        public int age;
+        public boolean active;
+        public double score;
+    }
+
+    static final List<User> USERS = new ArrayList<>();
+
+    static final List<User> LARGE_USERS = new ArrayList<>();
+
+    static {
+        for (int i = 0; i < 100; ++i) {
+            USERS.add(new User(i, "user" + i));
+        }
+        for (int i = 0; i < 10000; ++i) {
+            LARGE_USERS.add(new User(i, "user" + i));
+        }
+    }
+
+    @GetAction("/bench/hello")
+    public String hello() {
+        return "hello";
+    }
+
+    @GetAction("/bench/users/{id}")
+    public User user(int id, String name) {
+        return new User(id, null == name ? "user" + id : name);
+    }
+
+    @PostAction("/bench/users")
+    public User create(User user) {
+        return user;
+    }
+
+    @PostAction("/bench/profiles")
+    public Profile profile(Profile profile) {
+        return profile;
+    }
+
+    @GetAction("/bench/users")
+    public List<User> users() {
+        return USERS;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Act.start("act-bench", BenchApp.class);
+    }
+
+}
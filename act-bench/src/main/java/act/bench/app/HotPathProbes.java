@@ -0,0 +1,478 @@
+package act.bench.app;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.osgl.http.H.Method.GET;
+import static org.osgl.http.H.Method.POST;
+
+import act.MockResponse;
+import act.app.ActionContext;
+import act.app.App;
+import act.app.event.SysEvent;
+import act.app.event.SysEventId;
+import act.conf.AppConfig;
+import act.data.DataPropertyRepository;
+import act.event.ActEvent;
+import act.event.ActEventListenerBase;
+import act.event.EventBus;
+import act.event.OnceEventListenerBase;
+import act.event.SimpleEventListener;
+import act.event.SysEventListenerBase;
+import act.handler.RequestHandler;
+import act.handler.RequestHandlerBase;
+import act.handler.builtin.controller.ControllerAction;
+import act.handler.builtin.controller.RequestHandlerProxy;
+import act.inject.param.ParamValueLoaderManager;
+import act.inject.param.ParamValueLoaderService;
+import act.job.OnSysEvent;
+import act.route.MockRequest;
+import act.route.Router;
+import act.session.BinarySessionCodec;
+import act.session.DefaultSessionCodec;
+import act.session.JsonWebTokenSessionCodec;
+import act.session.SessionCodec;
+import act.util.PropertySpec;
+import act.view.FilteredRenderJSON;
+import act.xio.NetworkDispatcher;
+import act.xio.NetworkHandler;
+import act.xio.NetworkJob;
+import org.osgl.http.H;
+import org.osgl.mvc.result.RenderJSON;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes hot path operations of the running app as {@link Callable}s.
+ *
+ * The app is loaded by the Act bootstrap class loader, thus JMH benchmark
+ * classes cannot call into it directly. Instead the probes are put into
+ * the system properties with key {@link #KEY}, where both sides agree on
+ * JDK types only.
+ */
+@SuppressWarnings("unused")
+public class HotPathProbes {
+
+    public static final String KEY = "act.bench.probes";
+
+    /**
+     * The router probe is published with key `router`. The probe with key
+     * `router.mode.<engine>` switches the routing engine and shall be called
+     * once in the benchmark setup
+     */
+    public static final String ROUTER = "router";
+    public static final String ROUTER_MODE = "router.mode";
+    public static final String ENGINE_LEGACY = "legacy";
+    public static final String ENGINE_COMPILED = "compiled";
+    public static final String PARAM_BINDING = "param.binding";
+
+    /**
+     * POJO param binding probes are published with key
+     * `param.binding.pojo.<shape>.<binder>`
+     */
+    public static final String PARAM_BINDING_POJO = "param.binding.pojo";
+    public static final String SHAPE_FLAT = "flat";
+    public static final String SHAPE_NESTED = "nested";
+    public static final String BINDER_GENERATED = "generated";
+    public static final String BINDER_REFLECTIVE = "reflective";
+    public static final String HANDLER_INVOKER = "handler.invoker";
+    public static final String SESSION_ENCODE = "session.encode";
+    public static final String SESSION_DECODE = "session.decode";
+
+    /**
+     * Session codecs under benchmark. Session probes are published with
+     * key `session.encode.<codec>` and `session.decode.<codec>`
+     */
+    public static final String CODEC_DEFAULT = "default";
+    public static final String CODEC_JWT = "jwt";
+    public static final String CODEC_BINARY = "binary";
+    public static final String RENDER_JSON = "render.json";
+
+    /**
+     * PropertySpec probes are published with key `render.json.property_spec.<spec>`.
+     * The probe with key `render.json.property_spec.mode.<filter>` switches between
+     * compiled and dynamic filters and shall be called once in the benchmark setup
+     */
+    public static final String RENDER_JSON_PROPERTY_SPEC = "render.json.property_spec";
+    public static final String RENDER_JSON_PROPERTY_SPEC_MODE = "render.json.property_spec.mode";
+    public static final String SPEC_INCLUDE = "include";
+    public static final String SPEC_EXCLUDE = "exclude";
+    public static final String FILTER_COMPILED = "compiled";
+    public static final String FILTER_DYNAMIC = "dynamic";
+    public static final String NETWORK_HANDLER = "network.handler";
+    public static final String EVENT_EMIT_ADHOC = "event.emit.adhoc";
+    public static final String EVENT_EMIT_ACT = "event.emit.act";
+
+    /**
+     * Binds a once listener and emits the event consuming it, binds a
+     * system event listener and emits a system event, i.e. the registry
+     * operations that were serialized on the event bus
+     */
+    public static final String EVENT_REGISTRY = "event.registry";
+
+    private static final String BENCH_EVENT = "bench-event";
+
+    public static class BenchEvent extends ActEvent<String> {
+        public BenchEvent(String source) {
+            super(source);
+        }
+    }
+
+    public static class OnceBenchEvent extends ActEvent<String> {
+        public OnceBenchEvent(String source) {
+            super(source);
+        }
+    }
+
+    private static final String USER_URL = "/bench/users/123";
+
+    private App app;
+    private AppConfig config;
+
+    @OnSysEvent(SysEventId.POST_START)
+    public void publish(App app) throws Exception {
+        this.app = app;
+        this.config = app.config();
+        Map<String, Callable<Object>> probes = new HashMap<>();
+        probes.put(ROUTER_MODE + "." + ENGINE_LEGACY, routerModeProbe(false));
+        probes.put(ROUTER_MODE + "." + ENGINE_COMPILED, routerModeProbe(true));
+        probes.put(ROUTER, routerProbe());
+        probes.put(PARAM_BINDING, paramBindingProbe());
+        for (boolean generated : new boolean[]{true, false}) {
+            String binder = generated ? BINDER_GENERATED : BINDER_REFLECTIVE;
+            probes.put(PARAM_BINDING_POJO + "." + SHAPE_FLAT + "." + binder, pojoParamBindingProbe(SHAPE_FLAT, generated));
+            probes.put(PARAM_BINDING_POJO + "." + SHAPE_NESTED + "." + binder, pojoParamBindingProbe(SHAPE_NESTED, generated));
+        }
+        probes.put(HANDLER_INVOKER, handlerInvokerProbe());
+        Map<String, Class<? extends SessionCodec>> codecs = new HashMap<>();
+        codecs.put(CODEC_DEFAULT, DefaultSessionCodec.class);
+        codecs.put(CODEC_JWT, JsonWebTokenSessionCodec.class);
+        codecs.put(CODEC_BINARY, BinarySessionCodec.class);
+        for (Map.Entry<String, Class<? extends SessionCodec>> entry : codecs.entrySet()) {
+            SessionCodec codec = app.getInstance(entry.getValue());
+            probes.put(SESSION_ENCODE + "." + entry.getKey(), sessionEncodeProbe(codec));
+            probes.put(SESSION_DECODE + "." + entry.getKey(), sessionDecodeProbe(codec));
+        }
+        probes.put(RENDER_JSON, renderJsonProbe());
+        for (boolean compiled : new boolean[]{true, false}) {
+            String filter = compiled ? FILTER_COMPILED : FILTER_DYNAMIC;
+            probes.put(RENDER_JSON_PROPERTY_SPEC_MODE + "." + filter, propertySpecModeProbe(compiled));
+        }
+        probes.put(RENDER_JSON_PROPERTY_SPEC + "." + SPEC_INCLUDE, propertySpecProbe("id,name,address.city"));
+        probes.put(RENDER_JSON_PROPERTY_SPEC + "." + SPEC_EXCLUDE, propertySpecProbe("-email,-address.postcode"));
+        probes.put(NETWORK_HANDLER, networkHandlerProbe());
+        probes.put(EVENT_EMIT_ADHOC, adhocEventEmitProbe());
+        probes.put(EVENT_EMIT_ACT, actEventEmitProbe());
+        probes.put(EVENT_REGISTRY, eventRegistryProbe());
+        System.getProperties().put(KEY, probes);
+    }
+
+    private ActionContext context(H.Method method, String url) {
+        ActionContext context = ActionContext.create(app, new MockRequest(config, method, url), new MockResponse());
+        context.saveLocal();
+        return context;
+    }
+
+    private Callable<Object> routerModeProbe(final boolean compiled) {
+        final Router router = app.router();
+        return new Callable<Object>() {
+            @Override
+            public Object call() {
+                router.compiledRouting(compiled);
+                return null;
+            }
+        };
+    }
+
+    private Callable<Object> routerProbe() {
+        final Router router = app.router();
+        return new Callable<Object>() {
+            @Override
+            public Object call() {
+                try {
+                    return router.getInvoker(GET, USER_URL, context(GET, USER_URL));
+                } finally {
+                    ActionContext.clearCurrent();
+                }
+            }
+        };
+    }
+
+    private Callable<Object> paramBindingProbe() throws Exception {
+        final ParamValueLoaderService service = app.service(ParamValueLoaderManager.class).get(ActionContext.class);
+        final Method method = BenchApp.class.getMethod("user", int.class, String.class);
+        final BenchApp host = app.getInstance(BenchApp.class);
+        return new Callable<Object>() {
+            @Override
+            public Object call() {
+                ActionContext context = context(GET, USER_URL);
+                context.urlPathParam("id", "123");
+                context.param("name", "tom");
+                try {
+                    return service.loadMethodParams(host, method, context);
+                } finally {
+                    ParamValueLoaderService.clearParamTree();
+                    ActionContext.clearCurrent();
+                }
+            }
+        };
+    }
+
+    private Callable<Object> pojoParamBindingProbe(final String shape, final boolean generated) throws Exception {
+        final ParamValueLoaderService service = app.service(ParamValueLoaderManager.class).get(ActionContext.class);
+        final boolean flat = SHAPE_FLAT.equals(shape);
+        final Method method = flat
+                ? BenchApp.class.getMethod("profile", BenchApp.Profile.class)
+                : BenchApp.class.getMethod("create", BenchApp.User.class);
+        final BenchApp host = app.getInstance(BenchApp.class);
+        return new Callable<Object>() {
+            @Override
+            public Object call() {
+                ActionContext context = context(POST, flat ? "/bench/profiles" : "/bench/users");
+                if (flat) {
+                    context.param("profile.id", "123");
+                    context.param("profile.name", "tom");
+                    context.param("profile.email", "tom@bench.act");
+                    context.param("profile.age", "30");
+                    context.param("profile.active", "true");
+                    context.param("profile.score", "9.5");
+                } else {
+                    context.param("user.id", "123");
+                    context.param("user.name", "tom");
+                    context.param("user.email", "tom@bench.act");
+                    context.param("user.address.street", "1 Bench St");
+                    context.param("user.address.city", "Sydney");
+                    context.param("user.address.postcode", "2000");
+                }
+                service.generatedBinder(generated);
+                try {
+                    return service.loadMethodParams(host, method, context);
+                } finally {
+                    ParamValueLoaderService.clearParamTree();
+                    ActionContext.clearCurrent();
+                }
+            }
+        };
+    }
+
+    private Callable<Object> handlerInvokerProbe() {
+        ActionContext lookup = context(GET, USER_URL);
+        RequestHandler handler = app.router().getInvoker(GET, USER_URL, lookup);
+        ActionContext.clearCurrent();
+        if (handler instanceof RequestHandlerBase) {
+            handler = ((RequestHandlerBase) handler).realHandler();
+        }
+        final ControllerAction action = ((RequestHandlerProxy) handler).actionHandler();
+        return new Callable<Object>() {
+            @Override
+            public Object call() throws Exception {
+                ActionContext context = context(GET, USER_URL);
+                context.urlPathParam("id", "123");
+                try {
+                    return action.handle(context);
+                } finally {
+                    ParamValueLoaderService.clearParamTree();
+                    ActionContext.clearCurrent();
+                }
+            }
+        };
+    }
+
+    private H.Session session() {
+        H.Session session = new H.Session();
+        session.put("username", "tom@bench.act");
+        session.put("role", "admin");
+        session.put("tenant", "bench");
+        session.put(config.csrfCookieName(), "7hcOqG0tvDb1Zk3sWmYy9A");
+        return session;
+    }
+
+    private Callable<Object> sessionEncodeProbe(final SessionCodec codec) {
+        return new Callable<Object>() {
+            @Override
+            public Object call() {
+                return codec.encodeSession(session());
+            }
+        };
+    }
+
+    private Callable<Object> sessionDecodeProbe(final SessionCodec codec) {
+        final String encoded = codec.encodeSession(session());
+        final H.Request req = new MockRequest(config, GET, USER_URL);
+        return new Callable<Object>() {
+            @Override
+            public Object call() {
+                return codec.decodeSession(encoded, req);
+            }
+        };
+    }
+
+    private Callable<Object> renderJsonProbe() {
+        return new Callable<Object>() {
+            @Override
+            public Object call() {
+                ActionContext context = context(GET, "/bench/users");
+                try {
+                    new RenderJSON(BenchApp.USERS).apply(context.req(), context.resp());
+                    return context.resp();
+                } finally {
+                    ActionContext.clearCurrent();
+                }
+            }
+        };
+    }
+
+    private Callable<Object> propertySpecModeProbe(final boolean compiled) {
+        final DataPropertyRepository repo = app.service(DataPropertyRepository.class);
+        return new Callable<Object>() {
+            @Override
+            public Object call() {
+                repo.compilePropertySpec(compiled);
+                return null;
+            }
+        };
+    }
+
+    private Callable<Object> propertySpecProbe(String spec) {
+        final PropertySpec.MetaInfo metaInfo = new PropertySpec.MetaInfo();
+        metaInfo.onValue(spec);
+        return new Callable<Object>() {
+            @Override
+            public Object call() {
+                ActionContext context = context(GET, "/bench/users");
+                try {
+                    new FilteredRenderJSON(BenchApp.LARGE_USERS, metaInfo, context).apply(context.req(), context.resp());
+                    return context.resp();
+                } finally {
+                    ActionContext.clearCurrent();
+                }
+            }
+        };
+    }
+
+    private Callable<Object> adhocEventEmitProbe() {
+        final EventBus bus = app.eventBus();
+        final AtomicLong counter = new AtomicLong();
+        bus.bind(BENCH_EVENT, new SimpleEventListener() {
+            @Override
+            public void invoke(Object... args) {
+                counter.incrementAndGet();
+            }
+
+            @Override
+            public List<Class> argumentTypes() {
+                return Collections.emptyList();
+            }
+
+            @Override
+            public boolean isAsync() {
+                return false;
+            }
+        });
+        return new Callable<Object>() {
+            @Override
+            public Object call() {
+                return bus.emit(BENCH_EVENT);
+            }
+        };
+    }
+
+    private Callable<Object> actEventEmitProbe() {
+        final EventBus bus = app.eventBus();
+        final AtomicLong counter = new AtomicLong();
+        bus.bindSync(BenchEvent.class, new ActEventListenerBase<BenchEvent>("bench-listener") {
+            @Override
+            public void on(BenchEvent event) {
+                counter.incrementAndGet();
+            }
+        });
+        final BenchEvent event = new BenchEvent("bench");
+        return new Callable<Object>() {
+            @Override
+            public Object call() {
+                return bus.emit(event);
+            }
+        };
+    }
+
+    private Callable<Object> eventRegistryProbe() {
+        // a dedicated bus without system event listeners, thus emitting
+        // a system event costs the lookup and locking only
+        final EventBus bus = new EventBus(app);
+        final AtomicLong counter = new AtomicLong();
+        final SysEventListenerBase<SysEvent> sysEventListener = new SysEventListenerBase<SysEvent>("bench-sys-listener") {
+            @Override
+            public void on(SysEvent event) {
+                counter.incrementAndGet();
+            }
+        };
+        final OnceBenchEvent event = new OnceBenchEvent("bench");
+        return new Callable<Object>() {
+            @Override
+            public Object call() {
+                bus.once(OnceBenchEvent.class, new OnceEventListenerBase<OnceBenchEvent>() {
+                    @Override
+                    public boolean tryHandle(OnceBenchEvent event) {
+                        counter.incrementAndGet();
+                        return true;
+                    }
+                });
+                bus.emit(event);
+                // POST_START has been emitted, thus the listener is called on bind
+                bus.bind(SysEventId.POST_START, sysEventListener);
+                return bus.emit(SysEventId.ACT_START);
+            }
+        };
+    }
+
+    private Callable<Object> networkHandlerProbe() {
+        final NetworkHandler handler = new NetworkHandler(app);
+        // run the request handling job in the caller thread
+        final NetworkDispatcher dispatcher = new NetworkDispatcher() {
+            @Override
+            public void dispatch(NetworkJob job) {
+                job.run();
+            }
+
+            @Override
+            public void keep() {
+            }
+        };
+        return new Callable<Object>() {
+            @Override
+            public Object call() {
+                ActionContext context = ActionContext.create(app, new MockRequest(config, GET, USER_URL), new MockResponse());
+                try {
+                    handler.handle(context, dispatcher);
+                    return context.resp();
+                } finally {
+                    ActionContext.clearCurrent();
+                }
+            }
+        };
+    }
+
+}
@@ -42,6 +42,7 @@ import act.handler.builtin.controller.impl.ReflectedHandlerInvoker;
 import act.inject.DependencyInjector;
 import act.internal.util.AppDescriptor;
 import act.job.JobManager;
+import act.metric.HistogramMetricPlugin;
 import act.metric.MetricPlugin;
 import act.metric.SimpleMetricPlugin;
 import act.plugin.*;
@@ -192,6 +193,7 @@ public final class Act {
     private static ViewManager viewManager;
     private static Network network;
     private static MetricPlugin metricPlugin;
+    private static BufferPool bufferPool;
     private static BytecodeEnhancerManager enhancerManager;
     private static AppCodeScannerPluginManager scannerPluginManager;
     private static DbManager dbManager;
@@ -289,6 +291,10 @@ public final class Act {
         return metricPlugin;
     }
 
+    public static BufferPool bufferPool() {
+        return bufferPool;
+    }
+
     public static AppCodeScannerPluginManager scannerPluginManager() {
         return scannerPluginManager;
     }
@@ -321,6 +327,7 @@ public final class Act {
         loadConfig();
         Banner.print(descriptor);
         initMetricPlugin();
+        initBufferPool();
         initPluginManager();
         initAppServicePluginManager();
         initDbManager();
@@ -1012,7 +1019,7 @@ public final class Act {
 
     private static void initMetricPlugin() {
         LOGGER.debug("initializing metric plugin ...");
-        metricPlugin = new SimpleMetricPlugin();
+        metricPlugin = conf.metricHistogram() ? new HistogramMetricPlugin() : new SimpleMetricPlugin();
     }
 
     private static void destroyMetricPlugin() {
@@ -1022,6 +1029,11 @@ public final class Act {
         }
     }
 
+    private static void initBufferPool() {
+        LOGGER.debug("initializing buffer pool ...");
+        bufferPool = new BufferPool(conf.bufferPoolMaxBufferSize(), conf.bufferPoolRetainedSize(), conf.bufferPoolLeakDetection());
+    }
+
     private static void initPluginManager() {
         LOGGER.debug("initializing generic plugin manager ...");
         pluginManager = new GenericPluginManager();
@@ -1197,6 +1209,7 @@ public final class Act {
         destroyMetricPlugin();
         unloadConfig();
         destroyNetworkLayer();
+        bufferPool = null;
         if (0 != exitCode) {
             System.exit(exitCode);
         }
@@ -22,6 +22,9 @@ package act;
 
 import act.app.ActionContext;
 import act.conf.AppConfig;
+import act.util.BufferPool;
+import act.util.ChunkEncoder;
+import act.util.PooledBuffer;
 import org.osgl.$;
 import org.osgl.http.H;
 import org.osgl.mvc.MvcConfig;
@@ -32,11 +35,23 @@ import org.osgl.util.E;
 import org.osgl.util.IO;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.Locale;
 
 public abstract class ActResponse<T extends ActResponse> extends H.Response<T> {
 
+    /**
+     * The size of the buffer used to send content of a {@link ChunkEncoder}
+     */
+    public static final int CHUNK_BUFFER_SIZE = 16 * 1024;
+
     private boolean onResult;
     private boolean closed;
     protected String charset;
@@ -80,6 +95,79 @@ public abstract class ActResponse<T extends ActResponse> extends H.Response<T> {
         return me();
     }
 
+    /**
+     * Send part of a file to the response.
+     *
+     * @param file
+     *         the file
+     * @param offset
+     *         the position of the first byte to be sent
+     * @param length
+     *         the number of bytes to be sent
+     * @return this response
+     */
+    public T send(File file, long offset, long length) {
+        beforeWritingContent();
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            contentLength(length);
+            WritableByteChannel target = Channels.newChannel(outputStream());
+            long pos = offset, end = offset + length;
+            while (pos < end) {
+                long n = channel.transferTo(pos, end - pos, target);
+                if (n <= 0) {
+                    break;
+                }
+                pos += n;
+            }
+        } catch (IOException e) {
+            throw E.ioException(e);
+        } finally {
+            afterWritingContent();
+        }
+        return me();
+    }
+
+    /**
+     * Send content produced by a {@link ChunkEncoder}.
+     *
+     * The content length is unknown, thus the content is sent with
+     * chunked transfer encoding. This implementation encodes content
+     * into a pooled buffer of {@link #CHUNK_BUFFER_SIZE} bytes and writes
+     * it to the {@link #outputStream() output stream} until the encoder is
+     * exhausted.
+     *
+     * @param encoder
+     *         the content encoder
+     * @return this response
+     */
+    public T send(ChunkEncoder encoder) {
+        beforeWritingContent();
+        BufferPool bufferPool = Act.bufferPool();
+        PooledBuffer pooled = null == bufferPool ? BufferPool.unpooled(ByteBuffer.allocate(CHUNK_BUFFER_SIZE)) : bufferPool.acquire(CHUNK_BUFFER_SIZE);
+        try {
+            OutputStream os = outputStream();
+            WritableByteChannel target = Channels.newChannel(os);
+            ByteBuffer buffer = pooled.buffer();
+            boolean more = true;
+            while (more) {
+                buffer.clear();
+                more = encoder.encode(buffer);
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    target.write(buffer);
+                }
+                os.flush();
+            }
+        } catch (IOException e) {
+            throw E.ioException(e);
+        } finally {
+            pooled.release();
+            encoder.close();
+            afterWritingContent();
+        }
+        return me();
+    }
+
     @Override
     public T sendError(int sc, String msg) {
         throw E.unsupport();
@@ -110,6 +110,7 @@ public class ActionContext extends ActContext.Base<ActionContext> implements Des
     private Trace.AccessLog accessLog;
     private ReflectedHandlerInvoker reflectedHandlerInvoker;
     private boolean requireBodyParsing;
+    private boolean bodyStreaming;
     private boolean allowIgnoreParamNamespace;
     private boolean consumed;
     private boolean readyForDestroy;
@@ -632,6 +633,19 @@ public class ActionContext extends ActContext.Base<ActionContext> implements Des
         requireBodyParsing = true;
     }
 
+    /**
+     * Mark the request body is read as a stream by the handler, e.g.
+     * through {@link act.inject.param.JsonStreamLoader}. After this call
+     * the body will not be parsed into params.
+     */
+    public void markBodyStreaming() {
+        bodyStreaming = true;
+    }
+
+    public boolean isBodyStreaming() {
+        return bodyStreaming;
+    }
+
     public boolean isAllowIgnoreParamNamespace() {
         return allowIgnoreParamNamespace;
     }
@@ -814,7 +828,8 @@ public class ActionContext extends ActContext.Base<ActionContext> implements Des
         if (null == bodyParams) {
             Map<String, String[]> map = new HashMap<>();
             H.Method method = request.method();
-            if (H.Method.POST == method || H.Method.PUT == method || H.Method.PATCH == method || H.Method.DELETE == method) {
+            boolean hasBody = H.Method.POST == method || H.Method.PUT == method || H.Method.PATCH == method || H.Method.DELETE == method;
+            if (hasBody && !bodyStreaming) {
                 RequestBodyParser parser = RequestBodyParser.get(request);
                 map = parser.parse(this);
             }
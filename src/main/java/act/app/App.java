@@ -55,6 +55,7 @@ import act.event.EventBus;
 import act.event.SysEventListenerBase;
 import act.event.bytecode.SimpleEventListenerByteCodeScanner;
 import act.handler.RequestHandler;
+import act.handler.builtin.ResourceCache;
 import act.handler.builtin.ResourceGetter;
 import act.handler.builtin.controller.FastRequestHandler;
 import act.httpclient.HttpClientService;
@@ -141,6 +142,7 @@ public class App extends LogSupportedDestroyableBase {
     private ManagedCollectionService managedCollectionService;
     private CliServer cliServer;
     private MailerConfigManager mailerConfigManager;
+    private ResourceCache resourceCache;
     private StringValueResolverManager resolverManager;
     private SingletonRegistry singletonRegistry;
     private BinderManager binderManager;
@@ -719,6 +721,7 @@ public class App extends LogSupportedDestroyableBase {
             initUploadFileStorageService();
             initClassLoader();
             emit(CLASS_LOADER_INITIALIZED);
+            initResourceCache();
             initRouters();
             emit(ROUTER_INITIALIZED);
             loadRoutes();
@@ -1016,6 +1019,10 @@ public class App extends LogSupportedDestroyableBase {
         return mailerConfigManager;
     }
 
+    public ResourceCache resourceCache() {
+        return resourceCache;
+    }
+
     public EventBus eventBus() {
         return eventBus;
     }
@@ -1666,6 +1673,10 @@ public class App extends LogSupportedDestroyableBase {
         new DataPropertyRepository(this);
     }
 
+    private void initResourceCache() {
+        resourceCache = new ResourceCache(this);
+    }
+
     private void initMailerConfigManager() {
         mailerConfigManager = new MailerConfigManager(this);
     }
@@ -1735,6 +1746,10 @@ public class App extends LogSupportedDestroyableBase {
             router.addContext("act.", "/~");
             router.addMapping(GET, "/~/ticket", secureTicketHandler, RouteSource.BUILD_IN);
         }
+        String metricPath = config.metricPrometheusPath();
+        if (S.notBlank(metricPath)) {
+            router.addMapping(GET, metricPath, new OpenMetricsHandler(), RouteSource.BUILD_IN);
+        }
         if (config.cliOverHttp()) {
             Router router = router(AppConfig.PORT_CLI_OVER_HTTP);
             router.addMapping(GET, "/asset/", new ResourceGetter("asset"), RouteSource.BUILD_IN);
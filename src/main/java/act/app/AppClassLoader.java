@@ -226,7 +226,8 @@ public class AppClassLoader
                 return new File(s);
             }
         }).sorted();
-        Map<String, byte[]> index = Jars.buildClassNameIndex(jars);
+        act.metric.Timer timer = metric.startTimer(MetricInfo.CLASS_GRAPH_BUILDING);
+        Map<String, byte[]> index = Jars.buildClassNameIndex(jars, $.F.FALSE, null);
         ClassInfoByteCodeScanner scanner = new ClassInfoByteCodeScanner(classInfoRepository());
         ByteCodeVisitor bv = scanner.byteCodeVisitor();
         for (Map.Entry<String, byte[]> entry : index.entrySet()) {
@@ -234,6 +235,7 @@ public class AppClassLoader
             ClassReader cr = new ClassReader(ba);
             cr.accept(bv, 0);
         }
+        timer.stop();
         fullClassGraphBuilt = true;
     }
 
@@ -285,7 +287,10 @@ public class AppClassLoader
             logger.debug("Bytecode scanning starts on %s classes ...", classes.size());
         }
         final AppCodeScannerManager scannerManager = app().scannerManager();
-        Map<String, List<AppByteCodeScanner>> dependencies = new HashMap<>();
+        act.metric.Timer scanTimer = metric.startTimer(MetricInfo.CLASS_SCANNING);
+        ScannerMetric scannerMetric = new ScannerMetric();
+        // keep dependencies in the order they are found
+        Map<String, List<AppByteCodeScanner>> dependencies = new LinkedHashMap<>();
         for (String className : classes) {
             logger.debug("scanning %s ...", className);
             dependencies.remove(className);
@@ -295,11 +300,13 @@ public class AppClassLoader
                 continue;
             }
             libClsCache.put(className, ba);
-            act.metric.Timer timer = metric.startTimer("act:classload:scan:bytecode:" + className);
             List<ByteCodeVisitor> visitors = new ArrayList<>();
             List<AppByteCodeScanner> scanners = new ArrayList<>();
             for (AppByteCodeScanner scanner : scannerManager.byteCodeScanners()) {
-                if (scanner.start(className)) {
+                act.metric.Timer timer = scannerMetric.startTimer(scanner);
+                boolean started = scanner.start(className);
+                timer.stop();
+                if (started) {
                     //LOGGER.trace("scanner %s added to the list", scanner.getClass().getName());
                     visitors.add(scanner.byteCodeVisitor());
                     scanners.add(scanner);
@@ -331,35 +338,21 @@ public class AppClassLoader
                 }
             }
             for (AppByteCodeScanner scanner : scanners) {
+                act.metric.Timer timer = scannerMetric.startTimer(scanner);
                 scanner.scanFinished(className);
-                Map<Class<? extends AppByteCodeScanner>, Set<String>> ss = scanner.dependencyClasses();
-                if (ss.isEmpty()) {
-                    //LOGGER.trace("no dependencies found for %s by scanner %s", className, scanner);
-                    continue;
-                }
-                for (Class<? extends AppByteCodeScanner> scannerClass : ss.keySet()) {
-                    AppByteCodeScanner scannerA = scannerManager.byteCodeScannerByClass(scannerClass);
-                    for (String dependencyClass : ss.get(scannerClass)) {
-                        logger.trace("dependencies[%s] found for %s by scanner %s", dependencyClass, className, scannerA);
-                        List<AppByteCodeScanner> l = dependencies.get(dependencyClass);
-                        if (null == l) {
-                            l = new ArrayList<>();
-                            dependencies.put(dependencyClass, l);
-                        }
-                        if (!l.contains(scanner)) l.add(scannerA);
-                    }
-                }
+                mergeDependencies(scanner, className, scannerManager, dependencies);
+                timer.stop();
             }
-            timer.stop();
         }
         // loop through dependencies until it's all processed
         while (!dependencies.isEmpty()) {
             String className = dependencies.keySet().iterator().next();
-            act.metric.Timer timer = metric.startTimer("act:classload:scan:bytecode:" + className);
             List<AppByteCodeScanner> scanners = dependencies.remove(className);
             List<ByteCodeVisitor> visitors = new ArrayList<>();
             for (AppByteCodeScanner scanner : scanners) {
+                act.metric.Timer timer = scannerMetric.startTimer(scanner);
                 scanner.start(className);
+                timer.stop();
                 visitors.add(scanner.byteCodeVisitor());
             }
             ByteCodeVisitor theVisitor = ByteCodeVisitor.chain(visitors);
@@ -372,44 +365,53 @@ public class AppClassLoader
                 throw ActErrorResult.of(e);
             }
             for (AppByteCodeScanner scanner : scanners) {
+                act.metric.Timer timer = scannerMetric.startTimer(scanner);
                 scanner.scanFinished(className);
-                Map<Class<? extends AppByteCodeScanner>, Set<String>> ss = scanner.dependencyClasses();
-                if (ss.isEmpty()) {
-                    logger.trace("no dependencies found for %s by scanner %s", className, scanner);
-                    continue;
-                }
-                for (Class<? extends AppByteCodeScanner> scannerClass : ss.keySet()) {
-                    AppByteCodeScanner scannerA = scannerManager.byteCodeScannerByClass(scannerClass);
-                    for (String dependencyClass : ss.get(scannerClass)) {
-                        logger.trace("dependencies[%s] found for %s by scanner %s", dependencyClass, className, scannerA);
-                        List<AppByteCodeScanner> l = dependencies.get(dependencyClass);
-                        if (null == l) {
-                            l = new ArrayList<>();
-                            dependencies.put(dependencyClass, l);
-                        }
-                        if (!l.contains(scanner)) l.add(scannerA);
-                    }
-                }
+                mergeDependencies(scanner, className, scannerManager, dependencies);
+                timer.stop();
             }
-            timer.stop();
         }
+        scanTimer.stop();
 
         if (logger.isDebugEnabled()) {
             logger.debug("Bytecode scanning takes: " + ($.ms() - ms) + "ms");
         }
     }
 
+    /*
+     * Merge the dependency classes found by a scanner into the pending
+     * dependencies. A dependency class is scanned once by all scanners
+     * requested it, no matter how many classes depend on it.
+     */
+    private void mergeDependencies(AppByteCodeScanner scanner, String className, AppCodeScannerManager scannerManager, Map<String, List<AppByteCodeScanner>> dependencies) {
+        Map<Class<? extends AppByteCodeScanner>, Set<String>> ss = scanner.dependencyClasses();
+        if (ss.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<Class<? extends AppByteCodeScanner>, Set<String>> entry : ss.entrySet()) {
+            AppByteCodeScanner scannerA = scannerManager.byteCodeScannerByClass(entry.getKey());
+            for (String dependencyClass : entry.getValue()) {
+                logger.trace("dependencies[%s] found for %s by scanner %s", dependencyClass, className, scannerA);
+                List<AppByteCodeScanner> l = dependencies.get(dependencyClass);
+                if (null == l) {
+                    l = new ArrayList<>();
+                    dependencies.put(dependencyClass, l);
+                }
+                if (!l.contains(scannerA)) {
+                    l.add(scannerA);
+                }
+            }
+        }
+    }
+
     protected void preload() {
         preloadLib();
         preloadClasses();
     }
 
     private void preloadLib() {
-        final Map<String, byte[]> bytecodeIdx = new HashMap<>();
         final Map<String, Properties> jarConf = new HashMap<>();
         final $.Function<String, Boolean> ignoredClassNames = app().config().appClassTester().negate();
-        Jars.F.JarEntryVisitor classNameIndexBuilder = Jars.F.classNameIndexBuilder(bytecodeIdx, ignoredClassNames);
-        Jars.F.JarEntryVisitor confIndexBuilder = Jars.F.appConfigFileIndexBuilder(jarConf);
         ClassLoader parent = getParent();
         List<File> jars = C.list();
         if (parent instanceof FullStackAppBootstrapClassLoader) {
@@ -417,6 +419,7 @@ public class AppClassLoader
         }
         Set<String> blackList = app().jarFileBlackList();
         Set<String> blackList2 = app().jarFileBlackList2();
+        List<File> jarsToScan = new ArrayList<>();
         for (File jar : jars) {
             String filename = jar.getName();
             String name = S.cut(filename).beforeFirst("-");
@@ -434,10 +437,12 @@ public class AppClassLoader
                 }
             }
             if (shouldScan) {
-                Jars.scan(jar, classNameIndexBuilder, confIndexBuilder);
+                jarsToScan.add(jar);
             }
         }
-        libClsCache.putAll(bytecodeIdx);
+        act.metric.Timer timer = metric.startTimer(MetricInfo.CLASS_PRELOADING);
+        libClsCache.putAll(Jars.buildClassNameIndex(jarsToScan, ignoredClassNames, jarConf));
+        timer.stop();
         AppConfig config = app().config();
         config.loadJarProperties(jarConf);
     }
@@ -634,6 +639,7 @@ public class AppClassLoader
         cw.set(new ClassWriter(ClassWriter.COMPUTE_FRAMES));
         enhancer.commitDownstream();
         ClassReader r = new ClassReader(bytecode);
+        act.metric.Timer timer = metric.startTimer(MetricInfo.CLASS_ENHANCING);
         try {
             r.accept(matcher, ClassReader.EXPAND_FRAMES);
         } catch (EnvNotMatchException e) {
@@ -641,6 +647,8 @@ public class AppClassLoader
         } catch (AsmException e) {
             logger.error(e, "error enhancing bytecode at %s", e.context());
             throw ActErrorResult.enhancingError(e);
+        } finally {
+            timer.stop();
         }
         return cw.get().toByteArray();
     }
@@ -756,4 +764,21 @@ public class AppClassLoader
                 || name.startsWith("osgl.");
         return sys;
     }
+
+    /*
+     * Creates timers named `act:classload:scan:<scanner>` which measure
+     * the time spent by each scanner
+     */
+    private class ScannerMetric {
+        private Map<AppByteCodeScanner, String> names = new IdentityHashMap<>();
+
+        act.metric.Timer startTimer(AppByteCodeScanner scanner) {
+            String name = names.get(scanner);
+            if (null == name) {
+                name = S.concat(MetricInfo.CLASS_SCANNING, Metric.PATH_SEPARATOR, scanner.getClass().getSimpleName());
+                names.put(scanner, name);
+            }
+            return metric.startTimer(name);
+        }
+    }
 }
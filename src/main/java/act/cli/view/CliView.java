@@ -27,12 +27,10 @@ import act.cli.tree.TreeNode;
 import act.cli.util.CliCursor;
 import act.cli.util.TableCursor;
 import act.data.DataPropertyRepository;
-import act.db.AdaptiveRecord;
 import act.util.*;
 import com.alibaba.fastjson.JSONObject;
 import org.osgl.$;
 import org.osgl.util.*;
-import org.rythmengine.utils.Escape;
 import org.w3c.dom.Document;
 
 import java.io.Writer;
@@ -237,78 +235,20 @@ public enum CliView {
                 return;
             }
             componentType = firstElement.getClass();
-            DataPropertyRepository repo = context.app().service(DataPropertyRepository.class);
-            spec = PropertySpec.MetaInfo.withCurrent(spec, context);
-            if (null == spec) {
-                spec = new PropertySpec.MetaInfo();
-                spec.onValue("-not_exists");
-            }
-            List<String> outputFields = repo.outputFields(spec, componentType, context);
-            if (outputFields.isEmpty()) {
+            CsvFormatter formatter = CsvFormatter.of(componentType, spec, context);
+            if (null == formatter) {
                 return;
             }
-            IO.write(buildHeaderLine(outputFields, spec.labelMapping(context)), writer);
+            IO.write(formatter.headerLine(), writer);
             IO.write($.OS.lineSeparator(), writer);
-            IO.write(buildDataLine(firstElement, outputFields), writer);
+            IO.write(formatter.dataLine(firstElement), writer);
             while (iterator.hasNext()) {
                 IO.write($.OS.lineSeparator(), writer);
-                IO.write(buildDataLine(iterator.next(), outputFields), writer);
+                IO.write(formatter.dataLine(iterator.next()), writer);
                 IO.flush(writer);
             }
         }
 
-        private String buildDataLine(Object data, List<String> outputFields) {
-            Iterator<String> itr = outputFields.iterator();
-            String prop = itr.next();
-            S.Buffer buf = S.buffer();
-            buf.append(getProperty(data, prop));
-            while (itr.hasNext()) {
-                buf.append(",").append(getProperty(data, itr.next()));
-            }
-            return buf.toString();
-        }
-
-        private String getProperty(Object data, String prop) {
-            if ("this".equals(prop)) {
-                return (escape(data));
-            } else {
-                if (data instanceof AdaptiveRecord) {
-                    return escape(S.string(((AdaptiveRecord) data).getValue(prop)));
-                }
-                return escape($.getProperty(data, prop));
-            }
-        }
-
-        private String buildHeaderLine(List<String> outputFields, Map<String, String> labels) {
-            if (null == labels) {
-                labels = new HashMap<>();
-            }
-            Iterator<String> itr = outputFields.iterator();
-            String label = label(itr.next(), labels);
-            S.Buffer buf = S.buffer();
-            buf.append(label);
-            while (itr.hasNext()) {
-                buf.append(",").append(escape(label(itr.next(), labels)));
-            }
-            return buf.toString();
-        }
-
-        private String label(String key, Map<String, String> labels) {
-            String s = labels.get(key);
-            return null == s ? key : s;
-        }
-
-        private String escape(Object o) {
-            if (null == o) {
-                return "";
-            }
-            String s = o.toString().trim();
-            if (s.startsWith("\"") && s.endsWith("\"")) {
-                return s;
-            }
-            return Escape.CSV.apply(o).toString();
-        }
-
     };
 
     public void render(Writer writer, Object result, PropertySpec.MetaInfo spec, ActContext context) {
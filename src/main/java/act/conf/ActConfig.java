@@ -22,6 +22,7 @@ package act.conf;
 
 import static act.conf.ActConfigKey.*;
 
+import act.Act;
 import org.osgl.util.E;
 
 import java.io.File;
@@ -89,6 +90,14 @@ public class ActConfig extends Config<ActConfigKey> {
         return !hotReload;
     }
 
+    private Boolean metricHistogram;
+    public boolean metricHistogram() {
+        if (null == metricHistogram) {
+            metricHistogram = get(METRIC_HISTOGRAM, false);
+        }
+        return metricHistogram;
+    }
+
     private Integer xioMaxWorkerThreads;
     public int xioMaxWorkerThreads() {
         if (null == xioMaxWorkerThreads) {
@@ -106,6 +115,30 @@ public class ActConfig extends Config<ActConfigKey> {
         return xioStatistics;
     }
 
+    private Integer bufferPoolMaxBufferSize;
+    public int bufferPoolMaxBufferSize() {
+        if (null == bufferPoolMaxBufferSize) {
+            bufferPoolMaxBufferSize = get(BUFFER_POOL_MAX_BUFFER_SIZE, 1024 * 1024);
+        }
+        return bufferPoolMaxBufferSize;
+    }
+
+    private Integer bufferPoolRetainedSize;
+    public int bufferPoolRetainedSize() {
+        if (null == bufferPoolRetainedSize) {
+            bufferPoolRetainedSize = get(BUFFER_POOL_RETAINED_SIZE, 4 * 1024 * 1024);
+        }
+        return bufferPoolRetainedSize;
+    }
+
+    private Boolean bufferPoolLeakDetection;
+    public boolean bufferPoolLeakDetection() {
+        if (null == bufferPoolLeakDetection) {
+            bufferPoolLeakDetection = get(BUFFER_POOL_LEAK_DETECTION, Act.isDev());
+        }
+        return bufferPoolLeakDetection;
+    }
+
     private static void validateDir(File dir, String conf) {
         if (!dir.exists() || !dir.isDirectory() || !dir.canRead()) {
             E.invalidConfiguration("%s is not a valid directory: %s", conf, dir.getAbsolutePath());
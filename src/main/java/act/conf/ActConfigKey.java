@@ -79,6 +79,20 @@ public enum ActConfigKey implements ConfigKey {
      */
     HOT_RELOAD("hot_reload.enabled"),
 
+    /**
+     * `act.metric.histogram.enabled`
+     *
+     * When enabled the framework records a latency histogram and sliding
+     * window rate for each metric timer, otherwise it records only the
+     * count and accumulated time of each timer
+     *
+     * Note histogram data is not persisted, thus metric data is not
+     * kept across restarts when this setting is enabled
+     *
+     * Default value: `false`
+     */
+    METRIC_HISTOGRAM("metric.histogram.enabled"),
+
     /**
      * `act.xio.worker_threads.max`
      *
@@ -97,6 +111,37 @@ public enum ActConfigKey implements ConfigKey {
      */
     XIO_STATISTICS("xio.statistics.enabled"),
 
+    /**
+     * `act.buffer_pool.max_buffer_size.int`
+     *
+     * Specifies the max size in bytes of buffers pooled by {@link act.util.BufferPool}.
+     * Size classes start from `1024` bytes and each is four times of the previous one.
+     *
+     * Default value: `1048576`, i.e. 1MB
+     */
+    BUFFER_POOL_MAX_BUFFER_SIZE("buffer_pool.max_buffer_size.int"),
+
+    /**
+     * `act.buffer_pool.retained_size.int`
+     *
+     * Specifies the max number of bytes retained by idle buffers of each
+     * size class of {@link act.util.BufferPool}.
+     *
+     * Default value: `4194304`, i.e. 4MB
+     */
+    BUFFER_POOL_RETAINED_SIZE("buffer_pool.retained_size.int"),
+
+    /**
+     * `act.buffer_pool.leak_detection.enabled`
+     *
+     * Enable/disable leak detection of {@link act.util.BufferPool}. When enabled
+     * a buffer garbage collected before released is logged with the stack
+     * trace where it was acquired.
+     *
+     * Default value: `true` in dev mode, `false` in prod mode
+     */
+    BUFFER_POOL_LEAK_DETECTION("buffer_pool.leak_detection.enabled"),
+
     /**
      * {@code act.xio.impl} specifies the implementation for the network stack implementation
      */
@@ -36,6 +36,7 @@ import act.data.DateTimeStyle;
 import act.data.DateTimeType;
 import act.db.util.SequenceNumberGenerator;
 import act.db.util._SequenceNumberGenerator;
+import act.event.EventDispatcher;
 import act.handler.*;
 import act.handler.event.ResultEvent;
 import act.i18n.I18n;
@@ -1064,6 +1065,93 @@ public class AppConfig<T extends AppConfig> extends Config<AppConfigKey> impleme
         }
     }
 
+    private int eventDispatchPoolSize = -1;
+
+    protected T eventDispatchPoolSize(int size) {
+        E.illegalArgumentIf(size < 1, "event dispatch pool size cannot be zero or negative number: %s", size);
+        this.eventDispatchPoolSize = size;
+        return me();
+    }
+
+    public int eventDispatchPoolSize() {
+        if (-1 == eventDispatchPoolSize) {
+            eventDispatchPoolSize = getInteger(EVENT_DISPATCH_POOL_SIZE, Runtime.getRuntime().availableProcessors());
+        }
+        return eventDispatchPoolSize;
+    }
+
+    private void _mergeEventDispatchPoolSize(AppConfig conf) {
+        if (!hasConfiguration(EVENT_DISPATCH_POOL_SIZE)) {
+            eventDispatchPoolSize = conf.eventDispatchPoolSize;
+        }
+    }
+
+    private int eventDispatchQueueSize = -1;
+
+    protected T eventDispatchQueueSize(int size) {
+        E.illegalArgumentIf(size < 1, "event dispatch queue size cannot be zero or negative number: %s", size);
+        this.eventDispatchQueueSize = size;
+        return me();
+    }
+
+    public int eventDispatchQueueSize() {
+        if (-1 == eventDispatchQueueSize) {
+            eventDispatchQueueSize = getInteger(EVENT_DISPATCH_QUEUE_SIZE, 10000);
+        }
+        return eventDispatchQueueSize;
+    }
+
+    private void _mergeEventDispatchQueueSize(AppConfig conf) {
+        if (!hasConfiguration(EVENT_DISPATCH_QUEUE_SIZE)) {
+            eventDispatchQueueSize = conf.eventDispatchQueueSize;
+        }
+    }
+
+    private EventDispatcher.Overflow eventDispatchOverflow;
+
+    protected T eventDispatchOverflow(EventDispatcher.Overflow overflow) {
+        this.eventDispatchOverflow = $.requireNotNull(overflow);
+        return me();
+    }
+
+    public EventDispatcher.Overflow eventDispatchOverflow() {
+        if (null == eventDispatchOverflow) {
+            String s = S.string(get(EVENT_DISPATCH_OVERFLOW, EventDispatcher.Overflow.CALLER_RUNS.name()));
+            eventDispatchOverflow = EventDispatcher.Overflow.valueOfIgnoreCase(s);
+            if (null == eventDispatchOverflow) {
+                throw new ConfigurationException("Unknown event dispatch overflow policy: %s", s);
+            }
+        }
+        return eventDispatchOverflow;
+    }
+
+    private void _mergeEventDispatchOverflow(AppConfig conf) {
+        if (!hasConfiguration(EVENT_DISPATCH_OVERFLOW)) {
+            eventDispatchOverflow = conf.eventDispatchOverflow;
+        }
+    }
+
+    private int eventDispatchBatchSize = -1;
+
+    protected T eventDispatchBatchSize(int size) {
+        E.illegalArgumentIf(size < 1, "event dispatch batch size cannot be zero or negative number: %s", size);
+        this.eventDispatchBatchSize = size;
+        return me();
+    }
+
+    public int eventDispatchBatchSize() {
+        if (-1 == eventDispatchBatchSize) {
+            eventDispatchBatchSize = getInteger(EVENT_DISPATCH_BATCH_SIZE, 64);
+        }
+        return eventDispatchBatchSize;
+    }
+
+    private void _mergeEventDispatchBatchSize(AppConfig conf) {
+        if (!hasConfiguration(EVENT_DISPATCH_BATCH_SIZE)) {
+            eventDispatchBatchSize = conf.eventDispatchBatchSize;
+        }
+    }
+
     private String defViewName = null;
     private View defView = null;
 
@@ -1673,6 +1761,71 @@ public class AppConfig<T extends AppConfig> extends Config<AppConfigKey> impleme
     }
 
 
+    private Boolean httpCompression;
+
+    protected T httpCompression(boolean enabled) {
+        httpCompression = enabled;
+        return me();
+    }
+
+    public boolean httpCompression() {
+        if (null == httpCompression) {
+            httpCompression = get(HTTP_COMPRESSION, false);
+        }
+        return httpCompression;
+    }
+
+    private void _mergeHttpCompression(AppConfig conf) {
+        if (!hasConfiguration(HTTP_COMPRESSION)) {
+            httpCompression = conf.httpCompression;
+        }
+    }
+
+    private Integer httpCompressionLevel;
+
+    protected T httpCompressionLevel(int level) {
+        E.illegalArgumentIf(level < 1 || level > 9, "compression level shall be between 1 and 9: %s", level);
+        httpCompressionLevel = level;
+        return me();
+    }
+
+    public int httpCompressionLevel() {
+        if (null == httpCompressionLevel) {
+            int level = getInteger(HTTP_COMPRESSION_LEVEL, 6);
+            if (level < 1 || level > 9) {
+                throw new ConfigurationException("http.compression.level setting shall be between 1 and 9. Found: %s", level);
+            }
+            httpCompressionLevel = level;
+        }
+        return httpCompressionLevel;
+    }
+
+    private void _mergeHttpCompressionLevel(AppConfig conf) {
+        if (!hasConfiguration(HTTP_COMPRESSION_LEVEL)) {
+            httpCompressionLevel = conf.httpCompressionLevel;
+        }
+    }
+
+    private Integer httpCompressionMinSize;
+
+    protected T httpCompressionMinSize(int size) {
+        httpCompressionMinSize = size;
+        return me();
+    }
+
+    public int httpCompressionMinSize() {
+        if (null == httpCompressionMinSize) {
+            httpCompressionMinSize = getInteger(HTTP_COMPRESSION_MIN_SIZE, 1024);
+        }
+        return httpCompressionMinSize;
+    }
+
+    private void _mergeHttpCompressionMinSize(AppConfig conf) {
+        if (!hasConfiguration(HTTP_COMPRESSION_MIN_SIZE)) {
+            httpCompressionMinSize = conf.httpCompressionMinSize;
+        }
+    }
+
     private int httpMaxParams = -1;
 
     protected T httpMaxParams(int max) {
@@ -1718,6 +1871,131 @@ public class AppConfig<T extends AppConfig> extends Config<AppConfigKey> impleme
         }
     }
 
+    private int jobSchedulerTick = -1;
+
+    protected T jobSchedulerTick(int ms) {
+        E.illegalArgumentIf(ms < 1, "job scheduler tick cannot be zero or negative number: %s", ms);
+        this.jobSchedulerTick = ms;
+        return me();
+    }
+
+    public int jobSchedulerTick() {
+        if (-1 == jobSchedulerTick) {
+            jobSchedulerTick = getInteger(JOB_SCHEDULER_TICK, 10);
+        }
+        return jobSchedulerTick;
+    }
+
+    private void _mergeJobSchedulerTick(AppConfig conf) {
+        if (!hasConfiguration(JOB_SCHEDULER_TICK)) {
+            jobSchedulerTick = conf.jobSchedulerTick;
+        }
+    }
+
+    private int jobSchedulerWheelSize = -1;
+
+    protected T jobSchedulerWheelSize(int size) {
+        E.illegalArgumentIf(size < 2, "job scheduler wheel size cannot be less than 2: %s", size);
+        this.jobSchedulerWheelSize = size;
+        return me();
+    }
+
+    public int jobSchedulerWheelSize() {
+        if (-1 == jobSchedulerWheelSize) {
+            jobSchedulerWheelSize = getInteger(JOB_SCHEDULER_WHEEL_SIZE, 512);
+        }
+        return jobSchedulerWheelSize;
+    }
+
+    private void _mergeJobSchedulerWheelSize(AppConfig conf) {
+        if (!hasConfiguration(JOB_SCHEDULER_WHEEL_SIZE)) {
+            jobSchedulerWheelSize = conf.jobSchedulerWheelSize;
+        }
+    }
+
+    private boolean jobJournalDirResolved = false;
+    private String jobJournalDir = null;
+
+    protected T jobJournalDir(String dir) {
+        jobJournalDirResolved = true;
+        jobJournalDir = dir.trim();
+        return me();
+    }
+
+    public String jobJournalDir() {
+        if (!jobJournalDirResolved) {
+            jobJournalDir = get(JOB_JOURNAL_DIR, null);
+            jobJournalDirResolved = true;
+        }
+        return jobJournalDir;
+    }
+
+    private void _mergeJobJournalDir(AppConfig conf) {
+        if (!hasConfiguration(JOB_JOURNAL_DIR)) {
+            jobJournalDir = conf.jobJournalDir;
+            jobJournalDirResolved = conf.jobJournalDirResolved;
+        }
+    }
+
+    private int jobJournalFlushInterval = -1;
+
+    protected T jobJournalFlushInterval(int ms) {
+        E.illegalArgumentIf(ms < 1, "job journal flush interval cannot be zero or negative number: %s", ms);
+        this.jobJournalFlushInterval = ms;
+        return me();
+    }
+
+    public int jobJournalFlushInterval() {
+        if (-1 == jobJournalFlushInterval) {
+            jobJournalFlushInterval = getInteger(JOB_JOURNAL_FLUSH_INTERVAL, 10);
+        }
+        return jobJournalFlushInterval;
+    }
+
+    private void _mergeJobJournalFlushInterval(AppConfig conf) {
+        if (!hasConfiguration(JOB_JOURNAL_FLUSH_INTERVAL)) {
+            jobJournalFlushInterval = conf.jobJournalFlushInterval;
+        }
+    }
+
+    private int jobJournalCompactSize = -1;
+
+    protected T jobJournalCompactSize(int size) {
+        E.illegalArgumentIf(size < 1, "job journal compact size cannot be zero or negative number: %s", size);
+        this.jobJournalCompactSize = size;
+        return me();
+    }
+
+    public int jobJournalCompactSize() {
+        if (-1 == jobJournalCompactSize) {
+            jobJournalCompactSize = getInteger(JOB_JOURNAL_COMPACT_SIZE, 64 * 1024 * 1024);
+        }
+        return jobJournalCompactSize;
+    }
+
+    private void _mergeJobJournalCompactSize(AppConfig conf) {
+        if (!hasConfiguration(JOB_JOURNAL_COMPACT_SIZE)) {
+            jobJournalCompactSize = conf.jobJournalCompactSize;
+        }
+    }
+
+    /**
+     * Returns the maximum number of threads of a named job pool, which
+     * is configured with `job.pool.<name>.size`. If not configured then
+     * {@link #jobPoolSize()} is returned.
+     *
+     * @param pool
+     *         the name of the job pool
+     * @return the size of the job pool
+     */
+    public int jobPoolSize(String pool) {
+        Object o = get(S.concat("job.pool.", pool, ".size"));
+        if (null == o) {
+            return jobPoolSize();
+        }
+        return o instanceof Number ? ((Number) o).intValue() : Integer.parseInt(S.string(o).trim());
+    }
+
     private Boolean jsonBodyPatch;
     protected T jsonBodyPatch(boolean enabled) {
         jsonBodyPatch = enabled;
@@ -2578,6 +2856,26 @@ public class AppConfig<T extends AppConfig> extends Config<AppConfigKey> impleme
         }
     }
 
+    private Boolean paramBindingGeneratedBinder;
+
+    protected T paramBindingGeneratedBinder(boolean enabled) {
+        paramBindingGeneratedBinder = enabled;
+        return me();
+    }
+
+    public boolean paramBindingGeneratedBinder() {
+        if (null == paramBindingGeneratedBinder) {
+            paramBindingGeneratedBinder = get(PARAM_BINDING_GENERATED_BINDER, true);
+        }
+        return paramBindingGeneratedBinder;
+    }
+
+    private void _mergeParamBindingGeneratedBinder(AppConfig config) {
+        if (!hasConfiguration(PARAM_BINDING_GENERATED_BINDER)) {
+            paramBindingGeneratedBinder = config.paramBindingGeneratedBinder;
+        }
+    }
+
     private boolean pingPathResolved = false;
     private String pingPath = null;
 
@@ -2714,6 +3012,47 @@ public class AppConfig<T extends AppConfig> extends Config<AppConfigKey> impleme
         }
     }
 
+    private Boolean renderJsonPropertySpecCompiled;
+
+    protected T renderJsonPropertySpecCompiled(boolean enabled) {
+        renderJsonPropertySpecCompiled = enabled;
+        return me();
+    }
+
+    public boolean renderJsonPropertySpecCompiled() {
+        if (null == renderJsonPropertySpecCompiled) {
+            renderJsonPropertySpecCompiled = get(RENDER_JSON_PROPERTY_SPEC_COMPILED, true);
+        }
+        return renderJsonPropertySpecCompiled;
+    }
+
+    private void _mergeRenderJsonPropertySpecCompiled(AppConfig config) {
+        if (!hasConfiguration(RENDER_JSON_PROPERTY_SPEC_COMPILED)) {
+            renderJsonPropertySpecCompiled = config.renderJsonPropertySpecCompiled;
+        }
+    }
+
+    private int renderJsonStreamChunkSize = -1;
+
+    protected T renderJsonStreamChunkSize(int size) {
+        E.illegalArgumentIf(size < 1, "JSON stream chunk size cannot be zero or negative number: %s", size);
+        this.renderJsonStreamChunkSize = size;
+        return me();
+    }
+
+    public int renderJsonStreamChunkSize() {
+        if (-1 == renderJsonStreamChunkSize) {
+            renderJsonStreamChunkSize = getInteger(RENDER_JSON_STREAM_CHUNK_SIZE, 8192);
+        }
+        return renderJsonStreamChunkSize;
+    }
+
+    private void _mergeRenderJsonStreamChunkSize(AppConfig conf) {
+        if (!hasConfiguration(RENDER_JSON_STREAM_CHUNK_SIZE)) {
+            renderJsonStreamChunkSize = conf.renderJsonStreamChunkSize;
+        }
+    }
+
     private String serverHeader;
     private static final String DEF_SERVER_HEADER = "act/" + Act.VERSION.getProjectVersion();
     private static String DEF_APP_SERVER_HEADER = appServerHeader();
@@ -2915,6 +3254,46 @@ public class AppConfig<T extends AppConfig> extends Config<AppConfigKey> impleme
         }
     }
 
+    private Integer sessionDecodeCacheSize;
+
+    protected T sessionDecodeCacheSize(int size) {
+        sessionDecodeCacheSize = size;
+        return me();
+    }
+
+    public int sessionDecodeCacheSize() {
+        if (null == sessionDecodeCacheSize) {
+            sessionDecodeCacheSize = getInteger(SESSION_DECODE_CACHE_SIZE, 1024);
+        }
+        return sessionDecodeCacheSize;
+    }
+
+    private void _mergeSessionDecodeCacheSize(AppConfig config) {
+        if (!hasConfiguration(SESSION_DECODE_CACHE_SIZE)) {
+            sessionDecodeCacheSize = config.sessionDecodeCacheSize;
+        }
+    }
+
+    private Integer sessionCompressThreshold;
+
+    protected T sessionCompressThreshold(int threshold) {
+        sessionCompressThreshold = threshold;
+        return me();
+    }
+
+    public int sessionCompressThreshold() {
+        if (null == sessionCompressThreshold) {
+            sessionCompressThreshold = getInteger(SESSION_COMPRESS_THRESHOLD, 0);
+        }
+        return sessionCompressThreshold;
+    }
+
+    private void _mergeSessionCompressThreshold(AppConfig config) {
+        if (!hasConfiguration(SESSION_COMPRESS_THRESHOLD)) {
+            sessionCompressThreshold = config.sessionCompressThreshold;
+        }
+    }
+
     private Boolean sessionEncrypt = null;
 
     protected T sessionEncrypt(boolean encryptSession) {
@@ -3316,6 +3695,30 @@ public class AppConfig<T extends AppConfig> extends Config<AppConfigKey> impleme
         }
     }
 
+    private boolean metricPrometheusPathResolved = false;
+    private String metricPrometheusPath = null;
+
+    protected T metricPrometheusPath(String path) {
+        metricPrometheusPathResolved = true;
+        metricPrometheusPath = path.trim();
+        return me();
+    }
+
+    public String metricPrometheusPath() {
+        if (!metricPrometheusPathResolved) {
+            metricPrometheusPath = get(METRIC_PROMETHEUS_PATH, null);
+            metricPrometheusPathResolved = true;
+        }
+        return metricPrometheusPath;
+    }
+
+    private void _mergeMetricPrometheusPath(AppConfig config) {
+        if (!hasConfiguration(METRIC_PROMETHEUS_PATH)) {
+            metricPrometheusPath = config.metricPrometheusPath;
+            metricPrometheusPathResolved = config.metricPrometheusPathResolved;
+        }
+    }
+
     public boolean possibleControllerClass(String className) {
         return appClassTester().test(className);
     }
@@ -3450,6 +3853,26 @@ public class AppConfig<T extends AppConfig> extends Config<AppConfigKey> impleme
         }
     }
 
+    private Integer resourceCacheSizeLimit;
+
+    protected T resourceCacheSizeLimit(int limit) {
+        resourceCacheSizeLimit = limit;
+        return me();
+    }
+
+    public int resourceCacheSizeLimit() {
+        if (null == resourceCacheSizeLimit) {
+            resourceCacheSizeLimit = get(RESOURCE_CACHE_SIZE_LIMIT, 1024 * 1024 * 32);
+        }
+        return resourceCacheSizeLimit;
+    }
+
+    private void _mergeResourceCacheSizeLimit(AppConfig conf) {
+        if (!hasConfiguration(RESOURCE_CACHE_SIZE_LIMIT)) {
+            this.resourceCacheSizeLimit = conf.resourceCacheSizeLimit;
+        }
+    }
+
     private Integer resourcePreloadSizeLimit;
 
     protected T resourcePreloadSizeLimit(int limit) {
@@ -3473,6 +3896,26 @@ public class AppConfig<T extends AppConfig> extends Config<AppConfigKey> impleme
         }
     }
 
+    private Boolean routerCompiled;
+
+    protected T routerCompiled(boolean enabled) {
+        routerCompiled = enabled;
+        return me();
+    }
+
+    public boolean routerCompiled() {
+        if (null == routerCompiled) {
+            routerCompiled = get(ROUTER_COMPILED, false);
+        }
+        return routerCompiled;
+    }
+
+    private void _mergeRouterCompiled(AppConfig conf) {
+        if (!hasConfiguration(ROUTER_COMPILED)) {
+            this.routerCompiled = conf.routerCompiled;
+        }
+    }
+
     private Integer uploadInMemoryCacheThreshold;
 
     protected T uploadInMemoryCacheThreshold(int l) {
@@ -3513,6 +3956,26 @@ public class AppConfig<T extends AppConfig> extends Config<AppConfigKey> impleme
         }
     }
 
+    private Boolean workerVirtualThread;
+
+    protected T workerVirtualThread(boolean enabled) {
+        workerVirtualThread = enabled;
+        return me();
+    }
+
+    public boolean workerVirtualThread() {
+        if (null == workerVirtualThread) {
+            workerVirtualThread = get(WORKER_VIRTUAL_THREAD, false);
+        }
+        return workerVirtualThread;
+    }
+
+    private void _mergeWorkerVirtualThread(AppConfig conf) {
+        if (!hasConfiguration(WORKER_VIRTUAL_THREAD)) {
+            this.workerVirtualThread = conf.workerVirtualThread;
+        }
+    }
+
     private String wsTicketKey;
 
     protected T wsTicketeKey(String wsTicketKey) {
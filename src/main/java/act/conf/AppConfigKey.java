@@ -443,6 +443,47 @@ public enum AppConfigKey implements ConfigKey {
      */
     ENUM_RESOLVING_EXACT_MATCH("enum.resolving.exact_match"),
 
+    /**
+     * `event.dispatch.pool.size` specifies the number of threads dispatching
+     * asynchronous events.
+     *
+     * Asynchronous events are dispatched in a dedicated thread pool, so that
+     * a burst of events does not hold up scheduled jobs.
+     *
+     * Default value: number of available processors
+     */
+    EVENT_DISPATCH_POOL_SIZE("event.dispatch.pool.size"),
+
+    /**
+     * `event.dispatch.queue.size` specifies the maximum number of asynchronous
+     * events waiting to be dispatched.
+     *
+     * Once reached, new events are handled according to {@link #EVENT_DISPATCH_OVERFLOW}.
+     *
+     * Default value: `10000`
+     */
+    EVENT_DISPATCH_QUEUE_SIZE("event.dispatch.queue.size"),
+
+    /**
+     * `event.dispatch.overflow` specifies how to handle an asynchronous event
+     * when the dispatch queue is full:
+     *
+     * * `caller_runs` - call the listener in the thread emitting the event
+     * * `discard` - drop the event and log a warning
+     * * `abort` - throw out {@link java.util.concurrent.RejectedExecutionException}
+     *
+     * Default value: `caller_runs`
+     */
+    EVENT_DISPATCH_OVERFLOW("event.dispatch.overflow"),
+
+    /**
+     * `event.dispatch.batch.size` specifies the maximum number of queued events
+     * delivered to an asynchronous listener in one dispatch task.
+     *
+     * Default value: `64`
+     */
+    EVENT_DISPATCH_BATCH_SIZE("event.dispatch.batch.size"),
+
     /**
      * {@code act.fmt.date} specifies the default date format used to
      * lookup/output the date string
@@ -557,6 +598,30 @@ public enum AppConfigKey implements ConfigKey {
      */
     HOST("host"),
 
+    /**
+     * `act.http.compression.enabled` turn on/off gzip compression of
+     * response content when the client accepts it.
+     *
+     * Default value: `false`
+     */
+    HTTP_COMPRESSION("http.compression.enabled"),
+
+    /**
+     * `act.http.compression.level` specifies the deflate level, from `1`
+     * (fastest) to `9` (smallest), used to compress response content
+     *
+     * Default value: `6`
+     */
+    HTTP_COMPRESSION_LEVEL("http.compression.level"),
+
+    /**
+     * `act.http.compression.min_size` specifies the minimum number of bytes
+     * of a response content to be compressed. Smaller content is sent as is.
+     *
+     * Default value: `1024`
+     */
+    HTTP_COMPRESSION_MIN_SIZE("http.compression.min_size"),
+
     /**
      * `act.http.external_server.enabled` specify if the app is running behind a front end
      * http server
@@ -691,10 +756,60 @@ public enum AppConfigKey implements ConfigKey {
     /**
      * {@code job.pool.size} specifies the maximum number of threads
      * can exists in the application's job manager's thread pool
+     *
+     * Jobs assigned to a named pool, e.g. `@Every(value = "1mn", pool = "report")`,
+     * run in a separate thread pool, the size of which is specified by
+     * `job.pool.<name>.size`, e.g. `job.pool.report.size=2`. If not specified
+     * then the named pool has the same size as the default pool.
+     *
      * <p>Default value: {@code 10}</p>
      */
     JOB_POOL_SIZE("job.pool.size"),
 
+    /**
+     * `job.scheduler.tick` specifies the tick duration in milliseconds of the
+     * timing wheel that schedules delayed and periodic jobs. A job is never
+     * started before it is due, and is started at most one tick after it.
+     *
+     * Default value: `10`
+     */
+    JOB_SCHEDULER_TICK("job.scheduler.tick"),
+
+    /**
+     * `job.scheduler.wheel.size` specifies the number of buckets in each level
+     * of the timing wheel that schedules delayed and periodic jobs. The number
+     * is rounded up to a power of two.
+     *
+     * Default value: `512`
+     */
+    JOB_SCHEDULER_WHEEL_SIZE("job.scheduler.wheel.size"),
+
+    /**
+     * `job.journal.dir` specifies the dir of the journal file that records
+     * durable jobs, see {@link act.job.DurableJobs}.
+     *
+     * Default value: `job-journal` in the app home dir
+     */
+    JOB_JOURNAL_DIR("job.journal.dir"),
+
+    /**
+     * `job.journal.flush.interval` specifies the interval in milliseconds to
+     * force the durable job journal to disk. Jobs submitted within the last
+     * interval could be lost if the operating system crashes.
+     *
+     * Default value: `10`
+     */
+    JOB_JOURNAL_FLUSH_INTERVAL("job.journal.flush.interval"),
+
+    /**
+     * `job.journal.compact.size` specifies the size in bytes over which the
+     * durable job journal is compacted if most of its records are for
+     * finished jobs.
+     *
+     * Default value: `64 * 1024 * 1024`, i.e. 64MB
+     */
+    JOB_JOURNAL_COMPACT_SIZE("job.journal.compact.size"),
+
     /**
      * `jwt.enabled`, toggle JWT (JSON Web Token) support.
      *
@@ -765,6 +880,19 @@ public enum AppConfigKey implements ConfigKey {
      */
     METRIC_ENABLED("metric.enabled"),
 
+    /**
+     * `metric.prometheus.path`
+     *
+     * Specify the URL path to expose metric counters, timers and JVM/worker
+     * pool gauges in the OpenMetrics text format, which can be scraped by
+     * Prometheus.
+     *
+     * The endpoint is not registered if this setting is not specified.
+     *
+     * Default value: `null`
+     */
+    METRIC_PROMETHEUS_PATH("metric.prometheus.path"),
+
     /**
      * {@code act.modules}
      *
@@ -824,6 +952,19 @@ public enum AppConfigKey implements ConfigKey {
      */
     PARAM_BINDING_KEYWORD_MATCHING("param_binding.keyword_matching.enabled"),
 
+    /**
+     * `param_binding.generated_binder.enabled` turn on/off generated POJO binder
+     * in HTTP param binding process.
+     *
+     * When this configuration is turned on the framework generates a binder class
+     * for each POJO type bound from HTTP params. The binder instantiates the POJO and
+     * sets its fields directly instead of using reflection. Private fields are
+     * still set through reflection.
+     *
+     * Default value: `true`
+     */
+    PARAM_BINDING_GENERATED_BINDER("param_binding.generated_binder.enabled"),
+
     /**
      * `password.spec` specify default password spec which is used to
      * validate user password.
@@ -905,6 +1046,28 @@ public enum AppConfigKey implements ConfigKey {
      */
     RENDER_JSON_CONTENT_TYPE_IE("render.json.content_type.ie"),
 
+    /**
+     * `render.json.property_spec.compiled.enabled` turn on/off compiled
+     * {@link act.util.PropertySpec} filtering in JSON rendering.
+     *
+     * When this configuration is turned on the properties selected by a
+     * `PropertySpec` are resolved once per bean type and the bean is written
+     * by a serializer that writes the selected properties only, instead of
+     * evaluating the property filter for each property of each bean.
+     *
+     * Default value: `true`
+     */
+    RENDER_JSON_PROPERTY_SPEC_COMPILED("render.json.property_spec.compiled.enabled"),
+
+    /**
+     * `render.json.stream.chunk_size` specifies the size in bytes of the chunks
+     * in which a streamed JSON array is written to the response, see
+     * {@link act.view.RenderJsonStream}.
+     *
+     * Default value: `8192`
+     */
+    RENDER_JSON_STREAM_CHUNK_SIZE("render.json.stream.chunk_size"),
+
 
     /**
      * {@code resolver.error_template_path.impl} specifies error page (template)
@@ -925,6 +1088,17 @@ public enum AppConfigKey implements ConfigKey {
      */
     RESOLVER_TEMPLATE_PATH("resolver.template_path.impl"),
 
+    /**
+     * `resource.cache.size.limit`
+     *
+     * Specifies the maximum total number of bytes of static resources cached
+     * in memory, including the precomputed gzip variants. The least recently
+     * used resources are evicted when the limit is exceeded.
+     *
+     * Default value: `1024 * 1024 * 32`, i.e. 32MB
+     */
+    RESOURCE_CACHE_SIZE_LIMIT("resource.cache.size.limit.int"),
+
     /**
      * `resource.preload.size.limit`
      *
@@ -935,6 +1109,20 @@ public enum AppConfigKey implements ConfigKey {
      */
     RESOURCE_PRELOAD_SIZE_LIMIT("resource.preload.size.limit.int"),
 
+    /**
+     * `router.compiled.enabled`
+     *
+     * Turn on/off compiled routing engine. When enabled the router compiles
+     * the route mapping into an immutable radix trie and matches the request
+     * path directly over the trie without splitting it into path elements.
+     *
+     * The trie is rebuilt and replaced atomically whenever the route mapping
+     * changed, e.g. on hot reload.
+     *
+     * Default value: `false`
+     */
+    ROUTER_COMPILED("router.compiled.enabled"),
+
     /**
      * {@code scan_package}
      * Specify the app package in which all classes is subject
@@ -1088,6 +1276,30 @@ public enum AppConfigKey implements ConfigKey {
      */
     SESSION_ENCRYPT_ENABLED("session.encrypt.enabled"),
 
+    /**
+     * `session.decode_cache.size` specifies the number of decoded and
+     * verified session cookies kept in memory, so requests sending the
+     * same session cookie do not decrypt and verify it again.
+     *
+     * The setting also applies to the verified JWT tokens cache of
+     * {@link act.session.JWT}.
+     *
+     * Set it to `0` to disable the cache.
+     *
+     * Default value: `1024`
+     */
+    SESSION_DECODE_CACHE_SIZE("session.decode_cache.size"),
+
+    /**
+     * `session.compress.threshold` specifies the minimum size in bytes of
+     * session/flash content to be compressed by {@link act.session.BinarySessionCodec}.
+     *
+     * Set it to `0` to disable compression.
+     *
+     * Default value: `0`
+     */
+    SESSION_COMPRESS_THRESHOLD("session.compress.threshold"),
+
     /**
      * `act.session.key.username` specifies the session key for username
      *
@@ -1105,6 +1317,11 @@ public enum AppConfigKey implements ConfigKey {
     /**
      * `session.codec.impl` specifies the implementation of {@link act.session.SessionCodec}
      *
+     * Built-in implementations:
+     * * {@link act.session.DefaultSessionCodec}
+     * * {@link act.session.JsonWebTokenSessionCodec}
+     * * {@link act.session.BinarySessionCodec} - compact binary format
+     *
      * Default value: {@link act.session.DefaultSessionCodec}
      */
     SESSION_CODEC("session.codec.impl"),
@@ -1281,6 +1498,20 @@ public enum AppConfigKey implements ConfigKey {
      */
     VIEW_DEFAULT("view.default"),
 
+    /**
+     * `worker.virtual_thread.enabled`
+     *
+     * Turn on/off virtual thread worker mode. When enabled, blocking request
+     * handlers, i.e. handlers not marked with `@NonBlock`, are run on a new
+     * virtual thread per request instead of the fixed size XNIO worker pool.
+     *
+     * This setting is ignored when the JVM does not support virtual threads,
+     * in which case requests are dispatched to the XNIO worker pool as usual.
+     *
+     * Default value: `false`
+     */
+    WORKER_VIRTUAL_THREAD("worker.virtual_thread.enabled"),
+
     /**
      * `ws.key.ticket`
      *
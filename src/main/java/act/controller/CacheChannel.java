@@ -23,4 +23,10 @@ package act.controller;
 public interface CacheChannel {
     boolean isCommitted();
     void commit();
+
+    /**
+     * Returns the content written to this channel. Only available
+     * after the channel is committed.
+     */
+    byte[] content();
 }
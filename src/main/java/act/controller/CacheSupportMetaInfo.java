@@ -28,6 +28,7 @@ public class CacheSupportMetaInfo {
     public $.Function<ActionContext, String> keyGenerator;
     public boolean enabled;
     public int ttl;
+    public int staleTtl;
     public String id;
     public boolean supportPost;
     public boolean usePrivate;
@@ -44,10 +45,15 @@ public class CacheSupportMetaInfo {
     }
 
     public static CacheSupportMetaInfo enabled($.Function<ActionContext, String> keyGenerator, String cacheForId, int ttl, boolean supportPost, boolean usePrivate, boolean noCacheControl) {
+        return enabled(keyGenerator, cacheForId, ttl, 0, supportPost, usePrivate, noCacheControl);
+    }
+
+    public static CacheSupportMetaInfo enabled($.Function<ActionContext, String> keyGenerator, String cacheForId, int ttl, int staleTtl, boolean supportPost, boolean usePrivate, boolean noCacheControl) {
         CacheSupportMetaInfo meta = new CacheSupportMetaInfo();
         meta.enabled = true;
         meta.id = cacheForId;
         meta.ttl = ttl;
+        meta.staleTtl = staleTtl;
         meta.supportPost = supportPost;
         meta.usePrivate = usePrivate;
         meta.keyGenerator = $.requireNotNull(keyGenerator);
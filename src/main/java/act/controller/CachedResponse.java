@@ -0,0 +1,128 @@
+package act.controller;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.ActResponse;
+import org.osgl.http.H;
+
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * An immutable snapshot of a response cached for a
+ * {@link act.util.CacheFor} annotated action handler.
+ *
+ * The body is stored as a byte array and headers are kept in the
+ * form they are written to the response, so a cache hit is served
+ * without re-rendering the result. All state is serializable, which
+ * allows the snapshot to be stored in a distributed cache service.
+ */
+public final class CachedResponse implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int status;
+    private final String[] headerNames;
+    private final String[] headerValues;
+    private final H.Cookie[] cookies;
+    private final String contentType;
+    private final String charset;
+    private final Locale locale;
+    private final String etag;
+    private final byte[] body;
+
+    // expiry time in epoch milliseconds
+    private final long freshUntil;
+    private final long staleUntil;
+
+    CachedResponse(int status, String[] headerNames, String[] headerValues, List<H.Cookie> cookies,
+                   String contentType, String charset, Locale locale, String etag, byte[] body,
+                   long freshUntil, long staleUntil) {
+        this.status = status;
+        this.headerNames = headerNames;
+        this.headerValues = headerValues;
+        this.cookies = cookies.toArray(new H.Cookie[cookies.size()]);
+        this.contentType = contentType;
+        this.charset = charset;
+        this.locale = locale;
+        this.etag = etag;
+        this.body = body;
+        this.freshUntil = freshUntil;
+        this.staleUntil = staleUntil;
+    }
+
+    public String etag() {
+        return etag;
+    }
+
+    /**
+     * Check if this response is not expired.
+     *
+     * @param now
+     *         the current time in milliseconds
+     * @return `true` if the response is fresh
+     */
+    public boolean isFresh(long now) {
+        return now < freshUntil;
+    }
+
+    /**
+     * Check if this response can still be served while it is being refreshed.
+     *
+     * @param now
+     *         the current time in milliseconds
+     * @return `true` if the response is fresh or in the stale-while-revalidate window
+     */
+    public boolean isUsable(long now) {
+        return now < staleUntil;
+    }
+
+    public int contentLength() {
+        return body.length;
+    }
+
+    public void applyTo(ActResponse response) {
+        for (H.Cookie cookie : cookies) {
+            response.addCookie(cookie);
+        }
+        for (int i = 0; i < headerNames.length; ++i) {
+            response.header(headerNames[i], headerValues[i]);
+        }
+        if (null != contentType) {
+            response.contentType(contentType);
+        }
+        if (null != charset) {
+            response.characterEncoding(charset);
+        }
+        response.commitContentType();
+        if (null != locale) {
+            response.locale(locale);
+        }
+        if (status > 0) {
+            response.status(status);
+        }
+        response.contentLength(body.length);
+        response.writeContent(ByteBuffer.wrap(body));
+    }
+
+}
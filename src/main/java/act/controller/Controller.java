@@ -29,6 +29,7 @@ import act.route.Router;
 import act.util.*;
 import act.util.JsonUtilConfig.JsonWriter;
 import act.view.*;
+import act.xio.GzipEncoding;
 import com.alibaba.fastjson.JSON;
 import org.osgl.$;
 import org.osgl.http.H;
@@ -1927,6 +1928,12 @@ public @interface Controller {
             } else {
                 PropertySpec.MetaInfo propertySpec = PropertySpec.MetaInfo.withCurrent(meta, context);
                 if (requireJSON || H.Format.UNKNOWN == context.req().accept()) {
+                    if (RenderRows.acceptNdJson(context) && (v instanceof Iterable || ElementStreams.isElementStream(v))) {
+                        return RenderRows.ndjson(status, v, propertySpec, context);
+                    }
+                    if (RenderJsonStream.accept(v, context)) {
+                        return new RenderJsonStream(status, v, propertySpec, context);
+                    }
                     boolean isIterable = v instanceof Iterable;
                     if (isIterable) {
                         v = new FastJsonIterable((Iterable) v);
@@ -1943,6 +1950,9 @@ public @interface Controller {
                 } else if (context.acceptXML()) {
                     return new FilteredRenderXML(status, v, propertySpec, context);
                 } else if (context.accept() == H.Format.CSV) {
+                    if (RenderRows.accept(v, context)) {
+                        return RenderRows.csv(status, v, propertySpec, context);
+                    }
                     return RenderCSV.of(status, v, propertySpec, context);
                 } else {
                     boolean isArray = vCls.isArray();
@@ -1957,7 +1967,7 @@ public @interface Controller {
             }
             String version = ((Versioned) v)._version();
             String etagVersion = etag(meta, version);
-            if (req.etagMatches(etagVersion)) {
+            if (GzipEncoding.etagMatches(req, etagVersion)) {
                 throw NotModified.get();
             } else {
                 context.resp().etag(etagVersion);
@@ -20,20 +20,20 @@ package act.controller;
  * #L%
  */
 
-import act.ActResponse;
+import act.Act;
+import act.util.PooledOutputStream;
 import org.osgl.util.IO;
 import org.osgl.util.Output;
 
-import java.io.ByteArrayOutputStream;
 import java.io.OutputStream;
 import java.io.Writer;
 import java.nio.ByteBuffer;
 
 public class OutputCache implements Output, CacheChannel {
-    private ByteArrayOutputStream baos = new ByteArrayOutputStream();
-    private Output tee = Output.Adaptors.of(baos);
+    private PooledOutputStream pos = new PooledOutputStream(Act.bufferPool());
+    private Output tee = Output.Adaptors.of(pos);
     private Output out;
-    private ByteBuffer buffer;
+    private byte[] content;
     private boolean committed;
 
     public OutputCache(Output out) {
@@ -102,11 +102,9 @@ public class OutputCache implements Output, CacheChannel {
     @Override
     public void commit() {
         if (!committed) {
-            byte[] ba = baos.toByteArray();
-            ByteBuffer buffer = ByteBuffer.allocateDirect(ba.length);
-            buffer.put(ba);
-            buffer.flip();
-            this.buffer = buffer;
+            byte[] ba = pos.toByteArray();
+            pos.release();
+            this.content = ba;
             out.append(ba);
             IO.close(out);
             committed = true;
@@ -123,8 +121,9 @@ public class OutputCache implements Output, CacheChannel {
         return Output.Adaptors.asWriter(this);
     }
 
-    void apply(ActResponse resp) {
-        resp.writeContent(buffer.duplicate());
+    @Override
+    public byte[] content() {
+        return content;
     }
 
 }
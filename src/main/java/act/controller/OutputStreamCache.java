@@ -20,16 +20,16 @@ package act.controller;
  * #L%
  */
 
-import act.ActResponse;
+import act.Act;
+import act.util.PooledOutputStream;
 import org.osgl.util.IO;
 
 import java.io.*;
-import java.nio.ByteBuffer;
 
 class OutputStreamCache extends OutputStream implements CacheChannel {
-    private ByteArrayOutputStream tee = new ByteArrayOutputStream();
+    private PooledOutputStream tee = new PooledOutputStream(Act.bufferPool());
     private OutputStream out;
-    private ByteBuffer buffer;
+    private byte[] content;
     private boolean committed;
 
     public OutputStreamCache(OutputStream os) {
@@ -69,17 +69,16 @@ class OutputStreamCache extends OutputStream implements CacheChannel {
     public void commit() {
         if (!committed) {
             byte[] ba = tee.toByteArray();
-            ByteBuffer buffer = ByteBuffer.allocateDirect(ba.length);
-            buffer.put(ba);
-            buffer.flip();
-            this.buffer = buffer;
+            tee.release();
+            this.content = ba;
             IO.write(ba).ensureCloseSink().to(out);
             committed = true;
         }
     }
 
-    void apply(ActResponse resp) {
-        resp.writeContent(buffer.duplicate());
+    @Override
+    public byte[] content() {
+        return content;
     }
 
 }
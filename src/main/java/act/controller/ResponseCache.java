@@ -40,11 +40,10 @@ public class ResponseCache extends ActResponse implements Serializable {
     private Map<String, H.Cookie> cookies = new HashMap<>();
     private Map<String, String> headers = new HashMap<>();
 
-    private Long len;
     private H.Status status;
     private String etag;
 
-    private ByteBuffer buffer;
+    private byte[] content;
     private OutputStreamCache osCache;
     private WriterCache writerCache;
     private OutputCache outputCache;
@@ -62,38 +61,38 @@ public class ResponseCache extends ActResponse implements Serializable {
         return this.etag;
     }
 
-    public void applyTo(ActResponse response) {
-        for (H.Cookie cookie : cookies.values()) {
-            response.addCookie(cookie);
+    /**
+     * Create an immutable snapshot of the response captured.
+     *
+     * @param ttl
+     *         the number of seconds the snapshot is fresh
+     * @param staleTtl
+     *         the number of seconds the snapshot can be served
+     *         after it expired while it is being refreshed
+     * @return the snapshot or `null` if the response content is not captured
+     */
+    public CachedResponse snapshot(int ttl, int staleTtl) {
+        if (!isValid()) {
+            return null;
         }
-        for (Map.Entry<String, String> entry : headers.entrySet()) {
-            response.header(entry.getKey(), entry.getValue());
-        }
-        if (null != contentType) {
-            response.contentType(contentType);
-        }
-        if (null != charset) {
-            response.characterEncoding(charset);
-        }
-        response.commitContentType();
-        if (null != len) {
-            response.contentLength(len);
-        }
-        if (null != locale) {
-            response.locale(locale);
-        }
-        if (null != status) {
-            response.status(status);
+        byte[] body = content;
+        if (null == body) {
+            CacheChannel channel = null != osCache ? osCache : null != writerCache ? writerCache : outputCache;
+            body = channel.content();
         }
-        if (null != buffer) {
-            response.writeContent(buffer.duplicate());
-        } else if (null != osCache) {
-            osCache.apply(response);
-        } else if (null != writerCache) {
-            writerCache.apply(response);
-        } else if (null != outputCache) {
-            outputCache.apply(response);
+        int size = headers.size();
+        String[] names = new String[size];
+        String[] values = new String[size];
+        int i = 0;
+        for (Map.Entry<String, String> entry : headers.entrySet()) {
+            names[i] = entry.getKey();
+            values[i++] = entry.getValue();
         }
+        long now = System.currentTimeMillis();
+        long freshUntil = now + ttl * 1000L;
+        return new CachedResponse(null == status ? -1 : status.code(), names, values,
+                new ArrayList<>(cookies.values()), contentType, charset, locale, etag, body,
+                freshUntil, freshUntil + staleTtl * 1000L);
     }
 
     public boolean isValid() {
@@ -210,22 +209,15 @@ public class ResponseCache extends ActResponse implements Serializable {
     @Override
     public H.Response writeBinary(ISObject binary) {
         byte[] ba = binary.asByteArray();
-        ByteBuffer buffer = ByteBuffer.allocateDirect(ba.length);
-        buffer.put(ba);
-        buffer.flip();
-        this.buffer = buffer;
-        realResponse.writeContent(buffer);
+        this.content = ba;
+        realResponse.writeContent(ByteBuffer.wrap(ba));
         this.wroteDirectly = true;
         return this;
     }
 
     @Override
     public H.Response writeContent(String s) {
-        byte[] ba = s.getBytes(Charsets.UTF_8);
-        ByteBuffer buffer = ByteBuffer.allocateDirect(ba.length);
-        buffer.put(ba);
-        buffer.flip();
-        this.buffer = buffer;
+        this.content = s.getBytes(Charsets.UTF_8);
         realResponse.writeContent(s);
         this.wroteDirectly = true;
         return this;
@@ -282,7 +274,6 @@ public class ResponseCache extends ActResponse implements Serializable {
     @Override
     public H.Response contentLength(long len) {
         realResponse.contentLength(len);
-        this.len = len;
         return this;
     }
 
@@ -358,8 +349,11 @@ public class ResponseCache extends ActResponse implements Serializable {
 
     @Override
     public H.Response writeContent(ByteBuffer buffer) {
+        byte[] ba = new byte[buffer.remaining()];
+        buffer.duplicate().get(ba);
+        this.content = ba;
         realResponse.writeContent(buffer);
-        // we don't cache the byte buffer
+        this.wroteDirectly = true;
         return this;
     }
 
@@ -20,17 +20,15 @@ package act.controller;
  * #L%
  */
 
-import act.ActResponse;
 import org.osgl.util.Charsets;
 import org.osgl.util.IO;
 
 import java.io.*;
-import java.nio.ByteBuffer;
 
 public class WriterCache extends Writer implements CacheChannel {
     private StringWriter tee = new StringWriter();
     private Writer out;
-    private ByteBuffer buffer;
+    private byte[] content;
     private boolean committed;
 
     public WriterCache(Writer out) {
@@ -38,8 +36,8 @@ public class WriterCache extends Writer implements CacheChannel {
     }
 
     @Override
-    public void write(char[] cbuf, int off, int len) throws IOException {
-        out.write(cbuf, off, len);
+    public void write(char[] cbuf, int off, int len) {
+        tee.write(cbuf, off, len);
     }
 
     @Override
@@ -55,11 +53,7 @@ public class WriterCache extends Writer implements CacheChannel {
     public void commit() {
         if (!committed) {
             String content = tee.toString();
-            byte[] ba = content.getBytes(Charsets.UTF_8);
-            ByteBuffer buffer = ByteBuffer.allocateDirect(ba.length);
-            buffer.put(ba);
-            buffer.flip();
-            this.buffer = buffer;
+            this.content = content.getBytes(Charsets.UTF_8);
             IO.write(content).ensureCloseSink().to(out);
             committed = true;
         }
@@ -70,8 +64,9 @@ public class WriterCache extends Writer implements CacheChannel {
         return committed;
     }
 
-    void apply(ActResponse resp) {
-        resp.writeContent(buffer.duplicate());
+    @Override
+    public byte[] content() {
+        return content;
     }
 
 }
@@ -21,6 +21,7 @@ package act.crypto;
  */
 
 import act.session.JWT;
+import org.osgl.$;
 import org.osgl.util.Codec;
 import org.osgl.util.E;
 import org.osgl.util.S;
@@ -62,7 +63,17 @@ public class HMAC {
 
     }
 
-    private Mac mac;
+    // Mac is not thread safe and expensive to initialize, thus
+    // each thread keeps its own instances indexed by algorithm and key
+    private static final int MAX_MACS_PER_THREAD = 16;
+    private static final ThreadLocal<Map<String, Mac>> MACS = new ThreadLocal<Map<String, Mac>>() {
+        @Override
+        protected Map<String, Mac> initialValue() {
+            return new HashMap<>();
+        }
+    };
+
+    private String key;
     private String algoName;
     protected Algorithm algo;
     private final Charset UTF_8 = Charset.forName("UTF-8");
@@ -80,12 +91,14 @@ public class HMAC {
 
     public HMAC(String key, String algoKey) {
         this(algoKey);
-        mac = algo.macOf(key);
+        this.key = $.requireNotNull(key);
+        algo.macOf(key); // fail fast on invalid key
     }
 
     public HMAC(String key, Algorithm algo) {
         this(algo);
-        mac = algo.macOf(key);
+        this.key = $.requireNotNull(key);
+        algo.macOf(key); // fail fast on invalid key
     }
 
     public String toString(JWT.Token token) {
@@ -111,7 +124,7 @@ public class HMAC {
     }
 
     protected byte[] doHash(byte[] bytes) {
-        return doHash(bytes, mac);
+        return doHash(bytes, mac(key));
     }
 
     protected final byte[] doHash(byte[] bytes, Mac mac) {
@@ -129,7 +142,7 @@ public class HMAC {
     }
 
     protected boolean verifyHash(byte[] payload, byte[] hash) {
-        return verifyHash(payload, hash, mac);
+        return verifyHash(payload, hash, mac(key));
     }
 
     protected final boolean verifyHash(byte[] payload, byte[] hash, Mac mac) {
@@ -137,6 +150,28 @@ public class HMAC {
         return MessageDigest.isEqual(myHash, hash);
     }
 
+    /**
+     * Returns the {@link Mac} of the current thread for the given key.
+     *
+     * @param key
+     *         the secret key
+     * @return the `Mac` instance, which must not be shared with other threads
+     */
+    protected final Mac mac(String key) {
+        Map<String, Mac> macs = MACS.get();
+        String macKey = S.concat(algo.javaName, ":", key);
+        Mac mac = macs.get(macKey);
+        if (null == mac) {
+            if (macs.size() >= MAX_MACS_PER_THREAD) {
+                // keys are rotated, drop the old ones
+                macs.clear();
+            }
+            mac = algo.macOf(key);
+            macs.put(macKey, mac);
+        }
+        return mac;
+    }
+
     public boolean verifyArgo(String algoName) {
         Algorithm algorithm = algoLookup.get(algoName);
         return null != algorithm && S.eq(this.algoName, algorithm.jwtName());
@@ -57,14 +57,14 @@ public class RotateSecretHMAC extends HMAC {
     }
 
     private Mac curMac() {
-        return algo.macOf(secretProvider.curSecret());
+        return mac(secretProvider.curSecret());
     }
 
     private Mac prevMac() {
-        return algo.macOf(secretProvider.lastSecret());
+        return mac(secretProvider.lastSecret());
     }
 
     private Mac nextMac() {
-        return algo.macOf(secretProvider.nextSecret());
+        return mac(secretProvider.nextSecret());
     }
 }
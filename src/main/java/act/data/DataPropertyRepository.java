@@ -23,7 +23,10 @@ package act.data;
 import act.app.App;
 import act.app.AppServiceBase;
 import act.util.ActContext;
+import act.util.FastJsonPropertyPreFilter;
+import act.util.FastJsonPropertySpecConfig;
 import act.util.PropertySpec;
+import com.alibaba.fastjson.serializer.SerializeConfig;
 import org.joda.time.*;
 import org.osgl.$;
 import org.osgl.exception.UnexpectedException;
@@ -37,6 +40,8 @@ import java.lang.reflect.*;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Keep the property information of Data class
@@ -58,12 +63,23 @@ public class DataPropertyRepository extends AppServiceBase<DataPropertyRepositor
     /**
      * Map a list of property path to class name
      */
-    private Map<String, List<String>> repo = new HashMap<>();
+    private ConcurrentMap<String, List<String>> repo = new ConcurrentHashMap<>();
 
     private OutputFieldsCache outputFieldsCache = new OutputFieldsCache();
 
+    /**
+     * Map compiled serialize config to bean class, property filter and naming strategy
+     */
+    private ConcurrentMap<List<Object>, Object> propertySpecConfigs = new ConcurrentHashMap<>();
+
+    // mark the key of a property filter that cannot be compiled
+    private static final Object NOT_COMPILED = new Object();
+
+    private boolean compilePropertySpec;
+
     public DataPropertyRepository(App app) {
         super(app, true);
+        compilePropertySpec = app.config().renderJsonPropertySpecCompiled();
         _init();
     }
 
@@ -72,6 +88,53 @@ public class DataPropertyRepository extends AppServiceBase<DataPropertyRepositor
         extendedTerminators.clear();
         terminators.clear();
         repo.clear();
+        propertySpecConfigs.clear();
+    }
+
+    /**
+     * Turn on/off compiled property filter on this repository.
+     *
+     * @param enabled
+     *         `true` to enable compiled property filter
+     * @return this repository
+     * @see act.conf.AppConfigKey#RENDER_JSON_PROPERTY_SPEC_COMPILED
+     */
+    public DataPropertyRepository compilePropertySpec(boolean enabled) {
+        this.compilePropertySpec = enabled;
+        return this;
+    }
+
+    /**
+     * Returns a `SerializeConfig` that writes beans of a class with the properties
+     * selected by a property filter, without evaluating the filter on each property.
+     *
+     * @param beanClass
+     *         the bean class, or the element class of a collection
+     * @param filter
+     *         the property filter
+     * @param base
+     *         the config to be used when there is no property filter
+     * @return the compiled config, or `null` if compiled property filter is turned
+     *         off or the filter cannot be compiled for the bean class
+     * @see FastJsonPropertySpecConfig
+     */
+    public SerializeConfig propertySpecConfig(Class<?> beanClass, FastJsonPropertyPreFilter filter, SerializeConfig base) {
+        if (!compilePropertySpec) {
+            return null;
+        }
+        List<Object> key = Arrays.<Object>asList(beanClass, filter, base.propertyNamingStrategy);
+        Object config = propertySpecConfigs.get(key);
+        if (null == config) {
+            config = FastJsonPropertySpecConfig.compile(beanClass, filter, base);
+            if (null == config) {
+                config = NOT_COMPILED;
+            }
+            Object existing = propertySpecConfigs.putIfAbsent(key, config);
+            if (null != existing) {
+                config = existing;
+            }
+        }
+        return NOT_COMPILED == config ? null : (SerializeConfig) config;
     }
 
     /**
@@ -79,7 +142,7 @@ public class DataPropertyRepository extends AppServiceBase<DataPropertyRepositor
      * @param c the class
      * @return the property list of the class
      */
-    public synchronized List<String> propertyListOf(Class<?> c) {
+    public List<String> propertyListOf(Class<?> c) {
         String cn = c.getName();
         List<String> ls = repo.get(cn);
         if (ls != null) {
@@ -87,8 +150,8 @@ public class DataPropertyRepository extends AppServiceBase<DataPropertyRepositor
         }
         Set<Class<?>> circularReferenceDetector = new HashSet<>();
         ls = propertyListOf(c, circularReferenceDetector, null);
-        repo.put(c.getName(), ls);
-        return ls;
+        List<String> existing = repo.putIfAbsent(cn, ls);
+        return null == existing ? ls : existing;
     }
 
     public List<String> outputFields(PropertySpec.MetaInfo spec, Class<?> componentClass, ActContext context) {
@@ -28,6 +28,8 @@ import org.osgl.$;
 import org.osgl.util.C;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.regex.Pattern;
 
 class OutputFieldsCache {
@@ -36,19 +38,21 @@ class OutputFieldsCache {
     // 1. excluded - developer declared excluded field list
     // 2. outputs - developer declared output field list
     // 3. component type - the type of the entity where field data get extracted
-    private class K {
-        Set<String> excluded;
-        List<String> outputs;
-        Class<?> componentType;
+    private static class K {
+        final Set<String> excluded;
+        final List<String> outputs;
+        final Class<?> componentType;
+        final int hc;
         K(Set<String> ss, List<String> ls, Class<?> componentType) {
             excluded = ss;
             outputs = ls;
             this.componentType = componentType;
+            this.hc = $.hc(excluded, outputs, componentType);
         }
 
         @Override
         public int hashCode() {
-            return $.hc(excluded, outputs, componentType);
+            return hc;
         }
 
         @Override
@@ -58,7 +62,8 @@ class OutputFieldsCache {
             }
             if (obj instanceof K) {
                 K that = (K) obj;
-                return $.eq(that.excluded, this.excluded)
+                return that.hc == this.hc
+                        && $.eq(that.excluded, this.excluded)
                         && $.eq(that.outputs, this.outputs)
                         && $.eq(that.componentType, this.componentType);
             }
@@ -66,14 +71,17 @@ class OutputFieldsCache {
         }
     }
 
-    private Map<K, List<String>> cache = new HashMap<>();
+    private ConcurrentMap<K, List<String>> cache = new ConcurrentHashMap<>();
 
     public List<String> getOutputFields(PropertySpec.MetaInfo spec, Class<?> componentClass, ActContext context) {
         K k = new K(spec.excludedFields(context), spec.outputFields(context), componentClass);
         List<String> outputs = cache.get(k);
         if (null == outputs) {
             outputs = calculateOutputs(k);
-            cache.put(k, outputs);
+            List<String> existing = cache.putIfAbsent(k, outputs);
+            if (null != existing) {
+                outputs = existing;
+            }
         }
         return outputs;
     }
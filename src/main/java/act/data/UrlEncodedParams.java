@@ -0,0 +1,355 @@
+package act.data;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2017 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.app.ActionContext;
+import org.osgl.http.H;
+import org.osgl.logging.L;
+import org.osgl.logging.Logger;
+import org.osgl.mvc.result.ErrorResult;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Parameters of `application/x-www-form-urlencoded` content.
+ *
+ * The content is parsed in a single pass over the raw bytes, during which
+ * `+` and percent escapes are decoded in place and the number of parameters
+ * is checked against the limit. Parameter names are converted to `String`
+ * after parsing, as the charset might be specified by the `_charset_`
+ * parameter. Values are kept as byte ranges and converted to `String` the
+ * first time the parameter is looked up, thus only the parameters bound by
+ * the action are materialized.
+ *
+ * The map is read only.
+ */
+public class UrlEncodedParams extends AbstractMap<String, String[]> {
+
+    private static final Logger LOGGER = L.get(UrlEncodedParams.class);
+
+    /**
+     * The name of the parameter that specifies the charset of the form.
+     */
+    public static final String CHARSET_PARAM = "_charset_";
+
+    private static final byte[] CHARSET_PARAM_BYTES = CHARSET_PARAM.getBytes(StandardCharsets.ISO_8859_1);
+
+    // decoded names and values
+    private byte[] buf;
+    // name start, name end, value start (-1 if there is no value) and value end of each param
+    private int[] spans = new int[64];
+    private int count;
+    private Charset charset;
+    private Map<String, Param> params;
+
+    // the undecoded content if it shall be kept as the request body
+    private byte[] raw;
+    private int rawLength;
+    private Charset rawCharset;
+    private String body;
+
+    private UrlEncodedParams() {
+    }
+
+    /**
+     * Parse url encoded content.
+     *
+     * If `keepBody` is `false` then the bytes of `data` are overwritten with
+     * the decoded names and values. Otherwise `data` is copied once the first
+     * escape is found and the undecoded content is available as parameter
+     * {@link ActionContext#REQ_BODY}.
+     *
+     * @param data
+     *         the content bytes
+     * @param length
+     *         the length of the content in `data`
+     * @param charset
+     *         the charset of the content
+     * @param maxParams
+     *         the maximum number of parameters, `0` if there is no limit
+     * @param keepBody
+     *         whether the content shall be kept as the request body
+     * @return the parameters
+     * @throws ErrorResult
+     *         with status `413` if the number of parameters exceeds `maxParams`
+     */
+    public static UrlEncodedParams parse(byte[] data, int length, Charset charset, int maxParams, boolean keepBody) {
+        UrlEncodedParams params = new UrlEncodedParams();
+        params.buf = data;
+        if (keepBody) {
+            params.raw = data;
+            params.rawLength = length;
+            params.rawCharset = charset;
+        }
+        params.decode(data, length, maxParams);
+        params.charset = params.providedCharset(charset);
+        params.indexNames();
+        return params;
+    }
+
+    @Override
+    public String[] get(Object key) {
+        if (null != raw && ActionContext.REQ_BODY.equals(key)) {
+            return new String[]{body()};
+        }
+        Param param = params.get(key);
+        return null == param ? null : param.getValue();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return params.containsKey(key) || (null != raw && ActionContext.REQ_BODY.equals(key));
+    }
+
+    @Override
+    public int size() {
+        return null == raw ? params.size() : params.size() + 1;
+    }
+
+    @Override
+    public Set<Entry<String, String[]>> entrySet() {
+        return new AbstractSet<Entry<String, String[]>>() {
+            @Override
+            public Iterator<Entry<String, String[]>> iterator() {
+                final Iterator<Param> itr = params.values().iterator();
+                return new Iterator<Entry<String, String[]>>() {
+                    boolean bodyVisited = null == raw;
+
+                    @Override
+                    public boolean hasNext() {
+                        return itr.hasNext() || !bodyVisited;
+                    }
+
+                    @Override
+                    public Entry<String, String[]> next() {
+                        if (itr.hasNext()) {
+                            return itr.next();
+                        }
+                        if (bodyVisited) {
+                            throw new NoSuchElementException();
+                        }
+                        bodyVisited = true;
+                        return new SimpleImmutableEntry<>(ActionContext.REQ_BODY, new String[]{body()});
+                    }
+
+                    @Override
+                    public void remove() {
+                        throw new UnsupportedOperationException();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return UrlEncodedParams.this.size();
+            }
+        };
+    }
+
+    private String body() {
+        if (null == body) {
+            body = new String(raw, 0, rawLength, rawCharset);
+        }
+        return body;
+    }
+
+    /*
+     * Split the content into params and decode them into `buf`. The write
+     * position never passes the read position, thus `buf` could be `data`
+     * itself. Separators are kept so that `buf` is copied from `data` only
+     * when a write would change the content of `data`.
+     */
+    private void decode(byte[] data, int length, int maxParams) {
+        int r = 0, w = 0;
+        while (r < length) {
+            int nameStart = w, nameEnd = -1, valueStart = -1;
+            // `=` at the beginning of a param is part of the name
+            boolean split = data[r] != '=';
+            while (r < length) {
+                byte b = data[r];
+                if (b == '&') {
+                    break;
+                }
+                if (b == '+') {
+                    b = ' ';
+                    r++;
+                } else if (b == '%' && r + 2 < length && isHex(data[r + 1]) && isHex(data[r + 2])) {
+                    b = (byte) ((hexValue(data[r + 1]) << 4) | hexValue(data[r + 2]));
+                    r += 3;
+                } else {
+                    if (b == '=' && split && nameEnd < 0) {
+                        nameEnd = w;
+                        valueStart = w + 1;
+                    }
+                    r++;
+                }
+                if (buf == raw && b != data[w]) {
+                    // keep the undecoded content for the request body
+                    buf = Arrays.copyOf(data, length);
+                }
+                buf[w++] = b;
+            }
+            int end = w;
+            if (r < length) {
+                // keep `&`
+                if (buf == raw && '&' != data[w]) {
+                    buf = Arrays.copyOf(data, length);
+                }
+                buf[w++] = '&';
+                r++;
+            }
+            if (nameEnd < 0) {
+                nameEnd = end;
+            }
+            if (nameEnd == nameStart) {
+                // empty param
+                continue;
+            }
+            if (maxParams > 0 && count == maxParams) {
+                // to prevent the server from being vulnerable to POST hash collision DOS-attack
+                // (Denial of Service through hash table multi-collisions), parsing is aborted
+                // once the number of params exceeds the limit
+                LOGGER.warn("Number of request parameters is higher than maximum of %d, aborting. Can be configured using 'act.http.params.max'", maxParams);
+                throw new ErrorResult(H.Status.valueOf(413)); //413 Request Entity Too Large
+            }
+            addSpan(nameStart, nameEnd, valueStart, end);
+        }
+    }
+
+    private void addSpan(int nameStart, int nameEnd, int valueStart, int valueEnd) {
+        int i = count << 2;
+        if (i == spans.length) {
+            spans = Arrays.copyOf(spans, i << 1);
+        }
+        spans[i] = nameStart;
+        spans[i + 1] = nameEnd;
+        spans[i + 2] = valueStart;
+        spans[i + 3] = valueEnd;
+        count++;
+    }
+
+    /*
+     * Returns the charset specified by the `_charset_` param if it is valid,
+     * or the default charset otherwise
+     */
+    private Charset providedCharset(Charset defaultCharset) {
+        for (int i = 0; i < count; ++i) {
+            int p = i << 2;
+            int nameStart = spans[p], nameEnd = spans[p + 1], valueStart = spans[p + 2];
+            if (valueStart < 0 || !regionEquals(nameStart, nameEnd, CHARSET_PARAM_BYTES)) {
+                continue;
+            }
+            String providedCharset = new String(buf, valueStart, spans[p + 3] - valueStart, StandardCharsets.ISO_8859_1);
+            try {
+                return Charset.forName(providedCharset);
+            } catch (Exception e) {
+                LOGGER.debug("Got invalid _charset_ in form: " + providedCharset);
+                return defaultCharset;
+            }
+        }
+        return defaultCharset;
+    }
+
+    private void indexNames() {
+        Map<String, Param> params = new LinkedHashMap<>();
+        for (int i = 0; i < count; ++i) {
+            int p = i << 2;
+            String name = new String(buf, spans[p], spans[p + 1] - spans[p], charset);
+            Param param = params.get(name);
+            if (null == param) {
+                params.put(name, new Param(name, i));
+            } else {
+                param.add(i);
+            }
+        }
+        this.params = params;
+    }
+
+    private boolean regionEquals(int start, int end, byte[] bytes) {
+        if (end - start != bytes.length) {
+            return false;
+        }
+        for (int i = 0; i < bytes.length; ++i) {
+            if (buf[start + i] != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isHex(byte b) {
+        return (b >= '0' && b <= '9') || (b >= 'a' && b <= 'f') || (b >= 'A' && b <= 'F');
+    }
+
+    private static int hexValue(byte b) {
+        return b <= '9' ? b - '0' : (b | 0x20) - 'a' + 10;
+    }
+
+    /*
+     * A param and the indexes of its values
+     */
+    private class Param implements Entry<String, String[]> {
+        private final String name;
+        private int[] indexes;
+        private int size;
+        private String[] values;
+
+        Param(String name, int index) {
+            this.name = name;
+            this.indexes = new int[]{index};
+            this.size = 1;
+        }
+
+        void add(int index) {
+            if (size == indexes.length) {
+                indexes = Arrays.copyOf(indexes, size << 1);
+            }
+            indexes[size++] = index;
+        }
+
+        @Override
+        public String getKey() {
+            return name;
+        }
+
+        @Override
+        public String[] getValue() {
+            if (null == values) {
+                String[] sa = new String[size];
+                for (int i = 0; i < size; ++i) {
+                    int p = indexes[i] << 2;
+                    int valueStart = spans[p + 2];
+                    sa[i] = valueStart < 0 ? null : new String(buf, valueStart, spans[p + 3] - valueStart, charset);
+                }
+                values = sa;
+            }
+            return values;
+        }
+
+        @Override
+        public String[] setValue(String[] value) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+}
@@ -23,21 +23,25 @@ package act.data;
 import act.app.ActionContext;
 import org.osgl.exception.UnexpectedException;
 import org.osgl.http.H;
-import org.osgl.mvc.result.ErrorResult;
 import org.osgl.mvc.result.Result;
 import org.osgl.util.C;
-import org.osgl.util.Codec;
+import org.osgl.util.S;
 
-import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.Charset;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.Map;
 
 // Disclaim the source code is copied from Play!Framework 1.3
 public class UrlEncodedParser extends RequestBodyParser {
-    
+
+    // the initial size of the buffer if the content length is unknown
+    private static final int DEFAULT_BUFFER_SIZE = 1024;
+    // the max initial size of the buffer no matter what the content length header says
+    private static final int MAX_INITIAL_BUFFER_SIZE = 1024 * 1024;
+
     boolean forQueryString = false;
 
     @Override
@@ -45,108 +49,33 @@ public class UrlEncodedParser extends RequestBodyParser {
         H.Request request = context.req();
         // Encoding is either retrieved from contentType or it is the default encoding
         final String encoding = request.characterEncoding();
-        InputStream is = request.inputStream();
         try {
-            Map<String, String[]> params = new LinkedHashMap<String, String[]>();
-            ByteArrayOutputStream os = new ByteArrayOutputStream();
-            byte[] buffer = new byte[1024];
-            int bytesRead;
-            while ((bytesRead = is.read(buffer)) > 0) {
-                os.write(buffer, 0, bytesRead);
-            }
-
-            String data = new String(os.toByteArray(), encoding);
-            if (data.length() == 0) {
+            int[] length = new int[1];
+            byte[] data = readContent(request, length);
+            int len = length[0];
+            if (len == 0) {
                 //data is empty - can skip the rest
                 return new HashMap<>(0);
             }
 
             // check if data is in JSON format
-            if (data.startsWith("{") && data.endsWith("}") || data.startsWith("[") && data.endsWith("]")) {
-                return C.Map(ActionContext.REQ_BODY, new String[]{data});
+            byte first = data[0], last = data[len - 1];
+            if (first == '{' && last == '}' || first == '[' && last == ']') {
+                return C.Map(ActionContext.REQ_BODY, new String[]{new String(data, 0, len, encoding)});
             }
 
             // data is o the form:
             // a=b&b=c%12...
-
-            // Let us lookup in two phases - we wait until everything is parsed before
-            // we decoded it - this makes it possible for use to look for the
-            // special _charset_ param which can hold the charset the form is encoded in.
+            //
+            // Param values are decoded only when looked up, thus the special _charset_ param
+            // which can hold the charset the form is encoded in applies to all params.
             //
             // http://www.crazysquirrel.com/computing/general/form-encoding.jspx
             // https://bugzilla.mozilla.org/show_bug.cgi?id=18643
             //
             // NB: _charset_ must always be used with accept-charset and it must have the same value
-
-            String[] keyValues = data.split("&");
-
             int httpMaxParams = context.app().config().httpMaxParams();
-            // to prevent the server from being vulnerable to POST hash collision DOS-attack (Denial of Service through hash table multi-collisions),
-            // we should by default not lookup the params into HashMap if the count exceeds a maximum limit
-            if (httpMaxParams != 0 && keyValues.length > httpMaxParams) {
-                logger.warn("Number of request parameters %d is higher than maximum of %d, aborting. Can be configured using 'act.http.params.max'", keyValues.length, httpMaxParams);
-                throw new ErrorResult(H.Status.valueOf(413)); //413 Request Entity Too Large
-            }
-
-            for (String keyValue : keyValues) {
-                // split this key-value on the first '='
-                int i = keyValue.indexOf('=');
-                String key = null;
-                String value = null;
-                if (i > 0) {
-                    key = keyValue.substring(0, i);
-                    value = keyValue.substring(i + 1);
-                } else {
-                    key = keyValue;
-                }
-                if (key.length() > 0) {
-                    MapUtil.mergeValueInMap(params, key, value);
-                }
-            }
-
-            // Second phase - look for _charset_ param and do the encoding
-            Charset charset = Charset.forName(encoding);
-            if (params.containsKey("_charset_")) {
-                // The form contains a _charset_ param - When this is used together
-                // with accept-charset, we can use _charset_ to extract the encoding.
-                // PS: When rendering the view/form, _charset_ and accept-charset must be given the
-                // same value - since only Firefox and sometimes IE actually sets it when Posting
-                String providedCharset = params.get("_charset_")[0];
-                // Must be sure the providedCharset is a valid encoding..
-                try {
-                    "test".getBytes(providedCharset);
-                    charset = Charset.forName(providedCharset); // it works..
-                } catch (Exception e) {
-                    logger.debug("Got invalid _charset_ in form: " + providedCharset);
-                    // lets just use the default one..
-                }
-            }
-
-            // We're ready to decode the params
-            Map<String, String[]> decodedParams = new LinkedHashMap<String, String[]>(params.size());
-            for (Map.Entry<String, String[]> e : params.entrySet()) {
-                String key = e.getKey();
-                try {
-                    key = Codec.decodeUrl(e.getKey(), charset);
-                } catch (Throwable z) {
-                    // Nothing we can do about, ignore
-                }
-                for (String value : e.getValue()) {
-                    try {
-                        MapUtil.mergeValueInMap(decodedParams, key, (value == null ? null : Codec.decodeUrl(value, charset)));
-                    } catch (Throwable z) {
-                        // Nothing we can do about, lets fill in with the non decoded value
-                        MapUtil.mergeValueInMap(decodedParams, key, value);
-                    }
-                }
-            }
-
-            // add the complete body as a parameters
-            if (!forQueryString) {
-                decodedParams.put(ActionContext.REQ_BODY, new String[]{data});
-            }
-
-            return decodedParams;
+            return UrlEncodedParams.parse(data, len, Charset.forName(encoding), httpMaxParams, !forQueryString);
         } catch (Result s) {
             // just pass it along
             throw s;
@@ -155,4 +84,38 @@ public class UrlEncodedParser extends RequestBodyParser {
         }
     }
 
+    /*
+     * Read the request content into a byte array sized by the content length
+     * header, the length of the content is returned in `length`
+     */
+    private static byte[] readContent(H.Request request, int[] length) throws IOException {
+        InputStream is = request.inputStream();
+        byte[] data = new byte[initialBufferSize(request.header(H.Header.Names.CONTENT_LENGTH))];
+        int len = 0;
+        int bytesRead;
+        while ((bytesRead = is.read(data, len, data.length - len)) > 0) {
+            len += bytesRead;
+            if (len == data.length) {
+                data = Arrays.copyOf(data, len << 1);
+            }
+        }
+        length[0] = len;
+        return data;
+    }
+
+    private static int initialBufferSize(String contentLength) {
+        if (S.notBlank(contentLength)) {
+            try {
+                long l = Long.parseLong(contentLength.trim());
+                if (l >= 0) {
+                    // one more byte so that the buffer is not grown before the end of stream is read
+                    return (int) Math.min(l + 1, MAX_INITIAL_BUFFER_SIZE);
+                }
+            } catch (NumberFormatException e) {
+                // ignore
+            }
+        }
+        return DEFAULT_BUFFER_SIZE;
+    }
+
 }
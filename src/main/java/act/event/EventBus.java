@@ -46,6 +46,7 @@ import java.lang.reflect.Modifier;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
@@ -528,14 +529,27 @@ public class EventBus extends AppServiceBase<EventBus> {
     private final ConcurrentMap<Key, List<SimpleEventListener>> asyncAdhocEventListeners;
 
     // so we can quickly identify if it needs to go ahead to look for listeners
-    private final Set<Class<?>> classesWithAdhocListeners = new HashSet<>();
-    private final Set<Enum> enumsWithAdhocListeners = new HashSet<>();
-    private final Set<String> stringsWithAdhocListeners = new HashSet<>();
-    private final Set<Class<? extends EventObject>> eventsWithActListeners = new HashSet<>();
+    private final Set<Class<?>> classesWithAdhocListeners = Collections.newSetFromMap(new ConcurrentHashMap<Class<?>, Boolean>());
+    private final Set<Enum> enumsWithAdhocListeners = Collections.newSetFromMap(new ConcurrentHashMap<Enum, Boolean>());
+    private final Set<String> stringsWithAdhocListeners = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+    private final Set<Class<? extends EventObject>> eventsWithActListeners = Collections.newSetFromMap(new ConcurrentHashMap<Class<? extends EventObject>, Boolean>());
+
+    // Listener lists are copy-on-write, thus emitting events reads a snapshot
+    // without locking. Updates to the lists are serialized with this lock so
+    // that listeners are kept in order.
+    private final Object registryLock = new Object();
+
+    // serializes system event emission and binding, so that a listener bound
+    // while the event is being emitted is either called by the emission or
+    // called immediately by the binding
+    private final Object sysEventLock = new Object();
 
     // is this event bus for one time event listeners?
     private EventBus onceBus;
 
+    // dispatches async events, shared with the once bus
+    private volatile EventDispatcher dispatcher;
+
     private EventBus(App app, boolean once) {
         super(app, true);
         sysEventLookup = initSysEventLookup(app);
@@ -572,6 +586,44 @@ public class EventBus extends AppServiceBase<EventBus> {
         releaseActEventListeners(asyncActEventListeners);
         releaseAdhocEventListeners(adhocEventListeners);
         releaseAdhocEventListeners(asyncAdhocEventListeners);
+        if (!once && null != dispatcher) {
+            dispatcher.destroy();
+            dispatcher = null;
+        }
+    }
+
+    /**
+     * Returns the {@link EventDispatcher} that dispatches asynchronous events.
+     *
+     * @return the event dispatcher
+     */
+    public EventDispatcher dispatcher() {
+        if (once) {
+            return app().eventBus().dispatcher();
+        }
+        EventDispatcher d = dispatcher;
+        if (null == d) {
+            synchronized (this) {
+                d = dispatcher;
+                if (null == d) {
+                    d = new EventDispatcher(app());
+                    dispatcher = d;
+                }
+            }
+        }
+        return d;
+    }
+
+    /**
+     * Returns the {@link EventDispatcher} if it has been created.
+     *
+     * Unlike {@link #dispatcher()} this method does not create the
+     * dispatcher, thus it can be used to report the dispatcher state.
+     *
+     * @return the event dispatcher or `null` if no async event has been dispatched
+     */
+    public EventDispatcher currentDispatcher() {
+        return once ? app().eventBus().currentDispatcher() : dispatcher;
     }
 
     /**
@@ -610,7 +662,7 @@ public class EventBus extends AppServiceBase<EventBus> {
      * @return this event bus instance
      */
     @SuppressWarnings("unchecked")
-    public synchronized EventBus bind(final SysEventId sysEventId, final SysEventListener<?> sysEventListener) {
+    public EventBus bind(final SysEventId sysEventId, final SysEventListener<?> sysEventListener) {
         boolean async = isAsync(sysEventListener.getClass());
         return _bind(async ? asyncSysEventListeners : sysEventListeners, sysEventId, sysEventListener);
     }
@@ -693,7 +745,7 @@ public class EventBus extends AppServiceBase<EventBus> {
      *      an instance of {@link SysEventListener}
      * @return this event bus instance
      */
-    public synchronized EventBus bindAsync(SysEventId sysEventId, SysEventListener sysEventListener) {
+    public EventBus bindAsync(SysEventId sysEventId, SysEventListener sysEventListener) {
         return _bind(asyncSysEventListeners, sysEventId, sysEventListener);
     }
 
@@ -748,7 +800,7 @@ public class EventBus extends AppServiceBase<EventBus> {
      * @return this event bus instance
      * @see #bind(SysEventId, SysEventListener)
      */
-    public synchronized EventBus bindSync(SysEventId sysEventId, SysEventListener sysEventListener) {
+    public EventBus bindSync(SysEventId sysEventId, SysEventListener sysEventListener) {
         return _bind(sysEventListeners, sysEventId, sysEventListener);
     }
 
@@ -797,14 +849,16 @@ public class EventBus extends AppServiceBase<EventBus> {
      * @return
      *      this event bus instance
      */
-    public synchronized EventBus emit(SysEventId eventId) {
+    public EventBus emit(SysEventId eventId) {
         if (isDestroyed()) {
             return this;
         }
-        if (null != onceBus) {
-            onceBus.emit(eventId);
+        synchronized (sysEventLock) {
+            if (null != onceBus) {
+                onceBus.emit(eventId);
+            }
+            return _emit(true, false, eventId);
         }
-        return _emit(true, false, eventId);
     }
 
     /**
@@ -987,14 +1041,16 @@ public class EventBus extends AppServiceBase<EventBus> {
      *      this event bus instance
      * @see #emit(SysEventId)
      */
-    public synchronized EventBus emitAsync(SysEventId eventId) {
+    public EventBus emitAsync(SysEventId eventId) {
         if (isDestroyed()) {
             return this;
         }
-        if (null != onceBus) {
-            onceBus.emit(eventId);
+        synchronized (sysEventLock) {
+            if (null != onceBus) {
+                onceBus.emit(eventId);
+            }
+            return _emit(true, true, eventId);
         }
-        return _emit(true, true, eventId);
     }
 
     /**
@@ -1057,14 +1113,16 @@ public class EventBus extends AppServiceBase<EventBus> {
      *      this event bus instance
      * @see #emit(SysEventId)
      */
-    public synchronized EventBus emitSync(SysEventId eventId) {
+    public EventBus emitSync(SysEventId eventId) {
         if (isDestroyed()) {
             return this;
         }
-        if (null != onceBus) {
-            onceBus.emit(eventId);
+        synchronized (sysEventLock) {
+            if (null != onceBus) {
+                onceBus.emit(eventId);
+            }
+            return _emit(false, false, eventId);
         }
-        return _emit(false, false, eventId);
     }
 
     /**
@@ -1131,7 +1189,7 @@ public class EventBus extends AppServiceBase<EventBus> {
      * @return
      *      this event bus instance
      */
-    public synchronized EventBus once(Class<? extends EventObject> eventType, OnceEventListenerBase listener) {
+    public EventBus once(Class<? extends EventObject> eventType, OnceEventListenerBase listener) {
         if (null != onceBus) {
             onceBus.bind(eventType, listener);
         } else {
@@ -1240,32 +1298,34 @@ public class EventBus extends AppServiceBase<EventBus> {
 
     @SuppressWarnings("unchecked")
     private EventBus _bind(List[] listeners, SysEventId sysEventId, SysEventListener<?> l) {
-        if (callNowIfEmitted(sysEventId, l)) {
-            return this;
+        synchronized (sysEventLock) {
+            if (callNowIfEmitted(sysEventId, l)) {
+                return this;
+            }
+            List<SysEventListener> list = listeners[sysEventId.ordinal()];
+            addIntoListWithOrder(list, l);
         }
-        List<SysEventListener> list = listeners[sysEventId.ordinal()];
-        addIntoListWithOrder(list, l);
         return this;
     }
 
-    private synchronized EventBus _bind(final ConcurrentMap<Class<? extends EventObject>, List<ActEventListener>> listeners, final Class<? extends EventObject> eventType, final ActEventListener listener, int ttl) {
-        eventsWithActListeners.add(eventType);
+    private EventBus _bind(final ConcurrentMap<Class<? extends EventObject>, List<ActEventListener>> listeners, final Class<? extends EventObject> eventType, final ActEventListener listener, int ttl) {
         List<ActEventListener> list = listeners.get(eventType);
         if (null == list) {
-            List<ActEventListener> newList = new ArrayList<>();
+            List<ActEventListener> newList = new CopyOnWriteArrayList<>();
             list = listeners.putIfAbsent(eventType, newList);
             if (null == list) {
                 list = newList;
             }
         }
-        if (addIntoListWithOrder(list, listener)) {
+        boolean added = addIntoListWithOrder(list, listener);
+        // publish the event type after the listener is registered
+        eventsWithActListeners.add(eventType);
+        if (added) {
             if (ttl > 0) {
                 app().jobManager().delay(new Runnable() {
                     @Override
                     public void run() {
-                        synchronized (EventBus.this) {
-                            _unbind(listeners, eventType, listener);
-                        }
+                        _unbind(listeners, eventType, listener);
                     }
                 }, ttl, TimeUnit.SECONDS);
             }
@@ -1280,12 +1340,7 @@ public class EventBus extends AppServiceBase<EventBus> {
                 if (EventObject.class.isAssignableFrom(type)) {
                     if (1 == key.argTypes.length) {
                         Class<? extends EventObject> eventType = $.cast(type);
-                        ActEventListener<?> actEventListener = new ActEventListenerBase() {
-                            @Override
-                            public void on(EventObject event) {
-                                eventListener.invoke(event);
-                            }
-                        };
+                        ActEventListener<?> actEventListener = new SimpleEventListenerAdaptor(eventListener);
                         if (async) {
                             bindAsync(eventType, actEventListener);
                         } else {
@@ -1294,13 +1349,16 @@ public class EventBus extends AppServiceBase<EventBus> {
                         return this;
                     }
                 }
-                classesWithAdhocListeners.add(type);
+            }
+            // publish the event after the listener is registered
+            _bind(async ? asyncAdhocEventListeners : adhocEventListeners, key, eventListener);
+            if (key.idType == Key.IdType.CLASS) {
+                classesWithAdhocListeners.add((Class<?>) key.id);
             } else if (key.idType == Key.IdType.ENUM) {
                 enumsWithAdhocListeners.add((Enum) event);
             } else {
                 stringsWithAdhocListeners.add((String) event);
             }
-            _bind(async ? asyncAdhocEventListeners : adhocEventListeners, key, eventListener);
         }
         return this;
     }
@@ -1308,7 +1366,7 @@ public class EventBus extends AppServiceBase<EventBus> {
     private EventBus _bind(ConcurrentMap<Key, List<SimpleEventListener>> listeners, Key key, final SimpleEventListener eventListener) {
         List<SimpleEventListener> list = listeners.get(key);
         if (null == list) {
-            List<SimpleEventListener> newList = new ArrayList<>();
+            List<SimpleEventListener> newList = new CopyOnWriteArrayList<>();
             list = listeners.putIfAbsent(key, newList);
             if (null == list) {
                 list = newList;
@@ -1360,15 +1418,10 @@ public class EventBus extends AppServiceBase<EventBus> {
             return;
         }
         final Object[] args = key.args;
-        JobManager jobManager = async ? app().jobManager() : null;
+        EventDispatcher dispatcher = async ? dispatcher() : null;
         for (final SimpleEventListener listener: list) {
             if (async) {
-                jobManager.now(new Runnable() {
-                    @Override
-                    public void run() {
-                        callOn(listener, args);
-                    }
-                });
+                dispatcher.dispatch(listener, args);
             } else {
                 callOn(listener, args);
             }
@@ -1418,10 +1471,16 @@ public class EventBus extends AppServiceBase<EventBus> {
         return this;
     }
 
-    private synchronized EventBus _unbind(Map<Class<? extends EventObject>, List<ActEventListener>> listeners, Class<? extends EventObject> c, ActEventListener l) {
+    private EventBus _unbind(Map<Class<? extends EventObject>, List<ActEventListener>> listeners, Class<? extends EventObject> c, ActEventListener l) {
         List<ActEventListener> list = listeners.get(c);
         if (null != list) {
-            list.remove(l);
+            synchronized (registryLock) {
+                list.remove(l);
+            }
+        }
+        EventDispatcher dispatcher = currentDispatcher();
+        if (null != dispatcher) {
+            dispatcher.release(l);
         }
         return this;
     }
@@ -1451,38 +1510,35 @@ public class EventBus extends AppServiceBase<EventBus> {
         if (null == listeners) {
             return;
         }
-        JobManager jobManager = null;
-        if (async) {
-            jobManager = app().jobManager();
-        }
+        boolean sysEvent = event instanceof SysEvent;
+        // system events are still handled by job manager as they might be
+        // emitted before or after the event dispatcher lifecycle
+        JobManager jobManager = async && sysEvent ? app().jobManager() : null;
+        EventDispatcher dispatcher = async && !sysEvent ? dispatcher() : null;
         Set<ActEventListener> toBeRemoved = C.newSet();
-        try {
-            for (final ActEventListener l : listeners) {
-                if (!async) {
-                    boolean result = callOn(event, l);
-                    if (result && once) {
-                        toBeRemoved.add(l);
-                    }
-                } else {
-                    jobManager.now(new Runnable() {
-                        @Override
-                        public void run() {
-                            callOn(event, l);
-                        }
-                    }, event instanceof SysEvent);
+        // listener lists are copy-on-write, thus the iteration never
+        // sees concurrent modification
+        for (final ActEventListener l : listeners) {
+            if (!async) {
+                boolean result = callOn(event, l);
+                if (result && once) {
+                    toBeRemoved.add(l);
                 }
-            }
-        } catch (ConcurrentModificationException e) {
-            String eventName;
-            if (event instanceof SysEvent) {
-                eventName = event.toString();
+            } else if (sysEvent) {
+                jobManager.now(new Runnable() {
+                    @Override
+                    public void run() {
+                        callOn(event, l);
+                    }
+                }, true);
             } else {
-                eventName = event.getClass().getName();
+                dispatcher.dispatch(l, event);
             }
-            throw E.unexpected("Concurrent modification issue encountered on handling event: " + eventName);
         }
         if (once && !toBeRemoved.isEmpty()) {
-            listeners.removeAll(toBeRemoved);
+            synchronized (registryLock) {
+                listeners.removeAll(toBeRemoved);
+            }
         }
     }
 
@@ -1574,7 +1630,7 @@ public class EventBus extends AppServiceBase<EventBus> {
         int len = ids.length;
         List[] l = new List[len];
         for (int i = 0; i < len; ++i) {
-            l[i] = new ArrayList<>();
+            l[i] = new CopyOnWriteArrayList<>();
         }
         return l;
     }
@@ -1658,12 +1714,40 @@ public class EventBus extends AppServiceBase<EventBus> {
         return eventId instanceof Class && isAsync((Class) eventId);
     }
 
+    /*
+     * Insert the element after all elements that are not ordered after it, which
+     * is the position a stable sort would put it. The insertion is a single
+     * copy-on-write update, thus emitters never see an unsorted list.
+     */
+    @SuppressWarnings("unchecked")
     private boolean addIntoListWithOrder(List list, Object element) {
-        if (!list.contains(element)) {
-            list.add(element);
-            Collections.sort(list, Sorter.COMPARATOR);
+        synchronized (registryLock) {
+            if (list.contains(element)) {
+                return false;
+            }
+            int pos = list.size();
+            while (pos > 0 && Sorter.COMPARATOR.compare(list.get(pos - 1), element) > 0) {
+                pos--;
+            }
+            list.add(pos, element);
             return true;
         }
-        return false;
     }
+
+    /*
+     * Adapts an ad hoc listener bound to an event class
+     */
+    static class SimpleEventListenerAdaptor extends ActEventListenerBase {
+        final SimpleEventListener listener;
+
+        SimpleEventListenerAdaptor(SimpleEventListener listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public void on(EventObject event) {
+            listener.invoke(event);
+        }
+    }
+
 }
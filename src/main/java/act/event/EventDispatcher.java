@@ -0,0 +1,430 @@
+package act.event;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.Act;
+import act.app.App;
+import act.app.AppThreadFactory;
+import act.conf.AppConfig;
+import act.event.bytecode.ReflectedSimpleEventListener;
+import act.job.JobContext;
+import act.metric.Metric;
+import act.metric.MetricInfo;
+import act.metric.Timer;
+import act.util.LogSupportedDestroyableBase;
+import org.osgl.util.S;
+
+import java.util.EventObject;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Dispatches asynchronous events to listeners in a dedicated thread pool.
+ *
+ * Each listener has its own lane, i.e. a queue of pending events. Emitting
+ * an event appends it to the lane, and the lane is submitted to the thread
+ * pool only if it is not already scheduled. A dispatch task delivers up to
+ * {@link AppConfig#eventDispatchBatchSize()} events before it yields the
+ * thread, thus a burst of events to the same listener costs a few tasks
+ * instead of one task per event, and the listener receives events in
+ * the order they are emitted.
+ *
+ * Like jobs started by {@link act.job.JobManager#now(Runnable)}, the
+ * listener is called with the {@link JobContext} of the emitting thread,
+ * e.g. the locale and session, and with the app class loader as the
+ * context class loader.
+ *
+ * The total number of pending events is bounded by
+ * {@link AppConfig#eventDispatchQueueSize()}. Events exceeding the bound
+ * are handled according to {@link AppConfig#eventDispatchOverflow()}.
+ * Note that {@link Overflow#CALLER_RUNS} gives up the event order.
+ *
+ * A lane is dropped once it has no pending events, and when its listener
+ * is unbound, thus lanes are kept only for listeners with events in flight.
+ *
+ * Listener latency is timed in `act:event:dispatch:<listener type>`, where
+ * the listener type is the listener class, or the listener method for
+ * listeners bound from annotated methods. Rejected events are counted in
+ * {@link MetricInfo#EVENT_DISPATCH_REJECTED}.
+ */
+public class EventDispatcher extends LogSupportedDestroyableBase {
+
+    /**
+     * Specifies how to handle an event when the dispatch queue is full.
+     */
+    public enum Overflow {
+        /**
+         * Call the listener in the thread emitting the event, which
+         * slows down the emitter.
+         *
+         * The event skips the lane of the listener, thus the listener
+         * might receive it before events emitted earlier, and might
+         * be called while it is handling an event in the dispatch
+         * thread pool.
+         */
+        CALLER_RUNS,
+
+        /**
+         * Drop the event.
+         */
+        DISCARD,
+
+        /**
+         * Throw out {@link RejectedExecutionException}.
+         */
+        ABORT;
+
+        public static Overflow valueOfIgnoreCase(String s) {
+            for (Overflow overflow : values()) {
+                if (overflow.name().equalsIgnoreCase(s)) {
+                    return overflow;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final App app;
+    private final ThreadPoolExecutor executor;
+    private final int queueSize;
+    private final int batchSize;
+    private final Overflow overflow;
+    private final Metric metric;
+
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+    private final ConcurrentMap<Object, Lane> lanes = new ConcurrentHashMap<>();
+
+    public EventDispatcher(App app) {
+        this(app, app.config().eventDispatchPoolSize(), app.config().eventDispatchQueueSize(),
+                app.config().eventDispatchBatchSize(), app.config().eventDispatchOverflow());
+    }
+
+    EventDispatcher(App app, int poolSize, int queueSize, int batchSize, Overflow overflow) {
+        this.app = app;
+        this.queueSize = queueSize;
+        this.batchSize = batchSize;
+        this.overflow = overflow;
+        this.metric = Act.metricPlugin().metric(MetricInfo.EVENT_HANDLER);
+        // the number of scheduled lanes never exceeds the number of listeners,
+        // thus the executor queue bound is a safety net only
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(queueSize), new AppThreadFactory("events"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    protected void releaseResources() {
+        executor.shutdownNow();
+        lanes.clear();
+    }
+
+    /**
+     * Dispatch an event to an {@link ActEventListener}.
+     *
+     * @param listener
+     *         the listener
+     * @param event
+     *         the event
+     */
+    public void dispatch(ActEventListener listener, EventObject event) {
+        while (true) {
+            Lane lane = lanes.get(listener);
+            if (null == lane) {
+                lane = register(listener, new EventLane(listener));
+            }
+            if (lane.offer(event)) {
+                return;
+            }
+            // the lane was dropped after we got it
+        }
+    }
+
+    /**
+     * Dispatch an ad hoc event to a {@link SimpleEventListener}.
+     *
+     * @param listener
+     *         the listener
+     * @param args
+     *         the event arguments
+     */
+    public void dispatch(SimpleEventListener listener, Object[] args) {
+        while (true) {
+            Lane lane = lanes.get(listener);
+            if (null == lane) {
+                lane = register(listener, new AdhocLane(listener));
+            }
+            if (lane.offer(args)) {
+                return;
+            }
+            // the lane was dropped after we got it
+        }
+    }
+
+    /**
+     * Drop the lane of a listener that has been unbound. Events already
+     * dispatched to the listener are still delivered.
+     *
+     * @param listener
+     *         the listener
+     */
+    public void release(Object listener) {
+        Lane lane = lanes.get(listener);
+        if (null != lane) {
+            lane.retire();
+        }
+    }
+
+    /**
+     * Returns number of events waiting to be delivered.
+     */
+    public int pending() {
+        return pending.get();
+    }
+
+    /**
+     * Returns number of threads delivering events.
+     */
+    public int activeThreads() {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * Returns number of events rejected since the dispatcher started.
+     */
+    public long rejected() {
+        return rejected.get();
+    }
+
+    /**
+     * Returns number of listeners with a lane.
+     */
+    int lanes() {
+        return lanes.size();
+    }
+
+    private Lane register(Object listener, Lane lane) {
+        Lane existing = lanes.putIfAbsent(listener, lane);
+        return null == existing ? lane : existing;
+    }
+
+    /*
+     * Returns the listener type that names the timer of the listener. The
+     * listener instance is not used as ad hoc listeners are created on
+     * each bind
+     */
+    private static String listenerType(Object listener) {
+        if (listener instanceof EventBus.SimpleEventListenerAdaptor) {
+            listener = ((EventBus.SimpleEventListenerAdaptor) listener).listener;
+        }
+        if (listener instanceof ReflectedSimpleEventListener) {
+            // host class and method
+            return listener.toString();
+        }
+        return listener.getClass().getName();
+    }
+
+    private abstract class Lane implements Runnable {
+        private final Object listener;
+        private final Queue<Delivery> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        // number of events offered and not yet delivered, `-1` once the lane is dropped
+        private final AtomicInteger size = new AtomicInteger();
+        private final String metricName;
+
+        Lane(Object listener) {
+            this.listener = listener;
+            this.metricName = S.concat(MetricInfo.EVENT_DISPATCH, Metric.PATH_SEPARATOR, listenerType(listener));
+        }
+
+        abstract void deliver(Object payload) throws Exception;
+
+        /*
+         * Returns `false` if the lane has been dropped
+         */
+        boolean offer(Object payload) {
+            for (int n = size.get(); ; n = size.get()) {
+                if (n < 0) {
+                    return false;
+                }
+                if (size.compareAndSet(n, n + 1)) {
+                    break;
+                }
+            }
+            if (pending.incrementAndGet() > queueSize) {
+                pending.decrementAndGet();
+                size.decrementAndGet();
+                overflow(payload);
+                return true;
+            }
+            queue.offer(new Delivery(payload, JobContext.copy()));
+            schedule();
+            return true;
+        }
+
+        /*
+         * Drop the lane if there is no event in flight. A new lane is
+         * created for the listener on the next event, which never runs
+         * along with this lane as all events of this lane are delivered
+         */
+        void retire() {
+            if (size.compareAndSet(0, -1)) {
+                lanes.remove(listener, this);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                for (int i = 0; i < batchSize; ++i) {
+                    Delivery delivery = queue.poll();
+                    if (null == delivery) {
+                        break;
+                    }
+                    pending.decrementAndGet();
+                    try {
+                        deliverInContext(delivery);
+                    } finally {
+                        size.decrementAndGet();
+                    }
+                }
+            } finally {
+                scheduled.set(false);
+            }
+            if (!queue.isEmpty()) {
+                schedule();
+            } else {
+                retire();
+            }
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    // executor has been shutdown
+                    scheduled.set(false);
+                }
+            }
+        }
+
+        private void overflow(Object payload) {
+            rejected.incrementAndGet();
+            metric.countOnce(MetricInfo.EVENT_DISPATCH_REJECTED);
+            switch (overflow) {
+                case CALLER_RUNS:
+                    deliverAndTime(payload);
+                    break;
+                case DISCARD:
+                    warn("event dispatch queue is full, event discarded: %s", metricName);
+                    break;
+                default:
+                    throw new RejectedExecutionException("event dispatch queue is full");
+            }
+        }
+
+        /*
+         * Deliver the event with the job context of the emitting thread,
+         * see JobManager.ContextualJob and Job.doJob()
+         */
+        private void deliverInContext(Delivery delivery) {
+            JobContext.init(metricName);
+            Thread thread = Thread.currentThread();
+            ClassLoader ctxClassLoader = thread.getContextClassLoader();
+            ClassLoader appClassLoader = app.classLoader();
+            boolean switchClassLoader = null != appClassLoader && ctxClassLoader != appClassLoader;
+            if (switchClassLoader) {
+                thread.setContextClassLoader(appClassLoader);
+            }
+            try {
+                JobContext.loadFromOrigin(delivery.origin);
+                deliverAndTime(delivery.payload);
+            } finally {
+                JobContext.clear();
+                if (switchClassLoader) {
+                    thread.setContextClassLoader(ctxClassLoader);
+                }
+            }
+        }
+
+        private void deliverAndTime(Object payload) {
+            Timer timer = metric.startTimer(metricName);
+            try {
+                deliver(payload);
+            } catch (Exception e) {
+                error(e, "error dispatching event to %s", metricName);
+            } finally {
+                timer.stop();
+            }
+        }
+    }
+
+    private static class Delivery {
+        final Object payload;
+        // the job context of the emitting thread
+        final JobContext origin;
+
+        Delivery(Object payload, JobContext origin) {
+            this.payload = payload;
+            this.origin = origin;
+        }
+    }
+
+    private class EventLane extends Lane {
+        private final ActEventListener listener;
+
+        EventLane(ActEventListener listener) {
+            super(listener);
+            this.listener = listener;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        void deliver(Object payload) throws Exception {
+            EventObject event = (EventObject) payload;
+            if (listener instanceof OnceEventListener) {
+                ((OnceEventListener) listener).tryHandle(event);
+            } else {
+                listener.on(event);
+            }
+        }
+    }
+
+    private class AdhocLane extends Lane {
+        private final SimpleEventListener listener;
+
+        AdhocLane(SimpleEventListener listener) {
+            super(listener);
+            this.listener = listener;
+        }
+
+        @Override
+        void deliver(Object payload) {
+            listener.invoke((Object[]) payload);
+        }
+    }
+
+}
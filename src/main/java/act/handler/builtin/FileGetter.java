@@ -25,15 +25,26 @@ import act.app.ActionContext;
 import act.app.App;
 import act.controller.ParamNames;
 import act.handler.builtin.controller.FastRequestHandler;
+import act.xio.GzipEncoding;
 import org.osgl.$;
 import org.osgl.http.H;
 import org.osgl.util.FastStr;
 import org.osgl.util.S;
 
 import java.io.File;
+import java.nio.ByteBuffer;
+
+import static org.osgl.http.H.Header.Names.IF_RANGE;
+import static org.osgl.http.H.Header.Names.RANGE;
 
 public class FileGetter extends FastRequestHandler {
 
+    private static final String ACCEPT_RANGES = "Accept-Ranges";
+    private static final String CONTENT_RANGE = "Content-Range";
+
+    // memory mapped small files shared by all file getters
+    private static final MappedFileCache MAPPED_FILES = new MappedFileCache(64L * 1024 * 1024);
+
     private File base;
     private FastRequestHandler delegate;
 
@@ -96,7 +107,47 @@ public class FileGetter extends FastRequestHandler {
         fmt = contentType(file.getPath());
         resp.contentType(fmt);
         context.applyCorsSpec().applyContentSecurityPolicy().applyContentType();
-        resp.send(file);
+        long length = file.length();
+        long lastModified = file.lastModified();
+        String etag = etag(length, lastModified);
+        // the response replaces it with the gzip variant ETag if the content is compressed
+        resp.header(ACCEPT_RANGES, "bytes").etag(etag);
+        H.Request req = context.req();
+        if (GzipEncoding.etagMatches(req, etag)) {
+            if (!req.etagMatches(etag)) {
+                resp.etag(GzipEncoding.etag(etag));
+            }
+            AlwaysNotModified.INSTANCE.handle(context);
+            return;
+        }
+        HttpRange range = HttpRange.parse(req.header(RANGE), length);
+        if (null != range) {
+            String ifRange = req.header(IF_RANGE);
+            if (null != ifRange && !ifRange.equals(etag)) {
+                // the file has changed, or the client holds the gzip variant
+                // which partial content does not apply to, send the full content
+                range = null;
+            }
+        }
+        ByteBuffer mapped = MAPPED_FILES.get(file, length, lastModified);
+        if (null == range) {
+            if (null != mapped) {
+                resp.writeContent(mapped);
+            } else {
+                resp.send(file);
+            }
+        } else if (HttpRange.UNSATISFIABLE == range) {
+            resp.status(416).header(CONTENT_RANGE, "bytes */" + length);
+            resp.writeContent("");
+        } else {
+            resp.status(206).header(CONTENT_RANGE, range.contentRange(length));
+            if (null != mapped) {
+                mapped.position((int) range.first).limit((int) range.last + 1);
+                resp.writeContent(mapped.slice());
+            } else {
+                resp.send(file, range.first, range.length());
+            }
+        }
     }
 
     // for unit test
@@ -113,6 +164,11 @@ public class FileGetter extends FastRequestHandler {
         return null == retVal ? H.Format.BINARY : retVal;
     }
 
+    // the validator is built from file attributes so we don't need to read the file
+    private static String etag(long length, long lastModified) {
+        return S.concat(Long.toHexString(length), "-", Long.toHexString(lastModified));
+    }
+
     @Override
     public boolean supportPartialPath() {
         return base.isDirectory();
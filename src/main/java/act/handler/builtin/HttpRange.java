@@ -0,0 +1,98 @@
+package act.handler.builtin;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+/**
+ * A single byte range of an HTTP `Range` request header.
+ *
+ * Only single range is supported. Multiple ranges, e.g. `bytes=0-9,20-29`,
+ * and unknown range units are ignored, in which case the full content
+ * shall be served, as allowed by RFC 7233.
+ */
+final class HttpRange {
+
+    /**
+     * Represents a range that cannot be satisfied by the resource
+     */
+    static final HttpRange UNSATISFIABLE = new HttpRange(-1, -1);
+
+    private static final String BYTES_UNIT = "bytes=";
+
+    final long first;
+    final long last;
+
+    private HttpRange(long first, long last) {
+        this.first = first;
+        this.last = last;
+    }
+
+    long length() {
+        return last - first + 1;
+    }
+
+    String contentRange(long total) {
+        return "bytes " + first + "-" + last + "/" + total;
+    }
+
+    /**
+     * Parse the `Range` header value.
+     *
+     * @param header
+     *         the `Range` header value
+     * @param total
+     *         the length of the resource
+     * @return the range, {@link #UNSATISFIABLE} if the range cannot be satisfied
+     *         or `null` if the header is absent or shall be ignored
+     */
+    static HttpRange parse(String header, long total) {
+        if (null == header || !header.startsWith(BYTES_UNIT) || header.indexOf(',') > -1) {
+            return null;
+        }
+        String spec = header.substring(BYTES_UNIT.length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        long first, last;
+        try {
+            if (0 == dash) {
+                // suffix range: last N bytes
+                long suffix = Long.parseLong(spec.substring(1).trim());
+                if (suffix <= 0) {
+                    return UNSATISFIABLE;
+                }
+                first = Math.max(0, total - suffix);
+                last = total - 1;
+            } else {
+                first = Long.parseLong(spec.substring(0, dash).trim());
+                String s = spec.substring(dash + 1).trim();
+                last = s.isEmpty() ? total - 1 : Math.min(Long.parseLong(s), total - 1);
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if (first > last) {
+            return first >= total ? UNSATISFIABLE : null;
+        }
+        return new HttpRange(first, last);
+    }
+
+}
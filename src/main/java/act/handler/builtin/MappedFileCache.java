@@ -0,0 +1,214 @@
+package act.handler.builtin;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps small, frequently requested files memory mapped so they can be
+ * served by {@link FileGetter} without touching the file system or the heap.
+ *
+ * A file is mapped on its {@link #HOT_THRESHOLD}th request. A mapping is
+ * dropped when the file's length or last modified time changed. The total
+ * mapped bytes are bounded, and the least recently used mappings are dropped
+ * when the bound is exceeded. The number of tracked files is bounded as well,
+ * and the least recently used files are dropped when the bound is reached.
+ */
+final class MappedFileCache {
+
+    /**
+     * Files larger than this are not mapped
+     */
+    static final long FILE_SIZE_LIMIT = 256 * 1024;
+
+    static final int HOT_THRESHOLD = 2;
+
+    // maximum number of files tracked, including those not mapped yet
+    static final int MAX_ENTRIES = 4096;
+
+    // number of least recently used entries dropped when there are too many entries
+    private static final int TRIM_SIZE = MAX_ENTRIES / 8;
+
+    private final long capacity;
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong mappedBytes = new AtomicLong();
+    private final AtomicLong clock = new AtomicLong();
+    private final Object evictionLock = new Object();
+
+    MappedFileCache(long capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Returns a read-only duplicate of the mapped buffer of the file.
+     *
+     * @param file the file
+     * @param length the current length of the file
+     * @param lastModified the current last modified time of the file
+     * @return the buffer or `null` if the file is not mapped
+     */
+    ByteBuffer get(File file, long length, long lastModified) {
+        if (length > FILE_SIZE_LIMIT || length == 0) {
+            return null;
+        }
+        String key = file.getPath();
+        Entry entry = entries.get(key);
+        if (null != entry && (entry.length != length || entry.lastModified != lastModified)) {
+            remove(key, entry);
+            entry = null;
+        }
+        if (null == entry) {
+            if (entries.size() >= MAX_ENTRIES) {
+                trim();
+            }
+            Entry newEntry = new Entry(length, lastModified);
+            entry = entries.putIfAbsent(key, newEntry);
+            if (null == entry) {
+                entry = newEntry;
+            }
+        }
+        entry.lastAccess = clock.incrementAndGet();
+        ByteBuffer buffer = entry.buffer;
+        if (null == buffer && entry.hits.incrementAndGet() >= HOT_THRESHOLD) {
+            buffer = map(key, entry, file);
+        }
+        return null == buffer ? null : buffer.duplicate();
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    long mappedBytes() {
+        return mappedBytes.get();
+    }
+
+    void clear() {
+        entries.clear();
+        mappedBytes.set(0);
+    }
+
+    private ByteBuffer map(String key, Entry entry, File file) {
+        synchronized (entry) {
+            if (null != entry.buffer) {
+                return entry.buffer;
+            }
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                if (channel.size() != entry.length) {
+                    // file changed after we checked
+                    return null;
+                }
+                entry.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, entry.length).asReadOnlyBuffer();
+            } catch (IOException e) {
+                return null;
+            }
+        }
+        if (mappedBytes.addAndGet(entry.length) > capacity) {
+            evict(key);
+        }
+        return entry.buffer;
+    }
+
+    private void remove(String key, Entry entry) {
+        if (entries.remove(key, entry)) {
+            synchronized (entry) {
+                if (null != entry.buffer) {
+                    mappedBytes.addAndGet(-entry.length);
+                    entry.buffer = null;
+                }
+            }
+        }
+    }
+
+    private void evict(String keep) {
+        synchronized (evictionLock) {
+            while (mappedBytes.get() > capacity) {
+                String victimKey = null;
+                Entry victim = null;
+                long oldest = Long.MAX_VALUE;
+                for (Map.Entry<String, Entry> e : entries.entrySet()) {
+                    Entry entry = e.getValue();
+                    if (null != entry.buffer && entry.lastAccess < oldest && !keep.equals(e.getKey())) {
+                        oldest = entry.lastAccess;
+                        victimKey = e.getKey();
+                        victim = entry;
+                    }
+                }
+                if (null == victim) {
+                    return;
+                }
+                remove(victimKey, victim);
+            }
+        }
+    }
+
+    /*
+     * Drop the least recently used entries, mapped or not, so that new
+     * files could be tracked
+     */
+    private void trim() {
+        synchronized (evictionLock) {
+            if (entries.size() < MAX_ENTRIES) {
+                return;
+            }
+            long[] accesses = new long[entries.size()];
+            int n = 0;
+            for (Entry entry : entries.values()) {
+                if (n == accesses.length) {
+                    break;
+                }
+                accesses[n++] = entry.lastAccess;
+            }
+            Arrays.sort(accesses, 0, n);
+            long cutoff = accesses[Math.min(TRIM_SIZE, n) - 1];
+            for (Map.Entry<String, Entry> e : entries.entrySet()) {
+                Entry entry = e.getValue();
+                if (entry.lastAccess <= cutoff) {
+                    remove(e.getKey(), entry);
+                }
+            }
+        }
+    }
+
+    private static class Entry {
+        final long length;
+        final long lastModified;
+        final AtomicInteger hits = new AtomicInteger();
+        volatile ByteBuffer buffer;
+        volatile long lastAccess;
+
+        Entry(long length, long lastModified) {
+            this.length = length;
+            this.lastModified = lastModified;
+        }
+    }
+
+}
@@ -0,0 +1,297 @@
+package act.handler.builtin;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.app.App;
+import act.app.AppServiceBase;
+import act.xio.GzipEncoding;
+import org.osgl.http.H;
+import org.osgl.util.E;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.Deflater;
+
+/**
+ * A concurrent cache of static resource content served by {@link ResourceGetter}.
+ *
+ * * content is stored in direct `ByteBuffer`s, responses are written with read-only duplicates
+ * * gzip variant is precomputed for compressible content types
+ * * a strong ETag is calculated from the content digest, the gzip variant has its own ETag
+ * * the total bytes of all entries is limited by `resource.cache.size.limit`, the least
+ *   recently used entries are evicted when the limit is exceeded
+ *
+ * Reads do not acquire any lock. Only eviction is serialized.
+ */
+public class ResourceCache extends AppServiceBase<ResourceCache> {
+
+    // entries smaller than this does not worth compressing
+    private static final int GZIP_MIN_SIZE = 256;
+
+    // fixed weight of an entry besides the content
+    private static final int ENTRY_OVERHEAD = 128;
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong totalBytes = new AtomicLong();
+    // logical clock to track entry access order
+    private final AtomicLong clock = new AtomicLong();
+    private final Object evictionLock = new Object();
+    private final long sizeLimit;
+
+    public ResourceCache(App app) {
+        super(app);
+        this.sizeLimit = app.config().resourceCacheSizeLimit();
+    }
+
+    ResourceCache(long sizeLimit) {
+        super();
+        this.sizeLimit = sizeLimit;
+    }
+
+    @Override
+    protected void releaseResources() {
+        clear();
+    }
+
+    /**
+     * Returns the entry cached with the key specified
+     *
+     * @param key the resource key
+     * @return the entry or `null` if not found
+     */
+    public Entry get(String key) {
+        Entry entry = entries.get(key);
+        if (null != entry) {
+            entry.lastAccess = clock.incrementAndGet();
+        }
+        return entry;
+    }
+
+    /**
+     * Create an entry with resource content and put it into the cache.
+     *
+     * @param key the resource key
+     * @param content the resource content
+     * @param contentType the content type
+     * @return the entry created
+     */
+    public Entry put(String key, byte[] content, H.Format contentType) {
+        return put(key, Entry.of(content, contentType));
+    }
+
+    /**
+     * Put a failure marker into the cache, so that subsequent request
+     * to the resource will not try to load it again
+     *
+     * @param key the resource key
+     * @return the failure entry
+     */
+    public Entry putFailure(String key) {
+        return put(key, new Entry(null, null, null, null));
+    }
+
+    private Entry put(String key, Entry entry) {
+        long weight = weight(key, entry);
+        if (weight > sizeLimit) {
+            // too large to be cached
+            return entry;
+        }
+        entry.lastAccess = clock.incrementAndGet();
+        Entry old = entries.put(key, entry);
+        long delta = null == old ? weight : weight - weight(key, old);
+        if (totalBytes.addAndGet(delta) > sizeLimit) {
+            evict();
+        }
+        return entry;
+    }
+
+    public void invalidate(String key) {
+        Entry old = entries.remove(key);
+        if (null != old) {
+            totalBytes.addAndGet(-weight(key, old));
+        }
+    }
+
+    public void clear() {
+        entries.clear();
+        totalBytes.set(0);
+    }
+
+    /**
+     * Returns the total bytes taken by cached entries
+     */
+    public long totalBytes() {
+        return totalBytes.get();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /*
+     * Evict least recently used entries until the total bytes falls below
+     * the limit. Eviction is rare as static resources is a bounded set,
+     * thus a full scan is cheaper than maintaining an access ordered list
+     * on every read.
+     */
+    private void evict() {
+        synchronized (evictionLock) {
+            while (totalBytes.get() > sizeLimit) {
+                String victim = null;
+                long oldest = Long.MAX_VALUE;
+                for (Map.Entry<String, Entry> e : entries.entrySet()) {
+                    long access = e.getValue().lastAccess;
+                    if (access < oldest) {
+                        oldest = access;
+                        victim = e.getKey();
+                    }
+                }
+                if (null == victim) {
+                    return;
+                }
+                invalidate(victim);
+            }
+        }
+    }
+
+    private static long weight(String key, Entry entry) {
+        return ENTRY_OVERHEAD + key.length() * 2 + entry.size();
+    }
+
+    /**
+     * A cached resource
+     */
+    public static class Entry {
+
+        private final ByteBuffer content;
+        private final ByteBuffer gzipped;
+        private final String etag;
+        private final String gzipEtag;
+        private final H.Format contentType;
+        private volatile long lastAccess;
+
+        private Entry(ByteBuffer content, ByteBuffer gzipped, String etag, H.Format contentType) {
+            this.content = content;
+            this.gzipped = gzipped;
+            this.etag = etag;
+            this.gzipEtag = null == gzipped ? null : GzipEncoding.etag(etag);
+            this.contentType = contentType;
+        }
+
+        /**
+         * Returns `true` if this entry marks a resource failed to load
+         */
+        public boolean isFailure() {
+            return null == content;
+        }
+
+        /**
+         * Returns a read-only duplicate of the content buffer
+         */
+        public ByteBuffer content() {
+            return content.duplicate();
+        }
+
+        /**
+         * Returns a read-only duplicate of the gzipped content buffer or `null`
+         * if the content does not have a gzip variant
+         */
+        public ByteBuffer gzipped() {
+            return null == gzipped ? null : gzipped.duplicate();
+        }
+
+        public boolean hasGzipVariant() {
+            return null != gzipped;
+        }
+
+        public String etag() {
+            return etag;
+        }
+
+        /**
+         * Returns the ETag of the gzipped content or `null` if the content
+         * does not have a gzip variant
+         */
+        public String gzipEtag() {
+            return gzipEtag;
+        }
+
+        public H.Format contentType() {
+            return contentType;
+        }
+
+        int size() {
+            int size = null == content ? 0 : content.capacity();
+            if (null != gzipped) {
+                size += gzipped.capacity();
+            }
+            return size;
+        }
+
+        static Entry of(byte[] content, H.Format contentType) {
+            ByteBuffer gzipped = null;
+            if (content.length >= GZIP_MIN_SIZE && GzipEncoding.compressible(contentType)) {
+                byte[] ba = gzip(content);
+                // only keep gzip variant when it saves at least 10%
+                if (ba.length < content.length - content.length / 10) {
+                    gzipped = direct(ba);
+                }
+            }
+            return new Entry(direct(content), gzipped, etag(content), contentType);
+        }
+
+        private static ByteBuffer direct(byte[] ba) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(ba.length);
+            buffer.put(ba);
+            buffer.flip();
+            return buffer.asReadOnlyBuffer();
+        }
+
+        private static byte[] gzip(byte[] content) {
+            ByteBuffer buffer = GzipEncoding.encode(content, 0, content.length, Deflater.BEST_COMPRESSION);
+            return Arrays.copyOf(buffer.array(), buffer.remaining());
+        }
+
+        private static String etag(byte[] content) {
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-1").digest(content);
+                char[] chars = new char[digest.length * 2];
+                for (int i = 0; i < digest.length; ++i) {
+                    int b = digest[i] & 0xFF;
+                    chars[i * 2] = HEX[b >>> 4];
+                    chars[i * 2 + 1] = HEX[b & 0x0F];
+                }
+                return new String(chars);
+            } catch (NoSuchAlgorithmException e) {
+                throw E.unexpected(e);
+            }
+        }
+
+        private static final char[] HEX = "0123456789abcdef".toCharArray();
+    }
+
+}
@@ -22,6 +22,7 @@ package act.handler.builtin;
 
 import static org.osgl.http.H.Format.*;
 import static org.osgl.http.H.Header.Names.CACHE_CONTROL;
+import static org.osgl.http.H.Header.Names.CONTENT_ENCODING;
 
 import act.Act;
 import act.ActResponse;
@@ -32,13 +33,14 @@ import act.conf.AppConfig;
 import act.controller.ParamNames;
 import act.handler.RequestHandler;
 import act.handler.builtin.controller.FastRequestHandler;
-import org.osgl.$;
+import act.xio.GzipEncoding;
 import org.osgl.http.H;
 import org.osgl.mvc.result.NotFound;
 import org.osgl.util.*;
 
 import java.io.*;
 import java.net.URL;
+import java.net.URLConnection;
 import java.nio.ByteBuffer;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -51,6 +53,8 @@ import java.util.concurrent.ConcurrentMap;
 public class ResourceGetter extends FastRequestHandler {
 
     private static final char SEP = '/';
+    private static final String VARY = "Vary";
+    private static final String ACCEPT_ENCODING = "Accept-Encoding";
 
     private FastRequestHandler delegate;
 
@@ -59,26 +63,28 @@ public class ResourceGetter extends FastRequestHandler {
     private URL baseUrl;
     private int preloadSizeLimit;
     private boolean isFolder;
-    private ByteBuffer buffer;
-    private H.Format preloadedContentType;
+    // the preloaded entry of a file resource, not subject to cache eviction
+    private ResourceCache.Entry preloadedEntry;
     private boolean preloadFailure;
     private boolean preloaded;
-    private String etag;
     private volatile RequestHandler indexHandler;
     private ConcurrentMap<String, RequestHandler> subFolderIndexHandlers = new ConcurrentHashMap<>();
 
-    private Set<URL> folders = new HashSet<>();
-    private Map<String, String> etags = new HashMap<>();
-    private Map<String, ByteBuffer> cachedBuffers = new HashMap<>();
-    private Map<String, H.Format> cachedContentType = new HashMap<>();
-    private Map<String, Boolean> cachedFailures = new HashMap<>();
-    private Set<String> largeResource = new HashSet<>();
+    private ResourceCache cache;
+    // etags of resources too large to be cached
+    private ConcurrentMap<String, String> etags = new ConcurrentHashMap<>();
+    private Set<String> largeResource = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
 
     public ResourceGetter(String base) {
         E.illegalArgumentIf(S.blank(base), "empty resource string encountered");
         String path = base.charAt(0) == SEP ? base.substring(1) : base;
         this.base = path;
         this.app = Act.app();
+        this.cache = app.resourceCache();
+        if (null == this.cache) {
+            // app not fully initialized, e.g. in unit test
+            this.cache = new ResourceCache(Act.appConfig().resourceCacheSizeLimit());
+        }
         this.baseUrl = app.getResource(path);
         this.delegate = verifyBase(this.baseUrl, base);
         if (null == delegate) {
@@ -104,11 +110,12 @@ public class ResourceGetter extends FastRequestHandler {
         if (preloaded || null != delegate) {
             return true;
         }
+        if (!Act.isProd()) {
+            return false;
+        }
         String path = context.paramVal(ParamNames.PATH);
-        return Act.isProd() &&
-                (cachedBuffers.containsKey(path)
-                        || cachedFailures.containsKey(path)
-                        || (null != context.req().etag() && context.req().etagMatches(etags.get(path))));
+        return null != cache.get(cacheKey(path))
+                || (null != context.req().etag() && GzipEncoding.etagMatches(context.req(), etags.get(path)));
     }
 
     /**
@@ -140,61 +147,36 @@ public class ResourceGetter extends FastRequestHandler {
         H.Request req = context.req();
         final boolean isProd = Act.isProd();
         if (isProd) {
-            ActResponse resp = context.prepareRespForResultEvaluation();
             if (preloaded) {
                 // this is a reloaded file resource
                 if (preloadFailure) {
                     AlwaysNotFound.INSTANCE.handle(context);
                 } else {
-                    resp.contentType(preloadedContentType);
-                    if (req.etagMatches(etag)) {
-                        // still need to generates the headers
-                        // see https://stackoverflow.com/questions/1587667/should-http-304-not-modified-responses-contain-cache-control-headers
-                        resp.header(CACHE_CONTROL, "max-age=86400").etag(this.etag);
-                        AlwaysNotModified.INSTANCE.handle(context);
-                    } else {
-                        H.Format contentType = cachedContentType.get(path);
-                        if (null == contentType) {
-                            contentType = req.contentType();
-                        }
-                        resp
-                                .contentType(contentType)
-                                .header(CACHE_CONTROL, "max-age=86400")
-                                .etag(this.etag)
-                                .writeContent(buffer.duplicate());
-                    }
+                    serve(preloadedEntry, context);
                 }
                 return;
             }
 
-            if (cachedFailures.containsKey(path)) {
-                AlwaysNotFound.INSTANCE.handle(context);
+            ResourceCache.Entry entry = cache.get(cacheKey(path));
+            if (null != entry) {
+                if (entry.isFailure()) {
+                    AlwaysNotFound.INSTANCE.handle(context);
+                } else {
+                    serve(entry, context);
+                }
                 return;
             }
 
             final String reqEtag = req.etag();
-            if (null != reqEtag && req.etagMatches(etags.get(path))) {
-                H.Format contentType = cachedContentType.get(path);
-                if (null == contentType) {
-                    contentType = req.contentType();
-                }
+            if (null != reqEtag && GzipEncoding.etagMatches(req, etags.get(path))) {
+                ActResponse resp = context.prepareRespForResultEvaluation();
                 // still need to generates the headers
                 // see https://stackoverflow.com/questions/1587667/should-http-304-not-modified-responses-contain-cache-control-headers
-                resp.contentType(contentType).header(CACHE_CONTROL, "max-age=86400").etag(reqEtag);
+                resp.contentType(FileGetter.contentType(path)).header(CACHE_CONTROL, "max-age=86400").etag(reqEtag);
                 AlwaysNotModified.INSTANCE.handle(context);
                 return;
             }
         }
-        ByteBuffer buffer = cachedBuffers.get(path);
-        if (null != buffer) {
-            context.resp()
-                    .contentType(cachedContentType.get(path))
-                    .commitContentType()
-                    .header(CACHE_CONTROL, "public, max-age=7200")
-                    .etag(etags.get(path))
-                    .writeContent(buffer.duplicate());
-            return;
-        }
         try {
             URL target;
             String loadPath;
@@ -225,23 +207,10 @@ public class ResourceGetter extends FastRequestHandler {
                 return;
             }
             ActResponse resp = context.prepareRespForResultEvaluation();
-            H.Format contentType;
-            if (isProd) {
-                contentType = cachedContentType.get(path);
-                if (null == contentType) {
-                    contentType = FileGetter.contentType(target.getPath());
-                    cachedContentType.put(path, contentType);
-                }
-            } else {
-                contentType = FileGetter.contentType(target.getPath());
-            }
+            H.Format contentType = FileGetter.contentType(target.getPath());
             resp.contentType(contentType).commitContentType();
             if (isProd) {
                 resp.header(CACHE_CONTROL, "max-age=86400");
-                String etag = etags.get(path);
-                if (null != etag) {
-                    resp.etag(etag);
-                }
             }
             context.applyCorsSpec().applyContentSecurityPolicy().applyContentType();
             final AppConfig config = context.config();
@@ -249,49 +218,57 @@ public class ResourceGetter extends FastRequestHandler {
             if (isFile) {
                 File file = new File(target.getPath());
                 long len = file.length();
-                if (Act.isProd()) {
-                    etags.put(path, String.valueOf(len));
-                }
-                if (Act.isProd()) {
+                if (isProd) {
                     boolean smallResource = len < config.resourcePreloadSizeLimit();
                     if (smallResource) {
-                        $.Var<String> etagBag = $.var();
-                        buffer = doPreload(target, etagBag);
-                        if (null == buffer) {
-                            cachedFailures.put(path, true);
+                        byte[] content = load(target);
+                        if (null == content) {
+                            cache.putFailure(cacheKey(path));
                             return;
                         }
-                        cachedBuffers.put(path, buffer);
-                        resp.writeContent(buffer.duplicate());
+                        serve(cache.put(cacheKey(path), content, contentType), context);
                         return;
                     }
+                    String etag = String.valueOf(len);
+                    etags.put(path, etag);
+                    resp.etag(etag);
                 }
                 resp.send(file);
             } else if (largeResource.contains(path)) {
+                String etag = etags.get(path);
+                if (null != etag) {
+                    resp.etag(etag);
+                }
                 resp.send(target);
             } else {
                 try {
-                    int n = IO.copy(target.openStream(), resp.outputStream());
-                    boolean smallResource = n < config.resourcePreloadSizeLimit();
-                    if (!smallResource) {
+                    if (!isProd) {
+                        IO.copy(target.openStream(), resp.outputStream());
+                        return;
+                    }
+                    URLConnection conn = target.openConnection();
+                    long len = conn.getContentLengthLong();
+                    if (len >= config.resourcePreloadSizeLimit()) {
+                        // stream large resource instead of loading it into memory
                         largeResource.add(path);
+                        String etag = String.valueOf(len);
+                        etags.put(path, etag);
+                        resp.etag(etag);
+                        resp.send(target);
+                        return;
                     }
-                    if (Act.isProd()) {
-                        etags.put(path, String.valueOf(n));
-                        if (smallResource) {
-                            $.Var<String> etagBag = $.var();
-                            buffer = doPreload(target, etagBag);
-                            if (null == buffer) {
-                                cachedFailures.put(path, true);
-                            } else {
-                                cachedBuffers.put(path, buffer);
-                                cachedContentType.put(path, contentType);
-                            }
-                        }
+                    byte[] content = IO.readContent(conn.getInputStream());
+                    if (content.length < config.resourcePreloadSizeLimit()) {
+                        serve(cache.put(cacheKey(path), content, contentType), context);
+                    } else {
+                        // content length not known in advance
+                        largeResource.add(path);
+                        String etag = String.valueOf(content.length);
+                        etags.put(path, etag);
+                        resp.etag(etag).writeContent(ByteBuffer.wrap(content));
                     }
                 } catch (NullPointerException e) {
                     // this is caused by accessing folder inside jar URL
-                    folders.add(target);
                     AlwaysForbidden.INSTANCE.handle(context);
                 }
             }
@@ -301,6 +278,40 @@ public class ResourceGetter extends FastRequestHandler {
         }
     }
 
+    private void serve(ResourceCache.Entry entry, ActionContext context) {
+        H.Request req = context.req();
+        ActResponse resp = context.prepareRespForResultEvaluation();
+        boolean gzip = entry.hasGzipVariant() && acceptGzip(req);
+        // the gzip and identity variants are different representations
+        String etag = gzip ? entry.gzipEtag() : entry.etag();
+        resp.contentType(entry.contentType())
+                .commitContentType()
+                .header(CACHE_CONTROL, "max-age=86400")
+                .etag(etag);
+        if (entry.hasGzipVariant()) {
+            resp.header(VARY, ACCEPT_ENCODING);
+        }
+        if (req.etagMatches(etag)) {
+            // still need to generates the headers
+            // see https://stackoverflow.com/questions/1587667/should-http-304-not-modified-responses-contain-cache-control-headers
+            AlwaysNotModified.INSTANCE.handle(context);
+            return;
+        }
+        if (gzip) {
+            resp.header(CONTENT_ENCODING, GzipEncoding.GZIP).writeContent(entry.gzipped());
+        } else {
+            resp.writeContent(entry.content());
+        }
+    }
+
+    private String cacheKey(String path) {
+        return S.blank(path) ? base : S.concat(base, "/", path);
+    }
+
+    private static boolean acceptGzip(H.Request req) {
+        return GzipEncoding.accepted(req.header(ACCEPT_ENCODING));
+    }
+
     private boolean preventFolderAccess(URL target, String path, ActionContext context) {
         RequestHandler folderHandler = subFolderIndexHandlers.get(path);
         if (null != folderHandler) {
@@ -356,28 +367,21 @@ public class ResourceGetter extends FastRequestHandler {
                 || TXT == contentType || CSV == contentType
                 || JSON == contentType || XML == contentType
                 || resourceSizeIsOkay()) {
-            $.Var<String> etagBag = $.var();
-            buffer = doPreload(baseUrl, etagBag);
-            if (null == buffer) {
+            byte[] content = load(baseUrl);
+            if (null == content) {
                 preloadFailure = true;
             } else {
-                this.etag = etagBag.get();
+                preloadedEntry = ResourceCache.Entry.of(content, contentType);
             }
-            preloadedContentType = contentType;
             preloaded = true;
         }
     }
 
-    private ByteBuffer doPreload(URL target, $.Var<String> etagBag) {
+    private byte[] load(URL target) {
         try {
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            IO.copy(target.openStream(), baos);
-            byte[] ba = baos.toByteArray();
-            buffer = ByteBuffer.wrap(ba);
-            etagBag.set(String.valueOf(Arrays.hashCode(ba)));
-            return buffer;
-        } catch (IOException e) {
-            Act.LOGGER.warn(e, "Error loading resource: %s", baseUrl.getPath());
+            return IO.readContent(target.openStream());
+        } catch (Exception e) {
+            Act.LOGGER.warn(e, "Error loading resource: %s", target.getPath());
         }
         return null;
     }
@@ -28,6 +28,7 @@ import act.*;
 import act.app.*;
 import act.app.event.SysEventId;
 import act.controller.CacheSupportMetaInfo;
+import act.controller.CachedResponse;
 import act.controller.ResponseCache;
 import act.controller.meta.*;
 import act.handler.RequestHandlerBase;
@@ -37,6 +38,7 @@ import act.security.CSRF;
 import act.util.*;
 import act.view.ActErrorResult;
 import act.view.RenderAny;
+import act.xio.GzipEncoding;
 import act.xio.WebSocketConnectionHandler;
 import org.osgl.$;
 import org.osgl.cache.CacheService;
@@ -50,6 +52,10 @@ import org.osgl.util.S;
 
 import java.lang.reflect.Method;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
@@ -61,6 +67,9 @@ public final class RequestHandlerProxy extends RequestHandlerBase {
 
     private static Logger logger = L.get(RequestHandlerProxy.class);
 
+    // the maximum time a request waits for another request computing the same cache entry
+    private static final long COALESCING_TIMEOUT_MS = 10 * 1000;
+
     private static final List<BeforeInterceptor> globalBeforeInterceptors = new ArrayList<>();
     private static final List<AfterInterceptor> globalAfterInterceptors = new ArrayList<>();
     private static final List<FinallyInterceptor> globalFinallyInterceptors = new ArrayList<>();
@@ -82,7 +91,9 @@ public final class RequestHandlerProxy extends RequestHandlerBase {
     private String actionMethodName;
     private String actionPath;
     private Method actionMethod;
-    private Set<String> cacheKeys = new HashSet<>();
+    private Set<String> cacheKeys = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+    // requests computing cache entries, keyed by cache key
+    private ConcurrentMap<String, Flight> flights = new ConcurrentHashMap<>();
 
     private volatile ControllerAction actionHandler = null;
     private List<BeforeInterceptor> beforeInterceptors = new ArrayList<>();
@@ -183,22 +194,36 @@ public final class RequestHandlerProxy extends RequestHandlerBase {
             return;
         }
         Result result = null;
+        String cacheKey = null;
+        Flight flight = null;
         try {
             H.Method method = context.req().method();
             boolean supportCache = this.supportCache && method == GET || (cacheSupport.supportPost && method == POST);
-            String cacheKey = null;
             if (supportCache) {
                 cacheKey = cacheSupport.cacheKey(context);
-                ResponseCache cached = this.cache.get(cacheKey);
-                if (null != cached && cached.isValid()) {
-                    String etag = cached.etag();
-                    if (null != etag && context.req().etagMatches(etag)) {
-                        NotModified.of(etag).apply(context.req(), context.resp());
-                    } else {
-                        cached.applyTo(context.prepareRespForResultEvaluation());
-                    }
+                Object o = this.cache.get(cacheKey);
+                CachedResponse cached = o instanceof CachedResponse ? (CachedResponse) o : null;
+                long now = System.currentTimeMillis();
+                if (null != cached && cached.isFresh(now)) {
+                    serve(cached, context);
                     return;
                 }
+                flight = new Flight();
+                Flight existing = flights.putIfAbsent(cacheKey, flight);
+                if (null != existing) {
+                    // another request is computing the entry
+                    flight = null;
+                    if (null != cached && cached.isUsable(now)) {
+                        serve(cached, context);
+                        return;
+                    }
+                    cached = existing.await();
+                    if (null != cached) {
+                        serve(cached, context);
+                        return;
+                    }
+                    // the other request did not produce a cacheable response
+                }
                 context.enableCache();
             }
             saveActionPath(context);
@@ -223,13 +248,24 @@ public final class RequestHandlerProxy extends RequestHandlerBase {
             if (supportCache) {
                 String s = cacheSupport.usePrivate ? "private, max-age=" : "public, max-age=";
                 if (!cacheSupport.noCacheControl) {
-                    context.resp().addHeaderIfNotAdded(H.Header.Names.CACHE_CONTROL, s + cacheSupport.ttl);
+                    s = s + cacheSupport.ttl;
+                    if (cacheSupport.staleTtl > 0) {
+                        s = s + ", stale-while-revalidate=" + cacheSupport.staleTtl;
+                    }
+                    context.resp().addHeaderIfNotAdded(H.Header.Names.CACHE_CONTROL, s);
                 }
             }
             onResult(result, context);
-            if (supportCache) {
-                this.cache.put(cacheKey, context.resp(), cacheSupport.ttl);
-                cacheKeys.add(cacheKey);
+            if (supportCache && context.resp() instanceof ResponseCache) {
+                CachedResponse cached = ((ResponseCache) context.resp()).snapshot(cacheSupport.ttl, cacheSupport.staleTtl);
+                if (null != cached) {
+                    // keep the entry in cache service during stale-while-revalidate window
+                    this.cache.put(cacheKey, cached, cacheSupport.ttl + cacheSupport.staleTtl);
+                    cacheKeys.add(cacheKey);
+                    if (null != flight) {
+                        flight.result = cached;
+                    }
+                }
             }
         } catch (Exception e) {
             try {
@@ -251,6 +287,10 @@ public final class RequestHandlerProxy extends RequestHandlerBase {
                 onResult(ActErrorResult.of(e2), context);
             }
         } finally {
+            if (null != flight) {
+                flights.remove(cacheKey, flight);
+                flight.complete();
+            }
             try {
                 handleFinally(context);
             } catch (Exception e) {
@@ -259,6 +299,15 @@ public final class RequestHandlerProxy extends RequestHandlerBase {
         }
     }
 
+    private static void serve(CachedResponse cached, ActionContext context) {
+        String etag = cached.etag();
+        if (GzipEncoding.etagMatches(context.req(), etag)) {
+            NotModified.of(etag).apply(context.req(), context.resp());
+        } else {
+            cached.applyTo(context.prepareRespForResultEvaluation());
+        }
+    }
+
     @Override
     public boolean sessionFree() {
         ensureAgentsReady();
@@ -723,4 +772,26 @@ public final class RequestHandlerProxy extends RequestHandlerBase {
             }
         }
     }
+    /*
+     * Tracks a request computing a cache entry, so concurrent requests of
+     * the same cache key wait for the result instead of computing it again
+     */
+    private static class Flight {
+        private final CountDownLatch latch = new CountDownLatch(1);
+        private volatile CachedResponse result;
+
+        void complete() {
+            latch.countDown();
+        }
+
+        CachedResponse await() {
+            try {
+                latch.await(COALESCING_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return result;
+        }
+    }
+
 }
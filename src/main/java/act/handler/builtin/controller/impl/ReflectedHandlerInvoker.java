@@ -166,6 +166,8 @@ public class ReflectedHandlerInvoker<M extends HandlerMethodMetaInfo> extends Lo
     private String xmlRootTag;
     private List<JsonDtoPatch> dtoPatches = new ArrayList<>();
     private boolean hasDtoPatches;
+    // there are params loaded by JsonStreamLoader
+    private boolean hasJsonStreamParam;
     private Class<?> returnType;
 
     private ReflectedHandlerInvoker(M handlerMetaInfo, App app) {
@@ -322,6 +324,9 @@ public class ReflectedHandlerInvoker<M extends HandlerMethodMetaInfo> extends Lo
             if (null != patch) {
                 dtoPatches.add(patch);
             }
+            if (JsonStreamLoader.supports(spec)) {
+                hasJsonStreamParam = true;
+            }
         }
         hasDtoPatches = !dtoPatches.isEmpty();
         List<BeanSpec> paramSpecWithoutSessionVariables = new ArrayList<>();
@@ -745,6 +750,11 @@ public class ReflectedHandlerInvoker<M extends HandlerMethodMetaInfo> extends Lo
         if (0 == fieldsAndParamsCount || (!context.jsonEncoded() && !context.xmlEncoded())) {
             return;
         }
+        if (hasJsonStreamParam && context.jsonEncoded()) {
+            // the body is read incrementally by JsonStreamLoader, do not buffer it
+            context.markBodyStreaming();
+            return;
+        }
         Class<? extends JsonDto> dtoClass = jsonDTOClassManager.get(paramSpecs, controllerClass);
         if (null == dtoClass) {
             // there are neither fields nor params
@@ -923,6 +933,7 @@ public class ReflectedHandlerInvoker<M extends HandlerMethodMetaInfo> extends Lo
                 new CacheKeyBuilder(cacheFor, S.concat(controllerClass.getName(), ".", method.getName())),
                 cacheFor.id(),
                 cacheFor.value(),
+                cacheFor.staleWhileRevalidate(),
                 cacheFor.supportPost(),
                 cacheFor.usePrivate(),
                 cacheFor.noCacheControl()
@@ -122,6 +122,11 @@ class ActionContextParamLoader extends ParamValueLoaderService {
                 }
             }
 
+            if (null == resolver && JsonStreamLoader.supports(spec)) {
+                // explicit binders and resolvers take precedence over JSON stream
+                return new JsonStreamLoader(bindName, spec);
+            }
+
             if (null == resolver) {
                 resolver = resolverManager.resolver(rawType, spec);
             }
@@ -35,13 +35,14 @@ import java.lang.reflect.Field;
  */
 class FieldLoader {
     private final Field field;
-    private final Class<?> fieldType;
     private final boolean isString;
     private final ParamValueLoader loader;
     private final ParamValueLoader stringValueLoader;
     private final boolean isSensitive;
     private final boolean isPassword;
     private Lang.TypeConverter<Object, Object> converter;
+    // index of the field in the generated binder, `-1` if the field is set reflectively
+    private int index = -1;
 
     FieldLoader(Field field, ParamValueLoader loader, ParamValueLoader stringValueLoader, Lang.TypeConverter<Object, Object> converter) {
         Class<?> type = field.getType();
@@ -51,7 +52,6 @@ class FieldLoader {
         this.isSensitive = isString && null != field.getAnnotation(Sensitive.class);
         this.isPassword = (isString || isCharArray) && null != field.getAnnotation(Password.class);
         this.field = field;
-        this.fieldType = type;
         this.loader = $.requireNotNull(loader);
         this.stringValueLoader = stringValueLoader;
         this.converter = converter;
@@ -61,7 +61,14 @@ class FieldLoader {
         this(field, loader, null, null);
     }
 
-    public void applyTo($.Func0<Object> beanSource, ActContext context) {
+    /**
+     * Load the field value from the context.
+     *
+     * @param context
+     *         the current context
+     * @return the value to be set to the field, or `null` if not provided
+     */
+    Object load(ActContext context) {
         Object fieldValue = loader.load(null, context, true);
         if (null == fieldValue && null != converter) {
             // try converter
@@ -75,10 +82,7 @@ class FieldLoader {
             // counter effect to #429 - We don't want to leave an empty reference for JPA model entities
             //beanSource.apply();
             // #689 initialize field if it is an array or a container
-            if (fieldType.isArray()) {
-                return;
-            }
-            return;
+            return null;
         }
         try {
             if (isSensitive) {
@@ -91,13 +95,45 @@ class FieldLoader {
                     fieldValue = Act.crypto().passwordHash(ca);
                 }
             }
-            Object bean = beanSource.apply();
-            field.set(bean, fieldValue);
+            return fieldValue;
         } catch (Exception e) {
             throw new InjectException(e);
         }
     }
 
+    /**
+     * Set value to the field of a bean.
+     *
+     * @param bean
+     *         the bean
+     * @param value
+     *         the field value
+     * @param binder
+     *         the generated binder of the bean type, or `null` if not available
+     */
+    void set(Object bean, Object value, PojoBinder binder) {
+        if (null != binder && index > -1) {
+            try {
+                binder.set(bean, index, value);
+            } catch (ClassCastException | NullPointerException e) {
+                throw new InjectException(e);
+            }
+            return;
+        }
+        try {
+            field.set(bean, value);
+        } catch (Exception e) {
+            throw new InjectException(e);
+        }
+    }
+
+    /**
+     * Find the index of the field in the binder of the bean type.
+     */
+    void bind(PojoBinder binder) {
+        index = null == binder ? -1 : binder.indexOf(field);
+    }
+
     @Override
     public String toString() {
         return "FieldLoader[" + field.getName() + "]";
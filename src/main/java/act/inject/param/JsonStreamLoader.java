@@ -0,0 +1,203 @@
+package act.inject.param;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.app.ActionContext;
+import act.util.ActContext;
+import com.alibaba.fastjson.JSONException;
+import com.alibaba.fastjson.JSONReader;
+import com.alibaba.fastjson.parser.JSONToken;
+import org.osgl.http.H;
+import org.osgl.inject.BeanSpec;
+import org.osgl.mvc.result.BadRequest;
+import org.osgl.util.C;
+import org.osgl.util.E;
+import org.osgl.util.IO;
+
+import java.io.*;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Load an `Iterable<T>` or `Iterator<T>` parameter from a JSON array in the
+ * request body.
+ *
+ * Elements are read from the request input stream one by one when the
+ * handler iterates the parameter, thus a large JSON array can be imported
+ * without buffering the whole body:
+ *
+ * ```java
+ * @PostAction("/orders/import")
+ * public void importOrders(Iterable<Order> orders) {
+ *     for (Order order : orders) {
+ *         dao.save(order);
+ *     }
+ * }
+ * ```
+ *
+ * The body could be either a JSON array, or a JSON object with one property
+ * whose value is the array, e.g. `{"orders": [...]}`. The parameter can be
+ * iterated only once. If the request is not JSON encoded, the parameter is
+ * an empty iterable.
+ */
+public class JsonStreamLoader extends ParamValueLoader.NonCacheable {
+
+    private final String bindName;
+    private final Type elementType;
+    private final boolean iterator;
+
+    JsonStreamLoader(String bindName, BeanSpec spec) {
+        this.bindName = bindName;
+        this.iterator = Iterator.class == spec.rawType();
+        List<Type> typeParams = spec.typeParams();
+        Type type = typeParams.isEmpty() ? Object.class : typeParams.get(0);
+        this.elementType = type instanceof Class || type instanceof ParameterizedType ? type : Object.class;
+    }
+
+    @Override
+    public Object load(Object bean, ActContext<?> context, boolean noDefaultValue) {
+        if (!(context instanceof ActionContext) || !((ActionContext) context).jsonEncoded()) {
+            return iterator ? C.list().iterator() : C.list();
+        }
+        ActionContext actionContext = (ActionContext) context;
+        final JsonArrayIterator elements = new JsonArrayIterator(actionContext.req(), elementType);
+        if (iterator) {
+            return elements;
+        }
+        return new Iterable<Object>() {
+            private boolean iterated;
+
+            @Override
+            public Iterator<Object> iterator() {
+                E.illegalStateIf(iterated, "JSON stream can be iterated only once");
+                iterated = true;
+                return elements;
+            }
+        };
+    }
+
+    @Override
+    public String bindName() {
+        return bindName;
+    }
+
+    /**
+     * Check if a parameter shall be loaded by `JsonStreamLoader`.
+     *
+     * @param spec
+     *         the parameter spec
+     * @return `true` if the parameter type is `Iterable` or `Iterator`
+     */
+    public static boolean supports(BeanSpec spec) {
+        Class<?> rawType = spec.rawType();
+        return Iterable.class == rawType || Iterator.class == rawType;
+    }
+
+    private static class JsonArrayIterator implements Iterator<Object> {
+
+        private final H.Request req;
+        private final Type elementType;
+        private JSONReader reader;
+        private boolean done;
+
+        JsonArrayIterator(H.Request req, Type elementType) {
+            this.req = req;
+            this.elementType = elementType;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (done) {
+                return false;
+            }
+            try {
+                if (null == reader) {
+                    open();
+                    if (done) {
+                        return false;
+                    }
+                }
+                if (reader.hasNext()) {
+                    return true;
+                }
+                close();
+                return false;
+            } catch (JSONException e) {
+                close();
+                throw new BadRequest(null == e.getCause() ? e : e.getCause());
+            }
+        }
+
+        @Override
+        public Object next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            try {
+                return reader.readObject(elementType);
+            } catch (JSONException e) {
+                close();
+                throw new BadRequest(null == e.getCause() ? e : e.getCause());
+            }
+        }
+
+        @Override
+        public void remove() {
+            throw E.unsupport();
+        }
+
+        private void open() {
+            Reader body;
+            try {
+                body = new InputStreamReader(req.inputStream(), req.characterEncoding());
+            } catch (UnsupportedEncodingException e) {
+                throw new BadRequest(e);
+            }
+            reader = new JSONReader(body);
+            int token = reader.peek();
+            if (JSONToken.EOF == token) {
+                close();
+                return;
+            }
+            if (JSONToken.LBRACE == token) {
+                reader.startObject();
+                if (!reader.hasNext()) {
+                    close();
+                    return;
+                }
+                // skip the property name
+                reader.readString();
+            }
+            reader.startArray();
+        }
+
+        private void close() {
+            done = true;
+            if (null != reader) {
+                IO.close(reader);
+            }
+        }
+    }
+
+}
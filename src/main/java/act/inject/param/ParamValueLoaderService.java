@@ -103,11 +103,13 @@ public abstract class ParamValueLoaderService extends LogSupportedDestroyableBas
     private Map<Class<? extends Annotation>, ActionMethodParamAnnotationHandler> allAnnotationHandlers;
     private Validator validator;
     private volatile ExecutableValidator executableValidator;
+    private boolean generatedBinder;
 
     public ParamValueLoaderService(App app) {
         resolverManager = app.resolverManager();
         binderManager = app.binderManager();
         injector = app.injector();
+        generatedBinder = app.config().paramBindingGeneratedBinder();
         allAnnotationHandlers = new HashMap<>();
         List<ActionMethodParamAnnotationHandler> list = Act.pluginManager().pluginList(ActionMethodParamAnnotationHandler.class);
         for (ActionMethodParamAnnotationHandler h : list) {
@@ -123,6 +125,27 @@ public abstract class ParamValueLoaderService extends LogSupportedDestroyableBas
         DestroyableBase.Util.tryDestroyAll(classRegistry.values(), ApplicationScoped.class);
         DestroyableBase.Util.tryDestroyAll(paramRegistry.values(), ApplicationScoped.class);
         noBindCache.clear();
+        pojoBinders.clear();
+    }
+
+    /**
+     * Turn on/off generated {@link PojoBinder} on this service.
+     *
+     * When enabled, POJO parameters are instantiated and populated through
+     * a binder class generated for each POJO type instead of reflection.
+     *
+     * @param enabled
+     *         `true` to enable generated binder
+     * @return this service
+     * @see act.conf.AppConfigKey#PARAM_BINDING_GENERATED_BINDER
+     */
+    public ParamValueLoaderService generatedBinder(boolean enabled) {
+        this.generatedBinder = enabled;
+        return this;
+    }
+
+    boolean generatedBinder() {
+        return generatedBinder;
     }
 
     public Object loadHostBean(Class beanClass, ActContext<?> ctx) {
@@ -285,8 +308,20 @@ public abstract class ParamValueLoaderService extends LogSupportedDestroyableBas
 
     private static ConcurrentMap<Class, Boolean> noBindCache;
 
+    // generated binders shared by all services of the app
+    private static ConcurrentMap<Class, PojoBinder> pojoBinders;
+
+    // marks POJO type that binder cannot be generated
+    private static final PojoBinder NO_BINDER = new PojoBinder() {
+        @Override
+        public void set(Object bean, int index, Object value) {
+            throw E.unsupport();
+        }
+    };
+
     public static void classInit(App app) {
         noBindCache = app.createConcurrentMap();
+        pojoBinders = app.createConcurrentMap();
     }
 
     public static boolean noBind(Class c) {
@@ -354,9 +389,29 @@ public abstract class ParamValueLoaderService extends LogSupportedDestroyableBas
             }
             loaders[i] = loader;
         }
+        checkJsonStream(method, loaders);
         return loaders;
     }
 
+    /*
+     * The JSON body is consumed by a JSON stream parameter, thus other
+     * parameters of the method cannot be loaded from the JSON body
+     */
+    private void checkJsonStream(Method method, ParamValueLoader[] loaders) {
+        boolean stream = false;
+        List<String> shadowed = new ArrayList<>();
+        for (ParamValueLoader loader : loaders) {
+            if (loader instanceof JsonStreamLoader) {
+                stream = true;
+            } else if (loader instanceof JsonParamValueLoader) {
+                shadowed.add(loader.bindName());
+            }
+        }
+        if (stream && !shadowed.isEmpty()) {
+            warn("JSON body is streamed to the Iterable/Iterator parameter of %s, parameters %s cannot be loaded from the JSON body", method, shadowed);
+        }
+    }
+
     private ParamValueLoader paramValueLoaderOf(BeanSpec spec, ActContext ctx) {
         return paramValueLoaderOf(spec, null, ctx);
     }
@@ -624,6 +679,37 @@ public abstract class ParamValueLoaderService extends LogSupportedDestroyableBas
         PARAM_TREE.remove();
     }
 
+    /**
+     * Returns the generated {@link PojoBinder} of a POJO type, or `null` if
+     * the binder cannot be generated for the type.
+     */
+    PojoBinder pojoBinder(Class<?> type) {
+        PojoBinder binder = pojoBinders.get(type);
+        if (null == binder) {
+            // the binder class is defined once per type
+            synchronized (pojoBinders) {
+                binder = pojoBinders.get(type);
+                if (null == binder) {
+                    binder = generatePojoBinder(type);
+                    pojoBinders.put(type, binder);
+                }
+            }
+        }
+        return NO_BINDER == binder ? null : binder;
+    }
+
+    private PojoBinder generatePojoBinder(Class<?> type) {
+        if (type.isPrimitive() || type.isArray() || type.getName().startsWith("java.")) {
+            return NO_BINDER;
+        }
+        try {
+            return new PojoBinderGenerator(type).generate();
+        } catch (RuntimeException | LinkageError e) {
+            warn(e, "cannot generate binder for %s, fall back to reflection", type);
+            return NO_BINDER;
+        }
+    }
+
     private ParamValueLoader buildPojoLoader(final ParamKey key, final BeanSpec spec) {
         return new PojoLoader(key, spec, this);
     }
@@ -0,0 +1,78 @@
+package act.inject.param;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.osgl.util.C;
+
+import java.lang.reflect.Field;
+import java.util.List;
+
+/**
+ * Instantiates a POJO type and sets its fields without reflection.
+ *
+ * Subclasses are generated by {@link PojoBinderGenerator} for POJO types
+ * bound from request parameters. A field is set by the generated code
+ * only if it is accessible from the binder, other fields are left to
+ * {@link FieldLoader} which sets them reflectively.
+ *
+ * This class is public because generated binders are defined in the
+ * package of the POJO type. It is not meant to be used by application.
+ */
+public abstract class PojoBinder {
+
+    // fields could be set by `set(Object, int, Object)`, index by the field index
+    private List<Field> fields = C.list();
+
+    /**
+     * Returns a new instance of the POJO type, or `null` if the
+     * no-arg constructor is not accessible from the binder.
+     *
+     * @return the new instance or `null`
+     */
+    public Object newInstance() {
+        return null;
+    }
+
+    /**
+     * Set value to a field of a bean.
+     *
+     * @param bean
+     *         the bean
+     * @param index
+     *         the field index as returned by {@link #indexOf(Field)}
+     * @param value
+     *         the field value, primitive value shall be boxed
+     */
+    public abstract void set(Object bean, int index, Object value);
+
+    /**
+     * Returns index of a field or `-1` if the field cannot be set
+     * by this binder.
+     */
+    int indexOf(Field field) {
+        return fields.indexOf(field);
+    }
+
+    void fields(List<Field> fields) {
+        this.fields = fields;
+    }
+
+}
@@ -0,0 +1,207 @@
+package act.inject.param;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.app.AppClassLoader;
+import act.asm.*;
+import org.osgl.$;
+import org.osgl.util.S;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates a {@link PojoBinder} for a POJO type.
+ *
+ * If the POJO type is loaded by the {@link AppClassLoader}, the binder is
+ * defined by the same class loader in the same package, thus it can access
+ * package private fields and constructor. Otherwise the binder is defined
+ * by a child class loader and can access public members only.
+ */
+class PojoBinderGenerator implements Opcodes {
+
+    private static final String POJO_BINDER_CLASS = "act/inject/param/PojoBinder";
+
+    private static class BinderClassLoader extends ClassLoader {
+        BinderClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        Class<?> defineClass(String name, byte[] b) {
+            return defineClass(name, b, 0, b.length);
+        }
+    }
+
+    private Class<?> beanClass;
+    private String className;
+    private boolean appClass;
+    private List<Field> fields = new ArrayList<>();
+    private ClassWriter cw;
+    private MethodVisitor mv;
+
+    PojoBinderGenerator(Class<?> beanClass) {
+        this.beanClass = beanClass;
+        this.className = Type.getInternalName(beanClass) + "$$PojoBinder";
+        this.appClass = beanClass.getClassLoader() instanceof AppClassLoader;
+        this.cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
+    }
+
+    PojoBinder generate() {
+        byte[] bytes = generateByteCode();
+        String name = className.replace('/', '.');
+        ClassLoader loader = beanClass.getClassLoader();
+        Class<?> binderClass;
+        if (appClass) {
+            binderClass = ((AppClassLoader) loader).defineClass(name, bytes, 0, bytes.length, true);
+        } else {
+            binderClass = new BinderClassLoader(null == loader ? PojoBinder.class.getClassLoader() : loader).defineClass(name, bytes);
+        }
+        PojoBinder binder = $.newInstance(binderClass.asSubclass(PojoBinder.class));
+        binder.fields(fields);
+        return binder;
+    }
+
+    byte[] generateByteCode() {
+        collectFields();
+        cw.visit(V1_6, ACC_PUBLIC + ACC_FINAL + ACC_SUPER, className, null, POJO_BINDER_CLASS, null);
+        generateConstructor();
+        generateNewInstance();
+        generateSet();
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    private void collectFields() {
+        Class<?> current = beanClass;
+        while (null != current && Object.class != current) {
+            for (Field field : current.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers) || field.isSynthetic()) {
+                    continue;
+                }
+                Class<?> owner = field.getDeclaringClass();
+                if (accessible(owner) && accessible(field.getType()) && accessible(owner, modifiers)) {
+                    fields.add(field);
+                }
+            }
+            current = current.getSuperclass();
+        }
+    }
+
+    private void generateConstructor() {
+        mv = cw.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitMethodInsn(INVOKESPECIAL, POJO_BINDER_CLASS, "<init>", "()V", false);
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(1, 1);
+        mv.visitEnd();
+    }
+
+    private void generateNewInstance() {
+        if (beanClass.isInterface() || Modifier.isAbstract(beanClass.getModifiers()) || !accessible(beanClass)) {
+            return;
+        }
+        Constructor<?> constructor;
+        try {
+            constructor = beanClass.getDeclaredConstructor();
+        } catch (NoSuchMethodException e) {
+            return;
+        }
+        if (!accessible(beanClass, constructor.getModifiers())) {
+            return;
+        }
+        String owner = Type.getInternalName(beanClass);
+        mv = cw.visitMethod(ACC_PUBLIC, "newInstance", "()Ljava/lang/Object;", null, null);
+        mv.visitCode();
+        mv.visitTypeInsn(NEW, owner);
+        mv.visitInsn(DUP);
+        mv.visitMethodInsn(INVOKESPECIAL, owner, "<init>", "()V", false);
+        mv.visitInsn(ARETURN);
+        mv.visitMaxs(2, 1);
+        mv.visitEnd();
+    }
+
+    private void generateSet() {
+        mv = cw.visitMethod(ACC_PUBLIC, "set", "(Ljava/lang/Object;ILjava/lang/Object;)V", null, null);
+        mv.visitCode();
+        int sz = fields.size();
+        if (sz > 0) {
+            Label defaultLabel = new Label();
+            Label[] labels = new Label[sz];
+            for (int i = 0; i < sz; ++i) {
+                labels[i] = new Label();
+            }
+            mv.visitVarInsn(ILOAD, 2);
+            mv.visitTableSwitchInsn(0, sz - 1, defaultLabel, labels);
+            for (int i = 0; i < sz; ++i) {
+                Field field = fields.get(i);
+                String owner = Type.getInternalName(field.getDeclaringClass());
+                mv.visitLabel(labels[i]);
+                mv.visitVarInsn(ALOAD, 1);
+                mv.visitTypeInsn(CHECKCAST, owner);
+                mv.visitVarInsn(ALOAD, 3);
+                castValue(field.getType());
+                mv.visitFieldInsn(PUTFIELD, owner, field.getName(), Type.getDescriptor(field.getType()));
+                mv.visitInsn(RETURN);
+            }
+            mv.visitLabel(defaultLabel);
+        }
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(4, 4);
+        mv.visitEnd();
+    }
+
+    private void castValue(Class<?> type) {
+        if (!type.isPrimitive()) {
+            if (Object.class != type) {
+                mv.visitTypeInsn(CHECKCAST, Type.getInternalName(type));
+            }
+            return;
+        }
+        // cast to the exact wrapper type, so that a value of other type
+        // fails instead of being narrowed silently
+        String wrapper = Type.getInternalName($.wrapperClassOf(type));
+        mv.visitTypeInsn(CHECKCAST, wrapper);
+        mv.visitMethodInsn(INVOKEVIRTUAL, wrapper, type.getName() + "Value", "()" + Type.getDescriptor(type), false);
+    }
+
+    private boolean accessible(Class<?> type) {
+        while (type.isArray()) {
+            type = type.getComponentType();
+        }
+        return type.isPrimitive() || accessible(type, type.getModifiers());
+    }
+
+    private boolean accessible(Class<?> owner, int modifiers) {
+        return Modifier.isPublic(modifiers) || (!Modifier.isPrivate(modifiers) && samePackage(owner));
+    }
+
+    private boolean samePackage(Class<?> type) {
+        return appClass
+                && type.getClassLoader() == beanClass.getClassLoader()
+                && S.eq(S.beforeLast(type.getName(), "."), S.beforeLast(beanClass.getName(), "."));
+    }
+
+}
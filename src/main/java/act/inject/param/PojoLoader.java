@@ -39,6 +39,10 @@ class PojoLoader extends ParamValueLoader.JsonBodySupported {
     final ParamValueLoaderService service;
     final boolean provided;
     protected Map<String, FieldLoader> fieldLoaders;
+    private final FieldLoader[] loaders;
+    // generated on first load with generated binder enabled
+    private PojoBinder binder;
+    private volatile boolean binderResolved;
 
     public PojoLoader(ParamKey key, BeanSpec spec, ParamValueLoaderService service) {
         this.key = $.requireNotNull(key);
@@ -47,32 +51,23 @@ class PojoLoader extends ParamValueLoader.JsonBodySupported {
         this.service = service;
         this.provided = service.provided(spec, injector);
         this.fieldLoaders = fieldLoaders(key, spec);
+        this.loaders = fieldLoaders.values().toArray(new FieldLoader[fieldLoaders.size()]);
     }
 
     @Override
     public Object load(Object bean, ActContext<?> context, boolean noDefaultValue) {
-        final $.Var<Object> beanBag = $.var(bean);
-        $.Factory<Object> beanSource = new $.Factory<Object>() {
-            @Override
-            public Object create() {
-                Object bean = beanBag.get();
-                if (null == bean) {
-                    try {
-                        bean = provided ? injector.get(spec) : $.newInstance(spec.rawType());
-                    } catch (RuntimeException e) {
-                        throw e;
-                    } catch (Exception e) {
-                        throw new InjectException(e, "cannot instantiate %s", spec);
-                    }
-                }
-                beanBag.set(bean);
-                return bean;
+        PojoBinder binder = binder();
+        for (FieldLoader fl : loaders) {
+            Object fieldValue = fl.load(context);
+            if (null == fieldValue) {
+                continue;
             }
-        };
-        for (FieldLoader fl : fieldLoaders.values()) {
-            fl.applyTo(beanSource, context);
+            if (null == bean) {
+                bean = newBean(binder);
+            }
+            fl.set(bean, fieldValue, binder);
         }
-        return beanBag.get();
+        return bean;
     }
 
     @Override
@@ -80,6 +75,42 @@ class PojoLoader extends ParamValueLoader.JsonBodySupported {
         return key.toString();
     }
 
+    /*
+     * Returns the generated binder, or `null` if generated binder is
+     * disabled. The binder class is not generated until it is needed.
+     */
+    private PojoBinder binder() {
+        if (!service.generatedBinder()) {
+            return null;
+        }
+        if (!binderResolved) {
+            synchronized (this) {
+                if (!binderResolved) {
+                    binder = service.pojoBinder(spec.rawType());
+                    for (FieldLoader fl : loaders) {
+                        fl.bind(binder);
+                    }
+                    binderResolved = true;
+                }
+            }
+        }
+        return binder;
+    }
+
+    private Object newBean(PojoBinder binder) {
+        try {
+            if (provided) {
+                return injector.get(spec);
+            }
+            Object bean = null == binder ? null : binder.newInstance();
+            return null == bean ? $.newInstance(spec.rawType()) : bean;
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new InjectException(e, "cannot instantiate %s", spec);
+        }
+    }
+
     private Map<String, FieldLoader> fieldLoaders(ParamKey key, BeanSpec spec) {
         Class<?> current = spec.rawType();
         Map<String, FieldLoader> fieldLoaders = new HashMap<>();
@@ -43,4 +43,15 @@ public @interface Cron {
      * @return the job id
      */
     String id() default "";
+
+    /**
+     * Specify the name of the job pool the job runs in. Jobs in a named
+     * pool do not compete for threads with jobs in other pools. The pool
+     * size is configured with `job.pool.<name>.size`.
+     *
+     * Default value: empty string, i.e. the default job pool
+     *
+     * @return the job pool name
+     */
+    String pool() default "";
 }
@@ -0,0 +1,251 @@
+package act.job;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.app.App;
+import act.app.AppThreadFactory;
+import act.conf.AppConfig;
+import act.util.LogSupportedDestroyableBase;
+import org.osgl.$;
+import org.osgl.util.E;
+import org.osgl.util.S;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Schedules jobs that survive an application restart.
+ *
+ * A durable job is described by a {@link Handler} class and a string payload,
+ * and is recorded in a journal file before it is scheduled. When the job
+ * finished, it is marked as done in the journal. Pending jobs are replayed
+ * when the application starts, jobs that were due during the down time run
+ * immediately.
+ *
+ * If the handler throws an exception, the job runs again after a delay
+ * which starts from {@link #RETRY_DELAY} milliseconds and doubles on each
+ * failure. A job failed {@link #MAX_ATTEMPTS} times is dropped and logged
+ * as an error.
+ *
+ * ```java
+ * public class SendReminder implements DurableJobs.Handler {
+ *     public void handle(String userId) {
+ *         ...
+ *     }
+ * }
+ *
+ * jobManager.durable().delay(SendReminder.class, userId, 1, TimeUnit.DAYS);
+ * ```
+ *
+ * The journal is written to memory-mapped file `jobs.journal` in
+ * `job.journal.dir`, and forced to disk every `job.journal.flush.interval`
+ * milliseconds, thus jobs submitted in the last interval could be lost if the
+ * operating system crashes. A process crash does not lose any job. The
+ * journal is compacted once it grows over `job.journal.compact.size` bytes
+ * and most of its records are for finished jobs.
+ *
+ * Note a job that is running when the process crashed will be run again
+ * after restart.
+ */
+public class DurableJobs extends LogSupportedDestroyableBase {
+
+    /**
+     * Handles the payload of a durable job. The handler instance is
+     * obtained from the app's dependency injector when the job runs.
+     */
+    public interface Handler {
+        void handle(String payload) throws Exception;
+    }
+
+    static final String JOURNAL_FILE = "jobs.journal";
+
+    /**
+     * Maximum number of runs of a failing job.
+     */
+    public static final int MAX_ATTEMPTS = 5;
+
+    /**
+     * The delay in milliseconds before the first retry of a failed job.
+     */
+    public static final long RETRY_DELAY = 30 * 1000;
+
+    private final JobManager manager;
+    private final JobJournal journal;
+    private final long flushIntervalNanos;
+    private final int compactSize;
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    DurableJobs(JobManager manager) {
+        this.manager = manager;
+        AppConfig config = manager.app().config();
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, config.jobJournalFlushInterval()));
+        this.compactSize = config.jobJournalCompactSize();
+        try {
+            this.journal = new JobJournal(journalFile(manager.app()));
+        } catch (IOException e) {
+            throw E.ioException(e);
+        }
+        for (JobJournal.Entry entry : journal.entries()) {
+            schedule(entry);
+        }
+        flusher = new AppThreadFactory("job-journal", true).newThread(new Runnable() {
+            @Override
+            public void run() {
+                flushLoop();
+            }
+        });
+        flusher.start();
+    }
+
+    @Override
+    protected void releaseResources() {
+        running = false;
+        LockSupport.unpark(flusher);
+        try {
+            journal.close();
+        } catch (IOException e) {
+            warn(e, "error closing job journal");
+        }
+    }
+
+    /**
+     * Run a durable job as soon as possible.
+     *
+     * @param handler
+     *         the handler class
+     * @param payload
+     *         the payload passed to the handler
+     * @return the job id
+     */
+    public String now(Class<? extends Handler> handler, String payload) {
+        return delay(handler, payload, 0, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Run a durable job after a delay.
+     *
+     * @param handler
+     *         the handler class
+     * @param payload
+     *         the payload passed to the handler
+     * @param delay
+     *         the delay
+     * @param timeUnit
+     *         the time unit of `delay`
+     * @return the job id
+     */
+    public String delay(Class<? extends Handler> handler, String payload, long delay, TimeUnit timeUnit) {
+        JobJournal.Entry entry = new JobJournal.Entry(manager.randomJobId(), handler.getName(), payload, $.ms() + timeUnit.toMillis(delay));
+        journal.add(entry);
+        schedule(entry);
+        return entry.id;
+    }
+
+    /**
+     * Cancel a durable job.
+     *
+     * @param jobId
+     *         the job id
+     * @return `true` if the job was pending
+     */
+    public boolean cancel(String jobId) {
+        JobJournal.Entry entry = journal.entry(jobId);
+        boolean pending = journal.done(jobId);
+        if (pending) {
+            manager.cancel(jobIdOf(entry));
+        }
+        return pending;
+    }
+
+    /**
+     * Returns number of durable jobs not finished yet.
+     */
+    public int pending() {
+        return journal.pending();
+    }
+
+    static File journalFile(App app) {
+        String dir = app.config().jobJournalDir();
+        File base = S.blank(dir) ? new File(app.home(), "job-journal") : new File(dir);
+        return new File(base, JOURNAL_FILE);
+    }
+
+    private void schedule(final JobJournal.Entry entry) {
+        final String jobId = jobIdOf(entry);
+        Job job = Job.once(jobId, new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    Handler handler = manager.app().getInstance(entry.handler);
+                    handler.handle(entry.payload);
+                } catch (RuntimeException e) {
+                    failed(entry);
+                    throw e;
+                } catch (Exception e) {
+                    failed(entry);
+                    throw E.unexpected(e, "error running durable job: %s", entry.id);
+                }
+                journal.done(entry.id);
+            }
+        }, manager);
+        long delay = Math.max(0, entry.dueAt - $.ms());
+        manager.futureScheduled(jobId, manager.schedule(job, delay, TimeUnit.MILLISECONDS));
+    }
+
+    private void failed(JobJournal.Entry entry) {
+        int attempts = entry.attempts + 1;
+        if (attempts >= MAX_ATTEMPTS) {
+            error("durable job dropped after %s failed attempts: %s[%s]", attempts, entry.handler, entry.id);
+            journal.done(entry.id);
+            return;
+        }
+        JobJournal.Entry retry = entry.retry($.ms() + (RETRY_DELAY << (attempts - 1)));
+        if (journal.retry(retry)) {
+            schedule(retry);
+        }
+    }
+
+    /*
+     * The job being run is still registered when a retry is scheduled, thus
+     * each retry is scheduled with its own job id
+     */
+    private static String jobIdOf(JobJournal.Entry entry) {
+        return 0 == entry.attempts ? entry.id : S.concat(entry.id, "-retry-", S.string(entry.attempts));
+    }
+
+    private void flushLoop() {
+        while (running) {
+            LockSupport.parkNanos(this, flushIntervalNanos);
+            try {
+                journal.flush();
+                if (journal.needsCompaction(compactSize)) {
+                    journal.compact();
+                }
+            } catch (IOException | RuntimeException e) {
+                error(e, "error writing job journal");
+            }
+        }
+    }
+
+}
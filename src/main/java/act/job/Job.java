@@ -141,6 +141,7 @@ public class Job extends DestroyableBase implements Runnable {
     Exception callableException;
     private Method method;
     private boolean sysJob;
+    private String pool;
     // progress percentage
     private SimpleProgressGauge progress = new SimpleProgressGauge();
     private LockableJobList parallelJobs = new LockableJobList(this);
@@ -312,6 +313,20 @@ public class Job extends DestroyableBase implements Runnable {
         this.trigger = trigger;
     }
 
+    final void pool(String pool) {
+        this.pool = S.blank(pool) ? null : pool;
+    }
+
+    /**
+     * Returns the name of the job pool this job runs in, or `null`
+     * if the job runs in the default pool.
+     *
+     * @return the job pool name
+     */
+    public String pool() {
+        return pool;
+    }
+
     final Job addParallelJob(Job thatJob) {
         return parallelJobs.add(thatJob);
     }
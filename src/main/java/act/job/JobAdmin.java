@@ -41,7 +41,6 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.util.Comparator;
 import java.util.List;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
 import javax.inject.Inject;
 
 /**
@@ -98,16 +97,18 @@ public class JobAdmin {
 
     @Command(value = "act.job.scheduler", help = "Show Job manager scheduler status")
     public String getSchedulerStatus(JobManager jobManager) {
-        ScheduledThreadPoolExecutor executor = jobManager.executor();
+        TimingWheel scheduler = jobManager.scheduler();
         JSONObject json = new JSONObject();
-        json.put("is terminating", executor.isTerminating());
-        json.put("is terminated", executor.isTerminated());
-        json.put("is shutdown", executor.isShutdown());
-        json.put("# of runnable in the queue", executor.getQueue().size());
-        json.put("active count", executor.getActiveCount());
-        json.put("# of completed tasks", executor.getActiveCount());
-        json.put("core pool size", executor.getCorePoolSize());
-        json.put("pool size", executor.getPoolSize());
+        json.put("is shutdown", scheduler.isDestroyed());
+        json.put("# of scheduled runnable", scheduler.pending());
+        JobExecutor executor = jobManager.executor();
+        for (String pool : executor.pools()) {
+            JSONObject poolJson = new JSONObject();
+            poolJson.put("# of jobs in the queue", executor.pending(pool));
+            poolJson.put("active count", executor.active(pool));
+            poolJson.put("pool size", executor.size(pool));
+            json.put("pool " + pool, poolJson);
+        }
         return json.toJSONString();
     }
 
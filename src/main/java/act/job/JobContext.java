@@ -189,7 +189,7 @@ public class JobContext extends ActContext.Base<JobContext> {
      * Make a copy of JobContext of current thread
      * @return the copy of current job context or an empty job context
      */
-    static JobContext copy() {
+    public static JobContext copy() {
         JobContext current = current_.get();
         //JobContext ctxt = new JobContext(keepParent ? current : null);
         JobContext ctxt = new JobContext(null);
@@ -203,7 +203,7 @@ public class JobContext extends ActContext.Base<JobContext> {
      * Initialize current thread's JobContext using specified copy
      * @param origin the original job context
      */
-    static void loadFromOrigin(JobContext origin) {
+    public static void loadFromOrigin(JobContext origin) {
         if (origin.bag_.isEmpty()) {
             return;
         }
@@ -0,0 +1,245 @@
+package act.job;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.Act;
+import act.app.AppThreadFactory;
+import act.conf.AppConfig;
+import act.metric.Metric;
+import act.metric.MetricInfo;
+import act.metric.Timer;
+import act.util.LogSupportedDestroyableBase;
+import org.osgl.$;
+import org.osgl.exception.NotAppliedException;
+import org.osgl.util.S;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs jobs handed over by the {@link JobManager} scheduler.
+ *
+ * Jobs run in the default pool, a work-stealing {@link ForkJoinPool}
+ * with {@link AppConfig#jobPoolSize()} threads, unless the job is
+ * assigned to a named pool, e.g. `@Every(value = "1mn", pool = "report")`.
+ * Each named pool has its own threads, up to `job.pool.<name>.size`, so
+ * that long running jobs in one pool do not hold up jobs in other pools.
+ *
+ * For jobs with a trigger, the time a job waits in the queue is timed in
+ * `act:job:wait:<job-id>` and the time it runs in `act:job:run:<job-id>`.
+ * Other jobs are timed under the name `adhoc`.
+ */
+public class JobExecutor extends LogSupportedDestroyableBase {
+
+    public static final String DEFAULT_POOL = "default";
+
+    private static final String ADHOC = "adhoc";
+
+    private final Pool defaultPool;
+    private final ConcurrentMap<String, Pool> pools = new ConcurrentHashMap<>();
+    private final $.Function<String, Integer> poolSizeLookup;
+    private final Metric metric;
+
+    public JobExecutor(final AppConfig config) {
+        this(config.jobPoolSize(), new $.F1<String, Integer>() {
+            @Override
+            public Integer apply(String pool) throws NotAppliedException, $.Break {
+                return config.jobPoolSize(pool);
+            }
+        });
+    }
+
+    JobExecutor(int parallelism, $.Function<String, Integer> poolSizeLookup) {
+        this.poolSizeLookup = poolSizeLookup;
+        this.metric = Act.metricPlugin().metric(MetricInfo.JOB_HANDLER);
+        parallelism = Math.max(1, parallelism);
+        defaultPool = new Pool(new ForkJoinPool(parallelism, new WorkerThreadFactory(), null, true), parallelism);
+        pools.put(DEFAULT_POOL, defaultPool);
+    }
+
+    @Override
+    protected void releaseResources() {
+        for (Pool pool : pools.values()) {
+            pool.executor.shutdownNow();
+        }
+        pools.clear();
+    }
+
+    /**
+     * Run a job in the pool it is assigned to.
+     *
+     * @param job
+     *         the job
+     */
+    public void execute(Job job) {
+        execute(job, job);
+    }
+
+    /**
+     * Run a command in the default pool.
+     *
+     * @param command
+     *         the command
+     */
+    public void execute(Runnable command) {
+        execute(defaultPool, ADHOC, command);
+    }
+
+    /*
+     * Run `command` on behalf of `job`, i.e. in the pool of the job and
+     * timed with the job's metric names
+     */
+    void execute(Job job, Runnable command) {
+        execute(pool(job.pool()), null == job.trigger() ? ADHOC : job.id(), command);
+    }
+
+    /**
+     * Returns the names of the pools created so far.
+     */
+    public Set<String> pools() {
+        return new TreeSet<>(pools.keySet());
+    }
+
+    /**
+     * Returns number of jobs waiting in a pool.
+     *
+     * @param pool
+     *         the pool name
+     * @return the number of jobs waiting or `0` if the pool does not exist
+     */
+    public int pending(String pool) {
+        Pool p = pools.get(pool);
+        return null == p ? 0 : p.pending.get();
+    }
+
+    /**
+     * Returns number of jobs running in a pool.
+     *
+     * @param pool
+     *         the pool name
+     * @return the number of jobs running or `0` if the pool does not exist
+     */
+    public int active(String pool) {
+        Pool p = pools.get(pool);
+        return null == p ? 0 : p.active.get();
+    }
+
+    /**
+     * Returns the maximum number of jobs running in a pool at the same time.
+     *
+     * @param pool
+     *         the pool name
+     * @return the pool size or `0` if the pool does not exist
+     */
+    public int size(String pool) {
+        Pool p = pools.get(pool);
+        return null == p ? 0 : p.size;
+    }
+
+    private Pool pool(String name) {
+        if (S.blank(name) || DEFAULT_POOL.equals(name)) {
+            return defaultPool;
+        }
+        Pool pool = pools.get(name);
+        if (null == pool) {
+            int size = Math.max(1, poolSizeLookup.apply(name));
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(size, size, 60, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<Runnable>(), new AppThreadFactory("jobs-" + name));
+            executor.allowCoreThreadTimeOut(true);
+            Pool newPool = new Pool(executor, size);
+            pool = pools.putIfAbsent(name, newPool);
+            if (null == pool) {
+                pool = newPool;
+            } else {
+                executor.shutdown();
+            }
+        }
+        return pool;
+    }
+
+    private void execute(Pool pool, String name, Runnable command) {
+        Task task = new Task(pool, name, command);
+        pool.pending.incrementAndGet();
+        try {
+            pool.executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            // executor has been shutdown
+            pool.pending.decrementAndGet();
+            task.wait.stop();
+            throw e;
+        }
+    }
+
+    private static class Pool {
+        final ExecutorService executor;
+        final int size;
+        final AtomicInteger pending = new AtomicInteger();
+        final AtomicInteger active = new AtomicInteger();
+
+        Pool(ExecutorService executor, int size) {
+            this.executor = executor;
+            this.size = size;
+        }
+    }
+
+    private class Task implements Runnable {
+        private final Pool pool;
+        private final String name;
+        private final Runnable command;
+        private final Timer wait;
+
+        Task(Pool pool, String name, Runnable command) {
+            this.pool = pool;
+            this.name = name;
+            this.command = command;
+            this.wait = metric.startTimer(S.concat(MetricInfo.JOB_WAIT, Metric.PATH_SEPARATOR, name));
+        }
+
+        @Override
+        public void run() {
+            wait.stop();
+            pool.pending.decrementAndGet();
+            pool.active.incrementAndGet();
+            Timer timer = metric.startTimer(S.concat(MetricInfo.JOB_RUN, Metric.PATH_SEPARATOR, name));
+            try {
+                command.run();
+            } catch (RuntimeException e) {
+                error(e, "error running job: %s", name);
+            } finally {
+                timer.stop();
+                pool.active.decrementAndGet();
+            }
+        }
+    }
+
+    private static class WorkerThreadFactory implements ForkJoinPool.ForkJoinWorkerThreadFactory {
+        private final AtomicInteger seq = new AtomicInteger(1);
+
+        @Override
+        public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("jobs-thread-" + seq.getAndIncrement());
+            return thread;
+        }
+    }
+
+}
@@ -0,0 +1,387 @@
+package act.job;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.*;
+
+import org.osgl.util.E;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * An append-only journal of durable jobs backed by a memory-mapped file.
+ *
+ * Each record is written as
+ *
+ * ```
+ * | body length (int) | CRC32 of body (int) | body |
+ * ```
+ *
+ * where body is either an `ADD` record with job id, handler, payload and
+ * due time, a `RETRY` record with job id, number of failed attempts and the
+ * next due time, or a `DONE` record with job id. The file is extended in chunks
+ * and the unused part is all zero, thus a zero length marks the end of the
+ * journal. When the journal is opened, records are replayed until the end
+ * or until a record fails the CRC check, which is a record torn by a crash.
+ *
+ * Writes go to the mapped memory and survive a process crash. {@link #flush()}
+ * forces them to the disk and is called periodically by {@link DurableJobs}.
+ *
+ * {@link #compact()} rewrites the live records into a new file which then
+ * atomically replaces the journal.
+ */
+final class JobJournal {
+
+    static final class Entry {
+        final String id;
+        final String handler;
+        final String payload;
+        // epoch milliseconds
+        final long dueAt;
+        // number of failed runs
+        final int attempts;
+
+        Entry(String id, String handler, String payload, long dueAt) {
+            this(id, handler, payload, dueAt, 0);
+        }
+
+        Entry(String id, String handler, String payload, long dueAt, int attempts) {
+            this.id = id;
+            this.handler = handler;
+            this.payload = payload;
+            this.dueAt = dueAt;
+            this.attempts = attempts;
+        }
+
+        /**
+         * Returns the entry to run again after a failed run.
+         *
+         * @param dueAt
+         *         the time to run again
+         * @return the entry with attempts increased
+         */
+        Entry retry(long dueAt) {
+            return new Entry(id, handler, payload, dueAt, attempts + 1);
+        }
+    }
+
+    private static final byte ADD = 1;
+    private static final byte DONE = 2;
+    private static final byte RETRY = 3;
+    private static final int HEADER_SIZE = 8;
+    private static final int CHUNK_SIZE = 8 << 20;
+
+    private final File file;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private final Map<String, Entry> live = new LinkedHashMap<>();
+    private int records;
+    private boolean dirty;
+
+    JobJournal(File file) throws IOException {
+        this.file = file;
+        File dir = file.getParentFile();
+        if (null != dir && !dir.exists() && !dir.mkdirs()) {
+            throw new IOException("cannot create job journal dir: " + dir);
+        }
+        open();
+    }
+
+    synchronized List<Entry> entries() {
+        return new ArrayList<>(live.values());
+    }
+
+    synchronized int pending() {
+        return live.size();
+    }
+
+    /**
+     * Returns the pending entry of a job or `null` if the job is not pending.
+     */
+    synchronized Entry entry(String id) {
+        return live.get(id);
+    }
+
+    /**
+     * Returns the number of bytes used by the journal.
+     */
+    synchronized int size() {
+        return buffer.position();
+    }
+
+    synchronized void add(Entry entry) {
+        E.illegalStateIf(null == buffer, "job journal closed");
+        write(addRecord(entry));
+        live.put(entry.id, entry);
+    }
+
+    /**
+     * Record a failed run of a job which shall run again.
+     *
+     * @param entry
+     *         the entry returned by {@link Entry#retry(long)}
+     * @return `true` if the job is still pending, i.e. not cancelled
+     */
+    synchronized boolean retry(Entry entry) {
+        if (null == buffer || !live.containsKey(entry.id)) {
+            return false;
+        }
+        write(retryRecord(entry));
+        live.put(entry.id, entry);
+        return true;
+    }
+
+    /**
+     * Mark a job as done.
+     *
+     * @param id
+     *         the job id
+     * @return `true` if the job was pending
+     */
+    synchronized boolean done(String id) {
+        if (null == buffer || null == live.remove(id)) {
+            return false;
+        }
+        write(doneRecord(id));
+        return true;
+    }
+
+    /**
+     * Force records written since last flush to the disk.
+     */
+    void flush() {
+        MappedByteBuffer buffer;
+        synchronized (this) {
+            if (!dirty || null == this.buffer) {
+                return;
+            }
+            dirty = false;
+            buffer = this.buffer;
+        }
+        // forced out of the lock so that writers are not blocked by the disk
+        buffer.force();
+    }
+
+    /**
+     * Returns `true` if the journal is larger than `threshold` bytes and
+     * more than half of the records are obsolete.
+     */
+    synchronized boolean needsCompaction(int threshold) {
+        return null != buffer && buffer.position() > threshold && live.size() * 2 < records;
+    }
+
+    synchronized void compact() throws IOException {
+        File tmp = new File(file.getPath() + ".compact");
+        try (FileChannel out = FileChannel.open(tmp.toPath(), CREATE, TRUNCATE_EXISTING, WRITE)) {
+            for (Entry entry : live.values()) {
+                write(out, addRecord(entry));
+                if (entry.attempts > 0) {
+                    write(out, retryRecord(entry));
+                }
+            }
+            out.force(true);
+        }
+        buffer.force();
+        buffer = null;
+        channel.close();
+        try {
+            Files.move(tmp.toPath(), file.toPath(), REPLACE_EXISTING, ATOMIC_MOVE);
+        } finally {
+            // reopen the original journal if the move failed
+            open();
+        }
+    }
+
+    synchronized void close() throws IOException {
+        if (null == buffer) {
+            return;
+        }
+        buffer.force();
+        buffer = null;
+        channel.close();
+    }
+
+    private void open() throws IOException {
+        channel = new RandomAccessFile(file, "rw").getChannel();
+        long size = channel.size();
+        int capacity = (int) Math.max(CHUNK_SIZE, (size + CHUNK_SIZE - 1) / CHUNK_SIZE * CHUNK_SIZE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        live.clear();
+        records = 0;
+        replay();
+    }
+
+    private void replay() {
+        CRC32 crc = new CRC32();
+        while (buffer.remaining() >= HEADER_SIZE) {
+            int start = buffer.position();
+            int length = buffer.getInt();
+            if (length <= 0 || length > buffer.remaining() - 4) {
+                buffer.position(start);
+                break;
+            }
+            int checksum = buffer.getInt();
+            byte[] body = new byte[length];
+            buffer.get(body);
+            crc.reset();
+            crc.update(body, 0, length);
+            if ((int) crc.getValue() != checksum) {
+                buffer.position(start);
+                break;
+            }
+            apply(ByteBuffer.wrap(body));
+            records++;
+        }
+        // clear the record torn by a crash, if any
+        int end = buffer.position();
+        if (buffer.remaining() >= 4 && 0 != buffer.getInt(end)) {
+            for (int i = end, n = buffer.capacity(); i < n; ++i) {
+                buffer.put(i, (byte) 0);
+            }
+            dirty = true;
+        }
+    }
+
+    private void apply(ByteBuffer body) {
+        byte type = body.get();
+        String id = readString(body);
+        if (ADD == type) {
+            String handler = readString(body);
+            String payload = readString(body);
+            live.put(id, new Entry(id, handler, payload, body.getLong()));
+        } else if (RETRY == type) {
+            Entry entry = live.get(id);
+            int attempts = body.getInt();
+            long dueAt = body.getLong();
+            if (null != entry) {
+                live.put(id, new Entry(id, entry.handler, entry.payload, dueAt, attempts));
+            }
+        } else {
+            live.remove(id);
+        }
+    }
+
+    private static void write(FileChannel out, ByteBuffer record) throws IOException {
+        while (record.hasRemaining()) {
+            out.write(record);
+        }
+    }
+
+    private void write(ByteBuffer record) {
+        int size = record.remaining();
+        if (buffer.remaining() < size) {
+            grow(size);
+        }
+        buffer.put(record);
+        records++;
+        dirty = true;
+    }
+
+    private void grow(int size) {
+        int position = buffer.position();
+        long capacity = (long) buffer.capacity() + Math.max(CHUNK_SIZE, size);
+        E.illegalStateIf(capacity > Integer.MAX_VALUE, "job journal is too large: %s", file);
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        } catch (IOException e) {
+            throw E.ioException(e);
+        }
+        buffer.position(position);
+    }
+
+    private static ByteBuffer addRecord(Entry entry) {
+        byte[] id = bytes(entry.id);
+        byte[] handler = bytes(entry.handler);
+        byte[] payload = bytes(entry.payload);
+        ByteBuffer record = header(1 + 12 + id.length + handler.length + payload.length + 8);
+        record.put(ADD);
+        putString(record, id);
+        putString(record, handler);
+        putString(record, payload);
+        record.putLong(entry.dueAt);
+        return seal(record);
+    }
+
+    private static ByteBuffer retryRecord(Entry entry) {
+        byte[] id = bytes(entry.id);
+        ByteBuffer record = header(1 + 4 + id.length + 4 + 8);
+        record.put(RETRY);
+        putString(record, id);
+        record.putInt(entry.attempts);
+        record.putLong(entry.dueAt);
+        return seal(record);
+    }
+
+    private static ByteBuffer doneRecord(String id) {
+        byte[] bytes = bytes(id);
+        ByteBuffer record = header(1 + 4 + bytes.length);
+        record.put(DONE);
+        putString(record, bytes);
+        return seal(record);
+    }
+
+    private static ByteBuffer header(int bodyLength) {
+        ByteBuffer record = ByteBuffer.allocate(HEADER_SIZE + bodyLength);
+        record.putInt(bodyLength);
+        // placeholder of checksum
+        record.putInt(0);
+        return record;
+    }
+
+    private static ByteBuffer seal(ByteBuffer record) {
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), HEADER_SIZE, record.position() - HEADER_SIZE);
+        record.putInt(4, (int) crc.getValue());
+        record.flip();
+        return record;
+    }
+
+    private static byte[] bytes(String s) {
+        return null == s ? new byte[0] : s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] bytes) {
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        String s = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return s;
+    }
+
+}
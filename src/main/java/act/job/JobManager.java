@@ -26,6 +26,7 @@ import act.Act;
 import act.Destroyable;
 import act.app.*;
 import act.app.event.SysEventId;
+import act.conf.AppConfig;
 import act.event.OnceEventListenerBase;
 import act.event.SysEventListenerBase;
 import act.mail.MailerContext;
@@ -45,6 +46,7 @@ import java.lang.reflect.Method;
 import java.util.EventObject;
 import java.util.Map;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class JobManager extends AppServiceBase<JobManager> {
 
@@ -52,10 +54,13 @@ public class JobManager extends AppServiceBase<JobManager> {
 
     private static final Logger LOGGER = LogManager.get(JobManager.class);
 
-    private ScheduledThreadPoolExecutor executor;
+    // schedules jobs and hands them over to the executor when they are due
+    private TimingWheel scheduler;
+    private JobExecutor executor;
+    private volatile DurableJobs durableJobs;
     private ConcurrentMap<String, Job> jobs = new ConcurrentHashMap<String, Job>();
     private ConcurrentMap<Method, Job> methodIndex = new ConcurrentHashMap<>();
-    private ConcurrentMap<String, ScheduledFuture> scheduled = new ConcurrentHashMap<>();
+    private ConcurrentMap<String, TimingWheel.Timeout> scheduled = new ConcurrentHashMap<>();
     private CacheService jobResultCache;
     private JobExceptionListenerManager exceptionListenerManager = new JobExceptionListenerManager();
 
@@ -75,6 +80,14 @@ public class JobManager extends AppServiceBase<JobManager> {
                 jobResultCache = app.cache("job_result_cache");
             }
         });
+        on(SysEventId.START, "replay-durable-jobs", new Runnable() {
+            @Override
+            public void run() {
+                if (DurableJobs.journalFile(app).exists()) {
+                    durable();
+                }
+            }
+        });
     }
 
     @Override
@@ -85,21 +98,40 @@ public class JobManager extends AppServiceBase<JobManager> {
             job.destroy();
         }
         jobs.clear();
-        executor.getQueue().clear();
-        executor.shutdownNow();
+        if (null != durableJobs) {
+            durableJobs.destroy();
+        }
+        scheduler.destroy();
+        executor.destroy();
     }
 
     public JobExceptionListenerManager exceptionListenerManager() {
         return exceptionListenerManager;
     }
 
+    /**
+     * Returns the {@link DurableJobs} to schedule jobs that survive app restart.
+     *
+     * @return the durable jobs
+     */
+    public DurableJobs durable() {
+        if (null == durableJobs) {
+            synchronized (this) {
+                if (null == durableJobs) {
+                    durableJobs = new DurableJobs(this);
+                }
+            }
+        }
+        return durableJobs;
+    }
+
     public <T> Future<T> now(Callable<T> callable) {
         return now(randomJobId(), callable);
     }
 
     public <T> Future<T> now(String jobId, final Callable<T> callable) {
         final Job job = wrap(jobId, callable);
-        return executor().submit(new Callable<T>() {
+        FutureTask<T> task = new FutureTask<>(new Callable<T>() {
             @Override
             public T call() throws Exception {
                 job.run();
@@ -109,10 +141,12 @@ public class JobManager extends AppServiceBase<JobManager> {
                 return (T) job.callableResult;
             }
         });
+        executor().execute(job, task);
+        return task;
     }
 
     public void now(Job job) {
-        executor().submit(job);
+        executor().execute(job);
     }
 
     public void now(Runnable runnable) {
@@ -124,11 +158,11 @@ public class JobManager extends AppServiceBase<JobManager> {
     }
 
     public void now(String jobId, Runnable runnable) {
-        executor().submit(wrap(jobId, runnable));
+        executor().execute(wrap(jobId, runnable));
     }
 
     public void now(String jobId, Runnable runnable, boolean sysJob) {
-        executor().submit(wrap(jobId, runnable, sysJob));
+        executor().execute(wrap(jobId, runnable, sysJob));
     }
 
     public String now($.Function<ProgressGauge, ?> worker) {
@@ -137,7 +171,7 @@ public class JobManager extends AppServiceBase<JobManager> {
 
     public String now(String jobId, $.Function<ProgressGauge, ?> worker) {
         Job job = wrap(jobId, worker);
-        executor().submit(job);
+        executor().execute(job);
         return job.id();
     }
 
@@ -165,25 +199,25 @@ public class JobManager extends AppServiceBase<JobManager> {
      */
     public void now(String jobId) {
         Job job = $.requireNotNull(jobById(jobId));
-        executor().submit(job);
+        executor().execute(job);
     }
 
     public <T> Future<T> delay(Callable<T> callable, long delay, TimeUnit timeUnit) {
-        return executor().schedule(callable, delay, timeUnit);
+        return schedule(callable, delay, timeUnit);
     }
 
     public void delay(Runnable runnable, long delay, TimeUnit timeUnit) {
-        executor().schedule(wrap(runnable), delay, timeUnit);
+        schedule(wrap(runnable), delay, timeUnit);
     }
 
     public <T> Future<T> delay(Callable<T> callable, String delay) {
         int seconds = parseTime(delay);
-        return executor().schedule(callable, seconds, TimeUnit.SECONDS);
+        return schedule(callable, seconds, TimeUnit.SECONDS);
     }
 
     public void delay(Runnable runnable, String delay) {
         int seconds = parseTime(delay);
-        executor().schedule(wrap(runnable), seconds, TimeUnit.SECONDS);
+        schedule(wrap(runnable), seconds, TimeUnit.SECONDS);
     }
 
     public void every(String id, Runnable runnable, String interval) {
@@ -232,7 +266,7 @@ public class JobManager extends AppServiceBase<JobManager> {
         DateTime now = DateTime.now();
         E.illegalArgumentIf(instant.isBefore(now));
         Seconds seconds = Seconds.secondsBetween(now, instant);
-        executor().schedule(wrap(runnable), seconds.getSeconds(), TimeUnit.SECONDS);
+        schedule(wrap(runnable), seconds.getSeconds(), TimeUnit.SECONDS);
     }
 
     public <T> Future<T> on(DateTime instant, Callable<T> callable) {
@@ -242,7 +276,7 @@ public class JobManager extends AppServiceBase<JobManager> {
         DateTime now = DateTime.now();
         E.illegalArgumentIf(instant.isBefore(now));
         Seconds seconds = Seconds.secondsBetween(now, instant);
-        return executor().schedule(callable, seconds.getSeconds(), TimeUnit.SECONDS);
+        return schedule(callable, seconds.getSeconds(), TimeUnit.SECONDS);
     }
 
     public void on(SysEventId sysEvent, final Runnable runnable) {
@@ -337,9 +371,9 @@ public class JobManager extends AppServiceBase<JobManager> {
         if (null != job) {
             removeJob(job);
         } else {
-            ScheduledFuture future = scheduled.remove(jobId);
-            if (null != future) {
-                future.cancel(true);
+            TimingWheel.Timeout timeout = scheduled.remove(jobId);
+            if (null != timeout) {
+                timeout.cancel();
             }
         }
     }
@@ -386,16 +420,24 @@ public class JobManager extends AppServiceBase<JobManager> {
 
     public C.List<Job> virtualJobs() {
         final JobManager jobManager = Act.jobManager();
-        return C.list(scheduled.entrySet()).map(new $.Transformer<Map.Entry<String, ScheduledFuture>, Job>() {
+        return C.list(scheduled.entrySet()).map(new $.Transformer<Map.Entry<String, TimingWheel.Timeout>, Job>() {
             @Override
-            public Job transform(Map.Entry<String, ScheduledFuture> entry) {
+            public Job transform(Map.Entry<String, TimingWheel.Timeout> entry) {
                 return Job.virtualJob(entry.getKey(), jobManager);
             }
         });
     }
 
-    void futureScheduled(String id, ScheduledFuture future) {
-        scheduled.putIfAbsent(id, future);
+    void futureScheduled(String id, TimingWheel.Timeout timeout) {
+        if (!jobs.containsKey(id)) {
+            // job cancelled while the next invocation is being scheduled
+            timeout.cancel();
+            return;
+        }
+        TimingWheel.Timeout previous = scheduled.put(id, timeout);
+        if (null != previous && previous != timeout) {
+            previous.cancel();
+        }
     }
 
     public Job jobById(String id) {
@@ -405,8 +447,7 @@ public class JobManager extends AppServiceBase<JobManager> {
     public Job jobById(String id, boolean warn) {
         Job job = jobs.get(id);
         if (null == job) {
-            ScheduledFuture future = scheduled.get(id);
-            if (null != future) {
+            if (scheduled.containsKey(id)) {
                 return new Job(id, Act.jobManager());
             }
             if (warn) {
@@ -429,9 +470,9 @@ public class JobManager extends AppServiceBase<JobManager> {
     void removeJob(Job job) {
         String id = job.id();
         jobs.remove(id);
-        ScheduledFuture future = scheduled.remove(id);
-        if (null != future) {
-            future.cancel(true);
+        TimingWheel.Timeout timeout = scheduled.remove(id);
+        if (null != timeout) {
+            timeout.cancel();
         }
         Method method = job.method();
         if (null != method) {
@@ -452,16 +493,112 @@ public class JobManager extends AppServiceBase<JobManager> {
         return jobResultCache.get("__jm_" + jobId);
     }
 
-    ScheduledThreadPoolExecutor executor() {
+    /**
+     * Returns the {@link JobExecutor} that runs the jobs.
+     *
+     * @return the job executor
+     */
+    public JobExecutor executor() {
         return executor;
     }
 
+    TimingWheel scheduler() {
+        return scheduler;
+    }
+
+    /*
+     * Schedule a job to be handed over to the executor after the delay
+     */
+    TimingWheel.Timeout schedule(final Job job, long delay, TimeUnit timeUnit) {
+        return scheduler.schedule(new Runnable() {
+            @Override
+            public void run() {
+                executor.execute(job);
+            }
+        }, delay, timeUnit);
+    }
+
+    /*
+     * Schedule a job to be handed over to the executor periodically. If the job
+     * is still waiting or running when the next period is due, then the due
+     * invocations are merged into one invocation right after the current one
+     * finished, thus the job never runs concurrently with itself.
+     */
+    TimingWheel.Timeout scheduleAtFixedRate(Job job, long initialDelay, long period, TimeUnit timeUnit) {
+        return scheduler.scheduleAtFixedRate(new FixedRateTask(job), initialDelay, period, timeUnit);
+    }
+
+    private <T> Future<T> schedule(Callable<T> callable, long delay, TimeUnit timeUnit) {
+        final DelayedTask<T> task = new DelayedTask<>(callable);
+        task.timer = scheduler.schedule(new Runnable() {
+            @Override
+            public void run() {
+                executor.execute(task);
+            }
+        }, delay, timeUnit);
+        return task;
+    }
+
     private void initExecutor(App app) {
-        int poolSize = app.config().jobPoolSize();
-        executor = new ScheduledThreadPoolExecutor(poolSize, new AppThreadFactory("jobs"), new ThreadPoolExecutor.AbortPolicy());
-        executor.setRemoveOnCancelPolicy(true);
+        AppConfig config = app.config();
+        executor = new JobExecutor(config);
+        // the scheduler thread never runs a job, it just hands it over to the executor
+        scheduler = new TimingWheel(Math.max(1, config.jobSchedulerTick()), TimeUnit.MILLISECONDS,
+                Math.max(2, config.jobSchedulerWheelSize()), new AppThreadFactory("job-scheduler"));
         if (LOGGER.isTraceEnabled()) {
-            LOGGER.trace("init executor with thread pool: %s", poolSize);
+            LOGGER.trace("init executor with thread pool: %s", config.jobPoolSize());
+        }
+    }
+
+    private class FixedRateTask implements Runnable {
+        private final Job job;
+        // number of due invocations not yet started
+        private final AtomicInteger due = new AtomicInteger();
+        private final Runnable worker = new Runnable() {
+            @Override
+            public void run() {
+                boolean completed = false;
+                try {
+                    do {
+                        due.set(1);
+                        job.run();
+                    } while (!due.compareAndSet(1, 0));
+                    completed = true;
+                } finally {
+                    if (!completed) {
+                        // so that the next period still hands the job over to the executor
+                        due.set(0);
+                    }
+                }
+            }
+        };
+
+        FixedRateTask(Job job) {
+            this.job = job;
+        }
+
+        @Override
+        public void run() {
+            if (0 == due.getAndIncrement()) {
+                executor.execute(job, worker);
+            }
+        }
+    }
+
+    private static class DelayedTask<T> extends FutureTask<T> {
+        volatile TimingWheel.Timeout timer;
+
+        DelayedTask(Callable<T> callable) {
+            super(callable);
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            TimingWheel.Timeout timer = this.timer;
+            if (null != timer) {
+                timer.cancel();
+            }
+            return super.cancel(mayInterruptIfRunning);
         }
     }
 
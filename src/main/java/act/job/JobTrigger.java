@@ -40,8 +40,6 @@ import org.osgl.util.S;
 import org.rythmengine.utils.Time;
 
 import java.util.EventObject;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -279,8 +277,8 @@ public abstract class JobTrigger {
             // add one seconds to prevent the next time be the current time (now)
             DateTime next = cronExpr.nextTimeAfter(now.plusSeconds(1));
             Seconds seconds = Seconds.secondsBetween(now, next);
-            ScheduledFuture future = manager.executor().schedule(job, seconds.getSeconds(), TimeUnit.SECONDS);
-            manager.futureScheduled(job.id(), future);
+            TimingWheel.Timeout timeout = manager.schedule(job, seconds.getSeconds(), TimeUnit.SECONDS);
+            manager.futureScheduled(job.id(), timeout);
         }
 
         @Override
@@ -344,11 +342,27 @@ public abstract class JobTrigger {
             return S.concat("fixed delay of ", S.string(seconds), " seconds");
         }
 
+        @Override
+        protected void runAndSchedule(JobManager manager, Job job) {
+            if (startImmediately) {
+                // the following invocation is scheduled when the job finished
+                manager.now(job);
+            } else {
+                delayedSchedule(manager, job);
+            }
+        }
+
+        // the delay is counted from the end of the job, thus the next
+        // invocation is scheduled each time the job finished
         @Override
         protected void delayedSchedule(JobManager manager, Job job) {
-            ScheduledThreadPoolExecutor executor = manager.executor();
-            ScheduledFuture future = executor.scheduleWithFixedDelay(job, seconds, seconds, TimeUnit.SECONDS);
-            manager.futureScheduled(job.id(), future);
+            TimingWheel.Timeout timeout = manager.schedule(job, seconds, TimeUnit.SECONDS);
+            manager.futureScheduled(job.id(), timeout);
+        }
+
+        @Override
+        void scheduleFollowingCalls(JobManager manager, Job job) {
+            delayedSchedule(manager, job);
         }
     }
 
@@ -368,9 +382,8 @@ public abstract class JobTrigger {
 
         @Override
         protected void delayedSchedule(JobManager manager, Job job) {
-            ScheduledThreadPoolExecutor executor = manager.executor();
-            ScheduledFuture future = executor.scheduleAtFixedRate(job, seconds, seconds, TimeUnit.SECONDS);
-            manager.futureScheduled(job.id(), future);
+            TimingWheel.Timeout timeout = manager.scheduleAtFixedRate(job, seconds, seconds, TimeUnit.SECONDS);
+            manager.futureScheduled(job.id(), timeout);
         }
     }
 
@@ -0,0 +1,393 @@
+package act.job;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.util.LogSupportedDestroyableBase;
+import org.osgl.util.E;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A hashed hierarchical timing wheel.
+ *
+ * Time is divided into ticks. Each level of the wheel has `wheelSize`
+ * buckets, and a bucket at level `k` covers `wheelSize^k` ticks. A task
+ * is put into the bucket of the highest level in which its deadline
+ * differs from the current tick. When the current tick reaches a bucket
+ * at a higher level, the tasks in the bucket cascade down to the lower
+ * levels, and tasks in the level `0` bucket of the current tick are run.
+ *
+ * Scheduling and cancelling a task are `O(1)` and do not take a lock:
+ * new and cancelled tasks are queued and moved in or out of the buckets by
+ * the ticker thread at the next tick. The ticker thread parks when there is
+ * no pending task.
+ *
+ * Tasks are run in the ticker thread, thus they shall hand over the real
+ * work to an executor, as {@link JobManager} does. A task is never run
+ * before its deadline, and is run at most one tick after it.
+ */
+public class TimingWheel extends LogSupportedDestroyableBase {
+
+    /**
+     * Handle of a task scheduled in a {@link TimingWheel}.
+     */
+    public static final class Timeout {
+
+        private static final int ST_INIT = 0;
+        private static final int ST_CANCELLED = 1;
+        private static final int ST_EXPIRED = 2;
+
+        private static final AtomicIntegerFieldUpdater<Timeout> STATE =
+                AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+        private final TimingWheel wheel;
+        private final Runnable task;
+        // period in nanoseconds, `0` for one shot task
+        private final long period;
+        // deadline in nanoseconds since the wheel started
+        private long deadline;
+        private volatile int state;
+
+        // the following fields are accessed by the ticker thread only
+        private Bucket bucket;
+        private Timeout prev;
+        private Timeout next;
+
+        private Timeout(TimingWheel wheel, Runnable task, long deadline, long period) {
+            this.wheel = wheel;
+            this.task = task;
+            this.deadline = deadline;
+            this.period = period;
+        }
+
+        /**
+         * Cancel the task. A one shot task that has been run cannot be cancelled.
+         *
+         * @return `true` if the task is cancelled by this call
+         */
+        public boolean cancel() {
+            if (!STATE.compareAndSet(this, ST_INIT, ST_CANCELLED)) {
+                return false;
+            }
+            wheel.pending.decrementAndGet();
+            wheel.cancelled.offer(this);
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return ST_CANCELLED == state;
+        }
+
+        /**
+         * Returns `true` if the task has been cancelled or if a one shot task has been run.
+         */
+        public boolean isDone() {
+            return ST_INIT != state;
+        }
+    }
+
+    private static final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (null == tail) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+            Timeout prev = timeout.prev;
+            Timeout next = timeout.next;
+            if (null == prev) {
+                head = next;
+            } else {
+                prev.next = next;
+            }
+            if (null == next) {
+                tail = prev;
+            } else {
+                next.prev = prev;
+            }
+            timeout.bucket = null;
+            timeout.prev = null;
+            timeout.next = null;
+        }
+
+        Timeout clear() {
+            Timeout first = head;
+            head = tail = null;
+            return first;
+        }
+    }
+
+    private static final long MAX_DELAY_NANOS = Long.MAX_VALUE >> 2;
+
+    private final long tickNanos;
+    private final int bits;
+    private final int mask;
+    // created on demand
+    private final Bucket[][] wheels;
+    private final long startTime;
+    private final Thread ticker;
+    private final Queue<Timeout> added = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private volatile boolean idle;
+    private volatile boolean running = true;
+    // the last tick processed, accessed by the ticker thread only
+    private long tick;
+
+    /**
+     * Construct a `TimingWheel` and start the ticker thread.
+     *
+     * @param tickDuration
+     *         the duration of a tick
+     * @param unit
+     *         the time unit of `tickDuration`
+     * @param wheelSize
+     *         the number of buckets per level, rounded up to a power of two
+     * @param threadFactory
+     *         the factory to create the ticker thread
+     */
+    public TimingWheel(long tickDuration, TimeUnit unit, int wheelSize, ThreadFactory threadFactory) {
+        E.illegalArgumentIf(tickDuration < 1, "tick duration shall be positive: %s", tickDuration);
+        E.illegalArgumentIf(wheelSize < 2 || wheelSize > (1 << 16), "wheel size shall be between 2 and 65536: %s", wheelSize);
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.bits = 32 - Integer.numberOfLeadingZeros(wheelSize - 1);
+        this.mask = (1 << bits) - 1;
+        // enough levels to cover all positive tick numbers
+        this.wheels = new Bucket[62 / bits + 1][];
+        this.startTime = System.nanoTime();
+        this.ticker = threadFactory.newThread(new Runnable() {
+            @Override
+            public void run() {
+                work();
+            }
+        });
+        this.ticker.start();
+    }
+
+    @Override
+    protected void releaseResources() {
+        running = false;
+        LockSupport.unpark(ticker);
+        added.clear();
+        cancelled.clear();
+    }
+
+    /**
+     * Schedule a task to be run once after a delay.
+     *
+     * @param task
+     *         the task
+     * @param delay
+     *         the delay
+     * @param unit
+     *         the time unit of `delay`
+     * @return the handle of the task
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        return add(task, delay, 0, unit);
+    }
+
+    /**
+     * Schedule a task to be run periodically. If a run is late for more than
+     * a period, then the missed runs are skipped.
+     *
+     * @param task
+     *         the task
+     * @param initialDelay
+     *         the delay of the first run
+     * @param period
+     *         the period between two runs
+     * @param unit
+     *         the time unit of `initialDelay` and `period`
+     * @return the handle of the task
+     */
+    public Timeout scheduleAtFixedRate(Runnable task, long initialDelay, long period, TimeUnit unit) {
+        E.illegalArgumentIf(period < 1, "period shall be positive: %s", period);
+        return add(task, initialDelay, period, unit);
+    }
+
+    /**
+     * Returns number of tasks that are neither cancelled nor run.
+     * A periodic task is pending until it is cancelled.
+     */
+    public int pending() {
+        return pending.get();
+    }
+
+    private Timeout add(Runnable task, long delay, long period, TimeUnit unit) {
+        if (!running) {
+            throw new RejectedExecutionException("timing wheel stopped");
+        }
+        // cap the delay to prevent overflow, which is still more than 70 years
+        long deadline = System.nanoTime() - startTime + Math.min(unit.toNanos(Math.max(0, delay)), MAX_DELAY_NANOS);
+        Timeout timeout = new Timeout(this, task, deadline, unit.toNanos(period));
+        pending.incrementAndGet();
+        added.offer(timeout);
+        if (idle) {
+            LockSupport.unpark(ticker);
+        }
+        return timeout;
+    }
+
+    private void work() {
+        while (running) {
+            if (0 == pending.get()) {
+                idle = true;
+                if (0 == pending.get()) {
+                    // no live task in the buckets, forget the stale ones
+                    processCancelled();
+                    LockSupport.park(this);
+                    tick = Math.max(tick, elapsedTicks());
+                }
+                idle = false;
+                continue;
+            }
+            long sleep = startTime + (tick + 1) * tickNanos - System.nanoTime();
+            if (sleep > 0) {
+                LockSupport.parkNanos(this, sleep);
+                continue;
+            }
+            tick++;
+            processAdded();
+            processCancelled();
+            advance();
+        }
+    }
+
+    private long elapsedTicks() {
+        return (System.nanoTime() - startTime) / tickNanos;
+    }
+
+    private void processAdded() {
+        for (Timeout timeout = added.poll(); null != timeout; timeout = added.poll()) {
+            if (Timeout.ST_INIT == timeout.state) {
+                place(timeout);
+            }
+        }
+    }
+
+    private void processCancelled() {
+        for (Timeout timeout = cancelled.poll(); null != timeout; timeout = cancelled.poll()) {
+            Bucket bucket = timeout.bucket;
+            if (null != bucket) {
+                bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void advance() {
+        // cascade higher level buckets down before running level 0 tasks
+        for (int level = wheels.length - 1; level > 0; --level) {
+            int shift = level * bits;
+            if (0 == (tick & ((1L << shift) - 1))) {
+                flush(level, (int) (tick >>> shift) & mask);
+            }
+        }
+        flush(0, (int) tick & mask);
+    }
+
+    private void flush(int level, int slot) {
+        Bucket[] wheel = wheels[level];
+        if (null == wheel || null == wheel[slot]) {
+            return;
+        }
+        Timeout timeout = wheel[slot].clear();
+        while (null != timeout) {
+            Timeout next = timeout.next;
+            timeout.bucket = null;
+            timeout.prev = null;
+            timeout.next = null;
+            if (Timeout.ST_INIT == timeout.state) {
+                place(timeout);
+            }
+            timeout = next;
+        }
+    }
+
+    private void place(Timeout timeout) {
+        long deadlineTick = (timeout.deadline + tickNanos - 1) / tickNanos;
+        if (deadlineTick <= tick) {
+            expire(timeout);
+            return;
+        }
+        int level = (63 - Long.numberOfLeadingZeros(deadlineTick ^ tick)) / bits;
+        int slot = (int) (deadlineTick >>> (level * bits)) & mask;
+        Bucket[] wheel = wheels[level];
+        if (null == wheel) {
+            wheel = new Bucket[mask + 1];
+            wheels[level] = wheel;
+        }
+        Bucket bucket = wheel[slot];
+        if (null == bucket) {
+            bucket = new Bucket();
+            wheel[slot] = bucket;
+        }
+        bucket.add(timeout);
+    }
+
+    private void expire(Timeout timeout) {
+        if (0 == timeout.period) {
+            if (Timeout.STATE.compareAndSet(timeout, Timeout.ST_INIT, Timeout.ST_EXPIRED)) {
+                pending.decrementAndGet();
+                run(timeout.task);
+            }
+            return;
+        }
+        run(timeout.task);
+        if (Timeout.ST_INIT == timeout.state) {
+            timeout.deadline += timeout.period;
+            long now = tick * tickNanos;
+            if (timeout.deadline <= now) {
+                // skip missed runs
+                timeout.deadline = now + timeout.period;
+            }
+            place(timeout);
+        }
+    }
+
+    private void run(Runnable task) {
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            error(e, "error running scheduled task: %s", task);
+        }
+    }
+
+}
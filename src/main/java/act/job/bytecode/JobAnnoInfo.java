@@ -35,6 +35,7 @@ public class JobAnnoInfo {
     public int delayInSeconds;
     public String id;
     public boolean startImmediately;
+    public String pool;
     public Class<? extends Annotation> annotationType;
 
     JobAnnoInfo (Class <? extends Annotation> annoType) {
@@ -51,6 +52,7 @@ public class JobAnnoInfo {
         }
         this.async = $.bool(tryGetDefaultValue(annoType, "async"));
         this.id = (String) tryGetDefaultValue(annoType, "id");
+        this.pool = (String) tryGetDefaultValue(annoType, "pool");
         v = tryGetDefaultValue(annoType, "delayInSeconds");
         if (null != v) {
             this.delayInSeconds = (Integer) v;
@@ -233,6 +233,8 @@ public class JobByteCodeScanner extends AppByteCodeScannerBase {
                         this.method.id(S.string(value));
                     } else if ("startImmediately".equals(name)) {
                         this.currentInfo.startImmediately = Boolean.parseBoolean(value.toString());
+                    } else if ("pool".equals(name)) {
+                        this.currentInfo.pool = S.string(value);
                     } else if ("delayInSeconds".equals(name)) {
                         this.currentInfo.delayInSeconds = Integer.parseInt(value.toString());
                     }
@@ -0,0 +1,184 @@
+package act.metric;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.osgl.$;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Latency distribution of a timer reported by {@link HistogramMetricStore}.
+ *
+ * All durations are in nanoseconds. The `xxxAsStr` getters returns
+ * the duration formatted for human reading.
+ */
+public class HistogramInfo implements Comparable<HistogramInfo> {
+
+    private String name;
+    private long count;
+    private long ns;
+    private long p50;
+    private long p90;
+    private long p99;
+    private long p999;
+    private long max;
+    private double rate1m;
+    private double rate5m;
+
+    HistogramInfo(String name, long count, long ns, long[] percentiles, long max, double rate1m, double rate5m) {
+        this.name = name;
+        this.count = count;
+        this.ns = ns;
+        this.p50 = percentiles[0];
+        this.p90 = percentiles[1];
+        this.p99 = percentiles[2];
+        this.p999 = percentiles[3];
+        this.max = max;
+        this.rate1m = rate1m;
+        this.rate5m = rate5m;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getNs() {
+        return ns;
+    }
+
+    public long getP50() {
+        return p50;
+    }
+
+    public long getP90() {
+        return p90;
+    }
+
+    public long getP99() {
+        return p99;
+    }
+
+    public long getP999() {
+        return p999;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public double getRate1m() {
+        return rate1m;
+    }
+
+    public double getRate5m() {
+        return rate5m;
+    }
+
+    public String getAvgAsStr() {
+        return 0L == count ? "0" : DurationScale.format(ns / count);
+    }
+
+    public String getP50AsStr() {
+        return DurationScale.format(p50);
+    }
+
+    public String getP90AsStr() {
+        return DurationScale.format(p90);
+    }
+
+    public String getP99AsStr() {
+        return DurationScale.format(p99);
+    }
+
+    public String getP999AsStr() {
+        return DurationScale.format(p999);
+    }
+
+    public String getMaxAsStr() {
+        return DurationScale.format(max);
+    }
+
+    public String getRate1mAsStr() {
+        return String.format("%.2f/s", rate1m);
+    }
+
+    public String getRate5mAsStr() {
+        return String.format("%.2f/s", rate5m);
+    }
+
+    /**
+     * Returns the data as a map that can be rendered into JSON.
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("name", name);
+        map.put("count", count);
+        map.put("ns", ns);
+        map.put("p50", p50);
+        map.put("p90", p90);
+        map.put("p99", p99);
+        map.put("p999", p999);
+        map.put("max", max);
+        map.put("rate1m", rate1m);
+        map.put("rate5m", rate5m);
+        return map;
+    }
+
+    @Override
+    public int compareTo(HistogramInfo o) {
+        return name.compareTo(o.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return $.hc(name);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (obj instanceof HistogramInfo) {
+            HistogramInfo that = (HistogramInfo) obj;
+            return $.eq(name, that.name);
+        }
+        return false;
+    }
+
+    public enum Comparator {
+        ;
+        public static $.Comparator<HistogramInfo> P99 = new $.Comparator<HistogramInfo>() {
+            @Override
+            public int compare(HistogramInfo h1, HistogramInfo h2) {
+                if (h1.p99 != h2.p99) {
+                    return h1.p99 < h2.p99 ? 1 : -1;
+                }
+                return h1.name.compareTo(h2.name);
+            }
+        };
+    }
+}
@@ -0,0 +1,139 @@
+package act.metric;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static act.controller.Controller.Util.renderJson;
+
+import act.Act;
+import act.app.ActionContext;
+import act.app.App;
+import act.handler.RequestHandlerBase;
+import act.plugin.AppServicePlugin;
+import act.route.RouteSource;
+import act.route.Router;
+import org.osgl.http.H;
+import org.osgl.logging.LogManager;
+import org.osgl.logging.Logger;
+import org.osgl.util.S;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A {@link MetricPlugin} backed by {@link HistogramMetricStore}
+ */
+public class HistogramMetricPlugin implements MetricPlugin {
+
+    /**
+     * The URL path to get timer histograms in JSON
+     */
+    public static final String JSON_PATH = "/~/metric/histograms";
+
+    private ConcurrentMap<String, Logger> enabledMap = new ConcurrentHashMap<>();
+    private HistogramMetricStore defaultMetricStore = new HistogramMetricStore(this);
+    private Metric defaultMetric = new SimpleMetric("act", defaultMetricStore);
+
+    public HistogramMetricPlugin() {
+    }
+
+    @Override
+    public Metric metric(String name) {
+        if (!Act.appConfig().metricEnabled()) {
+            return Metric.NULL_METRIC;
+        }
+        Logger logger = enabledMap.get(name);
+        if (null == logger) {
+            logger = LogManager.get("act.metric." + name);
+            enabledMap.put(name, logger);
+        }
+        return logger.isTraceEnabled() ? S.blank(name) ? defaultMetric : new SimpleMetric(name, defaultMetricStore) : Metric.NULL_METRIC;
+    }
+
+    @Override
+    public Metric metric() {
+        return defaultMetric;
+    }
+
+    @Override
+    public HistogramMetricStore metricStore() {
+        return defaultMetricStore;
+    }
+
+    @Override
+    public void enableDataSync(boolean sync) {
+        // histogram data is not persisted
+    }
+
+    Logger logger(String name) {
+        return enabledMap.get(name);
+    }
+
+    /**
+     * Register {@link #JSON_PATH} to the app router in dev mode
+     * or to the sys router in prod mode
+     */
+    public static class HistogramJsonService extends AppServicePlugin {
+        @Override
+        protected void applyTo(App app) {
+            if (!app.config().metricEnabled()) {
+                return;
+            }
+            MetricPlugin plugin = Act.metricPlugin();
+            if (plugin instanceof HistogramMetricPlugin) {
+                Router router = app.isDev() ? app.router() : app.sysRouter();
+                router.addMapping(H.Method.GET, JSON_PATH, new GetHistogramsHandler(((HistogramMetricPlugin) plugin).metricStore()), RouteSource.BUILD_IN);
+            }
+        }
+    }
+
+    private static class GetHistogramsHandler extends RequestHandlerBase {
+
+        private HistogramMetricStore store;
+
+        GetHistogramsHandler(HistogramMetricStore store) {
+            this.store = store;
+        }
+
+        @Override
+        public void handle(ActionContext context) {
+            String q = context.paramVal("q");
+            List<Map<String, Object>> list = new ArrayList<>();
+            for (HistogramInfo info : store.histograms()) {
+                if (S.blank(q) || info.getName().contains(q)) {
+                    list.add(info.toMap());
+                }
+            }
+            renderJson(list).apply(context.req(), context.prepareRespForResultEvaluation());
+        }
+
+        @Override
+        public void prepareAuthentication(ActionContext context) {
+        }
+
+        @Override
+        public String toString() {
+            return "metric histogram handler";
+        }
+    }
+}
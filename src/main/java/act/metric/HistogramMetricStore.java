@@ -0,0 +1,235 @@
+package act.metric;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.osgl.logging.LogManager;
+import org.osgl.logging.Logger;
+import org.osgl.util.C;
+import org.osgl.util.E;
+import org.osgl.util.S;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A {@link MetricStore} implementation that keeps a latency histogram
+ * and a sliding window rate for each timer in addition to the counts
+ * and accumulated time.
+ *
+ * Counters are backed by {@link StripedCounter} and timers are backed
+ * by {@link LatencyHistogram} and a fixed ring of time slots, thus no lock
+ * is acquired when recording data and the memory used by each metric is
+ * constant.
+ *
+ * Unlike {@link SimpleMetricStore}, the data is not persisted across
+ * restarts.
+ */
+public class HistogramMetricStore implements MetricStore {
+
+    private static final Logger defLogger = LogManager.get("metric.default");
+
+    static final double[] PERCENTILES = {50.0d, 90.0d, 99.0d, 99.9d};
+
+    private final ConcurrentMap<String, StripedCounter> counters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, TimerData> timers = new ConcurrentHashMap<>();
+
+    private final HistogramMetricPlugin plugin;
+
+    public HistogramMetricStore(HistogramMetricPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public void countOnce(String name) {
+        E.illegalArgumentIf(S.blank(name), "name expected");
+        countOnce_(name);
+    }
+
+    private void countOnce_(String name) {
+        while (S.notBlank(name)) {
+            counter(name).increment();
+            name = getParent(name);
+        }
+    }
+
+    @Override
+    public void onTimerStart(String name) {
+        E.illegalArgumentIf(S.blank(name), "name expected");
+        countOnce_(name);
+        logger(name).trace("Timer[%s] started", name);
+    }
+
+    @Override
+    public void onTimerStop(Timer timer) {
+        String name = timer.name();
+        long ns = timer.ns();
+        logger(name).trace("Timer[%s] stopped. Time elapsed: %sns", name, ns);
+        long now = System.currentTimeMillis();
+        while (S.notBlank(name)) {
+            timer(name).record(ns, now);
+            name = getParent(name);
+        }
+    }
+
+    @Override
+    public Long count(String name) {
+        StripedCounter counter = counters.get(name);
+        return null == counter ? null : counter.sum();
+    }
+
+    @Override
+    public Long ns(String name) {
+        TimerData data = timers.get(name);
+        return null == data ? null : data.ns.sum();
+    }
+
+    @Override
+    public List<MetricInfo> counters() {
+        Set<MetricInfo> set = new TreeSet<MetricInfo>();
+        for (Map.Entry<String, StripedCounter> entry : counters.entrySet()) {
+            set.add(new MetricInfo(entry.getKey(), entry.getValue().sum()));
+        }
+        return C.list(set);
+    }
+
+    @Override
+    public List<MetricInfo> timers() {
+        Set<MetricInfo> set = C.newSet();
+        for (Map.Entry<String, TimerData> entry : timers.entrySet()) {
+            String name = entry.getKey();
+            StripedCounter counter = counters.get(name);
+            long count = null == counter ? entry.getValue().histogram.count() : counter.sum();
+            set.add(new MetricInfo(name, entry.getValue().ns.sum(), count));
+        }
+        return C.list(set);
+    }
+
+    /**
+     * Returns latency distribution of all timers
+     * @return a list of histogram info sorted by timer name
+     */
+    public List<HistogramInfo> histograms() {
+        long now = System.currentTimeMillis();
+        List<HistogramInfo> list = new ArrayList<>(timers.size());
+        for (Map.Entry<String, TimerData> entry : timers.entrySet()) {
+            list.add(entry.getValue().snapshot(entry.getKey(), now));
+        }
+        Collections.sort(list);
+        return list;
+    }
+
+    /**
+     * Returns latency distribution of a timer
+     *
+     * @param name A string specifies the timer
+     * @return the histogram info or `null` if the timer cannot be found
+     */
+    public HistogramInfo histogram(String name) {
+        TimerData data = timers.get(name);
+        return null == data ? null : data.snapshot(name, System.currentTimeMillis());
+    }
+
+    /**
+     * Visit all counters and then all timers without creating
+     * intermediate objects.
+     *
+     * Note the `percentiles` array passed to the visitor is reused
+     * between timers.
+     *
+     * @param visitor the visitor
+     */
+    void accept(Visitor visitor) {
+        for (Map.Entry<String, StripedCounter> entry : counters.entrySet()) {
+            visitor.counter(entry.getKey(), entry.getValue().sum());
+        }
+        long[] percentiles = new long[PERCENTILES.length];
+        long[] buffer = new long[LatencyHistogram.BUCKETS];
+        for (Map.Entry<String, TimerData> entry : timers.entrySet()) {
+            TimerData data = entry.getValue();
+            data.histogram.percentiles(PERCENTILES, percentiles, buffer);
+            visitor.timer(entry.getKey(), data.histogram.count(), data.ns.sum(), data.histogram.max(), percentiles);
+        }
+    }
+
+    interface Visitor {
+        void counter(String name, long count);
+
+        void timer(String name, long count, long ns, long max, long[] percentiles);
+    }
+
+    @Override
+    public void clear() {
+        timers.clear();
+        counters.clear();
+    }
+
+    private StripedCounter counter(String name) {
+        StripedCounter counter = counters.get(name);
+        if (null == counter) {
+            StripedCounter newCounter = new StripedCounter();
+            counter = counters.putIfAbsent(name, newCounter);
+            if (null == counter) {
+                counter = newCounter;
+            }
+        }
+        return counter;
+    }
+
+    private TimerData timer(String name) {
+        TimerData data = timers.get(name);
+        if (null == data) {
+            TimerData newData = new TimerData();
+            data = timers.putIfAbsent(name, newData);
+            if (null == data) {
+                data = newData;
+            }
+        }
+        return data;
+    }
+
+    private Logger logger(String name) {
+        Logger logger = null == plugin ? null : plugin.logger(name);
+        return null == logger ? defLogger : logger;
+    }
+
+    private String getParent(String name) {
+        return S.beforeLast(name, ":");
+    }
+
+    private static class TimerData {
+        final StripedCounter ns = new StripedCounter();
+        final LatencyHistogram histogram = new LatencyHistogram();
+        final RateWindow rate = new RateWindow();
+
+        void record(long ns, long now) {
+            this.ns.add(ns);
+            histogram.record(ns);
+            rate.mark(now);
+        }
+
+        HistogramInfo snapshot(String name, long now) {
+            long[] percentiles = histogram.percentiles(PERCENTILES);
+            return new HistogramInfo(name, histogram.count(), ns.sum(), percentiles, histogram.max(), rate.rate(60, now), rate.rate(300, now));
+        }
+    }
+
+}
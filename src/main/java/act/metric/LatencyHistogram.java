@@ -0,0 +1,188 @@
+package act.metric;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A lock free, log bucketed histogram of non negative `long` values, e.g.
+ * durations in nanoseconds.
+ *
+ * Values are grouped by power of two, and each power of two range is
+ * split into {@link #SUB_BUCKETS} linear sub buckets. This keeps the
+ * relative error of a reported percentile within 12.5%, the same idea
+ * as HdrHistogram with fixed precision.
+ *
+ * Each bucket is a {@link StripedCounter} created on the first value
+ * falling in the bucket, thus threads recording similar values do not
+ * contend on the same counter, and memory is used only by the buckets
+ * in the range of values actually recorded.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BITS = 3;
+    static final int SUB_BUCKETS = 1 << SUB_BITS;
+    static final int BUCKETS = (64 - SUB_BITS) * SUB_BUCKETS;
+
+    private final AtomicReferenceArray<StripedCounter> buckets = new AtomicReferenceArray<>(BUCKETS);
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        bucket(bucketOf(value)).increment();
+        long cur = max.get();
+        while (value > cur && !max.compareAndSet(cur, value)) {
+            cur = max.get();
+        }
+    }
+
+    public long max() {
+        return max.get();
+    }
+
+    /**
+     * Returns the total number of values recorded.
+     */
+    public long count() {
+        long count = 0L;
+        for (int i = 0; i < BUCKETS; ++i) {
+            count += countOf(i);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the value at the percentile specified.
+     *
+     * @param percentile
+     *         the percentile, e.g. `99.9`
+     * @return the highest value in the bucket where the percentile falls in,
+     *         or `0` if there is no value recorded
+     */
+    public long percentile(double percentile) {
+        return percentiles(percentile)[0];
+    }
+
+    /**
+     * Returns values at percentiles specified with one pass over the buckets.
+     *
+     * @param percentiles
+     *         the percentiles in ascending order
+     * @return the values at the percentiles
+     */
+    public long[] percentiles(double... percentiles) {
+        long[] result = new long[percentiles.length];
+        percentiles(percentiles, result, new long[BUCKETS]);
+        return result;
+    }
+
+    /**
+     * Calculate values at percentiles specified into `result` using
+     * the `counts` buffer provided, thus no memory is allocated.
+     *
+     * @param percentiles
+     *         the percentiles in ascending order
+     * @param result
+     *         the array to store the values at the percentiles
+     * @param counts
+     *         a buffer with at least {@link #BUCKETS} elements
+     */
+    void percentiles(double[] percentiles, long[] result, long[] counts) {
+        int n = percentiles.length;
+        long total = 0L;
+        for (int i = 0; i < BUCKETS; ++i) {
+            long c = countOf(i);
+            counts[i] = c;
+            total += c;
+        }
+        if (0L == total) {
+            for (int i = 0; i < n; ++i) {
+                result[i] = 0L;
+            }
+            return;
+        }
+        long max = this.max.get();
+        long seen = 0L;
+        int p = 0;
+        for (int i = 0; i < BUCKETS && p < n; ++i) {
+            seen += counts[i];
+            while (p < n && seen >= rank(percentiles[p], total)) {
+                result[p++] = Math.min(highestValueOf(i), max);
+            }
+        }
+        while (p < n) {
+            result[p++] = max;
+        }
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS; ++i) {
+            StripedCounter counter = buckets.get(i);
+            if (null != counter) {
+                counter.reset();
+            }
+        }
+        max.set(0L);
+    }
+
+    private StripedCounter bucket(int i) {
+        StripedCounter counter = buckets.get(i);
+        if (null == counter) {
+            buckets.compareAndSet(i, null, new StripedCounter());
+            counter = buckets.get(i);
+        }
+        return counter;
+    }
+
+    private long countOf(int i) {
+        StripedCounter counter = buckets.get(i);
+        return null == counter ? 0L : counter.sum();
+    }
+
+    private static long rank(double percentile, long total) {
+        long rank = (long) Math.ceil(percentile / 100.0d * total);
+        return Math.max(1L, Math.min(rank, total));
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exp = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exp - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return (exp - SUB_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    static long highestValueOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exp = bucket / SUB_BUCKETS + SUB_BITS - 1;
+        long sub = bucket & (SUB_BUCKETS - 1);
+        long unit = 1L << (exp - SUB_BITS);
+        long lowest = (SUB_BUCKETS + sub) * unit;
+        return lowest + unit - 1;
+    }
+
+}
@@ -25,6 +25,7 @@ import act.cli.CliContext;
 import act.cli.Command;
 import act.cli.Optional;
 import act.util.PropertySpec;
+import act.xio.VirtualThreadExecutor;
 import org.osgl.$;
 import org.osgl.util.C;
 
@@ -87,6 +88,40 @@ public class MetricAdmin {
         });
     }
 
+    @Command(name = "act.metric.histogram.list,act.metric.histogram,act.metric.histograms,act.histogram,act.histograms", help = "show timer latency percentiles and rates")
+    @PropertySpec("name,count,avgAsStr as avg,p50AsStr as p50,p90AsStr as p90,p99AsStr as p99,p999AsStr as p999,maxAsStr as max,rate1mAsStr as rate1m,rate5mAsStr as rate5m")
+    public Object getHistograms(
+            @Optional("specify maximum items returned") Integer limit,
+            @Optional("specify search string") final String q,
+            @Optional("including classloading metric") final boolean classLoading,
+            CliContext context
+    ) {
+        MetricStore store = Act.metricPlugin().metricStore();
+        if (!(store instanceof HistogramMetricStore)) {
+            context.println("histogram not available. Please make sure act.metric.histogram.enabled is turned on");
+            return null;
+        }
+        List<HistogramInfo> list = ((HistogramMetricStore) store).histograms();
+        final Pattern p = null == q ? null : Pattern.compile(q);
+        list = C.list(list).filter(new $.Predicate<HistogramInfo>() {
+            @Override
+            public boolean test(HistogramInfo info) {
+                String name = info.getName();
+                if (!classLoading && name.startsWith(MetricInfo.CLASS_LOADING)) {
+                    return false;
+                }
+                return null == q || name.contains(q) || p.matcher(name).matches();
+            }
+        });
+        list = C.list(list).sorted(HistogramInfo.Comparator.P99);
+        return null == limit ? list : C.list(list).take(limit);
+    }
+
+    @Command(name = "act.metric.virtual_thread,act.metric.vt", help = "show in-flight requests handled on virtual threads")
+    public void getVirtualThreadInFlight(CliContext context) {
+        context.println("in-flight: %s, peak: %s", VirtualThreadExecutor.inFlight(), VirtualThreadExecutor.peakInFlight());
+    }
+
     @Command(name = "act.metric.clear", help = "clear existing metric data")
     public void clearMetricData() {
         Act.metricPlugin().metricStore().clear();
@@ -25,17 +25,29 @@ import org.osgl.$;
 public class MetricInfo {
 
     public static final String HTTP_HANDLER = "act:http";
+    public static final String HTTP_VIRTUAL_THREAD = HTTP_HANDLER + Metric.PATH_SEPARATOR + "virtual_thread";
     public static final String ACT_TEST = "act:test";
     public static final String ACT_TEST_HELPER = "act:test:helper";
     public static final String ACT_TEST_SCENARIO = "act:test:scenario";
     public static final String ACT_TEST_INTERACTION = "act:test:scenario:interaction";
     public static final String CLASS_LOADING = "act:classload";
     public static final String COMPILING = CLASS_LOADING + Metric.PATH_SEPARATOR + "compile";
+    public static final String CLASS_PRELOADING = CLASS_LOADING + Metric.PATH_SEPARATOR + "preload";
+    public static final String CLASS_SCANNING = CLASS_LOADING + Metric.PATH_SEPARATOR + "scan";
+    public static final String CLASS_ENHANCING = CLASS_LOADING + Metric.PATH_SEPARATOR + "enhance";
+    public static final String CLASS_GRAPH_BUILDING = CLASS_LOADING + Metric.PATH_SEPARATOR + "graph";
     public static final String JOB_HANDLER = "act:job";
+    public static final String JOB_WAIT = JOB_HANDLER + Metric.PATH_SEPARATOR + "wait";
+    public static final String JOB_RUN = JOB_HANDLER + Metric.PATH_SEPARATOR + "run";
     public static final String CLI_HANDLER = "act:cli";
     public static final String MAILER = "act:mail";
     public static final String EVENT_HANDLER = "act:event";
+    public static final String EVENT_DISPATCH = EVENT_HANDLER + Metric.PATH_SEPARATOR + "dispatch";
+    public static final String EVENT_DISPATCH_REJECTED = EVENT_DISPATCH + Metric.PATH_SEPARATOR + "rejected";
     public static final String ROUTING = "act:routing";
+    public static final String RENDER_STREAM = "act:render:stream";
+    public static final String RENDER_ROWS = "act:render:rows";
+    public static final String BUFFER_POOL = "act:buffer_pool";
     public static final String PATH_SEPARATOR = Metric.PATH_SEPARATOR;
 
     private String name;
@@ -0,0 +1,347 @@
+package act.metric;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.Act;
+import act.app.ActionContext;
+import act.app.App;
+import act.event.EventDispatcher;
+import act.handler.builtin.controller.FastRequestHandler;
+import act.job.JobExecutor;
+import act.xio.Network;
+import act.xio.WorkerPoolStats;
+import org.osgl.exception.UnexpectedIOException;
+import org.osgl.http.H;
+import org.osgl.util.E;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.*;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Expose metric data in the OpenMetrics text format so it can be scraped
+ * by Prometheus.
+ *
+ * The output includes
+ *
+ * * all counters of the active {@link MetricStore} as `act_counter_total`
+ * * all timers as summary `act_timer_seconds`, with quantiles when backed by {@link HistogramMetricStore}
+ * * JVM heap, non heap, GC and thread gauges
+ * * the network worker pool gauges
+ * * the event dispatcher gauges
+ * * the job pool gauges
+ *
+ * Data is written directly to the response writer. When backed by
+ * {@link HistogramMetricStore} no object is created per metric,
+ * thus the garbage created by a scrape does not grow with the number
+ * of metrics.
+ *
+ * The handler is registered when `metric.prometheus.path` is configured.
+ */
+public class OpenMetricsHandler extends FastRequestHandler {
+
+    public static final String CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+
+    private static final String[] QUANTILES = {"0.5", "0.9", "0.99", "0.999"};
+
+    @Override
+    public void handle(ActionContext context) {
+        H.Response resp = context.resp();
+        resp.contentType(CONTENT_TYPE);
+        try {
+            App app = context.app();
+            write(resp.writer(), Act.metricPlugin(), app.eventBus().currentDispatcher(), app.jobManager().executor());
+        } catch (IOException e) {
+            throw E.ioException(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "OpenMetrics exporter";
+    }
+
+    static void write(Writer w, MetricPlugin plugin) throws IOException {
+        write(w, plugin, null);
+    }
+
+    static void write(Writer w, MetricPlugin plugin, EventDispatcher dispatcher) throws IOException {
+        write(w, plugin, dispatcher, null);
+    }
+
+    static void write(Writer w, MetricPlugin plugin, EventDispatcher dispatcher, JobExecutor jobExecutor) throws IOException {
+        Out out = new Out(w);
+        MetricStore store = null == plugin ? null : plugin.metricStore();
+        if (store instanceof HistogramMetricStore) {
+            writeHistogramStore(out, (HistogramMetricStore) store);
+        } else if (null != store) {
+            writeStore(out, store);
+        }
+        writeJvm(out);
+        writeWorkerPool(out);
+        if (null != dispatcher) {
+            writeEventDispatcher(out, dispatcher);
+        }
+        if (null != jobExecutor) {
+            writeJobExecutor(out, jobExecutor);
+        }
+        out.write("# EOF\n");
+        w.flush();
+    }
+
+    private static void writeHistogramStore(final Out out, HistogramMetricStore store) throws IOException {
+        final boolean[] timerHeaderWritten = {false};
+        out.write("# TYPE act_counter counter\n# HELP act_counter ActFramework metric counters.\n");
+        try {
+            store.accept(new HistogramMetricStore.Visitor() {
+                @Override
+                public void counter(String name, long count) {
+                    try {
+                        out.sample("act_counter_total", name, count);
+                    } catch (IOException e) {
+                        throw E.ioException(e);
+                    }
+                }
+
+                @Override
+                public void timer(String name, long count, long ns, long max, long[] percentiles) {
+                    try {
+                        if (!timerHeaderWritten[0]) {
+                            timerHeaderWritten[0] = true;
+                            out.write("# TYPE act_timer_seconds summary\n# UNIT act_timer_seconds seconds\n# HELP act_timer_seconds ActFramework metric timers.\n");
+                        }
+                        for (int i = 0; i < QUANTILES.length; ++i) {
+                            out.write("act_timer_seconds{name=\"");
+                            out.escaped(name);
+                            out.write("\",quantile=\"");
+                            out.write(QUANTILES[i]);
+                            out.write("\"} ");
+                            out.seconds(percentiles[i]);
+                            out.newLine();
+                        }
+                        out.sampleSeconds("act_timer_seconds_sum", name, ns);
+                        out.sample("act_timer_seconds_count", name, count);
+                    } catch (IOException e) {
+                        throw E.ioException(e);
+                    }
+                }
+            });
+        } catch (UnexpectedIOException e) {
+            throw (IOException) e.getCause();
+        }
+    }
+
+    private static void writeStore(Out out, MetricStore store) throws IOException {
+        out.write("# TYPE act_counter counter\n# HELP act_counter ActFramework metric counters.\n");
+        for (MetricInfo info : store.counters()) {
+            out.sample("act_counter_total", info.getName(), info.getCount());
+        }
+        List<MetricInfo> timers = store.timers();
+        if (timers.isEmpty()) {
+            return;
+        }
+        out.write("# TYPE act_timer_seconds summary\n# UNIT act_timer_seconds seconds\n# HELP act_timer_seconds ActFramework metric timers.\n");
+        for (MetricInfo info : timers) {
+            out.sampleSeconds("act_timer_seconds_sum", info.getName(), info.getNs());
+            out.sample("act_timer_seconds_count", info.getName(), info.getCount());
+        }
+    }
+
+    private static void writeJvm(Out out) throws IOException {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        MemoryUsage heap = memory.getHeapMemoryUsage();
+        MemoryUsage nonHeap = memory.getNonHeapMemoryUsage();
+        out.write("# TYPE jvm_memory_used_bytes gauge\n# UNIT jvm_memory_used_bytes bytes\n");
+        out.labeled("jvm_memory_used_bytes", "area", "heap", heap.getUsed());
+        out.labeled("jvm_memory_used_bytes", "area", "nonheap", nonHeap.getUsed());
+        out.write("# TYPE jvm_memory_committed_bytes gauge\n# UNIT jvm_memory_committed_bytes bytes\n");
+        out.labeled("jvm_memory_committed_bytes", "area", "heap", heap.getCommitted());
+        out.labeled("jvm_memory_committed_bytes", "area", "nonheap", nonHeap.getCommitted());
+        out.write("# TYPE jvm_memory_max_bytes gauge\n# UNIT jvm_memory_max_bytes bytes\n");
+        out.labeled("jvm_memory_max_bytes", "area", "heap", heap.getMax());
+        out.labeled("jvm_memory_max_bytes", "area", "nonheap", nonHeap.getMax());
+
+        List<GarbageCollectorMXBean> gcs = ManagementFactory.getGarbageCollectorMXBeans();
+        out.write("# TYPE jvm_gc_collection_seconds summary\n# UNIT jvm_gc_collection_seconds seconds\n");
+        for (GarbageCollectorMXBean gc : gcs) {
+            out.write("jvm_gc_collection_seconds_count{gc=\"");
+            out.escaped(gc.getName());
+            out.write("\"} ");
+            out.number(Math.max(0L, gc.getCollectionCount()));
+            out.newLine();
+            out.write("jvm_gc_collection_seconds_sum{gc=\"");
+            out.escaped(gc.getName());
+            out.write("\"} ");
+            out.seconds(Math.max(0L, gc.getCollectionTime()) * 1000000L);
+            out.newLine();
+        }
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        out.write("# TYPE jvm_threads_current gauge\njvm_threads_current ");
+        out.number(threads.getThreadCount());
+        out.write("\n# TYPE jvm_threads_daemon gauge\njvm_threads_daemon ");
+        out.number(threads.getDaemonThreadCount());
+        out.newLine();
+    }
+
+    private static void writeWorkerPool(Out out) throws IOException {
+        Network network = Act.network();
+        WorkerPoolStats stats = null == network ? WorkerPoolStats.UNKNOWN : network.workerPoolStats();
+        if (stats.queueSize() < 0) {
+            return;
+        }
+        out.write("# TYPE xnio_worker_queue_size gauge\nxnio_worker_queue_size ");
+        out.number(stats.queueSize());
+        out.write("\n# TYPE xnio_worker_busy_threads gauge\nxnio_worker_busy_threads ");
+        out.number(stats.busyThreads());
+        out.write("\n# TYPE xnio_worker_core_threads gauge\nxnio_worker_core_threads ");
+        out.number(stats.coreThreads());
+        out.write("\n# TYPE xnio_worker_max_threads gauge\nxnio_worker_max_threads ");
+        out.number(stats.maxThreads());
+        out.newLine();
+    }
+
+    private static void writeEventDispatcher(Out out, EventDispatcher dispatcher) throws IOException {
+        out.write("# TYPE act_event_dispatch_pending gauge\nact_event_dispatch_pending ");
+        out.number(dispatcher.pending());
+        out.write("\n# TYPE act_event_dispatch_active_threads gauge\nact_event_dispatch_active_threads ");
+        out.number(dispatcher.activeThreads());
+        out.write("\n# TYPE act_event_dispatch_rejected counter\nact_event_dispatch_rejected_total ");
+        out.number(dispatcher.rejected());
+        out.newLine();
+    }
+
+    private static void writeJobExecutor(Out out, JobExecutor executor) throws IOException {
+        Set<String> pools = executor.pools();
+        out.write("# TYPE act_job_pool_pending gauge\n");
+        for (String pool : pools) {
+            out.labeled("act_job_pool_pending", "pool", pool, executor.pending(pool));
+        }
+        out.write("# TYPE act_job_pool_active gauge\n");
+        for (String pool : pools) {
+            out.labeled("act_job_pool_active", "pool", pool, executor.active(pool));
+        }
+        out.write("# TYPE act_job_pool_size gauge\n");
+        for (String pool : pools) {
+            out.labeled("act_job_pool_size", "pool", pool, executor.size(pool));
+        }
+    }
+
+    /*
+     * Writes text exposition elements with a reusable digit buffer
+     */
+    private static class Out {
+        private final Writer w;
+        private final char[] digits = new char[20];
+
+        Out(Writer w) {
+            this.w = w;
+        }
+
+        void write(String s) throws IOException {
+            w.write(s);
+        }
+
+        void newLine() throws IOException {
+            w.write('\n');
+        }
+
+        void sample(String metric, String name, long value) throws IOException {
+            w.write(metric);
+            w.write("{name=\"");
+            escaped(name);
+            w.write("\"} ");
+            number(value);
+            w.write('\n');
+        }
+
+        void sampleSeconds(String metric, String name, long ns) throws IOException {
+            w.write(metric);
+            w.write("{name=\"");
+            escaped(name);
+            w.write("\"} ");
+            seconds(ns);
+            w.write('\n');
+        }
+
+        void labeled(String metric, String label, String labelValue, long value) throws IOException {
+            w.write(metric);
+            w.write('{');
+            w.write(label);
+            w.write("=\"");
+            escaped(labelValue);
+            w.write("\"} ");
+            number(value);
+            w.write('\n');
+        }
+
+        void escaped(String s) throws IOException {
+            for (int i = 0, n = s.length(); i < n; ++i) {
+                char c = s.charAt(i);
+                switch (c) {
+                    case '\\':
+                        w.write("\\\\");
+                        break;
+                    case '"':
+                        w.write("\\\"");
+                        break;
+                    case '\n':
+                        w.write("\\n");
+                        break;
+                    default:
+                        w.write(c);
+                }
+            }
+        }
+
+        void number(long v) throws IOException {
+            if (v < 0) {
+                w.write('-');
+                if (v == Long.MIN_VALUE) {
+                    w.write("9223372036854775808");
+                    return;
+                }
+                v = -v;
+            }
+            int pos = digits.length;
+            do {
+                digits[--pos] = (char) ('0' + (v % 10));
+                v /= 10;
+            } while (v > 0);
+            w.write(digits, pos, digits.length - pos);
+        }
+
+        // nanoseconds in seconds with 9 decimal digits
+        void seconds(long ns) throws IOException {
+            number(ns / 1000000000L);
+            w.write('.');
+            long fraction = ns % 1000000000L;
+            int pos = digits.length;
+            for (int i = 0; i < 9; ++i) {
+                digits[--pos] = (char) ('0' + (fraction % 10));
+                fraction /= 10;
+            }
+            w.write(digits, pos, 9);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package act.metric;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts events in a ring of fixed time slots to calculate the event
+ * rate over a sliding window of up to {@link #WINDOW_SECONDS} seconds.
+ */
+final class RateWindow {
+
+    static final int SLOT_SECONDS = 5;
+    static final int SLOTS = 60;
+    static final int WINDOW_SECONDS = SLOT_SECONDS * SLOTS;
+
+    private static final long SLOT_MS = SLOT_SECONDS * 1000L;
+
+    private final AtomicLongArray counts = new AtomicLongArray(SLOTS);
+    // the slot sequence number each slot currently holds count for
+    private final AtomicLongArray slots = new AtomicLongArray(SLOTS);
+
+    void mark(long nowMs) {
+        long slot = nowMs / SLOT_MS;
+        int i = (int) (slot % SLOTS);
+        long cur = slots.get(i);
+        if (cur != slot && slots.compareAndSet(i, cur, slot)) {
+            counts.set(i, 0L);
+        }
+        counts.incrementAndGet(i);
+    }
+
+    /**
+     * Returns number of events per second in the last `seconds` seconds.
+     *
+     * @param seconds
+     *         the window size in seconds, shall be multiple of {@link #SLOT_SECONDS}
+     *         and not greater than {@link #WINDOW_SECONDS}
+     * @param nowMs
+     *         the current time in milliseconds
+     * @return the event rate
+     */
+    double rate(int seconds, long nowMs) {
+        long current = nowMs / SLOT_MS;
+        int n = Math.min(Math.max(1, seconds / SLOT_SECONDS), SLOTS);
+        long oldest = current - n + 1;
+        long sum = 0L;
+        for (int i = 0; i < SLOTS; ++i) {
+            long slot = slots.get(i);
+            if (slot >= oldest && slot <= current) {
+                sum += counts.get(i);
+            }
+        }
+        // the current slot is not complete yet
+        long elapsedMs = (n - 1) * SLOT_MS + (nowMs - current * SLOT_MS);
+        return elapsedMs <= 0 ? 0.0d : sum * 1000.0d / elapsedMs;
+    }
+
+    void reset() {
+        for (int i = 0; i < SLOTS; ++i) {
+            counts.set(i, 0L);
+            slots.set(i, 0L);
+        }
+    }
+
+}
@@ -0,0 +1,90 @@
+package act.metric;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A counter that spreads updates across multiple cells to reduce
+ * contention between threads, similar to `java.util.concurrent.atomic.LongAdder`
+ * which is not available on Java 7.
+ *
+ * Each cell is padded to its own cache line. The number of cells is fixed
+ * on creation, thus the memory used by a counter is constant.
+ */
+public final class StripedCounter {
+
+    // number of longs to skip between two cells so that each cell sits on its own cache line
+    private static final int PAD = 8;
+
+    private static final int STRIPES = stripes();
+
+    private final AtomicLongArray cells = new AtomicLongArray(STRIPES * PAD);
+
+    public void increment() {
+        add(1L);
+    }
+
+    public void add(long x) {
+        cells.getAndAdd(index(), x);
+    }
+
+    /**
+     * Returns the sum of all cells. The value is not an atomic snapshot
+     * when there are concurrent updates.
+     *
+     * @return the current sum
+     */
+    public long sum() {
+        long sum = 0L;
+        for (int i = 0, n = cells.length(); i < n; i += PAD) {
+            sum += cells.get(i);
+        }
+        return sum;
+    }
+
+    public void reset() {
+        for (int i = 0, n = cells.length(); i < n; i += PAD) {
+            cells.set(i, 0L);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.valueOf(sum());
+    }
+
+    private static int index() {
+        long id = Thread.currentThread().getId();
+        int h = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+        return ((h ^ (h >>> 16)) & (STRIPES - 1)) * PAD;
+    }
+
+    private static int stripes() {
+        int cpus = Runtime.getRuntime().availableProcessors();
+        int n = 1;
+        while (n < cpus && n < 16) {
+            n <<= 1;
+        }
+        return n;
+    }
+
+}
@@ -0,0 +1,423 @@
+package act.route;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.app.ActionContext;
+import act.controller.ParamNames;
+import org.osgl.http.H;
+import org.osgl.http.util.Path;
+import org.osgl.util.Keyword;
+import org.osgl.util.Unsafe;
+
+import java.util.*;
+
+/**
+ * An immutable radix trie compiled from the {@link Router} node tree.
+ *
+ * Compared to the legacy node by node search of {@link Router} the trie
+ *
+ * * matches directly over the request path without splitting it into strings
+ * * looks up static children in an open addressing table keyed by the segment hash
+ * * merges chains of single static children into one edge
+ * * defers URL path variable binding until the whole path matched
+ *
+ * Routes that rely on features the trie does not model, e.g. dynamic node aliases
+ * or a root node that terminates route search, are delegated to the legacy search.
+ *
+ * A `RouteTrie` is never updated. The router compiles a new one when the route
+ * mapping changed and replaces the old one atomically.
+ */
+final class RouteTrie {
+
+    private final Router router;
+    private final int version;
+
+    private final TrieNode _GET;
+    private final TrieNode _POST;
+    private final TrieNode _PUT;
+    private final TrieNode _DEL;
+    private final TrieNode _PATCH;
+
+    private RouteTrie(Router router, int version) {
+        this.router = router;
+        this.version = version;
+        Compiler compiler = new Compiler();
+        _GET = compiler.compile(router._GET);
+        _POST = compiler.compile(router._POST);
+        _PUT = compiler.compile(router._PUT);
+        _DEL = compiler.compile(router._DEL);
+        _PATCH = compiler.compile(router._PATCH);
+    }
+
+    int version() {
+        return version;
+    }
+
+    /**
+     * Search the route node matches the URL path.
+     *
+     * @param method
+     *         the HTTP method
+     * @param path
+     *         the URL path
+     * @param context
+     *         the action context
+     * @return the node matches the path or `null` if not found
+     */
+    Router.Node search(H.Method method, String path, ActionContext context) {
+        TrieNode root = root(method);
+        if (null == root) {
+            return null;
+        }
+        if (root.node.terminateRouteSearch() || hasEmptySegment(path)) {
+            return legacySearch(root, path, context);
+        }
+        TrieNode cur = root;
+        Segment segment = null;
+        // pending variable bindings: node index and segment bounds
+        TrieNode[] boundNodes = null;
+        int[] boundMarks = null;
+        int bound = 0;
+        int len = path.length();
+        int pos = 0;
+        while (true) {
+            while (pos < len && '/' == path.charAt(pos)) {
+                pos++;
+            }
+            if (pos >= len) {
+                break;
+            }
+            int end = path.indexOf('/', pos);
+            if (end < 0) {
+                end = len;
+            }
+            TrieNode next = null;
+            int nextPos = end;
+            Edge edge = cur.edge(path, pos, end);
+            if (null != edge) {
+                nextPos = edge.matchRest(path, end);
+                if (nextPos < 0) {
+                    return null;
+                }
+                next = edge.target;
+            } else {
+                if (null != cur.keywordChildren) {
+                    next = cur.keywordChildren.get(Keyword.of(path.substring(pos, end)));
+                }
+                if (null == next && cur.dynamicChildren.length > 0) {
+                    if (cur.aliased) {
+                        return legacySearch(root, path, context);
+                    }
+                    if (null == segment) {
+                        segment = new Segment(path);
+                    }
+                    segment.reset(pos, end);
+                    for (TrieNode candidate : cur.dynamicChildren) {
+                        if (candidate.node.matchesDynamic(segment)) {
+                            next = candidate;
+                            break;
+                        }
+                    }
+                    if (null == next) {
+                        applyBindings(boundNodes, boundMarks, bound, segment, context);
+                        context.param(ParamNames.PATH, rest(path, end));
+                        return Router.Node.BADREQUEST;
+                    }
+                    if (null == boundNodes) {
+                        boundNodes = new TrieNode[4];
+                        boundMarks = new int[8];
+                    } else if (bound == boundNodes.length) {
+                        boundNodes = Arrays.copyOf(boundNodes, bound * 2);
+                        boundMarks = Arrays.copyOf(boundMarks, bound * 4);
+                    }
+                    boundNodes[bound] = next;
+                    boundMarks[bound * 2] = pos;
+                    boundMarks[bound * 2 + 1] = end;
+                    bound++;
+                }
+            }
+            if (null == next) {
+                return null;
+            }
+            cur = next;
+            pos = nextPos;
+            if (cur.terminate || cur.ignoreRestParts) {
+                context.param(ParamNames.PATH, rest(path, pos));
+                break;
+            }
+        }
+        if (bound > 0) {
+            applyBindings(boundNodes, boundMarks, bound, segment, context);
+        }
+        return cur.node;
+    }
+
+    private Router.Node legacySearch(TrieNode root, String path, ActionContext context) {
+        return router.search(root.node, Path.tokenizer(Unsafe.bufOf(path)), context);
+    }
+
+    private static void applyBindings(TrieNode[] nodes, int[] marks, int count, Segment segment, ActionContext context) {
+        for (int i = 0; i < count; ++i) {
+            segment.reset(marks[i * 2], marks[i * 2 + 1]);
+            nodes[i].node.bindUrlPathParams(segment, context);
+        }
+    }
+
+    /*
+     * Returns the rest of the path starting from `from` with trailing `/` removed.
+     * This matches the `_path` value built by the legacy search.
+     */
+    private static String rest(String path, int from) {
+        int end = path.length();
+        while (end > from && '/' == path.charAt(end - 1)) {
+            end--;
+        }
+        return end <= from ? "" : path.substring(from, end);
+    }
+
+    // `a//b` has an empty segment, which is skipped by the tokenizer of legacy search
+    private static boolean hasEmptySegment(String path) {
+        return path.indexOf("//") > -1;
+    }
+
+    private TrieNode root(H.Method method) {
+        switch (method) {
+            case GET:
+                return _GET;
+            case POST:
+                return _POST;
+            case PUT:
+                return _PUT;
+            case DELETE:
+                return _DEL;
+            case PATCH:
+                return _PATCH;
+            default:
+                return null;
+        }
+    }
+
+    static RouteTrie compile(Router router, int version) {
+        return new RouteTrie(router, version);
+    }
+
+    private static int hash(CharSequence cs, int start, int end) {
+        int h = 0;
+        for (int i = start; i < end; ++i) {
+            h = 31 * h + cs.charAt(i);
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private static final class TrieNode {
+        final Router.Node node;
+        final boolean terminate;
+        final boolean ignoreRestParts;
+        // open addressing table of static child edges
+        Edge[] edges;
+        int mask;
+        Map<Keyword, TrieNode> keywordChildren;
+        TrieNode[] dynamicChildren;
+        // whether any dynamic child has alias, which requires legacy search
+        boolean aliased;
+
+        TrieNode(Router.Node node) {
+            this.node = node;
+            this.terminate = node.terminateRouteSearch();
+            this.ignoreRestParts = node.ignoreRestParts();
+        }
+
+        Edge edge(String path, int start, int end) {
+            if (null == edges) {
+                return null;
+            }
+            int segLen = end - start;
+            int h = hash(path, start, end);
+            for (int i = h & mask; ; i = (i + 1) & mask) {
+                Edge edge = edges[i];
+                if (null == edge) {
+                    return null;
+                }
+                if (edge.hash == h && edge.segmentLength == segLen && path.regionMatches(start, edge.label, 0, segLen)) {
+                    return edge;
+                }
+            }
+        }
+    }
+
+    /*
+     * A static edge. The label might cover multiple path segments
+     * when a chain of nodes with single static child has been merged
+     */
+    private static final class Edge {
+        final String label;
+        final int hash;
+        final int segmentLength;
+        final TrieNode target;
+
+        Edge(String label, int segmentLength, TrieNode target) {
+            this.label = label;
+            this.segmentLength = segmentLength;
+            this.hash = hash(label, 0, segmentLength);
+            this.target = target;
+        }
+
+        /**
+         * Match the part of label after the first segment.
+         *
+         * @param path
+         *         the URL path
+         * @param from
+         *         the end of the first segment in the path
+         * @return the position in path after the label or `-1` if not matched
+         */
+        int matchRest(String path, int from) {
+            int restLen = label.length() - segmentLength;
+            if (0 == restLen) {
+                return from;
+            }
+            if (!path.regionMatches(from, label, segmentLength, restLen)) {
+                return -1;
+            }
+            int end = from + restLen;
+            return end == path.length() || '/' == path.charAt(end) ? end : -1;
+        }
+    }
+
+    private static final class Compiler {
+        // keyword nodes are registered with multiple keys, so we need to track the compiled ones
+        private final Map<Router.Node, TrieNode> compiled = new IdentityHashMap<>();
+
+        TrieNode compile(Router.Node node) {
+            TrieNode trieNode = compiled.get(node);
+            if (null != trieNode) {
+                return trieNode;
+            }
+            trieNode = new TrieNode(node);
+            compiled.put(node, trieNode);
+            compileStaticChildren(trieNode);
+            if (node.hasKeywordMatchingChild) {
+                Map<Keyword, TrieNode> keywordChildren = new HashMap<>();
+                for (Map.Entry<Keyword, Router.Node> entry : node.keywordMatchingChildren.entrySet()) {
+                    keywordChildren.put(entry.getKey(), compile(entry.getValue()));
+                }
+                trieNode.keywordChildren = keywordChildren;
+            }
+            List<Router.Node> dynamicChildren = node.dynamicChildren;
+            TrieNode[] dynamicNodes = new TrieNode[dynamicChildren.size()];
+            for (int i = 0; i < dynamicNodes.length; ++i) {
+                Router.Node child = dynamicChildren.get(i);
+                if (child.dynamicAliases.size() > 1) {
+                    trieNode.aliased = true;
+                }
+                dynamicNodes[i] = compile(child);
+            }
+            trieNode.dynamicChildren = dynamicNodes;
+            return trieNode;
+        }
+
+        private void compileStaticChildren(TrieNode trieNode) {
+            Map<String, Router.Node> staticChildren = trieNode.node.staticChildren;
+            int size = staticChildren.size();
+            if (0 == size) {
+                return;
+            }
+            int capacity = 2;
+            while (capacity < size * 2) {
+                capacity <<= 1;
+            }
+            Edge[] edges = new Edge[capacity];
+            int mask = capacity - 1;
+            for (Map.Entry<String, Router.Node> entry : staticChildren.entrySet()) {
+                String key = entry.getKey();
+                Router.Node target = entry.getValue();
+                StringBuilder label = new StringBuilder(key);
+                while (mergeable(target)) {
+                    Map.Entry<String, Router.Node> only = target.staticChildren.entrySet().iterator().next();
+                    label.append('/').append(only.getKey());
+                    target = only.getValue();
+                }
+                Edge edge = new Edge(label.toString(), key.length(), compile(target));
+                int i = edge.hash & mask;
+                while (null != edges[i]) {
+                    i = (i + 1) & mask;
+                }
+                edges[i] = edge;
+            }
+            trieNode.edges = edges;
+            trieNode.mask = mask;
+        }
+
+        // a node can be merged into the edge leads to it when it has nothing but one static child
+        private static boolean mergeable(Router.Node node) {
+            if (null != node.handler || node.ignoreRestParts() || node.hasKeywordMatchingChild) {
+                return false;
+            }
+            if (!node.dynamicChildren.isEmpty() || 1 != node.staticChildren.size()) {
+                return false;
+            }
+            Map.Entry<String, Router.Node> only = node.staticChildren.entrySet().iterator().next();
+            return only.getKey().equals(only.getValue().id());
+        }
+    }
+
+    /**
+     * A reusable {@link CharSequence} view of a path segment.
+     *
+     * A substring is created only when {@link #toString()} is called,
+     * i.e. when a path variable is bound.
+     */
+    private static final class Segment implements CharSequence {
+        private final String path;
+        private int start;
+        private int end;
+
+        Segment(String path) {
+            this.path = path;
+        }
+
+        void reset(int start, int end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public int length() {
+            return end - start;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return path.charAt(start + index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return path.subSequence(this.start + start, this.start + end);
+        }
+
+        @Override
+        public String toString() {
+            return path.substring(start, end);
+        }
+    }
+
+}
@@ -104,6 +104,10 @@ public class Router extends AppHolderBase<Router> implements TreeNode {
     private int port;
     private OptionsInfoBase optionHandlerFactory;
     private Set<RequestHandler> requireBodyParsing = new HashSet<>();
+    private boolean compiledRouting;
+    // bumped each time route mapping changed so that compiled route trie can be rebuilt
+    private volatile int mappingVersion;
+    private volatile RouteTrie routeTrie;
 
     public Router(App app) {
         this(null, app, null);
@@ -134,6 +138,7 @@ public class Router extends AppHolderBase<Router> implements TreeNode {
         _DEL = Node.newRoot("DELETE", appConfig);
         _PATCH = Node.newRoot("PATCH", appConfig);
         roots = C.list(_GET, _PUT, _POST, _DEL, _PATCH);
+        compiledRouting = appConfig.routerCompiled();
     }
 
     @Override
@@ -143,6 +148,7 @@ public class Router extends AppHolderBase<Router> implements TreeNode {
         }
         handlerLookup.destroy();
         actionNames.clear();
+        routeTrie = null;
         appConfig = null;
     }
 
@@ -225,6 +231,22 @@ public class Router extends AppHolderBase<Router> implements TreeNode {
         }
     }
 
+    /**
+     * Turn on/off compiled routing engine on this router.
+     *
+     * When compiled routing is enabled the router compiles the route mapping
+     * into an immutable radix trie and use it to route incoming requests.
+     *
+     * @param enabled
+     *         `true` to enable compiled routing
+     * @return this router
+     * @see act.conf.AppConfigKey#ROUTER_COMPILED
+     */
+    public Router compiledRouting(boolean enabled) {
+        this.compiledRouting = enabled;
+        return this;
+    }
+
     // Mark handler as require body parsing
     public void markRequireBodyParsing(RequestHandler handler) {
         requireBodyParsing.add(handler);
@@ -240,7 +262,11 @@ public class Router extends AppHolderBase<Router> implements TreeNode {
         if (null == node) {
             return UnknownHttpMethodHandler.INSTANCE;
         }
-        node = search(node, Path.tokenizer(Unsafe.bufOf(path)), context);
+        if (compiledRouting) {
+            node = routeTrie().search(method, path, context);
+        } else {
+            node = search(node, Path.tokenizer(Unsafe.bufOf(path)), context);
+        }
         RequestHandler handler = getInvokerFrom(node);
         RequestHandler blockIssueHandler = app().blockIssueHandler();
         if (null == blockIssueHandler || (handler instanceof FileGetter || handler instanceof ResourceGetter)) {
@@ -252,6 +278,21 @@ public class Router extends AppHolderBase<Router> implements TreeNode {
         return blockIssueHandler;
     }
 
+    private RouteTrie routeTrie() {
+        RouteTrie trie = routeTrie;
+        int version = mappingVersion;
+        if (null == trie || trie.version() != version) {
+            synchronized (this) {
+                trie = routeTrie;
+                if (null == trie || trie.version() != version) {
+                    trie = RouteTrie.compile(this, version);
+                    routeTrie = trie;
+                }
+            }
+        }
+        return trie;
+    }
+
     public RequestHandler findStaticGetHandler(String url) {
         Iterator<String> path = Path.tokenizer(Unsafe.bufOf(url));
         Node node = root(H.Method.GET);
@@ -424,6 +465,7 @@ public class Router extends AppHolderBase<Router> implements TreeNode {
                     throw E.unsupport();
             }
         }
+        mappingVersion++;
     }
 
     private RequestHandler prepareReverseRoutes(RequestHandler handler, Node node) {
@@ -768,7 +810,7 @@ public class Router extends AppHolderBase<Router> implements TreeNode {
         return targetMethods;
     }
 
-    private Node search(Node rootNode, Iterator<String> path, ActionContext context) {
+    Node search(Node rootNode, Iterator<String> path, ActionContext context) {
         Node node = rootNode;
         Node backup = null;
         String backupPath = null;
@@ -921,12 +963,12 @@ public class Router extends AppHolderBase<Router> implements TreeNode {
      * The data structure support decision tree for
      * fast URL routing
      */
-    private static class Node extends DestroyableBase implements Serializable, TreeNode, Comparable<Node> {
+    static class Node extends DestroyableBase implements Serializable, TreeNode, Comparable<Node> {
 
         private static final S.Pair TILDE = S.pair('~', '~');
 
         // used to pass a baq request result when dynamic regex matching failed
-        private static final Node BADREQUEST = new Node(Integer.MIN_VALUE, Act.appConfig()) {
+        static final Node BADREQUEST = new Node(Integer.MIN_VALUE, Act.appConfig()) {
             @Override
             boolean terminateRouteSearch() {
                 return true;
@@ -958,7 +1000,7 @@ public class Router extends AppHolderBase<Router> implements TreeNode {
         // ignore all the rest in URL when routing
         private boolean ignoreRestParts;
 
-        private boolean hasKeywordMatchingChild;
+        boolean hasKeywordMatchingChild;
 
         // --- for dynamic node
         private Pattern pattern;
@@ -971,12 +1013,12 @@ public class Router extends AppHolderBase<Router> implements TreeNode {
         private Node root;
         private Node parent;
         private transient Node conflictNode;
-        private List<Node> dynamicChildren = new ArrayList<>();
-        private Map<String, Node> staticChildren = new HashMap<>();
-        private Map<Keyword, Node> keywordMatchingChildren = new HashMap<>();
-        private Map<UrlPath, Node> dynamicAliases = new HashMap<>();
+        List<Node> dynamicChildren = new ArrayList<>();
+        Map<String, Node> staticChildren = new HashMap<>();
+        Map<Keyword, Node> keywordMatchingChildren = new HashMap<>();
+        Map<UrlPath, Node> dynamicAliases = new HashMap<>();
         private Map<String, Node> dynamicReverseAliases = new HashMap<>();
-        private RequestHandler handler;
+        RequestHandler handler;
         private RouteSource routeSource;
         private RouterRegexMacroLookup macroLookup;
         private Map<String, Node> reverseRoutes = new HashMap<>();
@@ -1151,28 +1193,7 @@ public class Router extends AppHolderBase<Router> implements TreeNode {
                     Pattern pattern = targetNode.pattern;
                     Matcher matcher = null == pattern ? null : pattern.matcher(name);
                     if (null != matcher && matcher.matches()) {
-                        if (!targetNode.nodeValueBuilders.isEmpty()) {
-                            for (String varName : targetNode.varNames) {
-                                String varNameStr = varName;
-                                try {
-                                    String varValue = matcher.group(varNameStr);
-                                    if (S.notBlank(varValue)) {
-                                        context.urlPathParam(varNameStr, S.string(varValue));
-                                    }
-                                } catch (IllegalArgumentException e) {
-                                    if (e.getMessage().contains("No group with name")) {
-                                        String escaped = escapeUnderscore(varNameStr);
-                                        String varValue = matcher.group(escaped);
-                                        if (S.notBlank(varValue)) {
-                                            context.urlPathParam(varNameStr, S.string(varValue));
-                                        }
-                                    }
-                                }
-                            }
-                        } else {
-                            String varName = targetNode.varNames.get(0);
-                            context.urlPathParam(varName, S.string(name));
-                        }
+                        targetNode.bindUrlPathParams(matcher, name, context);
                         return targetNode;
                     }
                 }
@@ -1181,6 +1202,68 @@ public class Router extends AppHolderBase<Router> implements TreeNode {
             return node;
         }
 
+        /**
+         * Check if a URL path segment matches this dynamic node.
+         *
+         * Note the segment is passed in as a {@link CharSequence} so that
+         * caller doesn't need to create a substring of the URL path
+         *
+         * @param segment
+         *         the URL path segment
+         * @return `true` if the segment matches this node
+         */
+        boolean matchesDynamic(CharSequence segment) {
+            if (MATCH_ALL == patternTrait) {
+                return true;
+            }
+            return null != pattern && pattern.matcher(segment).matches();
+        }
+
+        /**
+         * Bind URL path variables of this dynamic node from a URL path
+         * segment that has already been checked with {@link #matchesDynamic(CharSequence)}
+         *
+         * @param segment
+         *         the URL path segment
+         * @param context
+         *         the action context
+         */
+        void bindUrlPathParams(CharSequence segment, ActionContext context) {
+            if (MATCH_ALL == patternTrait) {
+                context.urlPathParam(varNames.get(0), segment.toString());
+                return;
+            }
+            Matcher matcher = pattern.matcher(segment);
+            if (matcher.matches()) {
+                bindUrlPathParams(matcher, segment, context);
+            }
+        }
+
+        private void bindUrlPathParams(Matcher matcher, CharSequence segment, ActionContext context) {
+            if (!nodeValueBuilders.isEmpty()) {
+                for (String varName : varNames) {
+                    String varNameStr = varName;
+                    try {
+                        String varValue = matcher.group(varNameStr);
+                        if (S.notBlank(varValue)) {
+                            context.urlPathParam(varNameStr, S.string(varValue));
+                        }
+                    } catch (IllegalArgumentException e) {
+                        if (e.getMessage().contains("No group with name")) {
+                            String escaped = escapeUnderscore(varNameStr);
+                            String varValue = matcher.group(escaped);
+                            if (S.notBlank(varValue)) {
+                                context.urlPathParam(varNameStr, S.string(varValue));
+                            }
+                        }
+                    }
+                }
+            } else {
+                String varName = varNames.get(0);
+                context.urlPathParam(varName, segment.toString());
+            }
+        }
+
         @Override
         public String id() {
             return null == name ? keyword.dashed() : name;
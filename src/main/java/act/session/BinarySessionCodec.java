@@ -0,0 +1,440 @@
+package act.session;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.osgl.http.H.Session.KEY_EXPIRATION;
+import static org.osgl.http.H.Session.KEY_EXPIRE_INDICATOR;
+import static org.osgl.http.H.Session.KEY_ID;
+
+import act.conf.AppConfig;
+import act.crypto.RotateSecretCrypto;
+import act.i18n.TimeZoneResolver;
+import act.util.Lazy;
+import act.util.LogSupportedDestroyableBase;
+import org.osgl.$;
+import org.osgl.http.H;
+import org.osgl.util.Codec;
+import org.osgl.util.S;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * A {@link SessionCodec} that encodes session/flash into a compact binary
+ * payload in url safe base64 format.
+ *
+ * The payload starts with a header byte carrying the format version and
+ * flags, followed by the key/value entries:
+ *
+ * * key - a single byte, either the index of a well known key, e.g.
+ *   session ID, expiration, username key etc, or `0` followed by
+ *   the length prefixed UTF-8 bytes of the key
+ * * value - length prefixed UTF-8 bytes, except the expiration, which
+ *   is written as a variable length number
+ *
+ * Lengths are written as variable length numbers. When
+ * {@link AppConfig#sessionCompressThreshold()} is positive, entries whose
+ * total size reaches the threshold are deflated, provided that makes the
+ * payload smaller.
+ *
+ * Session payload is signed and optionally encrypted the same way
+ * {@link DefaultSessionCodec} does.
+ *
+ * To use this codec, set `session.codec.impl` to `act.session.BinarySessionCodec`.
+ */
+@Singleton
+@Lazy
+public class BinarySessionCodec extends LogSupportedDestroyableBase implements SessionCodec {
+
+    private static final int VERSION = 1;
+    private static final int FLAG_COMPRESSED = 0x01;
+
+    private static final int LITERAL_KEY = 0;
+    // index of the expiration key in the dictionary, its value is written as number
+    private static final int EXPIRATION_KEY = 2;
+
+    // an inflated payload is never expected to be larger than this
+    private static final int MAX_PAYLOAD_SIZE = 64 * 1024;
+
+    private static final char SIGN_SEPARATOR = '.';
+
+    private static final ThreadLocal<Buffer> BUFFER = new ThreadLocal<Buffer>() {
+        @Override
+        protected Buffer initialValue() {
+            return new Buffer();
+        }
+    };
+
+    private final boolean sessionWillExpire;
+    private final boolean encryptSession;
+    private final int ttlInMillis;
+    private final String pingPath;
+    private final int compressThreshold;
+    // well known keys, index 0 is reserved for literal key
+    private final String[] dictionary;
+    private RotateSecretCrypto crypto;
+    private final TokenCache<String[]> decodeCache;
+
+    @Inject
+    public BinarySessionCodec(AppConfig conf, RotateSecretCrypto crypto) {
+        ttlInMillis = conf.sessionTtl() * 1000;
+        sessionWillExpire = ttlInMillis > 0;
+        pingPath = conf.pingPath();
+        encryptSession = conf.encryptSession();
+        compressThreshold = conf.sessionCompressThreshold();
+        this.crypto = $.requireNotNull(crypto);
+        dictionary = new String[]{
+                null,
+                KEY_ID,
+                KEY_EXPIRATION,
+                KEY_EXPIRE_INDICATOR,
+                conf.sessionKeyUsername(),
+                conf.csrfCookieName(),
+                TimeZoneResolver.SESSION_KEY,
+                "__locale__",
+                "error",
+                "success"
+        };
+        int decodeCacheSize = conf.sessionDecodeCacheSize();
+        decodeCache = decodeCacheSize > 0 ? new TokenCache<String[]>(decodeCacheSize, conf.rotateSecret() ? 60 * 1000 : 0) : null;
+    }
+
+    @Override
+    protected void releaseResources() {
+        crypto = null;
+    }
+
+    @Override
+    public String encodeSession(H.Session session) {
+        if (null == session) {
+            return null;
+        }
+        boolean sessionChanged = session.changed();
+        if (!sessionChanged && (session.empty() || !sessionWillExpire)) {
+            // Nothing changed and no cookie-expire or empty, consequently send nothing back.
+            return null;
+        }
+        session.id(); // ensure session ID is generated
+        if (sessionWillExpire && !session.contains(KEY_EXPIRATION)) {
+            // session get cleared before
+            session.put(KEY_EXPIRATION, $.ms() + ttlInMillis);
+        }
+        String data = serialize(session);
+        data = S.concat(crypto.sign(data), String.valueOf(SIGN_SEPARATOR), data);
+        if (encryptSession) {
+            data = crypto.encrypt(data);
+        }
+        return data;
+    }
+
+    @Override
+    public String encodeFlash(H.Flash flash) {
+        if (null == flash || flash.isEmpty()) {
+            return null;
+        }
+        return serialize(flash.out());
+    }
+
+    @Override
+    public H.Session decodeSession(String encodedSession, H.Request request) {
+        H.Session session = new H.Session();
+        boolean newSession = true;
+        long now = $.ms();
+        if (S.notBlank(encodedSession)) {
+            String[] pairs = null == decodeCache ? null : decodeCache.get(encodedSession, now);
+            if (null == pairs) {
+                pairs = verify(encodedSession);
+                if (null != decodeCache && null != pairs) {
+                    decodeCache.put(encodedSession, pairs, now);
+                }
+            }
+            if (null != pairs) {
+                for (int i = 0; i < pairs.length; i += 2) {
+                    session.put(pairs[i], pairs[i + 1]);
+                }
+            }
+            newSession = false;
+        }
+        return DefaultSessionCodec.processExpiration(session, now, newSession, sessionWillExpire, ttlInMillis, pingPath, request);
+    }
+
+    @Override
+    public H.Flash decodeFlash(String encodedFlash) {
+        H.Flash flash = new H.Flash();
+        if (S.notBlank(encodedFlash)) {
+            String[] pairs = deserialize(encodedFlash);
+            if (null != pairs) {
+                for (int i = 0; i < pairs.length; i += 2) {
+                    flash.put(pairs[i], pairs[i + 1]);
+                }
+            }
+            flash.discard(); // prevent cookie content from been output to response again
+        }
+        return flash;
+    }
+
+    private String[] verify(String data) {
+        if (encryptSession) {
+            try {
+                data = crypto.decrypt(data);
+            } catch (Exception e) {
+                return null;
+            }
+        }
+        int pos = data.indexOf(SIGN_SEPARATOR);
+        if (pos < 0) {
+            return null;
+        }
+        String sign = data.substring(0, pos);
+        data = data.substring(pos + 1);
+        if (!crypto.verifySignature(data, sign)) {
+            return null;
+        }
+        return deserialize(data);
+    }
+
+    private String serialize(H.KV<?> kv) {
+        Buffer buf = BUFFER.get().reset();
+        buf.write(VERSION << 4);
+        for (Map.Entry<String, String> entry : kv.entrySet()) {
+            String k = entry.getKey();
+            String v = entry.getValue();
+            int index = indexOf(k);
+            if (EXPIRATION_KEY == index) {
+                long l = S.isIntOrLong(v) ? Long.parseLong(v) : -1;
+                if (l >= 0) {
+                    buf.write(EXPIRATION_KEY);
+                    buf.writeVarLong(l);
+                    continue;
+                }
+                index = LITERAL_KEY;
+            }
+            buf.write(index);
+            if (LITERAL_KEY == index) {
+                buf.writeString(k);
+            }
+            buf.writeString(v);
+        }
+        if (compressThreshold > 0 && buf.size - 1 >= compressThreshold) {
+            buf.compress();
+        }
+        return Codec.encodeUrlSafeBase64(buf.toByteArray());
+    }
+
+    /*
+     * Returns the key/value pairs as an array of `[k1, v1, k2, v2, ...]`
+     * or `null` if the payload is malformed
+     */
+    private String[] deserialize(String data) {
+        try {
+            byte[] bytes = Codec.decodeUrlSafeBase64(data);
+            if (bytes.length == 0 || (bytes[0] & 0xFF) >> 4 != VERSION) {
+                return null;
+            }
+            Input in = new Input(bytes, 1, bytes.length);
+            if ((bytes[0] & FLAG_COMPRESSED) != 0) {
+                in = in.inflate();
+            }
+            String[] pairs = new String[16];
+            int n = 0;
+            while (in.hasMore()) {
+                int index = in.read();
+                String k;
+                String v;
+                if (LITERAL_KEY == index) {
+                    k = in.readString();
+                    v = in.readString();
+                } else if (index < dictionary.length) {
+                    k = dictionary[index];
+                    v = EXPIRATION_KEY == index ? String.valueOf(in.readVarLong()) : in.readString();
+                } else {
+                    return null;
+                }
+                if (n + 2 > pairs.length) {
+                    pairs = Arrays.copyOf(pairs, pairs.length * 2);
+                }
+                pairs[n++] = k;
+                pairs[n++] = v;
+            }
+            return n == pairs.length ? pairs : Arrays.copyOf(pairs, n);
+        } catch (RuntimeException | DataFormatException e) {
+            warn("malformed session payload: %s", e.getMessage());
+            return null;
+        }
+    }
+
+    private int indexOf(String key) {
+        for (int i = 1; i < dictionary.length; ++i) {
+            if (key.equals(dictionary[i])) {
+                return i;
+            }
+        }
+        return LITERAL_KEY;
+    }
+
+    /*
+     * A growable byte array reused by the encoding thread.
+     */
+    private static final class Buffer {
+        private byte[] buf = new byte[256];
+        private int size;
+        private Deflater deflater;
+
+        Buffer reset() {
+            size = 0;
+            return this;
+        }
+
+        void write(int b) {
+            ensureCapacity(1);
+            buf[size++] = (byte) b;
+        }
+
+        void writeVarLong(long l) {
+            while ((l & ~0x7FL) != 0) {
+                write((int) ((l & 0x7F) | 0x80));
+                l >>>= 7;
+            }
+            write((int) l);
+        }
+
+        void writeString(String s) {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buf, size, bytes.length);
+            size += bytes.length;
+        }
+
+        // deflate entries after the header byte and keep the result if it is smaller
+        void compress() {
+            if (null == deflater) {
+                deflater = new Deflater(Deflater.BEST_SPEED, true);
+            }
+            int len = size - 1;
+            byte[] out = new byte[len];
+            deflater.setInput(buf, 1, len);
+            deflater.finish();
+            int compressed = deflater.deflate(out);
+            boolean finished = deflater.finished();
+            deflater.reset();
+            if (!finished || 1 + varLongSize(len) + compressed >= size) {
+                return;
+            }
+            buf[0] |= FLAG_COMPRESSED;
+            size = 1;
+            writeVarLong(len);
+            ensureCapacity(compressed);
+            System.arraycopy(out, 0, buf, size, compressed);
+            size += compressed;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buf, size);
+        }
+
+        private static int varLongSize(long l) {
+            int n = 1;
+            while ((l & ~0x7FL) != 0) {
+                n++;
+                l >>>= 7;
+            }
+            return n;
+        }
+
+        private void ensureCapacity(int n) {
+            if (size + n > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length * 2, size + n));
+            }
+        }
+    }
+
+    private static final class Input {
+        private final byte[] buf;
+        private final int end;
+        private int pos;
+
+        Input(byte[] buf, int pos, int end) {
+            this.buf = buf;
+            this.pos = pos;
+            this.end = end;
+        }
+
+        boolean hasMore() {
+            return pos < end;
+        }
+
+        int read() {
+            if (pos >= end) {
+                throw new IllegalStateException("unexpected end of payload");
+            }
+            return buf[pos++] & 0xFF;
+        }
+
+        long readVarLong() {
+            long l = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = read();
+                l |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return l;
+                }
+            }
+            throw new IllegalStateException("malformed number");
+        }
+
+        String readString() {
+            long len = readVarLong();
+            if (len < 0 || len > end - pos) {
+                throw new IllegalStateException("unexpected end of payload");
+            }
+            String s = new String(buf, pos, (int) len, StandardCharsets.UTF_8);
+            pos += (int) len;
+            return s;
+        }
+
+        Input inflate() throws DataFormatException {
+            long len = readVarLong();
+            if (len < 0 || len > MAX_PAYLOAD_SIZE) {
+                throw new IllegalStateException("payload too large");
+            }
+            byte[] out = new byte[(int) len];
+            Inflater inflater = new Inflater(true);
+            try {
+                inflater.setInput(buf, pos, end - pos);
+                int n = inflater.inflate(out);
+                if (n != len) {
+                    throw new IllegalStateException("unexpected end of payload");
+                }
+            } finally {
+                inflater.end();
+            }
+            return new Input(out, 0, out.length);
+        }
+    }
+
+}
@@ -43,6 +43,14 @@ public class DefaultSessionCodec extends LogSupportedDestroyableBase implements
     private final int ttlInMillis;
     private final String pingPath;
     private RotateSecretCrypto crypto;
+    // decoded and verified session key/value pairs indexed by cookie content
+    private final TokenCache<String[]> decodeCache;
+
+    private static final String[] NO_PAIRS = new String[0];
+
+    // cached entries expire when secret rotates, so that sessions signed with
+    // an expired secret are verified again
+    private static final long DECODE_CACHE_MAX_AGE_ON_ROTATION = 60 * 1000;
 
     @Inject
     public DefaultSessionCodec(AppConfig conf, RotateSecretCrypto crypto) {
@@ -51,6 +59,8 @@ public class DefaultSessionCodec extends LogSupportedDestroyableBase implements
         pingPath = conf.pingPath();
         encryptSession = conf.encryptSession();
         this.crypto = $.requireNotNull(crypto);
+        int decodeCacheSize = conf.sessionDecodeCacheSize();
+        decodeCache = decodeCacheSize > 0 ? new TokenCache<String[]>(decodeCacheSize, conf.rotateSecret() ? DECODE_CACHE_MAX_AGE_ON_ROTATION : 0) : null;
     }
 
     @Override
@@ -88,11 +98,23 @@ public class DefaultSessionCodec extends LogSupportedDestroyableBase implements
     public H.Session decodeSession(String encodedSession, H.Request request) {
         H.Session session = new H.Session();
         boolean newSession = true;
+        long now = $.ms();
         if (S.notBlank(encodedSession)) {
-            resolveFromCookieContent(session, encodedSession, true);
+            String[] pairs = null == decodeCache ? null : decodeCache.get(encodedSession, now);
+            if (null == pairs) {
+                pairs = resolveFromCookieContent(encodedSession, true);
+                if (null != decodeCache && null != pairs) {
+                    decodeCache.put(encodedSession, pairs, now);
+                }
+            }
+            if (null != pairs) {
+                for (int i = 0; i < pairs.length; i += 2) {
+                    session.put(pairs[i], pairs[i + 1]);
+                }
+            }
             newSession = false;
         }
-        session = processExpiration(session, $.ms(), newSession, sessionWillExpire, ttlInMillis, pingPath, request);
+        session = processExpiration(session, now, newSession, sessionWillExpire, ttlInMillis, pingPath, request);
         return session;
     }
 
@@ -100,78 +122,101 @@ public class DefaultSessionCodec extends LogSupportedDestroyableBase implements
     public H.Flash decodeFlash(String encodedFlash) {
         H.Flash flash = new H.Flash();
         if (S.notBlank(encodedFlash)) {
-            resolveFromCookieContent(flash, encodedFlash, false);
+            String[] pairs = resolveFromCookieContent(encodedFlash, false);
+            if (null != pairs) {
+                for (int i = 0; i < pairs.length; i += 2) {
+                    flash.put(pairs[i], pairs[i + 1]);
+                }
+            }
             flash.discard(); // prevent cookie content from been output to response again
         }
         return flash;
     }
 
-    private void resolveFromCookieContent(H.KV<?> kv, String content, boolean isSession) {
-        String data = Codec.decodeUrl(content, Charsets.UTF_8);
+    /*
+     * Returns the key/value pairs in the cookie content as an array of
+     * `[k1, v1, k2, v2, ...]`, or `null` if the session cookie cannot be
+     * decrypted or verified
+     */
+    private String[] resolveFromCookieContent(String content, boolean isSession) {
+        String data = decodeUrl(content);
         if (isSession) {
             if (encryptSession) {
                 try {
                     data = crypto.decrypt(data);
                 } catch (Exception e) {
-                    return;
+                    return null;
                 }
             }
-            int firstDashIndex = data.indexOf("-");
+            int firstDashIndex = data.indexOf('-');
             if (firstDashIndex < 0) {
-                return;
+                return null;
             }
             String sign = data.substring(0, firstDashIndex);
             data = data.substring(firstDashIndex + 1);
             if (!crypto.verifySignature(data, sign)) {
-                return;
-            }
-        }
-        List<char[]> pairs = split(data.toCharArray(), '\u0000');
-        if (pairs.isEmpty()) return;
-        for (char[] pair: pairs) {
-            List<char[]> kAndV = split(pair, '\u0001');
-            int sz = kAndV.size();
-            if (sz != 2) {
-                S.Buffer sb = S.newBuffer();
-                for (int i = 0; i < sz; ++i) {
-                    if (i > 0) sb.append(":");
-                    sb.append(Arrays.toString(kAndV.get(i)));
-                }
-                warn("unexpected KV string: %S", sb.toString());
-            } else {
-                kv.put(new String(kAndV.get(0)), new String(kAndV.get(1)));
+                return null;
             }
         }
+        return parse(data);
     }
 
-    private List<char[]> split(char[] content, char separator) {
-        int len = content.length;
+    /*
+     * Parse the key/value pairs by scanning the string in place. Pairs are
+     * separated by `U+0000` and key and value are separated by `U+0001`.
+     * Only the key and value strings are allocated.
+     */
+    private String[] parse(String data) {
+        int len = data.length();
         if (0 == len) {
-            return C.list();
+            return NO_PAIRS;
         }
-        List<char[]> l = new ArrayList<>();
-        int start = 0;
+        int pairs = 1;
         for (int i = 0; i < len; ++i) {
-            char c = content[i];
-            if (c == separator) {
-                if (i == start) {
-                    start++;
-                    continue;
+            if ('\u0000' == data.charAt(i)) {
+                pairs++;
+            }
+        }
+        String[] result = new String[pairs * 2];
+        int n = 0;
+        int start = 0;
+        while (start < len) {
+            int end = data.indexOf('\u0000', start);
+            if (end < 0) {
+                end = len;
+            }
+            if (end > start) {
+                // leading and repeated separators are skipped, and a pair
+                // ending with a separator has an empty value
+                int keyStart = skipSeparators(data, start, end);
+                int sep = data.indexOf('\u0001', keyStart);
+                int valueStart = sep < 0 || sep >= end ? -1 : skipSeparators(data, sep + 1, end);
+                int sep2 = valueStart < 0 ? -1 : data.indexOf('\u0001', valueStart);
+                if (valueStart >= 0 && (sep2 < 0 || sep2 >= end)) {
+                    result[n++] = data.substring(keyStart, sep);
+                    result[n++] = data.substring(valueStart, end);
+                } else {
+                    warn("unexpected KV string: %s", data.substring(start, end).replace('\u0001', ':'));
                 }
-                char[] ca = new char[i - start];
-                System.arraycopy(content, start, ca, 0, i - start);
-                l.add(ca);
-                start = i + 1;
             }
+            start = end + 1;
         }
-        if (start == 0) {
-            l.add(content);
-        } else {
-            char[] ca = new char[len - start];
-            System.arraycopy(content, start, ca, 0, len - start);
-            l.add(ca);
+        return n == result.length ? result : Arrays.copyOf(result, n);
+    }
+
+    private static int skipSeparators(String data, int from, int end) {
+        while (from < end && '\u0001' == data.charAt(from)) {
+            from++;
+        }
+        return from;
+    }
+
+    // most session cookies do not contain escaped chars
+    private static String decodeUrl(String content) {
+        if (content.indexOf('%') < 0 && content.indexOf('+') < 0) {
+            return content;
         }
-        return l;
+        return Codec.decodeUrl(content, Charsets.UTF_8);
     }
 
     private String dissolveIntoCookieContent(H.KV<?> kv, boolean isSession) {
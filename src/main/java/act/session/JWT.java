@@ -136,20 +136,79 @@ public class JWT extends SingletonBase {
         public String toString(JWT jwt) {
             return jwt.serialize(this);
         }
+
+        private Token copy() {
+            Token copy = new Token((String) payloads.get(Payload.ISSUER.key));
+            copy.headers.putAll(headers);
+            copy.payloads.putAll(payloads);
+            return copy;
+        }
     }
 
+    /**
+     * The registered claims commonly used to identify the token holder.
+     */
+    public static class Claims {
+        private final String id;
+        private final String subject;
+        private final long expiresAt;
+
+        private Claims(String id, String subject, long expiresAt) {
+            this.id = id;
+            this.subject = subject;
+            this.expiresAt = expiresAt;
+        }
+
+        /**
+         * Returns the `jti` claim
+         */
+        public String id() {
+            return id;
+        }
+
+        /**
+         * Returns the `sub` claim
+         */
+        public String subject() {
+            return subject;
+        }
+
+        /**
+         * Returns the `exp` claim in seconds, or `-1` if not specified
+         */
+        public long expiresAt() {
+            return expiresAt;
+        }
+    }
+
+    private static final int DEFAULT_CACHE_SIZE = 1024;
+
+    // cached entries expire when secret rotates, so that tokens signed with
+    // an expired secret are verified again
+    private static final long CACHE_MAX_AGE_ON_ROTATION = 60 * 1000;
+
+    private static final String[] HEADER_KEYS = {Header.ALGO.key};
+    private static final String[] CLAIM_KEYS = {
+            Payload.ISSUER.key, Payload.EXPIRES_AT.key, Payload.JWT_ID.key, Payload.SUBJECT.key
+    };
+
     private final HMAC hmac;
     private final String issuer;
+    // verified tokens indexed by the token string
+    private final TokenCache<Token> cache;
 
     @Inject
     public JWT(AppConfig config) {
         hmac = config.jwtAlgo();
         issuer = config.jwtIssuer();
+        int cacheSize = config.sessionDecodeCacheSize();
+        cache = cacheSize > 0 ? new TokenCache<Token>(cacheSize, config.rotateSecret() ? CACHE_MAX_AGE_ON_ROTATION : 0) : null;
     }
 
     public JWT(HMAC hmac, String issuer) {
         this.hmac = $.requireNotNull(hmac);
         this.issuer = $.requireNotNull(issuer);
+        this.cache = new TokenCache<>(DEFAULT_CACHE_SIZE, 0);
     }
 
     public Token newToken() {
@@ -161,6 +220,13 @@ public class JWT extends SingletonBase {
     }
 
     public Token deserialize(String tokenString) {
+        long now = $.ms();
+        if (null != cache) {
+            Token cached = cache.get(tokenString, now);
+            if (null != cached) {
+                return cached.copy();
+            }
+        }
         List<String> parts = S.fastSplit(tokenString, ".");
         if (parts.size() != 3) {
             return null;
@@ -184,16 +250,69 @@ public class JWT extends SingletonBase {
         if (!verifyIssuer(payloads)) {
             return null;
         }
-        if (!verifyExpires(payloads)) {
+        if (!verifyExpires(payloads.get(Payload.EXPIRES_AT.key), now)) {
             return null;
         }
 
         Token token = new Token(issuer);
         token.headers.putAll(headers);
         token.payloads.putAll(payloads);
+        if (null != cache) {
+            cache.put(tokenString, token.copy(), now, expiresAtInMillis(payloads.get(Payload.EXPIRES_AT.key)));
+        }
         return token;
     }
 
+    /**
+     * Verify the token string and extract the {@link Claims}.
+     *
+     * Unlike {@link #deserialize(String)}, this method does not parse
+     * the header and payload into JSON objects.
+     *
+     * @param tokenString
+     *         the token string
+     * @return the claims of the token, or `null` if the token is invalid
+     */
+    public Claims claims(String tokenString) {
+        long now = $.ms();
+        if (null != cache) {
+            Token cached = cache.get(tokenString, now);
+            if (null != cached) {
+                Map<String, Object> payloads = cached.payloads;
+                Object exp = payloads.get(Payload.EXPIRES_AT.key);
+                return new Claims(string(payloads.get(ID)), string(payloads.get(Payload.SUBJECT.key)),
+                        exp instanceof Number ? ((Number) exp).longValue() : -1);
+            }
+        }
+        int headerEnd = tokenString.indexOf('.');
+        int payloadEnd = headerEnd < 0 ? -1 : tokenString.indexOf('.', headerEnd + 1);
+        if (payloadEnd < 0 || tokenString.indexOf('.', payloadEnd + 1) >= 0) {
+            return null;
+        }
+        String hash = tokenString.substring(payloadEnd + 1);
+        if (!hmac.verifyHash(tokenString.substring(0, payloadEnd), hash)) {
+            return null;
+        }
+        try {
+            Object[] header = new Object[HEADER_KEYS.length];
+            String headerString = new String(Codec.decodeUrlSafeBase64(tokenString.substring(0, headerEnd)));
+            if (!JwtClaimScanner.scan(headerString, HEADER_KEYS, header)
+                    || !(header[0] instanceof String) || !hmac.verifyArgo((String) header[0])) {
+                return null;
+            }
+            Object[] claims = new Object[CLAIM_KEYS.length];
+            String payloadString = new String(Codec.decodeUrlSafeBase64(tokenString.substring(headerEnd + 1, payloadEnd)));
+            if (!JwtClaimScanner.scan(payloadString, CLAIM_KEYS, claims)
+                    || !S.eq(issuer, string(claims[0])) || !verifyExpires(claims[1], now)) {
+                return null;
+            }
+            return new Claims(string(claims[2]), string(claims[3]),
+                    claims[1] instanceof Number ? ((Number) claims[1]).longValue() : -1);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
     private boolean verifyHash(String header, String payload, String hash) {
         return hmac.verifyHash(S.concat(header, ".", payload), hash);
     }
@@ -202,9 +321,16 @@ public class JWT extends SingletonBase {
         return S.eq(issuer, payloads.getString("iss"));
     }
 
-    private boolean verifyExpires(JSONObject payloads) {
-        Object obj = payloads.get(Payload.EXPIRES_AT.key);
-        return null == obj || (obj instanceof Number && ((Number) obj).longValue() > ($.ms() / 1000));
+    private boolean verifyExpires(Object exp, long now) {
+        return null == exp || (exp instanceof Number && ((Number) exp).longValue() > (now / 1000));
+    }
+
+    private static String string(Object o) {
+        return null == o ? null : o.toString();
+    }
+
+    private static long expiresAtInMillis(Object exp) {
+        return exp instanceof Number ? ((Number) exp).longValue() * 1000 : 0;
     }
 
     private boolean verifyArgo(JSONObject headers) {
@@ -0,0 +1,226 @@
+package act.session;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+/**
+ * Extracts a few top level members from a JWT header or payload JSON
+ * string without building a JSON object.
+ *
+ * Values are returned as `String`, `Long`, `Double` or `Boolean`. Nested
+ * objects and arrays are skipped and returned as `null`.
+ */
+final class JwtClaimScanner {
+
+    private JwtClaimScanner() {}
+
+    /**
+     * Scan the JSON object and fill values of the given keys.
+     *
+     * @param json
+     *         the JSON object string
+     * @param keys
+     *         the member names to be extracted
+     * @param values
+     *         the array to receive values, with the same length of `keys`
+     * @return `true` if the JSON string is well formed, or `false` otherwise
+     */
+    static boolean scan(String json, String[] keys, Object[] values) {
+        int len = json.length();
+        int i = skipWhitespaces(json, 0);
+        if (i >= len || json.charAt(i) != '{') {
+            return false;
+        }
+        i = skipWhitespaces(json, i + 1);
+        if (i < len && json.charAt(i) == '}') {
+            return true;
+        }
+        while (i < len) {
+            if (json.charAt(i) != '"') {
+                return false;
+            }
+            int nameEnd = endOfString(json, i);
+            if (nameEnd < 0) {
+                return false;
+            }
+            String name = unescape(json, i + 1, nameEnd - 1);
+            i = skipWhitespaces(json, nameEnd);
+            if (i >= len || json.charAt(i) != ':') {
+                return false;
+            }
+            i = skipWhitespaces(json, i + 1);
+            int valueEnd = endOfValue(json, i);
+            if (valueEnd < 0) {
+                return false;
+            }
+            for (int k = 0; k < keys.length; ++k) {
+                if (keys[k].equals(name)) {
+                    values[k] = value(json, i, valueEnd);
+                    break;
+                }
+            }
+            i = skipWhitespaces(json, valueEnd);
+            if (i >= len) {
+                return false;
+            }
+            char c = json.charAt(i);
+            if (c == '}') {
+                return true;
+            }
+            if (c != ',') {
+                return false;
+            }
+            i = skipWhitespaces(json, i + 1);
+        }
+        return false;
+    }
+
+    private static int skipWhitespaces(String json, int i) {
+        int len = json.length();
+        while (i < len && Character.isWhitespace(json.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    // returns the index after the closing quote, or `-1` if not closed
+    private static int endOfString(String json, int start) {
+        int len = json.length();
+        for (int i = start + 1; i < len; ++i) {
+            char c = json.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '"') {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    // returns the index after the value, or `-1` if malformed
+    private static int endOfValue(String json, int start) {
+        int len = json.length();
+        if (start >= len) {
+            return -1;
+        }
+        char c = json.charAt(start);
+        if (c == '"') {
+            return endOfString(json, start);
+        }
+        if (c == '{' || c == '[') {
+            int depth = 0;
+            for (int i = start; i < len; ++i) {
+                c = json.charAt(i);
+                if (c == '"') {
+                    i = endOfString(json, i);
+                    if (i < 0) {
+                        return -1;
+                    }
+                    i--;
+                } else if (c == '{' || c == '[') {
+                    depth++;
+                } else if (c == '}' || c == ']') {
+                    if (--depth == 0) {
+                        return i + 1;
+                    }
+                }
+            }
+            return -1;
+        }
+        int i = start;
+        while (i < len) {
+            c = json.charAt(i);
+            if (c == ',' || c == '}' || c == ']' || Character.isWhitespace(c)) {
+                break;
+            }
+            i++;
+        }
+        return i > start ? i : -1;
+    }
+
+    private static Object value(String json, int start, int end) {
+        char c = json.charAt(start);
+        switch (c) {
+            case '"':
+                return unescape(json, start + 1, end - 1);
+            case '{':
+            case '[':
+            case 'n':
+                return null;
+            case 't':
+                return Boolean.TRUE;
+            case 'f':
+                return Boolean.FALSE;
+            default:
+                String s = json.substring(start, end);
+                try {
+                    if (s.indexOf('.') < 0 && s.indexOf('e') < 0 && s.indexOf('E') < 0) {
+                        return Long.valueOf(s);
+                    }
+                    return Double.valueOf(s);
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+        }
+    }
+
+    private static String unescape(String json, int start, int end) {
+        int escape = json.indexOf('\\', start);
+        if (escape < 0 || escape >= end) {
+            return json.substring(start, end);
+        }
+        StringBuilder sb = new StringBuilder(end - start);
+        for (int i = start; i < end; ++i) {
+            char c = json.charAt(i);
+            if (c != '\\' || i + 1 >= end) {
+                sb.append(c);
+                continue;
+            }
+            c = json.charAt(++i);
+            switch (c) {
+                case 'b':
+                    sb.append('\b');
+                    break;
+                case 'f':
+                    sb.append('\f');
+                    break;
+                case 'n':
+                    sb.append('\n');
+                    break;
+                case 'r':
+                    sb.append('\r');
+                    break;
+                case 't':
+                    sb.append('\t');
+                    break;
+                case 'u':
+                    if (i + 4 < end) {
+                        sb.append((char) Integer.parseInt(json.substring(i + 1, i + 5), 16));
+                        i += 4;
+                    }
+                    break;
+                default:
+                    sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+}
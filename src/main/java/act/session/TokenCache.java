@@ -0,0 +1,129 @@
+package act.session;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A bounded concurrent cache of decoded and verified tokens, e.g. session
+ * cookies, keyed by the raw token string.
+ *
+ * The cache keeps two generations of entries. New entries go to the current
+ * generation, and when it is full it becomes the old generation while the
+ * previous old generation is dropped. Entries hit in the old generation are
+ * promoted to the current one, so frequently used tokens survive the turnover.
+ * This approximates LRU eviction without any locking on the read path.
+ *
+ * @param <V> the type of the decoded value, which must be immutable
+ */
+final class TokenCache<V> {
+
+    private final int generationSize;
+    private final long maxAgeInMillis;
+
+    private volatile ConcurrentMap<String, Entry<V>> current = new ConcurrentHashMap<>();
+    private volatile ConcurrentMap<String, Entry<V>> previous = new ConcurrentHashMap<>();
+
+    /**
+     * Construct a token cache.
+     *
+     * @param generationSize
+     *         the maximum number of entries in a generation
+     * @param maxAgeInMillis
+     *         the time an entry stays valid, or `0` if entries never expire
+     */
+    TokenCache(int generationSize, long maxAgeInMillis) {
+        this.generationSize = generationSize;
+        this.maxAgeInMillis = maxAgeInMillis;
+    }
+
+    V get(String token, long now) {
+        Entry<V> entry = current.get(token);
+        if (null == entry) {
+            entry = previous.get(token);
+            if (null == entry) {
+                return null;
+            }
+            if (!expired(entry, now)) {
+                promote(token, entry);
+            }
+        }
+        return expired(entry, now) ? null : entry.value;
+    }
+
+    void put(String token, V value, long now) {
+        promote(token, new Entry<>(value, now, 0));
+    }
+
+    /**
+     * Put a token that is not valid after the given time.
+     *
+     * @param expiresAt
+     *         the time in milliseconds after which the entry expires
+     *         regardless of the max age, or `0` if the token never expires
+     */
+    void put(String token, V value, long now, long expiresAt) {
+        promote(token, new Entry<>(value, now, expiresAt));
+    }
+
+    int size() {
+        return current.size() + previous.size();
+    }
+
+    void clear() {
+        current = new ConcurrentHashMap<>();
+        previous = new ConcurrentHashMap<>();
+    }
+
+    private boolean expired(Entry<V> entry, long now) {
+        return (maxAgeInMillis > 0 && now - entry.createdAt > maxAgeInMillis)
+                || (entry.expiresAt > 0 && now >= entry.expiresAt);
+    }
+
+    private void promote(String token, Entry<V> entry) {
+        ConcurrentMap<String, Entry<V>> generation = current;
+        generation.put(token, entry);
+        if (generation.size() >= generationSize) {
+            turnover(generation);
+        }
+    }
+
+    private synchronized void turnover(ConcurrentMap<String, Entry<V>> full) {
+        if (full == current) {
+            previous = full;
+            current = new ConcurrentHashMap<>();
+        }
+    }
+
+    private static final class Entry<V> {
+        final V value;
+        final long createdAt;
+        final long expiresAt;
+
+        Entry(V value, long createdAt, long expiresAt) {
+            this.value = value;
+            this.createdAt = createdAt;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+}
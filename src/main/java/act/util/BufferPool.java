@@ -0,0 +1,380 @@
+package act.util;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.Act;
+import act.metric.Metric;
+import act.metric.MetricInfo;
+import act.metric.MetricPlugin;
+import org.osgl.logging.LogManager;
+import org.osgl.logging.Logger;
+import org.osgl.util.E;
+
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A pool of direct `ByteBuffer`s in size classes.
+ *
+ * The smallest size class is {@link #MIN_BUFFER_SIZE} bytes and each size
+ * class is four times of the previous one, up to the max buffer size. A
+ * request is served with a buffer of the smallest size class that fits
+ * the requested size. Buffers larger than the max buffer size are not pooled.
+ *
+ * A size class could be served by a {@link PageSource}, e.g. the buffer
+ * pool of the network layer, so the response content and the network layer
+ * share the same buffers.
+ *
+ * Pool hits and misses are counted by counter `act:buffer_pool:hit` and
+ * `act:buffer_pool:miss`. When leak detection is enabled, a buffer that is
+ * garbage collected before released is logged with the stack trace where
+ * it was acquired, and counted by counter `act:buffer_pool:leak`.
+ */
+public class BufferPool {
+
+    private static final Logger LOGGER = LogManager.get(BufferPool.class);
+
+    /**
+     * The size of the smallest size class
+     */
+    public static final int MIN_BUFFER_SIZE = 1024;
+
+    private static final String HIT = MetricInfo.BUFFER_POOL + Metric.PATH_SEPARATOR + "hit";
+    private static final String MISS = MetricInfo.BUFFER_POOL + Metric.PATH_SEPARATOR + "miss";
+    private static final String PAGE = MetricInfo.BUFFER_POOL + Metric.PATH_SEPARATOR + "page";
+    private static final String LEAK = MetricInfo.BUFFER_POOL + Metric.PATH_SEPARATOR + "leak";
+
+    /**
+     * Provides buffers of a fixed size.
+     */
+    public interface PageSource {
+
+        /**
+         * Returns the size of the buffers provided by this source.
+         *
+         * @return the buffer size
+         */
+        int pageSize();
+
+        /**
+         * Returns a buffer of {@link #pageSize()} bytes.
+         *
+         * @return the buffer
+         */
+        PooledBuffer allocate();
+    }
+
+    private final SizeClass[] sizeClasses;
+    private final int maxBufferSize;
+    private final Metric metric;
+    // null if leak detection is disabled
+    private final LeakDetector leakDetector;
+
+    /**
+     * Construct a `BufferPool`.
+     *
+     * @param maxBufferSize
+     *         the max size of pooled buffers, rounded down to the nearest size class
+     * @param retainedSize
+     *         the max number of bytes retained by idle buffers of each size class
+     * @param leakDetection
+     *         `true` to turn on leak detection
+     */
+    public BufferPool(int maxBufferSize, int retainedSize, boolean leakDetection) {
+        E.illegalArgumentIf(maxBufferSize < MIN_BUFFER_SIZE, "max buffer size cannot be less than %s: %s", MIN_BUFFER_SIZE, maxBufferSize);
+        MetricPlugin metricPlugin = Act.metricPlugin();
+        this.metric = null == metricPlugin ? Metric.NULL_METRIC : metricPlugin.metric(MetricInfo.BUFFER_POOL);
+        List<SizeClass> list = new ArrayList<>();
+        for (long size = MIN_BUFFER_SIZE; size <= maxBufferSize; size <<= 2) {
+            list.add(new SizeClass((int) size, Math.max(1, retainedSize / (int) size)));
+        }
+        this.sizeClasses = list.toArray(new SizeClass[list.size()]);
+        this.maxBufferSize = sizeClasses[sizeClasses.length - 1].size;
+        this.leakDetector = leakDetection ? new LeakDetector(metric) : null;
+    }
+
+    /**
+     * Returns the max size of pooled buffers.
+     *
+     * @return the max buffer size
+     */
+    public int maxBufferSize() {
+        return maxBufferSize;
+    }
+
+    /**
+     * Serve the size class of the page size with a page source.
+     *
+     * @param source
+     *         the page source
+     * @return `true` if there is a size class of the page size
+     */
+    public boolean pageSource(PageSource source) {
+        for (SizeClass sizeClass : sizeClasses) {
+            if (sizeClass.size == source.pageSize()) {
+                sizeClass.pageSource = source;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Acquire a buffer with at least the specified capacity.
+     *
+     * The buffer returned is cleared and might be larger than the requested
+     * size.
+     *
+     * @param size
+     *         the capacity required
+     * @return a buffer
+     */
+    public PooledBuffer acquire(int size) {
+        PooledBuffer buffer;
+        if (size > maxBufferSize) {
+            metric.countOnce(MISS);
+            buffer = new UnpooledBuffer(ByteBuffer.allocate(size));
+        } else {
+            buffer = sizeClassOf(size).acquire();
+        }
+        if (null != leakDetector) {
+            leakDetector.track(buffer);
+        }
+        return buffer;
+    }
+
+    /**
+     * Encode a char sequence into a buffer in UTF-8. Unpaired surrogate
+     * chars are encoded as `?`.
+     *
+     * @param s
+     *         the char sequence
+     * @return the buffer flipped for read, or `null` if the encoded
+     *         bytes are larger than the max buffer size
+     */
+    public PooledBuffer encode(CharSequence s) {
+        int len = utf8Length(s);
+        if (len > maxBufferSize) {
+            return null;
+        }
+        PooledBuffer pooled = acquire(len);
+        ByteBuffer buffer = pooled.buffer();
+        encodeUtf8(s, buffer);
+        buffer.flip();
+        return pooled;
+    }
+
+    /**
+     * Wrap a buffer that does not belong to any pool. Releasing the
+     * returned `PooledBuffer` has no effect.
+     *
+     * @param buffer
+     *         the buffer
+     * @return the buffer wrapped as a `PooledBuffer`
+     */
+    public static PooledBuffer unpooled(ByteBuffer buffer) {
+        return new UnpooledBuffer(buffer);
+    }
+
+    private SizeClass sizeClassOf(int size) {
+        for (SizeClass sizeClass : sizeClasses) {
+            if (size <= sizeClass.size) {
+                return sizeClass;
+            }
+        }
+        throw E.unexpected("no size class found for %s", size);
+    }
+
+    static int utf8Length(CharSequence s) {
+        int len = s.length();
+        int n = len;
+        for (int i = 0; i < len; ++i) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                continue;
+            }
+            if (c < 0x800) {
+                n += 1;
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(s.charAt(i + 1))) {
+                    // 4 bytes for the surrogate pair
+                    n += 2;
+                    ++i;
+                }
+            } else {
+                n += 2;
+            }
+        }
+        return n;
+    }
+
+    private static void encodeUtf8(CharSequence s, ByteBuffer buffer) {
+        int len = s.length();
+        for (int i = 0; i < len; ++i) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | (c >> 6)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(s.charAt(i + 1))) {
+                    int cp = Character.toCodePoint(c, s.charAt(++i));
+                    buffer.put((byte) (0xF0 | (cp >> 18)));
+                    buffer.put((byte) (0x80 | ((cp >> 12) & 0x3F)));
+                    buffer.put((byte) (0x80 | ((cp >> 6) & 0x3F)));
+                    buffer.put((byte) (0x80 | (cp & 0x3F)));
+                } else {
+                    buffer.put((byte) '?');
+                }
+            } else {
+                buffer.put((byte) (0xE0 | (c >> 12)));
+                buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+    private class SizeClass {
+        private final int size;
+        // max number of idle buffers
+        private final int capacity;
+        private final Queue<ByteBuffer> buffers = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger idle = new AtomicInteger();
+        private volatile PageSource pageSource;
+
+        SizeClass(int size, int capacity) {
+            this.size = size;
+            this.capacity = capacity;
+        }
+
+        PooledBuffer acquire() {
+            PageSource source = pageSource;
+            if (null != source) {
+                metric.countOnce(PAGE);
+                PooledBuffer page = source.allocate();
+                page.buffer().clear();
+                return page;
+            }
+            ByteBuffer buffer = buffers.poll();
+            if (null != buffer) {
+                idle.decrementAndGet();
+                metric.countOnce(HIT);
+                buffer.clear();
+            } else {
+                metric.countOnce(MISS);
+                buffer = ByteBuffer.allocateDirect(size);
+            }
+            return new SlabBuffer(buffer, this);
+        }
+
+        void free(ByteBuffer buffer) {
+            if (idle.incrementAndGet() <= capacity) {
+                buffers.offer(buffer);
+            } else {
+                idle.decrementAndGet();
+            }
+        }
+    }
+
+    private static class SlabBuffer extends PooledBuffer {
+        private final SizeClass sizeClass;
+
+        SlabBuffer(ByteBuffer buffer, SizeClass sizeClass) {
+            super(buffer);
+            this.sizeClass = sizeClass;
+        }
+
+        @Override
+        protected void free() {
+            sizeClass.free(buffer());
+        }
+    }
+
+    private static class UnpooledBuffer extends PooledBuffer {
+        UnpooledBuffer(ByteBuffer buffer) {
+            super(buffer);
+        }
+
+        @Override
+        protected void free() {
+        }
+    }
+
+    /*
+     * Tracks a buffer until it is released
+     */
+    static final class LeakTracker extends PhantomReference<PooledBuffer> {
+        private final LeakDetector detector;
+        private final int capacity;
+        private final Exception acquisition = new Exception("buffer acquired");
+
+        LeakTracker(PooledBuffer buffer, LeakDetector detector) {
+            super(buffer, detector.queue);
+            this.detector = detector;
+            this.capacity = buffer.buffer().capacity();
+        }
+
+        void untrack() {
+            detector.trackers.remove(this);
+            clear();
+        }
+    }
+
+    private static class LeakDetector {
+        private final ReferenceQueue<PooledBuffer> queue = new ReferenceQueue<>();
+        private final Set<LeakTracker> trackers = Collections.newSetFromMap(new ConcurrentHashMap<LeakTracker, Boolean>());
+        private final Metric metric;
+
+        LeakDetector(Metric metric) {
+            this.metric = metric;
+        }
+
+        void track(PooledBuffer buffer) {
+            reportLeaks();
+            LeakTracker tracker = new LeakTracker(buffer, this);
+            trackers.add(tracker);
+            buffer.leakTracker = tracker;
+        }
+
+        private void reportLeaks() {
+            Reference<? extends PooledBuffer> ref;
+            while (null != (ref = queue.poll())) {
+                LeakTracker tracker = (LeakTracker) ref;
+                if (trackers.remove(tracker)) {
+                    metric.countOnce(LEAK);
+                    LOGGER.warn(tracker.acquisition, "buffer of %s bytes is garbage collected before released", tracker.capacity);
+                }
+            }
+        }
+    }
+
+}
@@ -51,6 +51,18 @@ public @interface CacheFor {
      */
     int value() default 60 * 60;
 
+    /**
+     * Specify the number of seconds an expired result can still be served
+     * while one request is refreshing it. During the refresh other requests
+     * with the same cache key get the expired result instead of waiting
+     * for or repeating the computation.
+     *
+     * Default value: `0`, i.e. requests wait for the refreshing request
+     *
+     * @return the stale-while-revalidate window in seconds
+     */
+    int staleWhileRevalidate() default 0;
+
     /**
      * Specify the keys to extract parameter/post variables to build the final
      * cache key
@@ -0,0 +1,54 @@
+package act.util;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+
+/**
+ * Produces response content on demand.
+ *
+ * The response calls {@link #encode(ByteBuffer)} each time a buffer is
+ * ready to accept more content, thus content is generated only as fast
+ * as the client consumes it.
+ *
+ * @see act.ActResponse#send(ChunkEncoder)
+ */
+public interface ChunkEncoder extends Closeable {
+
+    /**
+     * Encode content into the buffer until the buffer is full or
+     * all content is encoded.
+     *
+     * @param buffer
+     *         the buffer to be filled
+     * @return `true` if there is more content to be encoded
+     */
+    boolean encode(ByteBuffer buffer);
+
+    /**
+     * Release resources used by the encoder. It is called once the
+     * content is sent or the sending failed.
+     */
+    @Override
+    void close();
+
+}
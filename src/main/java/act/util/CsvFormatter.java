@@ -0,0 +1,122 @@
+package act.util;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.data.DataPropertyRepository;
+import act.db.AdaptiveRecord;
+import org.osgl.$;
+import org.osgl.util.S;
+import org.rythmengine.utils.Escape;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Format the header line and data lines of CSV output for
+ * elements of the same type.
+ */
+public class CsvFormatter {
+
+    private final List<String> outputFields;
+    private final Map<String, String> labels;
+
+    private CsvFormatter(List<String> outputFields, Map<String, String> labels) {
+        this.outputFields = outputFields;
+        this.labels = null == labels ? new HashMap<String, String>() : labels;
+    }
+
+    public String headerLine() {
+        Iterator<String> itr = outputFields.iterator();
+        String label = label(itr.next());
+        S.Buffer buf = S.buffer();
+        buf.append(label);
+        while (itr.hasNext()) {
+            buf.append(",").append(escape(label(itr.next())));
+        }
+        return buf.toString();
+    }
+
+    public String dataLine(Object data) {
+        Iterator<String> itr = outputFields.iterator();
+        String prop = itr.next();
+        S.Buffer buf = S.buffer();
+        buf.append(getProperty(data, prop));
+        while (itr.hasNext()) {
+            buf.append(",").append(getProperty(data, itr.next()));
+        }
+        return buf.toString();
+    }
+
+    private String getProperty(Object data, String prop) {
+        if ("this".equals(prop)) {
+            return (escape(data));
+        } else {
+            if (data instanceof AdaptiveRecord) {
+                return escape(S.string(((AdaptiveRecord) data).getValue(prop)));
+            }
+            return escape($.getProperty(data, prop));
+        }
+    }
+
+    private String label(String key) {
+        String s = labels.get(key);
+        return null == s ? key : s;
+    }
+
+    private static String escape(Object o) {
+        if (null == o) {
+            return "";
+        }
+        String s = o.toString().trim();
+        if (s.startsWith("\"") && s.endsWith("\"")) {
+            return s;
+        }
+        return Escape.CSV.apply(o).toString();
+    }
+
+    /**
+     * Create a `CsvFormatter` for elements of a type.
+     *
+     * @param componentType
+     *         the element type
+     * @param spec
+     *         the property spec, could be `null`
+     * @param context
+     *         the current context
+     * @return the formatter or `null` if there is no field to output
+     */
+    public static CsvFormatter of(Class<?> componentType, PropertySpec.MetaInfo spec, ActContext context) {
+        DataPropertyRepository repo = context.app().service(DataPropertyRepository.class);
+        spec = PropertySpec.MetaInfo.withCurrent(spec, context);
+        if (null == spec) {
+            spec = new PropertySpec.MetaInfo();
+            spec.onValue("-not_exists");
+        }
+        List<String> outputFields = repo.outputFields(spec, componentType, context);
+        if (outputFields.isEmpty()) {
+            return null;
+        }
+        return new CsvFormatter(outputFields, spec.labelMapping(context));
+    }
+
+}
@@ -0,0 +1,120 @@
+package act.util;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.osgl.$;
+import org.osgl.util.E;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Iterator;
+
+/**
+ * Utilities to iterate a sequence of elements that might be an `Iterable`,
+ * an `Iterator` or a `java.util.stream.Stream`.
+ *
+ * `Stream` is accessed through reflection as the framework is compiled
+ * for Java 7.
+ */
+public final class ElementStreams {
+
+    // `java.util.stream.BaseStream` if running on Java 8 or above
+    private static final Class<?> BASE_STREAM = baseStreamClass();
+    private static final Method STREAM_ITERATOR = null == BASE_STREAM ? null : $.getMethod(BASE_STREAM, "iterator");
+
+    private ElementStreams() {}
+
+    /**
+     * Check if a value shall be written element by element, i.e. the value
+     * is an `Iterator`, a `java.util.stream.Stream`, or an `Iterable` that
+     * is not a `Collection`, e.g. a DAO cursor.
+     *
+     * @param v
+     *         the value
+     * @return `true` if the elements of the value shall be streamed
+     */
+    public static boolean isElementStream(Object v) {
+        if (v instanceof Iterable) {
+            return !(v instanceof Collection) && !(v instanceof FastJsonIterable && ((FastJsonIterable) v).isCollection());
+        }
+        return v instanceof Iterator || isStream(v);
+    }
+
+    /**
+     * Check if a value is a `java.util.stream.BaseStream`.
+     *
+     * @param v
+     *         the value
+     * @return `true` if the value is a stream
+     */
+    public static boolean isStream(Object v) {
+        return null != BASE_STREAM && BASE_STREAM.isInstance(v);
+    }
+
+    /**
+     * Returns an iterator of the elements of an `Iterable`, `Iterator`
+     * or `java.util.stream.Stream`.
+     *
+     * @param v
+     *         the value
+     * @return the iterator
+     */
+    public static Iterator<?> iteratorOf(Object v) {
+        if (v instanceof Iterable) {
+            return ((Iterable<?>) v).iterator();
+        } else if (v instanceof Iterator) {
+            return (Iterator<?>) v;
+        }
+        E.illegalArgumentIfNot(isStream(v), "Iterable, Iterator or Stream expected: %s", v);
+        try {
+            return (Iterator<?>) STREAM_ITERATOR.invoke(v);
+        } catch (Exception e) {
+            throw E.unexpected(e);
+        }
+    }
+
+    /**
+     * Close an `Iterator` or a `java.util.stream.Stream` after all elements
+     * are read if it is `AutoCloseable`. An `Iterable` is not closed as it
+     * could be iterated again.
+     *
+     * @param v
+     *         the value
+     */
+    public static void close(Object v) {
+        if ((v instanceof Iterator || isStream(v)) && v instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) v).close();
+            } catch (Exception e) {
+                // ignore
+            }
+        }
+    }
+
+    private static Class<?> baseStreamClass() {
+        try {
+            return Class.forName("java.util.stream.BaseStream");
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+    }
+
+}
@@ -22,6 +22,7 @@ package act.util;
 
 import org.osgl.util.E;
 
+import java.util.Collection;
 import java.util.Iterator;
 
 /**
@@ -40,4 +41,13 @@ public class FastJsonIterable<T> implements Iterable<T> {
     public Iterator<T> iterator() {
         return it.iterator();
     }
+
+    /**
+     * Check if the wrapped iterable is a `Collection`.
+     *
+     * @return `true` if the wrapped iterable is a collection
+     */
+    public boolean isCollection() {
+        return it instanceof Collection;
+    }
 }
@@ -25,10 +25,13 @@ import act.data.DataPropertyRepository;
 import act.data.util.StringOrPattern;
 import com.alibaba.fastjson.serializer.JSONSerializer;
 import com.alibaba.fastjson.serializer.PropertyPreFilter;
+import org.osgl.$;
 import org.osgl.util.FastStr;
 import org.osgl.util.S;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.regex.Pattern;
 
 /**
@@ -214,18 +217,37 @@ public class FastJsonPropertyPreFilter implements PropertyPreFilter {
         return false;
     }
 
+    @Override
+    public int hashCode() {
+        return $.hc(includes, excludes, fullPaths);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (obj instanceof FastJsonPropertyPreFilter) {
+            FastJsonPropertyPreFilter that = (FastJsonPropertyPreFilter) obj;
+            return $.eq(that.includes, this.includes)
+                    && $.eq(that.excludes, this.excludes)
+                    && $.eq(that.fullPaths, this.fullPaths);
+        }
+        return false;
+    }
+
     public static boolean hasPattern(Collection<String> paths) {
         return S.join("", paths).contains("*");
     }
 
-    private static Map<Collection<String>, List<StringOrPattern>> spCache;
+    private static ConcurrentMap<Collection<String>, List<StringOrPattern>> spCache;
 
     public static void classInit(App app) {
-        spCache = app.createMap();
+        spCache = app.createConcurrentMap();
     }
 
     public static void testClassInit() {
-        spCache = new HashMap<>();
+        spCache = new ConcurrentHashMap<>();
     }
 
     private boolean patternMatches(Set<String> paths, String path, boolean exclude) {
@@ -253,7 +275,10 @@ public class FastJsonPropertyPreFilter implements PropertyPreFilter {
             for (String s : strings) {
                 ret.add(new StringOrPattern(s));
             }
-            spCache.put(strings, ret);
+            List<StringOrPattern> cached = spCache.putIfAbsent(strings, ret);
+            if (null != cached) {
+                ret = cached;
+            }
         }
         return ret;
     }
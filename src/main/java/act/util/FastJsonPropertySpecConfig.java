@@ -0,0 +1,299 @@
+package act.util;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import com.alibaba.fastjson.PropertyNamingStrategy;
+import com.alibaba.fastjson.annotation.JSONField;
+import com.alibaba.fastjson.serializer.*;
+import com.alibaba.fastjson.util.FieldInfo;
+import com.alibaba.fastjson.util.TypeUtils;
+import org.joda.time.ReadableInstant;
+import org.joda.time.ReadablePartial;
+import org.osgl.$;
+
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A `SerializeConfig` that applies a {@link FastJsonPropertyPreFilter} at
+ * compile time.
+ *
+ * The property paths of the root bean type are walked once and each bean type
+ * reached through the selected properties gets a serializer built from the
+ * selected properties only. Thus the property filter is not evaluated when
+ * these beans are written.
+ *
+ * Bean types that cannot be compiled, e.g. a type reached through different
+ * paths with different property selections, or a subtype of the declared
+ * property type, are written with the property filter applied, and so are
+ * the values nested in them.
+ */
+public class FastJsonPropertySpecConfig extends SerializeConfig {
+
+    private final SerializeConfig base;
+    private final FastJsonPropertyPreFilter filter;
+
+    // serializers of the compiled bean types, read only once compiled
+    private final Map<Class<?>, ObjectSerializer> compiled = new HashMap<>();
+
+    // serializers used out of filtered beans
+    private final ConcurrentMap<Class<?>, ObjectSerializer> serializers = new ConcurrentHashMap<>();
+
+    // serializers used within filtered beans
+    private final ConcurrentMap<Class<?>, ObjectSerializer> filteredSerializers = new ConcurrentHashMap<>();
+
+    // the depth of filtered beans being written on the current thread
+    private final ThreadLocal<int[]> filterDepth = new ThreadLocal<int[]>() {
+        @Override
+        protected int[] initialValue() {
+            return new int[1];
+        }
+    };
+
+    private FastJsonPropertySpecConfig(SerializeConfig base, FastJsonPropertyPreFilter filter) {
+        this.base = base;
+        this.filter = filter;
+        this.propertyNamingStrategy = base.propertyNamingStrategy;
+    }
+
+    @Override
+    public ObjectSerializer getObjectWriter(Class<?> clazz) {
+        if (0 < filterDepth.get()[0]) {
+            return filteredSerializer(clazz);
+        }
+        ObjectSerializer serializer = compiled.get(clazz);
+        if (null != serializer) {
+            return serializer;
+        }
+        serializer = serializers.get(clazz);
+        if (null == serializer) {
+            serializer = filteredSerializer(clazz);
+            if (!isValueType(clazz) && !isContainerType(clazz)) {
+                serializer = new FilteringSerializer(serializer);
+            }
+            ObjectSerializer existing = serializers.putIfAbsent(clazz, serializer);
+            if (null != existing) {
+                serializer = existing;
+            }
+        }
+        return serializer;
+    }
+
+    private ObjectSerializer filteredSerializer(Class<?> clazz) {
+        ObjectSerializer serializer = filteredSerializers.get(clazz);
+        if (null == serializer) {
+            serializer = base.getObjectWriter(clazz);
+            if (serializer instanceof JavaBeanSerializer) {
+                // the bean serializer of the base config caches the
+                // serializers of property values resolved from the base config
+                serializer = createJavaBeanSerializer(clazz);
+            }
+            ObjectSerializer existing = filteredSerializers.putIfAbsent(clazz, serializer);
+            if (null != existing) {
+                serializer = existing;
+            }
+        }
+        return serializer;
+    }
+
+    /**
+     * Compile a property filter for a root bean type.
+     *
+     * @param beanClass
+     *         the type of the bean, or the element type of the collection, to be written
+     * @param filter
+     *         the property filter
+     * @param base
+     *         the config that provides the serializers of non-bean types and the
+     *         property naming strategy
+     * @return the compiled config or `null` if no bean type could be compiled
+     */
+    public static FastJsonPropertySpecConfig compile(Class<?> beanClass, FastJsonPropertyPreFilter filter, SerializeConfig base) {
+        Compiler compiler = new Compiler(filter, base);
+        if (!compiler.walkType(beanClass, null, "")) {
+            return null;
+        }
+        FastJsonPropertySpecConfig config = new FastJsonPropertySpecConfig(base, filter);
+        for (Map.Entry<Class<?>, Map<String, String>> entry : compiler.selections.entrySet()) {
+            Class<?> type = entry.getKey();
+            if (compiler.conflicts.contains(type)) {
+                continue;
+            }
+            Map<String, String> selected = entry.getValue();
+            if (TypeUtils.computeGetters(type, selected).size() != selected.size()) {
+                // some property is not recognized by its name
+                continue;
+            }
+            config.compiled.put(type, config.createJavaBeanSerializer(TypeUtils.buildBeanInfo(type, selected, config.propertyNamingStrategy)));
+        }
+        return config.compiled.isEmpty() ? null : config;
+    }
+
+    private static boolean isValueType(Class<?> c) {
+        if (Object.class == c) {
+            return false;
+        }
+        return c.isPrimitive() || c.isEnum() || $.isSimpleType(c)
+                || (c.getName().startsWith("java.") && !Map.class.isAssignableFrom(c))
+                || ReadableInstant.class.isAssignableFrom(c)
+                || ReadablePartial.class.isAssignableFrom(c);
+    }
+
+    private static boolean isContainerType(Class<?> c) {
+        return c.isArray() || Iterable.class.isAssignableFrom(c) || Iterator.class.isAssignableFrom(c);
+    }
+
+    /*
+     * Add the property filter to the serializer while writing a bean that
+     * is not compiled
+     */
+    private class FilteringSerializer implements ObjectSerializer {
+
+        private final ObjectSerializer serializer;
+
+        FilteringSerializer(ObjectSerializer serializer) {
+            this.serializer = serializer;
+        }
+
+        @Override
+        public void write(JSONSerializer jsonSerializer, Object object, Object fieldName, Type fieldType, int features) throws IOException {
+            List<PropertyPreFilter> preFilters = jsonSerializer.getPropertyPreFilters();
+            int[] depth = filterDepth.get();
+            preFilters.add(filter);
+            depth[0]++;
+            try {
+                serializer.write(jsonSerializer, object, fieldName, fieldType, features);
+            } finally {
+                depth[0]--;
+                preFilters.remove(filter);
+            }
+        }
+    }
+
+    /*
+     * Walks property paths from the root bean type and finds out the
+     * properties selected for each bean type
+     */
+    private static class Compiler {
+
+        private final FastJsonPropertyPreFilter filter;
+        private final SerializeConfig base;
+        private final PropertyNamingStrategy namingStrategy;
+
+        // bean type to selected property names
+        private final Map<Class<?>, Map<String, String>> selections = new HashMap<>();
+        // bean types selected differently at different paths
+        private final Set<Class<?>> conflicts = new HashSet<>();
+        private final Set<Class<?>> walking = new HashSet<>();
+
+        Compiler(FastJsonPropertyPreFilter filter, SerializeConfig base) {
+            this.filter = filter;
+            this.base = base;
+            this.namingStrategy = base.propertyNamingStrategy;
+        }
+
+        /*
+         * Returns `false` if a value of any type could be found at the path
+         * thus the filter cannot be compiled
+         */
+        boolean walkType(Class<?> type, Type genericType, String prefix) {
+            if (type.isArray()) {
+                Class<?> componentType = type.getComponentType();
+                return walkType(componentType, componentType, prefix);
+            }
+            if (Iterable.class.isAssignableFrom(type) || Iterator.class.isAssignableFrom(type)) {
+                Class<?> elementType = elementTypeOf(genericType);
+                return null != elementType && walkType(elementType, elementType, prefix);
+            }
+            if (Map.class.isAssignableFrom(type)) {
+                // map is written with the property filter
+                return true;
+            }
+            if (isValueType(type)) {
+                return true;
+            }
+            if (Object.class == type || type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+                return false;
+            }
+            if (base.getObjectWriter(type) instanceof JavaBeanSerializer) {
+                return walkBean(type, prefix);
+            }
+            // written by a custom serializer with the property filter
+            return true;
+        }
+
+        private boolean walkBean(Class<?> type, String prefix) {
+            if (!walking.add(type)) {
+                conflicts.add(type);
+                return true;
+            }
+            try {
+                Map<String, String> selected = new LinkedHashMap<>();
+                for (FieldInfo fieldInfo : TypeUtils.computeGetters(type, null)) {
+                    String path = prefix + outputName(fieldInfo);
+                    if (!filter.matches(path)) {
+                        continue;
+                    }
+                    selected.put(fieldInfo.name, fieldInfo.name);
+                    if (!walkType(fieldInfo.fieldClass, fieldInfo.fieldType, path + ".")) {
+                        return false;
+                    }
+                }
+                Map<String, String> existing = selections.get(type);
+                if (null == existing) {
+                    selections.put(type, selected);
+                } else if (!existing.equals(selected)) {
+                    conflicts.add(type);
+                }
+                return true;
+            } finally {
+                walking.remove(type);
+            }
+        }
+
+        private String outputName(FieldInfo fieldInfo) {
+            if (null == namingStrategy) {
+                return fieldInfo.name;
+            }
+            JSONField annotation = fieldInfo.getAnnotation();
+            if (null != annotation && annotation.name().length() > 0) {
+                return fieldInfo.name;
+            }
+            return namingStrategy.translate(fieldInfo.name);
+        }
+
+        private static Class<?> elementTypeOf(Type genericType) {
+            if (genericType instanceof ParameterizedType) {
+                Type[] typeArgs = ((ParameterizedType) genericType).getActualTypeArguments();
+                if (typeArgs.length == 1 && typeArgs[0] instanceof Class) {
+                    return (Class<?>) typeArgs[0];
+                }
+            }
+            return null;
+        }
+    }
+
+}
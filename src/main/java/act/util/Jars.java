@@ -33,6 +33,7 @@ import org.osgl.util.S;
 import java.io.*;
 import java.net.URL;
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 
@@ -66,6 +67,84 @@ public enum Jars {
         return idx;
     }
 
+    /**
+     * Build class name index of jar files, scanning the jar files in parallel.
+     *
+     * Each jar file is scanned into its own index, and the indexes are merged in
+     * the order of the jar list, thus the result is the same as scanning the jar
+     * files one by one.
+     *
+     * @param jars
+     *         the jar files
+     * @param ignoredClassNames
+     *         the function tests if a class shall be ignored
+     * @param confIndex
+     *         if not `null` then app config files found in jars are loaded into it
+     * @return the class name index
+     */
+    public static Map<String, byte[]> buildClassNameIndex(List<File> jars, final $.Function<String, Boolean> ignoredClassNames, Map<String, Properties> confIndex) {
+        final boolean loadConf = null != confIndex;
+        int parallelism = Math.min(jars.size(), Runtime.getRuntime().availableProcessors());
+        final Map<String, byte[]> idx = new HashMap<>();
+        if (parallelism < 2) {
+            F.JarEntryVisitor classNameIndexBuilder = F.classNameIndexBuilder(idx, ignoredClassNames);
+            for (File jar : jars) {
+                if (loadConf) {
+                    scan(jar, classNameIndexBuilder, F.appConfigFileIndexBuilder(confIndex));
+                } else {
+                    scan(jar, classNameIndexBuilder);
+                }
+            }
+            return idx;
+        }
+        List<Callable<JarIndex>> tasks = new ArrayList<>(jars.size());
+        for (final File jar : jars) {
+            tasks.add(new Callable<JarIndex>() {
+                @Override
+                public JarIndex call() {
+                    JarIndex jarIndex = new JarIndex();
+                    F.JarEntryVisitor classNameIndexBuilder = F.classNameIndexBuilder(jarIndex.classes, ignoredClassNames);
+                    if (loadConf) {
+                        scan(jar, classNameIndexBuilder, F.appConfigFileIndexBuilder(jarIndex.conf));
+                    } else {
+                        scan(jar, classNameIndexBuilder);
+                    }
+                    return jarIndex;
+                }
+            });
+        }
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            for (Future<JarIndex> future : pool.invokeAll(tasks)) {
+                JarIndex jarIndex = future.get();
+                idx.putAll(jarIndex.classes);
+                if (loadConf) {
+                    for (Map.Entry<String, Properties> entry : jarIndex.conf.entrySet()) {
+                        Properties p = confIndex.get(entry.getKey());
+                        if (null == p) {
+                            confIndex.put(entry.getKey(), entry.getValue());
+                        } else {
+                            p.putAll(entry.getValue());
+                        }
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw E.unexpected(e, "interrupted scanning jar files");
+        } catch (ExecutionException e) {
+            throw E.unexpected(e.getCause(), "error scanning jar files");
+        } finally {
+            pool.shutdown();
+        }
+        return idx;
+    }
+
+    private static class JarIndex {
+        final Map<String, byte[]> classes = new HashMap<>();
+        final Map<String, Properties> conf = new HashMap<>();
+    }
+
     /**
      * If the class is loaded from a Jar file, then return that file. Otherwise
      * return {@code null}
@@ -54,11 +54,17 @@ public class JsonUtilConfig {
     public static class JsonWriter extends $.Visitor<Writer> {
 
         private final Object v;
+        // write elements one by one, see `ElementStreams.isElementStream(Object)`
+        private boolean elementStream;
         private SerializerFeature[] features;
         private SerializeFilter[] filters;
         private SerializeConfig config;
         private DateFormat dateFormat;
         private boolean disableCircularReferenceDetect = true;
+        private FastJsonPropertyPreFilter propertyFilter;
+        private DataPropertyRepository propertyRepository;
+        // whether the property filter has been tried to compile
+        private boolean propertyFilterCompiled;
 
         public JsonWriter(Object v, PropertySpec.MetaInfo spec, boolean format, ActContext context) {
             if (null == v) {
@@ -79,6 +85,7 @@ public class JsonUtilConfig {
                 }
             } else {
                 this.v = v;
+                this.elementStream = ElementStreams.isElementStream(v);
                 AppConfig config = Act.appConfig();
                 Locale locale = null == context ? config.locale() : context.locale(true);
                 String dateFormatPattern = null == context ? null : context.dateFormatPattern();
@@ -97,15 +104,18 @@ public class JsonUtilConfig {
                     this.dateFormat = new SimpleDateFormat(dateFormatPattern, locale);
                 }
                 this.disableCircularReferenceDetect = null == spec && context.isDisableCircularReferenceDetect();
+                this.config = initConfig(context);
                 this.filters = initFilters(v, spec, context);
                 this.features = initFeatures(format, context);
-                this.config = initConfig(context);
+                if (!elementStream) {
+                    compilePropertyFilter(beanClassOf(v));
+                }
             }
         }
 
         private SerializeFilter[] initFilters(Object v, PropertySpec.MetaInfo spec, ActContext context) {
             Set<SerializeFilter> filterSet = new LinkedHashSet<>();
-            FastJsonPropertyPreFilter propertyFilter = initPropertyPreFilter(v, spec, context);
+            propertyFilter = initPropertyPreFilter(v, spec, context);
             if (null != spec && null != context) {
                 MappedFastJsonNameFilter nameFilter = new MappedFastJsonNameFilter(spec.labelMapping(context));
                 filterSet.add(nameFilter);
@@ -169,7 +179,50 @@ public class JsonUtilConfig {
             if (outputs.isEmpty() && excluded.isEmpty()) {
                 return null;
             }
-            return new FastJsonPropertyPreFilter(v.getClass(), outputs, excluded, context.app().service(DataPropertyRepository.class));
+            propertyRepository = context.app().service(DataPropertyRepository.class);
+            return new FastJsonPropertyPreFilter(v.getClass(), outputs, excluded, propertyRepository);
+        }
+
+        /*
+         * Replace the property filter with a serialize config compiled from
+         * the filter for the bean class if possible.
+         */
+        private void compilePropertyFilter(Class<?> beanClass) {
+            if (propertyFilterCompiled || null == propertyFilter) {
+                return;
+            }
+            propertyFilterCompiled = true;
+            if (null == beanClass) {
+                return;
+            }
+            SerializeConfig compiled = propertyRepository.propertySpecConfig(beanClass, propertyFilter, config);
+            if (null == compiled) {
+                return;
+            }
+            config = compiled;
+            List<SerializeFilter> list = new ArrayList<>(filters.length);
+            for (SerializeFilter filter : filters) {
+                if (filter != propertyFilter) {
+                    list.add(filter);
+                }
+            }
+            filters = list.toArray(new SerializeFilter[list.size()]);
+        }
+
+        /*
+         * Returns the class of the bean, or the class of the first element if
+         * the value is a collection. `null` is returned if the value is neither
+         */
+        private static Class<?> beanClassOf(Object v) {
+            if (v instanceof Collection) {
+                Collection<?> col = (Collection<?>) v;
+                Object first = col.isEmpty() ? null : col.iterator().next();
+                return null == first ? null : first.getClass();
+            }
+            if (v instanceof Iterable || v instanceof Map || v.getClass().isArray()) {
+                return null;
+            }
+            return v.getClass();
         }
 
         @Override
@@ -178,9 +231,60 @@ public class JsonUtilConfig {
                 IO.write((CharSequence) v, writer);
                 return;
             }
+            if (elementStream) {
+                writeElements(writer);
+                return;
+            }
             writeJson(writer, v, config, filters, dateFormat, DEFAULT_GENERATE_FEATURE, features);
         }
 
+        /*
+         * Write elements as a JSON array one by one. Each element is written
+         * by a new serializer so references to written elements are not kept
+         */
+        private void writeElements(Writer os) {
+            Iterator<?> itr = ElementStreams.iteratorOf(v);
+            SerializeWriter writer = new SerializeWriter(os, DEFAULT_GENERATE_FEATURE, features);
+            try {
+                writer.write('[');
+                boolean first = true;
+                while (itr.hasNext()) {
+                    Object element = itr.next();
+                    if (first) {
+                        first = false;
+                        compilePropertyFilter(null == element ? null : element.getClass());
+                    } else {
+                        writer.write(',');
+                    }
+                    newSerializer(writer, config, filters, dateFormat).write(element);
+                }
+                writer.write(']');
+            } finally {
+                writer.close();
+                ElementStreams.close(v);
+            }
+        }
+
+        /**
+         * Write a single element with the filters and features of this writer.
+         *
+         * @param os
+         *         the writer to which the element is written
+         * @param element
+         *         the element
+         */
+        public void writeElement(Writer os, Object element) {
+            if (null != element) {
+                compilePropertyFilter(element.getClass());
+            }
+            SerializeWriter writer = new SerializeWriter(os, DEFAULT_GENERATE_FEATURE, features);
+            try {
+                newSerializer(writer, config, filters, dateFormat).write(element);
+            } finally {
+                writer.close();
+            }
+        }
+
         public $.Func0<String> asContentProducer() {
             final JsonWriter me = this;
             return new $.Func0<String>() {
@@ -257,22 +361,29 @@ public class JsonUtilConfig {
         SerializeWriter writer = new SerializeWriter(os, defaultFeatures, features);
 
         try {
-            JSONSerializer serializer = new JSONSerializer(writer, config);
+            newSerializer(writer, config, filters, dateFormat).write(object);
+        } finally {
+            writer.close();
+        }
+    }
 
-            if (dateFormat != null) {
-                serializer.setDateFormat(dateFormat);
-                serializer.config(SerializerFeature.WriteDateUseDateFormat, true);
-            }
+    private static JSONSerializer newSerializer(SerializeWriter writer, //
+                                                SerializeConfig config, //
+                                                SerializeFilter[] filters, //
+                                                DateFormat dateFormat) {
+        JSONSerializer serializer = new JSONSerializer(writer, config);
 
-            if (filters != null) {
-                for (SerializeFilter filter : filters) {
-                    serializer.addFilter(filter);
-                }
+        if (dateFormat != null) {
+            serializer.setDateFormat(dateFormat);
+            serializer.config(SerializerFeature.WriteDateUseDateFormat, true);
+        }
+
+        if (filters != null) {
+            for (SerializeFilter filter : filters) {
+                serializer.addFilter(filter);
             }
-            serializer.write(object);
-        } finally {
-            writer.close();
         }
+        return serializer;
     }
 
     private static class Bean {
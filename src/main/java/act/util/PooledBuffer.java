@@ -0,0 +1,78 @@
+package act.util;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * A `ByteBuffer` borrowed from a {@link BufferPool}.
+ *
+ * The buffer must be released once it is no longer used, after which
+ * the buffer must not be accessed anymore. Releasing a buffer more than
+ * once has no effect.
+ */
+public abstract class PooledBuffer implements Closeable {
+
+    private static final AtomicIntegerFieldUpdater<PooledBuffer> RELEASED = AtomicIntegerFieldUpdater.newUpdater(PooledBuffer.class, "released");
+
+    private final ByteBuffer buffer;
+    private volatile int released;
+    // not null if leak detection is enabled
+    BufferPool.LeakTracker leakTracker;
+
+    protected PooledBuffer(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    /**
+     * Returns the buffer.
+     *
+     * @return the buffer
+     */
+    public ByteBuffer buffer() {
+        return buffer;
+    }
+
+    /**
+     * Returns the buffer to the pool.
+     */
+    public final void release() {
+        if (RELEASED.compareAndSet(this, 0, 1)) {
+            if (null != leakTracker) {
+                leakTracker.untrack();
+            }
+            free();
+        }
+    }
+
+    @Override
+    public void close() {
+        release();
+    }
+
+    /**
+     * Give back the buffer to where it is allocated from.
+     */
+    protected abstract void free();
+
+}
@@ -0,0 +1,118 @@
+package act.util;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * An `OutputStream` that collects bytes in buffers of a {@link BufferPool}.
+ *
+ * When the current buffer is full, the content is moved to a buffer of the
+ * next size class and the current buffer is released. {@link #release()}
+ * must be called once the content is consumed.
+ */
+public class PooledOutputStream extends OutputStream {
+
+    // null if there is no buffer pool
+    private final BufferPool pool;
+    private PooledBuffer pooled;
+    private ByteBuffer buffer;
+
+    /**
+     * Construct a `PooledOutputStream`.
+     *
+     * @param pool
+     *         the buffer pool, if `null` then heap buffers are used
+     */
+    public PooledOutputStream(BufferPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public void write(int b) {
+        ensureCapacity(1);
+        buffer.put((byte) b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        ensureCapacity(len);
+        buffer.put(b, off, len);
+    }
+
+    /**
+     * Returns the number of bytes written.
+     *
+     * @return the size of the content
+     */
+    public int size() {
+        return null == buffer ? 0 : buffer.position();
+    }
+
+    /**
+     * Returns a copy of the content.
+     *
+     * @return the content
+     */
+    public byte[] toByteArray() {
+        byte[] ba = new byte[size()];
+        if (null != buffer) {
+            ByteBuffer content = buffer.duplicate();
+            content.flip();
+            content.get(ba);
+        }
+        return ba;
+    }
+
+    /**
+     * Release the buffer to the pool. The content is discarded.
+     */
+    public void release() {
+        if (null != pooled) {
+            pooled.release();
+            pooled = null;
+            buffer = null;
+        }
+    }
+
+    private void ensureCapacity(int len) {
+        if (null == buffer) {
+            pooled = acquire(Math.max(len, BufferPool.MIN_BUFFER_SIZE));
+            buffer = pooled.buffer();
+            return;
+        }
+        if (buffer.remaining() >= len) {
+            return;
+        }
+        PooledBuffer larger = acquire(Math.max(buffer.position() + len, buffer.capacity() << 1));
+        buffer.flip();
+        larger.buffer().put(buffer);
+        pooled.release();
+        pooled = larger;
+        buffer = larger.buffer();
+    }
+
+    private PooledBuffer acquire(int size) {
+        return null == pool ? BufferPool.unpooled(ByteBuffer.allocate(size)) : pool.acquire(size);
+    }
+
+}
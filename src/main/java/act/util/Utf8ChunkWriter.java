@@ -0,0 +1,149 @@
+package act.util;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.osgl.util.E;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+
+/**
+ * A `Writer` encodes chars into UTF-8 bytes and writes them to an
+ * `OutputStream` in chunks of fixed size.
+ *
+ * A chunk is written and the output stream is flushed once the chunk
+ * is full, thus the content is sent to the client while it is being
+ * generated. {@link #flush()} does not send a partial chunk, the last
+ * chunk is sent when the writer is closed.
+ */
+public class Utf8ChunkWriter extends Writer {
+
+    private static final byte REPLACEMENT = '?';
+
+    private final OutputStream os;
+    private final byte[] chunk;
+    private int pos;
+    // pending high surrogate written at the end of the last `write` call
+    private char highSurrogate;
+    private boolean closed;
+
+    public Utf8ChunkWriter(OutputStream os, int chunkSize) {
+        E.illegalArgumentIf(chunkSize < 4, "chunk size shall not be less than 4: %s", chunkSize);
+        this.os = os;
+        this.chunk = new byte[chunkSize];
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        encode((char) c);
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        for (int i = off, end = off + len; i < end; ++i) {
+            encode(cbuf[i]);
+        }
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        for (int i = off, end = off + len; i < end; ++i) {
+            encode(str.charAt(i));
+        }
+    }
+
+    @Override
+    public void flush() {
+        // only complete chunks are sent, see `close()`
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (0 != highSurrogate) {
+            highSurrogate = 0;
+            put(REPLACEMENT);
+        }
+        try {
+            writeChunk();
+        } finally {
+            os.close();
+        }
+    }
+
+    private void encode(char c) throws IOException {
+        if (0 != highSurrogate) {
+            char high = highSurrogate;
+            highSurrogate = 0;
+            if (Character.isLowSurrogate(c)) {
+                int cp = Character.toCodePoint(high, c);
+                ensure(4);
+                chunk[pos++] = (byte) (0xF0 | (cp >> 18));
+                chunk[pos++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                chunk[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                chunk[pos++] = (byte) (0x80 | (cp & 0x3F));
+                return;
+            }
+            put(REPLACEMENT);
+        }
+        if (c < 0x80) {
+            put((byte) c);
+        } else if (c < 0x800) {
+            ensure(2);
+            chunk[pos++] = (byte) (0xC0 | (c >> 6));
+            chunk[pos++] = (byte) (0x80 | (c & 0x3F));
+        } else if (Character.isHighSurrogate(c)) {
+            highSurrogate = c;
+        } else if (Character.isLowSurrogate(c)) {
+            put(REPLACEMENT);
+        } else {
+            ensure(3);
+            chunk[pos++] = (byte) (0xE0 | (c >> 12));
+            chunk[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            chunk[pos++] = (byte) (0x80 | (c & 0x3F));
+        }
+    }
+
+    private void put(byte b) throws IOException {
+        ensure(1);
+        chunk[pos++] = b;
+    }
+
+    // a multi-byte char never spans two chunks
+    private void ensure(int len) throws IOException {
+        if (pos + len > chunk.length) {
+            writeChunk();
+        }
+    }
+
+    private void writeChunk() throws IOException {
+        if (pos > 0) {
+            os.write(chunk, 0, pos);
+            os.flush();
+            pos = 0;
+        }
+    }
+
+}
@@ -0,0 +1,65 @@
+package act.view;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.util.ActContext;
+import act.util.CsvFormatter;
+import act.util.PropertySpec;
+import org.osgl.$;
+import org.osgl.util.IO;
+
+import java.io.Writer;
+
+/**
+ * Encodes rows into CSV lines. The header line is built from
+ * the type of the first row.
+ */
+class CsvRowEncoder extends RowEncoder {
+
+    private final PropertySpec.MetaInfo spec;
+    private final ActContext context;
+    private CsvFormatter formatter;
+
+    CsvRowEncoder(Object source, PropertySpec.MetaInfo spec, ActContext context) {
+        super(source, "csv");
+        this.spec = spec;
+        this.context = context;
+    }
+
+    @Override
+    protected void writeRow(Object row, boolean first, Writer writer) {
+        if (null == row) {
+            return;
+        }
+        if (first) {
+            formatter = CsvFormatter.of(row.getClass(), spec, context);
+            if (null == formatter) {
+                return;
+            }
+            IO.write(formatter.headerLine(), writer);
+        } else if (null == formatter) {
+            return;
+        }
+        IO.write($.OS.lineSeparator(), writer);
+        IO.write(formatter.dataLine(row), writer);
+    }
+
+}
@@ -22,6 +22,7 @@ package act.view;
 
 import act.app.ActionContext;
 import act.util.ActContext;
+import act.util.ElementStreams;
 import act.util.JsonUtilConfig;
 import act.util.PropertySpec;
 import org.osgl.$;
@@ -97,7 +98,7 @@ public class FilteredRenderJSON extends RenderJSON {
         } else if (v instanceof $.Visitor) {
             touchPayload().contentWriter(($.Visitor) v);
         } else {
-            if (context.isLargeResponse() || v instanceof Iterable) {
+            if (context.isLargeResponse() || v instanceof Iterable || ElementStreams.isElementStream(v)) {
                 touchPayload().contentWriter(new JsonUtilConfig.JsonWriter(v, spec, false, context));
             } else {
                 touchPayload().stringContentProducer(new JsonUtilConfig.JsonWriter(v, spec, false, context).asContentProducer());
@@ -0,0 +1,49 @@
+package act.view;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.util.ActContext;
+import act.util.JsonUtilConfig;
+import act.util.PropertySpec;
+import org.osgl.util.IO;
+
+import java.io.Writer;
+
+/**
+ * Encodes rows into newline delimited JSON, i.e. one JSON
+ * object per line.
+ */
+class NdJsonRowEncoder extends RowEncoder {
+
+    private final JsonUtilConfig.JsonWriter jsonWriter;
+
+    NdJsonRowEncoder(Object source, PropertySpec.MetaInfo spec, ActContext context) {
+        super(source, "ndjson");
+        this.jsonWriter = new JsonUtilConfig.JsonWriter(source, spec, false, context);
+    }
+
+    @Override
+    protected void writeRow(Object row, boolean first, Writer writer) {
+        jsonWriter.writeElement(writer, row);
+        IO.write("\n", writer);
+    }
+
+}
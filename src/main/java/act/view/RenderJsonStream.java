@@ -0,0 +1,107 @@
+package act.view;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.ActResponse;
+import act.app.ActionContext;
+import act.util.ElementStreams;
+import act.util.JsonUtilConfig;
+import act.util.PropertySpec;
+import act.util.Utf8ChunkWriter;
+import org.osgl.http.H;
+import org.osgl.mvc.result.Result;
+import org.osgl.util.E;
+
+import java.util.Collection;
+
+/**
+ * Render an `Iterable`, `Iterator` or `java.util.stream.Stream` as a JSON array.
+ *
+ * Elements are serialized one by one and written to the response output stream
+ * as UTF-8 bytes in chunks of `render.json.stream.chunk_size`. The content length
+ * is unknown, thus the response is sent with chunked transfer encoding and the
+ * client receives the first chunk before the last element is read.
+ *
+ * {@link PropertySpec} is applied to the elements the same way as
+ * {@link FilteredRenderJSON} does.
+ */
+public class RenderJsonStream extends Result {
+
+    private final JsonUtilConfig.JsonWriter jsonWriter;
+    private final int chunkSize;
+
+    public RenderJsonStream(H.Status status, Object v, PropertySpec.MetaInfo spec, ActionContext context) {
+        super(status);
+        this.jsonWriter = new JsonUtilConfig.JsonWriter(v, spec, false, context);
+        this.chunkSize = context.config().renderJsonStreamChunkSize();
+    }
+
+    @Override
+    public void apply(H.Request req, H.Response resp) {
+        try {
+            applyCookies(resp);
+            applyHeaders(resp);
+            applyStatus(resp);
+            ActResponse actResp = (ActResponse) resp;
+            actResp.contentType(H.Format.JSON);
+            actResp.characterEncoding("utf-8");
+            actResp.commitContentType();
+            applyBeforeCommitHandler(req, resp);
+            Utf8ChunkWriter writer = new Utf8ChunkWriter(resp.outputStream(), chunkSize);
+            try {
+                jsonWriter.visit(writer);
+            } finally {
+                // send the last partial chunk
+                writer.close();
+            }
+        } catch (Exception e) {
+            throw E.unexpected(e);
+        } finally {
+            try {
+                resp.commit();
+                applyAfterCommitHandler(req, resp);
+            } finally {
+                clearThreadLocals();
+            }
+        }
+    }
+
+    /**
+     * Check if a value shall be rendered with `RenderJsonStream`.
+     *
+     * A value is streamed if it is an `Iterator`, a `java.util.stream.Stream`
+     * or an `Iterable` that is not a `Collection`. A `Collection` is streamed
+     * only if the current handler is marked as large response.
+     *
+     * @param v
+     *         the value to be rendered
+     * @param context
+     *         the action context
+     * @return `true` if the value shall be streamed
+     */
+    public static boolean accept(Object v, ActionContext context) {
+        if (v instanceof Collection) {
+            return context.isLargeResponse();
+        }
+        return ElementStreams.isElementStream(v);
+    }
+
+}
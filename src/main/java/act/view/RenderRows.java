@@ -0,0 +1,151 @@
+package act.view;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.ActResponse;
+import act.app.ActionContext;
+import act.util.ElementStreams;
+import act.util.PropertySpec;
+import org.osgl.http.H;
+import org.osgl.mvc.result.Result;
+
+import java.util.Collection;
+
+/**
+ * Render rows of an `Iterable`, `Iterator` or `java.util.stream.Stream`
+ * as CSV or newline delimited JSON (NDJSON).
+ *
+ * Rows are pulled from the source lazily and encoded into buffers of the
+ * response, the next rows are encoded only after the previous buffer is
+ * written to the client. On a non-blocking exchange the encoding is
+ * suspended while the response channel is not writable, thus exporting
+ * a large data set does not hold the whole content in memory.
+ *
+ * Note rows are read after the handler returns, possibly in a different
+ * thread. The source shall not depend on resources released at the end
+ * of the handler method.
+ *
+ * @see act.ActResponse#send(act.util.ChunkEncoder)
+ */
+public class RenderRows extends Result {
+
+    /**
+     * The content type of newline delimited JSON
+     */
+    public static final String NDJSON_CONTENT_TYPE = "application/x-ndjson";
+
+    private final RowEncoder encoder;
+    private final String contentType;
+    private final String attachmentName;
+
+    private RenderRows(H.Status status, RowEncoder encoder, String contentType, String attachmentName) {
+        super(status);
+        this.encoder = encoder;
+        this.contentType = contentType;
+        this.attachmentName = attachmentName;
+    }
+
+    @Override
+    public void apply(H.Request req, H.Response resp) {
+        try {
+            applyCookies(resp);
+            applyHeaders(resp);
+            applyStatus(resp);
+            ActResponse actResp = (ActResponse) resp;
+            actResp.contentType(contentType);
+            actResp.characterEncoding("utf-8");
+            actResp.commitContentType();
+            if (null != attachmentName) {
+                resp.contentDisposition(attachmentName, false);
+            }
+            applyBeforeCommitHandler(req, resp);
+            actResp.send(encoder);
+        } finally {
+            clearThreadLocals();
+        }
+    }
+
+    /**
+     * Render rows as CSV.
+     *
+     * @param status
+     *         the response status
+     * @param v
+     *         the rows
+     * @param spec
+     *         the property spec
+     * @param context
+     *         the action context
+     * @return the result
+     */
+    public static RenderRows csv(H.Status status, Object v, PropertySpec.MetaInfo spec, ActionContext context) {
+        return new RenderRows(status, new CsvRowEncoder(v, spec, context), H.Format.CSV.contentType(), context.attachmentName());
+    }
+
+    /**
+     * Render rows as newline delimited JSON.
+     *
+     * @param status
+     *         the response status
+     * @param v
+     *         the rows
+     * @param spec
+     *         the property spec
+     * @param context
+     *         the action context
+     * @return the result
+     */
+    public static RenderRows ndjson(H.Status status, Object v, PropertySpec.MetaInfo spec, ActionContext context) {
+        return new RenderRows(status, new NdJsonRowEncoder(v, spec, context), NDJSON_CONTENT_TYPE, null);
+    }
+
+    /**
+     * Check if a value shall be rendered as rows streamed to the client, i.e.
+     * the value is an element stream, or a `Collection` while the response
+     * is expected to be large.
+     *
+     * @param v
+     *         the value returned by the handler
+     * @param context
+     *         the action context
+     * @return `true` if the value shall be rendered by `RenderRows`
+     * @see ElementStreams#isElementStream(Object)
+     */
+    public static boolean accept(Object v, ActionContext context) {
+        if (v instanceof Collection) {
+            return context.isLargeResponse();
+        }
+        return ElementStreams.isElementStream(v);
+    }
+
+    /**
+     * Check if the request accepts newline delimited JSON.
+     *
+     * @param context
+     *         the action context
+     * @return `true` if `application/x-ndjson` is found in the `Accept` header
+     */
+    public static boolean acceptNdJson(ActionContext context) {
+        String accept = context.req().header(H.Header.Names.ACCEPT);
+        return null != accept && accept.contains(NDJSON_CONTENT_TYPE);
+    }
+
+}
@@ -0,0 +1,180 @@
+package act.view;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.Act;
+import act.metric.Metric;
+import act.metric.MetricInfo;
+import act.metric.MetricPlugin;
+import act.metric.Timer;
+import act.util.ChunkEncoder;
+import act.util.ElementStreams;
+import org.osgl.util.S;
+
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * Encodes rows pulled from an `Iterable`, `Iterator` or `java.util.stream.Stream`
+ * into UTF-8 bytes.
+ *
+ * A row is read from the source only when the previous row has been encoded into
+ * the buffer, thus rows are read as fast as the response is sent to the client.
+ *
+ * The time spent on the whole content is measured by timer `act:render:stream:<format>`
+ * and each row is counted by counter `act:render:rows:<format>`, from which the row
+ * rate could be calculated.
+ */
+public abstract class RowEncoder implements ChunkEncoder {
+
+    private final Object source;
+    private final Iterator<?> rows;
+    private final CharsetEncoder charsetEncoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final RowBuffer row = new RowBuffer();
+    // chars of the current row not yet encoded
+    private CharBuffer pending;
+    private boolean first = true;
+    private boolean closed;
+
+    private final Metric metric;
+    private final String timerName;
+    private final String counterName;
+    private Timer timer;
+
+    protected RowEncoder(Object source, String format) {
+        this.source = source;
+        this.rows = ElementStreams.iteratorOf(source);
+        MetricPlugin metricPlugin = Act.metricPlugin();
+        this.metric = null == metricPlugin ? Metric.NULL_METRIC : metricPlugin.metric(MetricInfo.RENDER_STREAM);
+        this.timerName = S.concat(MetricInfo.RENDER_STREAM, Metric.PATH_SEPARATOR, format);
+        this.counterName = S.concat(MetricInfo.RENDER_ROWS, Metric.PATH_SEPARATOR, format);
+    }
+
+    @Override
+    public boolean encode(ByteBuffer buffer) {
+        if (null == timer) {
+            timer = metric.startTimer(timerName);
+        }
+        while (true) {
+            if (null != pending) {
+                CoderResult result = charsetEncoder.encode(pending, buffer, false);
+                if (result.isOverflow()) {
+                    return true;
+                }
+                // an incomplete surrogate pair at the end of a row is dropped
+                pending = null;
+            }
+            if (!rows.hasNext()) {
+                return false;
+            }
+            row.reset();
+            writeRow(rows.next(), first, row);
+            first = false;
+            metric.countOnce(counterName);
+            pending = row.chars();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (null != timer) {
+            timer.stop();
+        }
+        ElementStreams.close(source);
+    }
+
+    /**
+     * Write a row to the writer.
+     *
+     * @param row
+     *         the row data
+     * @param first
+     *         `true` if this is the first row
+     * @param writer
+     *         the writer to which the row is written
+     */
+    protected abstract void writeRow(Object row, boolean first, Writer writer);
+
+    /*
+     * A reusable char buffer for the current row
+     */
+    private static class RowBuffer extends Writer {
+        private char[] buf = new char[256];
+        private int count;
+
+        @Override
+        public void write(int c) {
+            ensure(1);
+            buf[count++] = (char) c;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            ensure(len);
+            System.arraycopy(cbuf, off, buf, count, len);
+            count += len;
+        }
+
+        @Override
+        public void write(String str, int off, int len) {
+            ensure(len);
+            str.getChars(off, off + len, buf, count);
+            count += len;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        void reset() {
+            count = 0;
+        }
+
+        CharBuffer chars() {
+            return CharBuffer.wrap(buf, 0, count);
+        }
+
+        private void ensure(int len) {
+            int required = count + len;
+            if (required > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(required, buf.length << 1));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,291 @@
+package act.xio;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.osgl.http.H;
+import org.osgl.util.S;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Encodes response content in gzip format.
+ *
+ * {@link Deflater} instances are pooled per thread, so worker threads
+ * compressing responses do not allocate the native deflate state for
+ * every request.
+ */
+public final class GzipEncoding {
+
+    public static final String GZIP = "gzip";
+
+    private static final byte[] HEADER = {
+            (byte) 0x1f, (byte) 0x8b, // magic
+            Deflater.DEFLATED, // compression method
+            0, // flags
+            0, 0, 0, 0, // modification time
+            0, // extra flags
+            (byte) 0xff // OS: unknown
+    };
+
+    private static final int TRAILER_SIZE = 8;
+
+    private static final String ETAG_SUFFIX = "-gzip";
+
+    private static final ThreadLocal<Deflater> POOL = new ThreadLocal<>();
+
+    private GzipEncoding() {}
+
+    /**
+     * Check if content of the given content type is worth compressing.
+     *
+     * @param contentType
+     *         the content type, might contains charset
+     * @return `true` if the content type is text based
+     */
+    public static boolean compressible(String contentType) {
+        if (null == contentType) {
+            return false;
+        }
+        return contentType.startsWith("text/") || contentType.contains("javascript")
+                || contentType.contains("json") || contentType.contains("xml")
+                || contentType.contains("svg") || contentType.contains("csv");
+    }
+
+    public static boolean compressible(H.Format format) {
+        return null != format && (format.isText() || compressible(format.contentType()));
+    }
+
+    /**
+     * Check if `gzip` is acceptable according to the `Accept-Encoding` header.
+     *
+     * @param acceptEncoding
+     *         the `Accept-Encoding` header value
+     * @return `true` if `gzip` or `*` is listed and not disabled by `q=0`
+     */
+    public static boolean accepted(String acceptEncoding) {
+        if (null == acceptEncoding) {
+            return false;
+        }
+        int len = acceptEncoding.length();
+        int start = 0;
+        while (start < len) {
+            int end = acceptEncoding.indexOf(',', start);
+            if (end < 0) {
+                end = len;
+            }
+            int paramStart = acceptEncoding.indexOf(';', start);
+            int codingEnd = paramStart > -1 && paramStart < end ? paramStart : end;
+            String coding = acceptEncoding.substring(start, codingEnd).trim();
+            if (GZIP.equalsIgnoreCase(coding) || "*".equals(coding) || "x-gzip".equalsIgnoreCase(coding)) {
+                return codingEnd == end || !zeroQuality(acceptEncoding.substring(codingEnd + 1, end));
+            }
+            start = end + 1;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the ETag of the gzip encoded representation of a resource,
+     * which must differ from the ETag of the identity representation as
+     * the content is different.
+     *
+     * @param etag
+     *         the ETag of the identity representation
+     * @return the ETag of the gzip encoded representation
+     */
+    public static String etag(String etag) {
+        if (etag.endsWith("\"")) {
+            // quoted entity tag
+            return S.concat(etag.substring(0, etag.length() - 1), ETAG_SUFFIX, "\"");
+        }
+        return S.concat(etag, ETAG_SUFFIX);
+    }
+
+    /**
+     * Check if the ETag sent with the request matches the ETag of a resource
+     * or the ETag of its gzip encoded representation.
+     *
+     * @param req
+     *         the request
+     * @param etag
+     *         the ETag of the identity representation, could be `null`
+     * @return `true` if the request ETag matches either representation
+     */
+    public static boolean etagMatches(H.Request req, String etag) {
+        return null != etag && (req.etagMatches(etag) || req.etagMatches(etag(etag)));
+    }
+
+    private static boolean zeroQuality(String params) {
+        String s = params.trim();
+        if (!s.startsWith("q=")) {
+            return false;
+        }
+        try {
+            return 0 == Double.parseDouble(s.substring(2).trim());
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Compress the remaining bytes of the buffer.
+     *
+     * @param buffer
+     *         the content
+     * @param level
+     *         the deflate level
+     * @return a heap buffer contains the gzip encoded content
+     */
+    public static ByteBuffer encode(ByteBuffer buffer, int level) {
+        int len = buffer.remaining();
+        if (buffer.hasArray()) {
+            return encode(buffer.array(), buffer.arrayOffset() + buffer.position(), len, level);
+        }
+        byte[] ba = new byte[len];
+        buffer.duplicate().get(ba);
+        return encode(ba, 0, len, level);
+    }
+
+    public static ByteBuffer encode(byte[] content, int offset, int len, int level) {
+        Deflater deflater = acquire(level);
+        try {
+            CRC32 crc = new CRC32();
+            crc.update(content, offset, len);
+            deflater.setInput(content, offset, len);
+            deflater.finish();
+            byte[] out = new byte[HEADER.length + Math.max(len / 2, 64) + TRAILER_SIZE];
+            System.arraycopy(HEADER, 0, out, 0, HEADER.length);
+            int n = HEADER.length;
+            while (!deflater.finished()) {
+                if (n == out.length) {
+                    out = Arrays.copyOf(out, out.length * 2);
+                }
+                n += deflater.deflate(out, n, out.length - n);
+            }
+            if (n + TRAILER_SIZE > out.length) {
+                out = Arrays.copyOf(out, n + TRAILER_SIZE);
+            }
+            writeTrailer(out, n, crc.getValue(), len);
+            return ByteBuffer.wrap(out, 0, n + TRAILER_SIZE);
+        } finally {
+            release(deflater);
+        }
+    }
+
+    /**
+     * Returns an output stream that writes gzip encoded content to the
+     * given output stream.
+     *
+     * Closing the returned stream closes the underline output stream
+     * and returns the deflater to the pool.
+     *
+     * @param out
+     *         the underline output stream
+     * @param level
+     *         the deflate level
+     * @return the gzip output stream
+     * @throws IOException
+     *         if failed writing the gzip header
+     */
+    public static OutputStream encode(OutputStream out, int level) throws IOException {
+        return new GzipOutputStream(out, acquire(level));
+    }
+
+    static Deflater acquire(int level) {
+        Deflater deflater = POOL.get();
+        if (null == deflater) {
+            return new Deflater(level, true);
+        }
+        POOL.set(null);
+        deflater.setLevel(level);
+        return deflater;
+    }
+
+    static void release(Deflater deflater) {
+        if (null == POOL.get()) {
+            deflater.reset();
+            POOL.set(deflater);
+        } else {
+            deflater.end();
+        }
+    }
+
+    private static void writeTrailer(byte[] buf, int offset, long crc, int len) {
+        writeInt(buf, offset, (int) crc);
+        writeInt(buf, offset + 4, len);
+    }
+
+    // gzip integers are little endian
+    private static void writeInt(byte[] buf, int offset, int v) {
+        buf[offset] = (byte) v;
+        buf[offset + 1] = (byte) (v >> 8);
+        buf[offset + 2] = (byte) (v >> 16);
+        buf[offset + 3] = (byte) (v >> 24);
+    }
+
+    private static class GzipOutputStream extends DeflaterOutputStream {
+        private final CRC32 crc = new CRC32();
+        private int len;
+        private boolean released;
+
+        GzipOutputStream(OutputStream out, Deflater deflater) throws IOException {
+            super(out, deflater, 4096);
+            out.write(HEADER);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            super.write(b, off, len);
+            crc.update(b, off, len);
+            this.len += len;
+        }
+
+        @Override
+        public void finish() throws IOException {
+            if (def.finished()) {
+                return;
+            }
+            super.finish();
+            byte[] trailer = new byte[TRAILER_SIZE];
+            writeTrailer(trailer, 0, crc.getValue(), len);
+            out.write(trailer);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                if (!released) {
+                    released = true;
+                    release(def);
+                }
+            }
+        }
+    }
+
+}
@@ -65,4 +65,12 @@ public interface Network extends Destroyable {
      * @return a websocket connection handler
      */
     WebSocketConnectionHandler createWebSocketConnectionHandler(WebSocketConnectionListener listener);
+
+    /**
+     * Returns the current statistics of the worker thread pool.
+     *
+     * @return the worker pool statistics or {@link WorkerPoolStats#UNKNOWN}
+     *         if not supported by the network implementation
+     */
+    WorkerPoolStats workerPoolStats();
 }
@@ -145,5 +145,10 @@ public abstract class NetworkBase extends LogSupportedDestroyableBase implements
         return handler;
     }
 
+    @Override
+    public WorkerPoolStats workerPoolStats() {
+        return WorkerPoolStats.UNKNOWN;
+    }
+
     protected abstract WebSocketConnectionHandler internalCreateWsConnHandler(ActionMethodMetaInfo methodInfo, WebSocketConnectionManager manager);
 }
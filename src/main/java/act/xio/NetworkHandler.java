@@ -45,6 +45,8 @@ import org.osgl.mvc.result.*;
 import org.osgl.util.E;
 import org.osgl.util.S;
 
+import java.util.concurrent.Executor;
+
 /**
  * A `NetworkHandler` can be registered to an {@link Network} and get invoked when
  * there are network event (e.g. an HTTP request) incoming
@@ -58,12 +60,16 @@ public class NetworkHandler extends LogSupportedDestroyableBase {
     private Metric metric;
     private $.Func2<H.Request, String, String> contentSuffixProcessor;
     private $.Func2<H.Request, String, String> urlContextProcessor;
+    private VirtualThreadExecutor virtualThreadExecutor;
 
     public NetworkHandler(App app) {
         E.NPE(app);
         this.app = app;
         this.metric = Act.metricPlugin().metric(MetricInfo.HTTP_HANDLER);
         this.initUrlProcessors();
+        if (app.config().workerVirtualThread()) {
+            this.virtualThreadExecutor = VirtualThreadExecutor.create(metric);
+        }
         app.registerHotReloadListener(new App.HotReloadListener() {
             @Override
             public void preHotReload() {
@@ -91,6 +97,16 @@ public class NetworkHandler extends LogSupportedDestroyableBase {
         return app;
     }
 
+    /**
+     * Returns the executor to run blocking request handling jobs.
+     *
+     * @return the virtual thread executor if virtual thread worker mode is
+     *         enabled and supported, or `null` to use the network worker threads
+     */
+    public Executor blockingExecutor() {
+        return virtualThreadExecutor;
+    }
+
     public void handle(final ActionContext ctx, final NetworkDispatcher dispatcher) {
         if (isDestroyed()) {
             return;
@@ -240,6 +256,14 @@ public class NetworkHandler extends LogSupportedDestroyableBase {
         r.apply(ctx.req(), ctx.prepareRespForResultEvaluation());
     }
 
+    @Override
+    protected void releaseResources() {
+        if (null != virtualThreadExecutor) {
+            virtualThreadExecutor.shutdown();
+            virtualThreadExecutor = null;
+        }
+    }
+
     @Override
     public String toString() {
         return app().name();
@@ -0,0 +1,139 @@
+package act.xio;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.metric.Metric;
+import act.metric.MetricInfo;
+import act.metric.Timer;
+import org.osgl.logging.LogManager;
+import org.osgl.logging.Logger;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs blocking request handling jobs on a new virtual thread per request.
+ *
+ * Virtual threads are created through reflection so that ActFramework still
+ * runs on JVMs without virtual thread support. Use {@link #create(Metric)} to
+ * get an instance, which returns `null` on such JVMs.
+ *
+ * The executor counts and times the jobs in {@link MetricInfo#HTTP_VIRTUAL_THREAD}
+ * and tracks the number of in-flight jobs.
+ */
+public final class VirtualThreadExecutor implements Executor {
+
+    private static final Logger LOGGER = LogManager.get(VirtualThreadExecutor.class);
+
+    private static final AtomicInteger IN_FLIGHT = new AtomicInteger();
+    private static final AtomicInteger PEAK_IN_FLIGHT = new AtomicInteger();
+
+    private final ExecutorService executor;
+    private final Metric metric;
+
+    private VirtualThreadExecutor(ExecutorService executor, Metric metric) {
+        this.executor = executor;
+        this.metric = metric;
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        final Timer timer = metric.startTimer(MetricInfo.HTTP_VIRTUAL_THREAD);
+        enter();
+        try {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        command.run();
+                    } finally {
+                        IN_FLIGHT.decrementAndGet();
+                        timer.stop();
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            IN_FLIGHT.decrementAndGet();
+            timer.stop();
+            throw e;
+        }
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Returns number of requests currently handled on virtual threads.
+     */
+    public static int inFlight() {
+        return IN_FLIGHT.get();
+    }
+
+    /**
+     * Returns the maximum number of requests handled on virtual threads
+     * at the same time since the JVM started.
+     */
+    public static int peakInFlight() {
+        return PEAK_IN_FLIGHT.get();
+    }
+
+    /**
+     * Create a `VirtualThreadExecutor`.
+     *
+     * @param metric
+     *         the metric to record virtual thread jobs
+     * @return a `VirtualThreadExecutor` or `null` if the JVM does not support virtual threads
+     */
+    public static VirtualThreadExecutor create(Metric metric) {
+        ExecutorService executor = newVirtualThreadPerTaskExecutor();
+        return null == executor ? null : new VirtualThreadExecutor(executor, metric);
+    }
+
+    private static void enter() {
+        int n = IN_FLIGHT.incrementAndGet();
+        int peak = PEAK_IN_FLIGHT.get();
+        while (n > peak && !PEAK_IN_FLIGHT.compareAndSet(peak, n)) {
+            peak = PEAK_IN_FLIGHT.get();
+        }
+    }
+
+    // `Executors.newVirtualThreadPerTaskExecutor()` is available since Java 21
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        Method method;
+        try {
+            method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            LOGGER.warn("virtual thread not supported by JVM %s, fallback to XNIO worker threads", System.getProperty("java.version"));
+            return null;
+        }
+        try {
+            return (ExecutorService) method.invoke(null);
+        } catch (Exception e) {
+            LOGGER.warn(e, "error creating virtual thread executor, fallback to XNIO worker threads");
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,63 @@
+package act.xio;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+/**
+ * Statistics of the worker thread pool of a {@link Network}.
+ *
+ * A value of `-1` means the statistic is not available.
+ */
+public class WorkerPoolStats {
+
+    public static final WorkerPoolStats UNKNOWN = new WorkerPoolStats(-1, -1, -1, -1);
+
+    private final int coreThreads;
+    private final int maxThreads;
+    private final int busyThreads;
+    private final int queueSize;
+
+    public WorkerPoolStats(int coreThreads, int maxThreads, int busyThreads, int queueSize) {
+        this.coreThreads = coreThreads;
+        this.maxThreads = maxThreads;
+        this.busyThreads = busyThreads;
+        this.queueSize = queueSize;
+    }
+
+    public int coreThreads() {
+        return coreThreads;
+    }
+
+    public int maxThreads() {
+        return maxThreads;
+    }
+
+    public int busyThreads() {
+        return busyThreads;
+    }
+
+    /**
+     * Returns number of tasks waiting for a worker thread
+     */
+    public int queueSize() {
+        return queueSize;
+    }
+
+}
@@ -45,7 +45,7 @@ public class ActHttpHandler implements HttpHandler {
     @Override
     public void handleRequest(final HttpServerExchange exchange) throws Exception {
         ActionContext ctx = createActionContext(exchange);
-        client.handle(ctx, new UndertowNetworkDispatcher(exchange));
+        client.handle(ctx, new UndertowNetworkDispatcher(exchange, client.blockingExecutor()));
     }
 
     private ActionContext createActionContext(HttpServerExchange exchange) {
@@ -22,11 +22,13 @@ package act.xio.undertow;
 
 import act.Act;
 import act.controller.meta.ActionMethodMetaInfo;
+import act.util.BufferPool;
 import act.ws.WebSocketConnectionManager;
 import act.xio.Network;
 import act.xio.NetworkBase;
 import act.xio.NetworkHandler;
 import act.xio.WebSocketConnectionHandler;
+import act.xio.WorkerPoolStats;
 import io.undertow.UndertowOptions;
 import io.undertow.connector.ByteBufferPool;
 import io.undertow.protocols.ssl.UndertowXnioSsl;
@@ -44,12 +46,14 @@ import org.xnio.ssl.XnioSsl;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.reflect.Field;
 import java.net.InetSocketAddress;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.security.KeyStore;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
 import javax.net.ssl.*;
 
 /**
@@ -64,7 +68,12 @@ public class UndertowNetwork extends NetworkBase {
     private XnioWorker worker;
     private OptionMap socketOptions;
     private OptionMap serverOptions;
+    // shared by all listeners and the response content, see `BufferPool`
+    private ByteBufferPool buffers;
     private List<AcceptingChannel<? extends StreamConnection>> channels;
+    // the worker task pool, resolved on first call to workerPoolStats()
+    private volatile ThreadPoolExecutor taskPool;
+    private volatile boolean taskPoolUnavailable;
 
     @Override
     public void bootUp() {
@@ -82,6 +91,11 @@ public class UndertowNetwork extends NetworkBase {
                     .set(UndertowOptions.ENABLE_STATISTICS, Act.conf().xioStatistics())
                     .getMap();
             channels = new ArrayList<>();
+            buffers = new DefaultByteBufferPool(true, 16 * 1024, -1, 4);
+            BufferPool bufferPool = Act.bufferPool();
+            if (null != bufferPool) {
+                bufferPool.pageSource(new UndertowPageSource(buffers));
+            }
         } catch (Exception e) {
             throw E.unexpected(e, "Error booting up Undertow service: %s", e.getMessage());
         }
@@ -90,7 +104,6 @@ public class UndertowNetwork extends NetworkBase {
     @Override
     protected void setUpClient(NetworkHandler client, int port, boolean secure) throws IOException {
         HttpHandler handler = new ActHttpHandler(client);
-        ByteBufferPool buffers = new DefaultByteBufferPool(true, 16 * 1024, -1, 4);
         HttpOpenListener openListener = new HttpOpenListener(buffers, serverOptions);
         openListener.setRootHandler(handler);
         ChannelListener<AcceptingChannel<StreamConnection>> acceptListener = ChannelListeners.openListenerAdapter(openListener);
@@ -131,6 +144,38 @@ public class UndertowNetwork extends NetworkBase {
         worker.shutdownNow();
     }
 
+    @Override
+    public WorkerPoolStats workerPoolStats() {
+        ThreadPoolExecutor pool = taskPool();
+        if (null == pool) {
+            return WorkerPoolStats.UNKNOWN;
+        }
+        return new WorkerPoolStats(pool.getCorePoolSize(), pool.getMaximumPoolSize(), pool.getActiveCount(), pool.getQueue().size());
+    }
+
+    /*
+     * XNIO 3.3 does not expose worker task pool statistics, thus
+     * we need to read the `taskPool` field of the worker
+     */
+    private ThreadPoolExecutor taskPool() {
+        if (null != taskPool || taskPoolUnavailable || null == worker) {
+            return taskPool;
+        }
+        try {
+            Field field = XnioWorker.class.getDeclaredField("taskPool");
+            field.setAccessible(true);
+            Object pool = field.get(worker);
+            if (pool instanceof ThreadPoolExecutor) {
+                taskPool = (ThreadPoolExecutor) pool;
+                return taskPool;
+            }
+        } catch (Exception e) {
+            logger.debug(e, "cannot access XNIO worker task pool");
+        }
+        taskPoolUnavailable = true;
+        return null;
+    }
+
     private XnioWorker createWorker() throws IOException {
         ioThreads = Act.isDev() ? 2 : Runtime.getRuntime().availableProcessors() * 2;
         int workerThreads = Act.isDev() ? 4 : ioThreads * 8;
@@ -25,18 +25,27 @@ import act.xio.NetworkJob;
 import io.undertow.server.Connectors;
 import io.undertow.server.HttpServerExchange;
 
+import java.util.concurrent.Executor;
+
 class UndertowNetworkDispatcher implements NetworkDispatcher {
 
     final HttpServerExchange exchange;
+    // when not null, blocking jobs are run on this executor instead of the XNIO worker pool
+    private final Executor executor;
     private boolean dispatched;
 
-    UndertowNetworkDispatcher(HttpServerExchange exchange) {
+    UndertowNetworkDispatcher(HttpServerExchange exchange, Executor executor) {
         this.exchange = exchange;
+        this.executor = executor;
     }
 
     @Override
     public void dispatch(NetworkJob job) {
-        exchange.dispatch(job);
+        if (null == executor) {
+            exchange.dispatch(job);
+        } else {
+            exchange.dispatch(executor, job);
+        }
         this.dispatched = true;
     }
 
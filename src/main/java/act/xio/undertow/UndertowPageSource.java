@@ -0,0 +1,56 @@
+package act.xio.undertow;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2018 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.util.BufferPool;
+import act.util.PooledBuffer;
+import io.undertow.connector.ByteBufferPool;
+import io.undertow.connector.PooledByteBuffer;
+
+/**
+ * Serves a size class of {@link BufferPool} with buffers of the undertow
+ * buffer pool, so response content and undertow share the same buffers.
+ */
+class UndertowPageSource implements BufferPool.PageSource {
+
+    private final ByteBufferPool pool;
+
+    UndertowPageSource(ByteBufferPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public int pageSize() {
+        return pool.getBufferSize();
+    }
+
+    @Override
+    public PooledBuffer allocate() {
+        final PooledByteBuffer pooled = pool.allocate();
+        return new PooledBuffer(pooled.getBuffer()) {
+            @Override
+            protected void free() {
+                pooled.close();
+            }
+        };
+    }
+
+}
@@ -20,9 +20,15 @@ package act.xio.undertow;
  * #L%
  */
 
+import act.Act;
 import act.ActResponse;
 import act.app.ActionContext;
 import act.conf.AppConfig;
+import act.util.BufferPool;
+import act.util.ChunkEncoder;
+import act.util.PooledBuffer;
+import act.xio.GzipEncoding;
+import io.undertow.connector.PooledByteBuffer;
 import io.undertow.io.IoCallback;
 import io.undertow.io.Sender;
 import io.undertow.server.HttpServerExchange;
@@ -36,11 +42,14 @@ import org.osgl.logging.LogManager;
 import org.osgl.logging.Logger;
 import org.osgl.storage.ISObject;
 import org.osgl.util.*;
+import org.xnio.ChannelListener;
+import org.xnio.channels.StreamSinkChannel;
 
 import java.io.*;
 import java.net.URL;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.StandardOpenOption;
 import java.util.Locale;
 
@@ -55,11 +64,18 @@ public class UndertowResponse extends ActResponse<UndertowResponse> {
 
     private boolean endAsync;
     private Sender sender;
+    private boolean creatingSender;
+
+    // -1 if compression is disabled
+    private final int compressionMinSize;
+    private final int compressionLevel;
 
     public UndertowResponse(HttpServerExchange exchange, AppConfig config) {
         super(config);
         hse = $.requireNotNull(exchange);
         hse.getResponseHeaders().put(_SERVER, config.serverHeader());
+        compressionMinSize = config.httpCompression() ? config.httpCompressionMinSize() : -1;
+        compressionLevel = config.httpCompressionLevel();
     }
 
     @Override
@@ -85,7 +101,13 @@ public class UndertowResponse extends ActResponse<UndertowResponse> {
 
     Sender sender() {
         if (null == sender) {
-            sender = hse.getResponseSender();
+            // content sent through sender is compressed before sending
+            creatingSender = true;
+            try {
+                sender = hse.getResponseSender();
+            } finally {
+                creatingSender = false;
+            }
             endAsync = !blocking();
         }
         return sender;
@@ -93,6 +115,16 @@ public class UndertowResponse extends ActResponse<UndertowResponse> {
 
     @Override
     public UndertowResponse writeContent(String s) {
+        BufferPool bufferPool = Act.bufferPool();
+        if (null != bufferPool && !s.isEmpty()) {
+            PooledBuffer pooled = bufferPool.encode(s);
+            if (null != pooled) {
+                return writeContent(pooled);
+            }
+        }
+        if (compressionMinSize > -1 && s.length() >= compressionMinSize && shallCompress()) {
+            return writeContent(ByteBuffer.wrap(s.getBytes(StandardCharsets.UTF_8)));
+        }
         beforeWritingContent();
         if ("" == s) {
             afterWritingContent();
@@ -114,6 +146,7 @@ public class UndertowResponse extends ActResponse<UndertowResponse> {
     public UndertowResponse writeContent(ByteBuffer byteBuffer) {
         beforeWritingContent();
         try {
+            byteBuffer = compress(byteBuffer);
             endAsync = !blocking();
             Sender sender = sender();
             if (endAsync) {
@@ -130,6 +163,33 @@ public class UndertowResponse extends ActResponse<UndertowResponse> {
         return this;
     }
 
+    /*
+     * Send the content of a pooled buffer, the buffer is released once
+     * the content is sent
+     */
+    private UndertowResponse writeContent(PooledBuffer pooled) {
+        beforeWritingContent();
+        try {
+            ByteBuffer content = compress(pooled.buffer());
+            IoCallback callback = IoCallback.END_EXCHANGE;
+            if (content == pooled.buffer()) {
+                callback = new ReleaseBufferCallback(pooled);
+            } else {
+                // compressed into a new buffer
+                pooled.release();
+            }
+            endAsync = !blocking();
+            sender().send(content, callback);
+            afterWritingContent();
+        } catch (RuntimeException e) {
+            pooled.release();
+            endAsync = false;
+            afterWritingContent();
+            throw e;
+        }
+        return this;
+    }
+
     @Override
     public UndertowResponse writeBinary(ISObject binary) {
         beforeWritingContent();
@@ -138,7 +198,7 @@ public class UndertowResponse extends ActResponse<UndertowResponse> {
             return send(file);
         }
         byte[] ba = binary.asByteArray();
-        ByteBuffer buffer = ByteBuffer.wrap(ba);
+        ByteBuffer buffer = compress(ByteBuffer.wrap(ba));
         sender().send(buffer);
         endAsync = !blocking();
         afterWritingContent();
@@ -180,6 +240,47 @@ public class UndertowResponse extends ActResponse<UndertowResponse> {
         return me();
     }
 
+    @Override
+    public UndertowResponse send(File file, long offset, long length) {
+        if (blocking()) {
+            return super.send(file, offset, length);
+        }
+        beforeWritingContent();
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+            hse.setResponseContentLength(length);
+            new FileRangeSender(hse, channel, offset, length).start();
+            endAsync = true;
+            afterWritingContent();
+        } catch (IOException e) {
+            IO.close(channel);
+            endAsync = false;
+            afterWritingContent();
+            throw E.ioException(e);
+        }
+        return me();
+    }
+
+    @Override
+    public UndertowResponse send(ChunkEncoder encoder) {
+        if (blocking()) {
+            return super.send(encoder);
+        }
+        beforeWritingContent();
+        try {
+            new ChunkSender(hse, encoder).start();
+            endAsync = true;
+            afterWritingContent();
+        } catch (RuntimeException e) {
+            encoder.close();
+            endAsync = false;
+            afterWritingContent();
+            throw e;
+        }
+        return me();
+    }
+
     @Override
     public OutputStream outputStream() throws IllegalStateException, UnexpectedIOException {
         return super.outputStream();
@@ -255,7 +356,17 @@ public class UndertowResponse extends ActResponse<UndertowResponse> {
     @Override
     protected OutputStream createOutputStream() {
         ensureBlocking();
-        return hse.getOutputStream();
+        OutputStream os = hse.getOutputStream();
+        // streamed content of unknown length is compressed on the fly
+        if (compressionMinSize > -1 && !creatingSender && !hse.getResponseHeaders().contains(Headers.CONTENT_LENGTH) && shallCompress()) {
+            try {
+                os = GzipEncoding.encode(os, compressionLevel);
+            } catch (IOException e) {
+                throw E.ioException(e);
+            }
+            markCompressed();
+        }
+        return os;
     }
 
     @Override
@@ -272,6 +383,52 @@ public class UndertowResponse extends ActResponse<UndertowResponse> {
         return UndertowResponse.class;
     }
 
+    /*
+     * Returns the gzip encoded content if the response shall be
+     * compressed, otherwise returns the content as it is
+     */
+    private ByteBuffer compress(ByteBuffer content) {
+        if (compressionMinSize < 0 || content.remaining() < compressionMinSize || !shallCompress()) {
+            return content;
+        }
+        ByteBuffer encoded = GzipEncoding.encode(content, compressionLevel);
+        markCompressed();
+        hse.setResponseContentLength(encoded.remaining());
+        return encoded;
+    }
+
+    private boolean shallCompress() {
+        if (responseStarted()) {
+            return false;
+        }
+        int status = hse.getStatusCode();
+        if (status < 200 || 204 == status || 206 == status || 304 == status) {
+            return false;
+        }
+        HeaderMap headers = hse.getResponseHeaders();
+        if (headers.contains(Headers.CONTENT_ENCODING)) {
+            // e.g. pre-compressed static resources
+            return false;
+        }
+        String contentType = headers.getFirst(Headers.CONTENT_TYPE);
+        if (null == contentType) {
+            contentType = _getContentType();
+        }
+        return GzipEncoding.compressible(contentType)
+                && GzipEncoding.accepted(hse.getRequestHeaders().getFirst(Headers.ACCEPT_ENCODING));
+    }
+
+    private void markCompressed() {
+        HeaderMap headers = hse.getResponseHeaders();
+        headers.put(Headers.CONTENT_ENCODING, GzipEncoding.GZIP);
+        headers.add(Headers.VARY, Headers.ACCEPT_ENCODING_STRING);
+        String etag = headers.getFirst(Headers.ETAG);
+        if (null != etag) {
+            // the compressed content is a different representation
+            headers.put(Headers.ETAG, GzipEncoding.etag(etag));
+        }
+    }
+
     private boolean responseStarted() {
         return hse.isResponseStarted();
     }
@@ -284,4 +441,151 @@ public class UndertowResponse extends ActResponse<UndertowResponse> {
         return hse.isInIoThread();
     }
 
+    /*
+     * Releases the buffer after it is sent and ends the exchange
+     */
+    private static class ReleaseBufferCallback implements IoCallback {
+        private final PooledBuffer pooled;
+
+        ReleaseBufferCallback(PooledBuffer pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public void onComplete(HttpServerExchange exchange, Sender sender) {
+            pooled.release();
+            END_EXCHANGE.onComplete(exchange, sender);
+        }
+
+        @Override
+        public void onException(HttpServerExchange exchange, Sender sender, IOException exception) {
+            pooled.release();
+            END_EXCHANGE.onException(exchange, sender, exception);
+        }
+    }
+
+    /*
+     * Transfers a file region to the response channel without blocking,
+     * resumes on the write listener when the channel is not writable
+     */
+    private static class FileRangeSender implements ChannelListener<StreamSinkChannel> {
+        private final HttpServerExchange exchange;
+        private final FileChannel file;
+        private long position;
+        private final long end;
+
+        FileRangeSender(HttpServerExchange exchange, FileChannel file, long offset, long length) {
+            this.exchange = exchange;
+            this.file = file;
+            this.position = offset;
+            this.end = offset + length;
+        }
+
+        void start() {
+            handleEvent(exchange.getResponseChannel());
+        }
+
+        @Override
+        public void handleEvent(StreamSinkChannel channel) {
+            try {
+                while (position < end) {
+                    long n = channel.transferFrom(file, position, end - position);
+                    if (n <= 0) {
+                        if (position >= file.size()) {
+                            // file truncated after the response started
+                            throw new EOFException();
+                        }
+                        channel.getWriteSetter().set(this);
+                        channel.resumeWrites();
+                        return;
+                    }
+                    position += n;
+                }
+                channel.suspendWrites();
+                channel.getWriteSetter().set(null);
+                IO.close(file);
+                exchange.endExchange();
+            } catch (IOException e) {
+                IO.close(file);
+                IO.close(exchange.getConnection());
+            }
+        }
+    }
+
+    /*
+     * Sends content of a chunk encoder without blocking. Content is encoded
+     * into a pooled buffer in a worker thread, and the next chunk is encoded
+     * only after the previous one is written, i.e. when the response channel
+     * is not writable the encoding is suspended until the write listener is
+     * notified.
+     */
+    private static class ChunkSender implements ChannelListener<StreamSinkChannel>, Runnable {
+        private final HttpServerExchange exchange;
+        private final StreamSinkChannel channel;
+        private final ChunkEncoder encoder;
+        private final PooledByteBuffer pooled;
+        private final ByteBuffer buffer;
+        private boolean more = true;
+
+        ChunkSender(HttpServerExchange exchange, ChunkEncoder encoder) {
+            this.exchange = exchange;
+            this.channel = exchange.getResponseChannel();
+            this.encoder = encoder;
+            this.pooled = exchange.getConnection().getByteBufferPool().allocate();
+            this.buffer = pooled.getBuffer();
+            // nothing to write yet
+            buffer.clear().flip();
+        }
+
+        void start() {
+            if (exchange.isInIoThread()) {
+                // mark the exchange dispatched so that it is not ended when
+                // the handler returns while the worker is still writing
+                exchange.dispatch(exchange.getConnection().getWorker(), this);
+            } else {
+                run();
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    while (buffer.hasRemaining()) {
+                        if (0 == channel.write(buffer)) {
+                            channel.getWriteSetter().set(this);
+                            channel.resumeWrites();
+                            return;
+                        }
+                    }
+                    if (!more) {
+                        release();
+                        exchange.endExchange();
+                        return;
+                    }
+                    buffer.clear();
+                    more = encoder.encode(buffer);
+                    buffer.flip();
+                }
+            } catch (Exception e) {
+                LOGGER.warn(e, "error sending chunked content");
+                release();
+                IO.close(exchange.getConnection());
+            }
+        }
+
+        @Override
+        public void handleEvent(StreamSinkChannel channel) {
+            // the channel is writable again, continue in worker thread
+            channel.suspendWrites();
+            channel.getWriteSetter().set(null);
+            exchange.getConnection().getWorker().execute(this);
+        }
+
+        private void release() {
+            encoder.close();
+            pooled.close();
+        }
+    }
+
 }
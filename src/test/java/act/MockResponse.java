@@ -26,18 +26,22 @@ import org.osgl.util.E;
 import org.osgl.util.Output;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.OutputStream;
 import java.io.Writer;
 import java.nio.ByteBuffer;
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
 
 public class MockResponse extends ActResponse<MockResponse> {
 
-    private String contentType;
+    public String contentType;
     private String encoding = "utf-8";
     private Locale locale = Locale.getDefault();
     private Writer writer;
     public int status = -1;
+    public Map<String, String> headers = new HashMap<>();
     private OutputStream os;
 
     private long len;
@@ -80,6 +84,13 @@ public class MockResponse extends ActResponse<MockResponse> {
 
     @Override
     public MockResponse writeContent(ByteBuffer byteBuffer) {
+        byte[] ba = new byte[byteBuffer.remaining()];
+        byteBuffer.get(ba);
+        try {
+            outputStream().write(ba);
+        } catch (IOException e) {
+            throw E.ioException(e);
+        }
         return this;
     }
 
@@ -130,7 +141,8 @@ public class MockResponse extends ActResponse<MockResponse> {
 
     @Override
     public MockResponse header(String name, String value) {
-        return null;
+        headers.put(name, value);
+        return this;
     }
 
     @Override
@@ -140,6 +152,7 @@ public class MockResponse extends ActResponse<MockResponse> {
 
     @Override
     public MockResponse addHeader(String name, String value) {
-        return null;
+        headers.put(name, value);
+        return this;
     }
 }
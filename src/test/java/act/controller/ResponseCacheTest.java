@@ -0,0 +1,67 @@
+package act.controller;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.ActTestBase;
+import act.MockResponse;
+import org.junit.Test;
+import org.osgl.http.H;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+public class ResponseCacheTest extends ActTestBase {
+
+    @Test
+    public void snapshotShallReplayCapturedResponse() {
+        ResponseCache cache = new ResponseCache(new MockResponse());
+        cache.header(H.Header.Names.ETAG, "abc");
+        cache.writeContent(ByteBuffer.wrap("hello".getBytes()));
+        CachedResponse cached = cache.snapshot(10, 5);
+        notNull(cached);
+        eq("abc", cached.etag());
+        eq(5, cached.contentLength());
+
+        MockResponse target = new MockResponse();
+        cached.applyTo(target);
+        ByteArrayOutputStream baos = (ByteArrayOutputStream) target.outputStream();
+        eq("hello", new String(baos.toByteArray()));
+    }
+
+    @Test
+    public void itShallNotSnapshotResponseWithoutContent() {
+        ResponseCache cache = new ResponseCache(new MockResponse());
+        isNull(cache.snapshot(10, 0));
+    }
+
+    @Test
+    public void snapshotShallBeUsableDuringStaleWindow() {
+        ResponseCache cache = new ResponseCache(new MockResponse());
+        cache.writeContent(ByteBuffer.wrap("hello".getBytes()));
+        long now = System.currentTimeMillis();
+        CachedResponse cached = cache.snapshot(10, 5);
+        yes(cached.isFresh(now));
+        no(cached.isFresh(now + 11 * 1000));
+        yes(cached.isUsable(now + 11 * 1000));
+        no(cached.isUsable(now + 16 * 1000));
+    }
+
+}
@@ -0,0 +1,96 @@
+package act.data;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2017 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.ActTestBase;
+import act.app.ActionContext;
+import org.junit.Test;
+import org.osgl.mvc.result.ErrorResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+public class UrlEncodedParamsTest extends ActTestBase {
+
+    @Test
+    public void paramsShallBeDecoded() {
+        Map<String, String[]> params = parse("a=1&b=hello+world&a=2&c&d=&e=%E4%B8%AD%zz%4&f=x=y", true);
+        assertArrayEquals(new String[]{"1", "2"}, params.get("a"));
+        eq("hello world", params.get("b")[0]);
+        assertArrayEquals(new String[]{null}, params.get("c"));
+        eq("", params.get("d")[0]);
+        eq("中%zz%4", params.get("e")[0]);
+        eq("x=y", params.get("f")[0]);
+        assertNull(params.get("g"));
+    }
+
+    @Test
+    public void emptyParamsShallBeSkipped() {
+        Map<String, String[]> params = parse("&a=1&&=x&", false);
+        eq(2, params.size());
+        eq("1", params.get("a")[0]);
+        assertArrayEquals(new String[]{null}, params.get("=x"));
+    }
+
+    @Test
+    public void bodyShallBeKept() {
+        String content = "a=%41%42&b=c+d";
+        byte[] data = content.getBytes(StandardCharsets.UTF_8);
+        Map<String, String[]> params = UrlEncodedParams.parse(data, data.length, StandardCharsets.UTF_8, 0, true);
+        eq("AB", params.get("a")[0]);
+        eq(content, params.get(ActionContext.REQ_BODY)[0]);
+        eq(content, new String(data, StandardCharsets.UTF_8));
+        eq(3, params.size());
+    }
+
+    @Test
+    public void bodyShallNotBeKeptForQueryString() {
+        Map<String, String[]> params = parse("a=%41%42&b=c+d", false);
+        no(params.containsKey(ActionContext.REQ_BODY));
+        eq("c d", params.get("b")[0]);
+    }
+
+    @Test
+    public void charsetParamShallApply() {
+        Map<String, String[]> params = parse("n=%E9&_charset_=ISO-8859-1", false);
+        eq("é", params.get("n")[0]);
+        params = parse("n=%C3%A9&_charset_=unknown", false);
+        eq("é", params.get("n")[0]);
+    }
+
+    @Test(expected = ErrorResult.class)
+    public void tooManyParamsShallBeRejected() {
+        byte[] data = "a=1&b=2&c=3".getBytes(StandardCharsets.UTF_8);
+        UrlEncodedParams.parse(data, data.length, StandardCharsets.UTF_8, 2, true);
+    }
+
+    @Test
+    public void paramsUpToLimitShallBeAccepted() {
+        byte[] data = "a=1&&b=2&".getBytes(StandardCharsets.UTF_8);
+        eq(2, UrlEncodedParams.parse(data, data.length, StandardCharsets.UTF_8, 2, false).size());
+    }
+
+    private static Map<String, String[]> parse(String content, boolean keepBody) {
+        byte[] data = content.getBytes(StandardCharsets.UTF_8);
+        return UrlEncodedParams.parse(data, data.length, StandardCharsets.UTF_8, 0, keepBody);
+    }
+
+}
@@ -0,0 +1,186 @@
+package act.event;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.ActTestBase;
+import act.job.JobContext;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class EventDispatcherTest extends ActTestBase {
+
+    private EventDispatcher dispatcher;
+
+    @Before
+    public void prepare() throws Exception {
+        super.setup();
+    }
+
+    @After
+    public void cleanup() {
+        if (null != dispatcher) {
+            dispatcher.destroy();
+        }
+    }
+
+    @Test
+    public void eventsShallBeDeliveredInOrder() throws Exception {
+        dispatcher = new EventDispatcher(mockApp, 2, 1000, 8, EventDispatcher.Overflow.CALLER_RUNS);
+        Recorder recorder = new Recorder(100);
+        for (int i = 0; i < 100; ++i) {
+            dispatcher.dispatch(recorder, new Object[]{i});
+        }
+        yes(recorder.latch.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 100; ++i) {
+            eq(i, recorder.received.get(i));
+        }
+        eq(0, dispatcher.pending());
+    }
+
+    @Test
+    public void callerShallRunListenerWhenQueueIsFull() throws Exception {
+        dispatcher = new EventDispatcher(mockApp, 1, 1, 1, EventDispatcher.Overflow.CALLER_RUNS);
+        CountDownLatch blocker = new CountDownLatch(1);
+        Recorder recorder = new Recorder(3, blocker);
+        dispatcher.dispatch(recorder, new Object[]{0});
+        waitUntilTaken();
+        dispatcher.dispatch(recorder, new Object[]{1});
+        // queue is full, run in the caller thread
+        dispatcher.dispatch(recorder, new Object[]{2});
+        eq(1L, dispatcher.rejected());
+        blocker.countDown();
+        yes(recorder.latch.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    public void itShallAbortWhenQueueIsFull() throws Exception {
+        dispatcher = new EventDispatcher(mockApp, 1, 1, 1, EventDispatcher.Overflow.ABORT);
+        Recorder recorder = new Recorder(3, new CountDownLatch(1));
+        dispatcher.dispatch(recorder, new Object[]{0});
+        waitUntilTaken();
+        dispatcher.dispatch(recorder, new Object[]{1});
+        dispatcher.dispatch(recorder, new Object[]{2});
+    }
+
+    @Test
+    public void lanesShallBeDroppedOnceDrained() throws Exception {
+        dispatcher = new EventDispatcher(mockApp, 2, 1000, 8, EventDispatcher.Overflow.CALLER_RUNS);
+        List<Recorder> recorders = new ArrayList<>();
+        for (int i = 0; i < 50; ++i) {
+            Recorder recorder = new Recorder(2);
+            recorders.add(recorder);
+            dispatcher.dispatch(recorder, new Object[]{i});
+            dispatcher.dispatch(recorder, new Object[]{i});
+        }
+        for (Recorder recorder : recorders) {
+            yes(recorder.latch.await(5, TimeUnit.SECONDS));
+        }
+        for (int i = 0; i < 500 && dispatcher.lanes() > 0; ++i) {
+            Thread.sleep(10);
+        }
+        eq(0, dispatcher.lanes());
+        // a new lane is created for the next event
+        Recorder recorder = recorders.get(0);
+        dispatcher.dispatch(recorder, new Object[]{0});
+        for (int i = 0; i < 500 && recorder.received.size() < 3; ++i) {
+            Thread.sleep(10);
+        }
+        eq(3, recorder.received.size());
+    }
+
+    @Test
+    public void listenerShallRunInJobContext() throws Exception {
+        dispatcher = new EventDispatcher(mockApp, 1, 1000, 8, EventDispatcher.Overflow.CALLER_RUNS);
+        final List<Boolean> initialized = Collections.synchronizedList(new ArrayList<Boolean>());
+        Recorder recorder = new Recorder(1) {
+            @Override
+            public void invoke(Object... args) {
+                initialized.add(JobContext.initialized());
+                super.invoke(args);
+            }
+        };
+        dispatcher.dispatch(recorder, new Object[]{0});
+        yes(recorder.latch.await(5, TimeUnit.SECONDS));
+        eq(Collections.singletonList(true), initialized);
+    }
+
+    @Test
+    public void overflowPolicyShallBeResolvedIgnoringCase() {
+        eq(EventDispatcher.Overflow.CALLER_RUNS, EventDispatcher.Overflow.valueOfIgnoreCase("caller_runs"));
+        eq(EventDispatcher.Overflow.DISCARD, EventDispatcher.Overflow.valueOfIgnoreCase("Discard"));
+        isNull(EventDispatcher.Overflow.valueOfIgnoreCase("block"));
+    }
+
+    // wait until the first event is taken by the dispatch thread
+    private void waitUntilTaken() throws InterruptedException {
+        for (int i = 0; i < 500 && dispatcher.pending() > 0; ++i) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static class Recorder implements SimpleEventListener {
+        final List<Object> received = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch latch;
+        final CountDownLatch blocker;
+
+        Recorder(int expected) {
+            this(expected, null);
+        }
+
+        Recorder(int expected, CountDownLatch blocker) {
+            this.latch = new CountDownLatch(expected);
+            this.blocker = blocker;
+        }
+
+        @Override
+        public void invoke(Object... args) {
+            // the first event blocks the dispatch thread
+            if (null != blocker && Integer.valueOf(0).equals(args[0])) {
+                try {
+                    blocker.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            received.add(args[0]);
+            latch.countDown();
+        }
+
+        @Override
+        public List<Class> argumentTypes() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public boolean isAsync() {
+            return true;
+        }
+    }
+
+}
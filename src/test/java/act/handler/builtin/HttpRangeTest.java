@@ -0,0 +1,75 @@
+package act.handler.builtin;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.ActTestBase;
+import org.junit.Test;
+
+public class HttpRangeTest extends ActTestBase {
+
+    @Test
+    public void itShallParseClosedRange() {
+        HttpRange range = HttpRange.parse("bytes=0-99", 1000);
+        eq(0L, range.first);
+        eq(99L, range.last);
+        eq(100L, range.length());
+        eq("bytes 0-99/1000", range.contentRange(1000));
+    }
+
+    @Test
+    public void itShallParseOpenRange() {
+        HttpRange range = HttpRange.parse("bytes=900-", 1000);
+        eq(900L, range.first);
+        eq(999L, range.last);
+    }
+
+    @Test
+    public void itShallParseSuffixRange() {
+        HttpRange range = HttpRange.parse("bytes=-100", 1000);
+        eq(900L, range.first);
+        eq(999L, range.last);
+        range = HttpRange.parse("bytes=-2000", 1000);
+        eq(0L, range.first);
+    }
+
+    @Test
+    public void lastPositionShallBeCappedToContentLength() {
+        HttpRange range = HttpRange.parse("bytes=500-5000", 1000);
+        eq(999L, range.last);
+    }
+
+    @Test
+    public void rangeBeyondContentShallBeUnsatisfiable() {
+        same(HttpRange.UNSATISFIABLE, HttpRange.parse("bytes=1000-", 1000));
+        same(HttpRange.UNSATISFIABLE, HttpRange.parse("bytes=0-", 0));
+        same(HttpRange.UNSATISFIABLE, HttpRange.parse("bytes=-0", 1000));
+    }
+
+    @Test
+    public void unsupportedRangeShallBeIgnored() {
+        isNull(HttpRange.parse(null, 1000));
+        isNull(HttpRange.parse("items=0-1", 1000));
+        isNull(HttpRange.parse("bytes=0-1,5-6", 1000));
+        isNull(HttpRange.parse("bytes=abc", 1000));
+        isNull(HttpRange.parse("bytes=5-3", 1000));
+    }
+
+}
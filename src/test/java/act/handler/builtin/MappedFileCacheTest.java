@@ -0,0 +1,45 @@
+package act.handler.builtin;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2017 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.junit.Test;
+import osgl.ut.TestBase;
+
+import java.io.File;
+
+public class MappedFileCacheTest extends TestBase {
+
+    @Test
+    public void fileShallBeMappedAfterManyFilesAreTracked() {
+        MappedFileCache cache = new MappedFileCache(1024 * 1024);
+        for (int i = 0; i < MappedFileCache.MAX_ENTRIES * 2; ++i) {
+            // files are not opened before they are hot
+            cache.get(new File("not-exists-" + i), 10, 0);
+        }
+        yes(cache.size() <= MappedFileCache.MAX_ENTRIES);
+        File file = new File("target/test-classes/public/foo/bar.txt");
+        for (int i = 0; i < MappedFileCache.HOT_THRESHOLD - 1; ++i) {
+            assertNull(cache.get(file, file.length(), file.lastModified()));
+        }
+        assertNotNull(cache.get(file, file.length(), file.lastModified()));
+    }
+
+}
@@ -0,0 +1,94 @@
+package act.handler.builtin;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.ActTestBase;
+import org.junit.Test;
+import org.osgl.http.H;
+import org.osgl.util.S;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.zip.GZIPInputStream;
+
+public class ResourceCacheTest extends ActTestBase {
+
+    @Test
+    public void itShallEvictLeastRecentlyUsedEntries() {
+        ResourceCache cache = new ResourceCache(3000);
+        cache.put("a", new byte[1000], H.Format.PNG);
+        cache.put("b", new byte[1000], H.Format.PNG);
+        cache.get("a");
+        cache.put("c", new byte[1000], H.Format.PNG);
+        yes(cache.totalBytes() <= 3000);
+        notNull(cache.get("a"));
+        isNull(cache.get("b"));
+        notNull(cache.get("c"));
+    }
+
+    @Test
+    public void itShallNotCacheEntryLargerThanLimit() {
+        ResourceCache cache = new ResourceCache(100);
+        ResourceCache.Entry entry = cache.put("a", new byte[1000], H.Format.PNG);
+        eq(1000, entry.content().remaining());
+        isNull(cache.get("a"));
+        eq(0L, cache.totalBytes());
+    }
+
+    @Test
+    public void itShallPrecomputeGzipVariantOfText() throws Exception {
+        byte[] content = S.times("hello world ", 100).getBytes("UTF-8");
+        ResourceCache.Entry entry = ResourceCache.Entry.of(content, H.Format.TXT);
+        yes(entry.hasGzipVariant());
+        eq(content.length, entry.content().remaining());
+        yes(entry.content().isReadOnly());
+        yes(entry.content().isDirect());
+        eq(new String(content, "UTF-8"), new String(gunzip(entry.gzipped()), "UTF-8"));
+        eq(ResourceCache.Entry.of(content, H.Format.TXT).etag(), entry.etag());
+        eq(entry.etag() + "-gzip", entry.gzipEtag());
+        no(ResourceCache.Entry.of(content, H.Format.PNG).hasGzipVariant());
+        isNull(ResourceCache.Entry.of(content, H.Format.PNG).gzipEtag());
+    }
+
+    @Test
+    public void failureEntry() {
+        ResourceCache cache = new ResourceCache(1000);
+        cache.putFailure("x");
+        yes(cache.get("x").isFailure());
+        cache.invalidate("x");
+        isNull(cache.get("x"));
+        eq(0L, cache.totalBytes());
+    }
+
+    private static byte[] gunzip(ByteBuffer buffer) throws Exception {
+        byte[] ba = new byte[buffer.remaining()];
+        buffer.get(ba);
+        GZIPInputStream is = new GZIPInputStream(new ByteArrayInputStream(ba));
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        byte[] buf = new byte[1024];
+        int n;
+        while ((n = is.read(buf)) > 0) {
+            os.write(buf, 0, n);
+        }
+        return os.toByteArray();
+    }
+}
@@ -35,11 +35,14 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 
 import static org.mockito.Matchers.anyString;
+import static org.osgl.http.H.Header.Names.IF_RANGE;
+import static org.osgl.http.H.Header.Names.RANGE;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 public class StaticFileGetterTest extends ActTestBase {
     ActionContext ctx;
+    RequestImplBase req;
     MockResponse resp;
     FileGetter pathHandler;
     FileGetter fileHandler;
@@ -57,7 +60,7 @@ public class StaticFileGetterTest extends ActTestBase {
             }
         });
         when(mockAppConfig.errorTemplatePathResolver()).thenCallRealMethod();
-        RequestImplBase req = mock(RequestImplBase.class);
+        req = mock(RequestImplBase.class);
         when(req.method()).thenReturn(H.Method.GET);
         ctx = ActionContext.create(mockApp, req, resp);
         when(req.context()).thenReturn(ctx);
@@ -119,4 +122,77 @@ public class StaticFileGetterTest extends ActTestBase {
         ceq("foo/bar.txt", s);
     }
 
+    @Test
+    public void rangeRequestShallBeServedPartially() {
+        when(req.header(RANGE)).thenReturn("bytes=0-2");
+        fileHandler.handle(ctx);
+        eq(206, resp.status);
+        eq("bytes 0-2/11", resp.headers.get("Content-Range"));
+        ceq("foo", content());
+    }
+
+    @Test
+    public void unsatisfiableRangeShallBeRejected() {
+        when(req.header(RANGE)).thenReturn("bytes=100-200");
+        fileHandler.handle(ctx);
+        eq(416, resp.status);
+        eq("bytes */11", resp.headers.get("Content-Range"));
+    }
+
+    @Test
+    public void rangeShallBeServedIfRangeMatches() {
+        when(req.header(RANGE)).thenReturn("bytes=4-6");
+        when(req.header(IF_RANGE)).thenReturn(etag());
+        fileHandler.handle(ctx);
+        eq(206, resp.status);
+        ceq("bar", content());
+    }
+
+    @Test
+    public void fullContentShallBeSentIfRangeDoesNotMatch() {
+        when(req.header(RANGE)).thenReturn("bytes=4-6");
+        when(req.header(IF_RANGE)).thenReturn("stale-etag");
+        fileHandler.handle(ctx);
+        yes(206 != resp.status);
+        ceq("foo/bar.txt", content());
+    }
+
+    @Test
+    public void notModifiedShallBeSentIfEtagMatches() {
+        final String etag = etag();
+        when(req.etagMatches(anyString())).thenAnswer(new Answer<Boolean>() {
+            @Override
+            public Boolean answer(InvocationOnMock invocation) throws Throwable {
+                return etag.equals(invocation.getArguments()[0]);
+            }
+        });
+        fileHandler.handle(ctx);
+        eq(304, resp.status);
+        eq(0, content().length());
+    }
+
+    @Test
+    public void notModifiedShallBeSentIfGzipVariantEtagMatches() {
+        final String etag = etag() + "-gzip";
+        when(req.etagMatches(anyString())).thenAnswer(new Answer<Boolean>() {
+            @Override
+            public Boolean answer(InvocationOnMock invocation) throws Throwable {
+                return etag.equals(invocation.getArguments()[0]);
+            }
+        });
+        fileHandler.handle(ctx);
+        eq(304, resp.status);
+        eq(etag, resp.headers.get(H.Header.Names.ETAG));
+    }
+
+    private String content() {
+        ByteArrayOutputStream baos = (ByteArrayOutputStream) resp.outputStream();
+        return new String(baos.toByteArray());
+    }
+
+    private static String etag() {
+        File file = new File("target/test-classes/public/foo/bar.txt");
+        return Long.toHexString(file.length()) + "-" + Long.toHexString(file.lastModified());
+    }
+
 }
@@ -0,0 +1,132 @@
+package act.inject.param;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.mockito.Mockito.when;
+
+import act.ActTestBase;
+import org.junit.Before;
+import org.junit.Test;
+import org.osgl.inject.BeanSpec;
+import org.osgl.inject.Genie;
+import org.osgl.mvc.result.BadRequest;
+
+import java.io.ByteArrayInputStream;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+public class JsonStreamLoaderTest extends ActTestBase {
+
+    public static class Item {
+        public String name;
+        public int qty;
+    }
+
+    public Iterable<Item> items;
+    public Iterator<Item> itemIterator;
+
+    private JsonStreamLoader loader;
+
+    @Before
+    public void prepare() throws Exception {
+        super.setup();
+        when(mockActionContext.req()).thenReturn(mockReq);
+        when(mockActionContext.jsonEncoded()).thenReturn(true);
+        when(mockReq.characterEncoding()).thenReturn("UTF-8");
+        loader = new JsonStreamLoader("items", spec("items"));
+    }
+
+    @Test
+    public void itShallLoadElementsFromJsonArray() {
+        body("[{\"name\": \"apple\", \"qty\": 3}, {\"name\": \"pear\", \"qty\": 5}]");
+        List<Item> list = load();
+        eq(2, list.size());
+        eq("apple", list.get(0).name);
+        eq(3, list.get(0).qty);
+        eq("pear", list.get(1).name);
+        eq(5, list.get(1).qty);
+    }
+
+    @Test
+    public void itShallLoadElementsFromWrappedJsonArray() {
+        body("{\"items\": [{\"name\": \"apple\", \"qty\": 3}]}");
+        List<Item> list = load();
+        eq(1, list.size());
+        eq("apple", list.get(0).name);
+    }
+
+    @Test
+    public void itShallLoadIterator() throws Exception {
+        body("[{\"name\": \"apple\"}]");
+        Iterator<Item> iterator = (Iterator<Item>) new JsonStreamLoader("itemIterator", spec("itemIterator")).load(null, mockActionContext, false);
+        yes(iterator.hasNext());
+        eq("apple", iterator.next().name);
+        no(iterator.hasNext());
+    }
+
+    @Test
+    public void emptyBodyShallLoadNothing() {
+        body("");
+        yes(load().isEmpty());
+        body("[]");
+        yes(load().isEmpty());
+    }
+
+    @Test
+    public void nonJsonRequestShallLoadNothing() {
+        when(mockActionContext.jsonEncoded()).thenReturn(false);
+        yes(load().isEmpty());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void itShallNotIterateTwice() {
+        body("[]");
+        Iterable<Item> iterable = (Iterable<Item>) loader.load(null, mockActionContext, false);
+        iterable.iterator();
+        iterable.iterator();
+    }
+
+    @Test(expected = BadRequest.class)
+    public void malformedBodyShallCauseBadRequest() {
+        body("[{\"name\": \"apple\"}, {\"name\": ");
+        load();
+    }
+
+    private void body(String body) {
+        when(mockReq.inputStream()).thenReturn(new ByteArrayInputStream(body.getBytes()));
+    }
+
+    private List<Item> load() {
+        Iterable<Item> iterable = (Iterable<Item>) loader.load(null, mockActionContext, false);
+        List<Item> list = new ArrayList<>();
+        for (Item item : iterable) {
+            list.add(item);
+        }
+        return list;
+    }
+
+    private BeanSpec spec(String field) throws Exception {
+        return BeanSpec.of(getClass().getField(field).getGenericType(), new Annotation[0], field, Genie.create());
+    }
+
+}
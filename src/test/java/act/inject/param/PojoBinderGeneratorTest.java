@@ -0,0 +1,137 @@
+package act.inject.param;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.junit.Before;
+import org.junit.Test;
+import osgl.ut.TestBase;
+
+public class PojoBinderGeneratorTest extends TestBase {
+
+    public static class Base {
+        public String id;
+    }
+
+    public static class Address {
+        public String city;
+    }
+
+    public static class Foo extends Base {
+        public int count;
+        public long total;
+        public boolean active;
+        public char grade;
+        public String[] tags;
+        public Address address;
+        String pkg;
+        private String secret;
+        public final String fixed = "fixed";
+        public static String shared;
+
+        String secret() {
+            return secret;
+        }
+    }
+
+    static class Hidden {
+        public String name;
+    }
+
+    private PojoBinder binder;
+
+    @Before
+    public void prepare() {
+        binder = new PojoBinderGenerator(Foo.class).generate();
+    }
+
+    @Test
+    public void itShallInstantiateBean() {
+        Object bean = binder.newInstance();
+        yes(bean instanceof Foo);
+        notSame(bean, binder.newInstance());
+    }
+
+    @Test
+    public void itShallSetAccessibleFields() throws Exception {
+        Foo foo = new Foo();
+        Address address = new Address();
+        set(foo, "id", "foo");
+        set(foo, "count", 3);
+        set(foo, "total", 5L);
+        set(foo, "active", true);
+        set(foo, "grade", 'A');
+        set(foo, "tags", new String[]{"x"});
+        set(foo, "address", address);
+        eq("foo", foo.id);
+        eq(3, foo.count);
+        eq(5L, foo.total);
+        yes(foo.active);
+        eq('A', foo.grade);
+        eq("x", foo.tags[0]);
+        same(address, foo.address);
+    }
+
+    @Test
+    public void itShallNotIndexInaccessibleFields() throws Exception {
+        // binder of a non app class can access public members only
+        eq(-1, binder.indexOf(Foo.class.getDeclaredField("pkg")));
+        eq(-1, binder.indexOf(Foo.class.getDeclaredField("secret")));
+        eq(-1, binder.indexOf(Foo.class.getDeclaredField("fixed")));
+        eq(-1, binder.indexOf(Foo.class.getDeclaredField("shared")));
+    }
+
+    @Test
+    public void itShallNotInstantiateInaccessibleType() throws Exception {
+        PojoBinder binder = new PojoBinderGenerator(Hidden.class).generate();
+        isNull(binder.newInstance());
+        eq(-1, binder.indexOf(Hidden.class.getDeclaredField("name")));
+    }
+
+    @Test(expected = ClassCastException.class)
+    public void itShallRejectValueOfWrongType() throws Exception {
+        set(new Foo(), "address", "not an address");
+    }
+
+    @Test(expected = ClassCastException.class)
+    public void itShallNotNarrowNumber() throws Exception {
+        set(new Foo(), "count", 5L);
+    }
+
+    @Test(expected = ClassCastException.class)
+    public void itShallNotUnboxNumberOfOtherType() throws Exception {
+        set(new Foo(), "total", 5.0D);
+    }
+
+    private void set(Foo foo, String fieldName, Object value) throws Exception {
+        Class<?> c = Foo.class;
+        while (true) {
+            try {
+                int index = binder.indexOf(c.getDeclaredField(fieldName));
+                yes(index > -1);
+                binder.set(foo, index, value);
+                return;
+            } catch (NoSuchFieldException e) {
+                c = c.getSuperclass();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,116 @@
+package act.job;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.when;
+
+import act.ActTestBase;
+import act.app.event.SysEventId;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class DurableJobsTest extends ActTestBase {
+
+    public static class Recorder implements DurableJobs.Handler {
+        final CountDownLatch handled = new CountDownLatch(1);
+        volatile String payload;
+        boolean fail;
+
+        @Override
+        public void handle(String payload) {
+            this.payload = payload;
+            handled.countDown();
+            if (fail) {
+                throw new IllegalStateException("failed on purpose");
+            }
+        }
+    }
+
+    private File dir;
+    private Recorder recorder;
+    private JobManager jobManager;
+
+    @Before
+    public void prepare() throws Exception {
+        super.setup();
+        dir = Files.createTempDirectory("durable-jobs").toFile();
+        when(mockAppConfig.jobJournalDir()).thenReturn(dir.getPath());
+        when(mockAppConfig.jobJournalFlushInterval()).thenReturn(100);
+        recorder = new Recorder();
+        doReturn(recorder).when(mockApp).getInstance(Recorder.class.getName());
+        jobManager = new JobManager(mockApp);
+        when(mockApp.jobManager()).thenReturn(jobManager);
+    }
+
+    @After
+    public void cleanup() {
+        jobManager.destroy();
+        new File(dir, DurableJobs.JOURNAL_FILE).delete();
+        dir.delete();
+    }
+
+    @Test
+    public void pendingJobShallBeReplayedOnStart() throws Exception {
+        journal("hello");
+        start();
+        yes(recorder.handled.await(5, TimeUnit.SECONDS));
+        eq("hello", recorder.payload);
+        yes(waitUntilDone());
+    }
+
+    @Test
+    public void failedJobShallStayPending() throws Exception {
+        recorder.fail = true;
+        journal("hello");
+        start();
+        yes(recorder.handled.await(5, TimeUnit.SECONDS));
+        no(waitUntilDone());
+        eq(1, jobManager.durable().pending());
+    }
+
+    private void journal(String payload) throws Exception {
+        JobJournal journal = new JobJournal(DurableJobs.journalFile(mockApp));
+        journal.add(new JobJournal.Entry("durable-job", Recorder.class.getName(), payload, 0));
+        journal.close();
+    }
+
+    private void start() {
+        jobManager.jobById(JobManager.sysEventJobId(SysEventId.START)).run();
+    }
+
+    private boolean waitUntilDone() throws Exception {
+        for (int i = 0; i < 50; ++i) {
+            if (0 == jobManager.durable().pending()) {
+                return true;
+            }
+            Thread.sleep(20);
+        }
+        return false;
+    }
+
+}
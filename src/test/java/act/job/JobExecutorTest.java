@@ -0,0 +1,142 @@
+package act.job;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.ActTestBase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.osgl.$;
+import org.osgl.exception.NotAppliedException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class JobExecutorTest extends ActTestBase {
+
+    private JobExecutor executor;
+
+    @Before
+    public void prepare() throws Exception {
+        super.setup();
+        executor = new JobExecutor(2, new $.F1<String, Integer>() {
+            @Override
+            public Integer apply(String pool) throws NotAppliedException, $.Break {
+                return 1;
+            }
+        });
+    }
+
+    @After
+    public void cleanup() {
+        executor.destroy();
+    }
+
+    @Test
+    public void blockedNamedPoolShallNotHoldUpDefaultPool() throws Exception {
+        CountDownLatch blocker = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        Job slow = job("slow-job", "slow");
+        executor.execute(slow, new Blocking(started, blocker));
+        yes(started.await(5, TimeUnit.SECONDS));
+
+        final CountDownLatch done = new CountDownLatch(1);
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                done.countDown();
+            }
+        });
+        yes(done.await(5, TimeUnit.SECONDS));
+        eq(1, executor.active("slow"));
+        blocker.countDown();
+    }
+
+    @Test
+    public void namedPoolShallLimitConcurrency() throws Exception {
+        CountDownLatch blocker = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        Job job = job("report-job", "report");
+        executor.execute(job, new Blocking(started, blocker));
+        yes(started.await(5, TimeUnit.SECONDS));
+
+        final AtomicInteger counter = new AtomicInteger();
+        final CountDownLatch done = new CountDownLatch(1);
+        executor.execute(job, new Runnable() {
+            @Override
+            public void run() {
+                counter.incrementAndGet();
+                done.countDown();
+            }
+        });
+        eq(1, executor.size("report"));
+        eq(1, executor.pending("report"));
+        eq(0, counter.get());
+
+        blocker.countDown();
+        yes(done.await(5, TimeUnit.SECONDS));
+        eq(1, counter.get());
+        eq(0, executor.pending("report"));
+    }
+
+    @Test
+    public void jobWithoutPoolShallRunInDefaultPool() throws Exception {
+        final CountDownLatch done = new CountDownLatch(1);
+        executor.execute(job("default-job", null), new Runnable() {
+            @Override
+            public void run() {
+                done.countDown();
+            }
+        });
+        yes(done.await(5, TimeUnit.SECONDS));
+        eq(1, executor.pools().size());
+        yes(executor.pools().contains(JobExecutor.DEFAULT_POOL));
+        eq(2, executor.size(JobExecutor.DEFAULT_POOL));
+    }
+
+    private Job job(String id, String pool) {
+        Job job = new Job(id, mockJobManager);
+        job.pool(pool);
+        return job;
+    }
+
+    private static class Blocking implements Runnable {
+        private final CountDownLatch started;
+        private final CountDownLatch blocker;
+
+        Blocking(CountDownLatch started, CountDownLatch blocker) {
+            this.started = started;
+            this.blocker = blocker;
+        }
+
+        @Override
+        public void run() {
+            started.countDown();
+            try {
+                blocker.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+}
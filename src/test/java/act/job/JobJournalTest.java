@@ -0,0 +1,143 @@
+package act.job;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import osgl.ut.TestBase;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.List;
+
+public class JobJournalTest extends TestBase {
+
+    private File dir;
+    private File file;
+    private JobJournal journal;
+
+    @Before
+    public void prepare() throws Exception {
+        dir = Files.createTempDirectory("job-journal").toFile();
+        file = new File(dir, DurableJobs.JOURNAL_FILE);
+        journal = new JobJournal(file);
+    }
+
+    @After
+    public void cleanup() throws Exception {
+        journal.close();
+        new File(dir, DurableJobs.JOURNAL_FILE + ".compact").delete();
+        file.delete();
+        dir.delete();
+    }
+
+    @Test
+    public void pendingJobsShallBeReplayedAfterReopen() throws Exception {
+        journal.add(entry("a", 1));
+        journal.add(entry("b", 2));
+        journal.add(entry("c", 3));
+        yes(journal.done("b"));
+        no(journal.done("b"));
+        reopen();
+        List<JobJournal.Entry> entries = journal.entries();
+        eq(2, entries.size());
+        eq("a", entries.get(0).id);
+        eq("payload-a", entries.get(0).payload);
+        eq("org.example.Handler", entries.get(0).handler);
+        eq(1L, entries.get(0).dueAt);
+        eq("c", entries.get(1).id);
+    }
+
+    @Test
+    public void tornRecordShallBeDiscarded() throws Exception {
+        journal.add(entry("a", 1));
+        int end = journal.size();
+        journal.add(entry("b", 2));
+        int torn = journal.size();
+        journal.close();
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(torn - 2);
+            raf.write(new byte[]{7, 7});
+        }
+        journal = new JobJournal(file);
+        eq(1, journal.pending());
+        eq(end, journal.size());
+        journal.add(entry("c", 3));
+        reopen();
+        eq(2, journal.pending());
+        eq("c", journal.entries().get(1).id);
+    }
+
+    @Test
+    public void compactionShallKeepPendingJobsOnly() throws Exception {
+        for (int i = 0; i < 1000; ++i) {
+            journal.add(entry("job" + i, i));
+        }
+        for (int i = 0; i < 1000; i += 4) {
+            journal.done("job" + i);
+        }
+        for (int i = 1; i < 1000; i += 4) {
+            journal.done("job" + i);
+        }
+        int size = journal.size();
+        yes(journal.needsCompaction(1024));
+        no(journal.needsCompaction(size));
+        journal.compact();
+        eq(500, journal.pending());
+        yes(journal.size() < size / 2);
+        no(journal.needsCompaction(1024));
+        reopen();
+        eq(500, journal.pending());
+        eq("job2", journal.entries().get(0).id);
+    }
+
+    @Test
+    public void retryShallSurviveReopenAndCompaction() throws Exception {
+        journal.add(entry("a", 1));
+        journal.add(entry("b", 2));
+        yes(journal.retry(journal.entry("a").retry(10)));
+        journal.done("b");
+        no(journal.retry(entry("b", 2).retry(20)));
+        reopen();
+        JobJournal.Entry a = journal.entry("a");
+        eq(1, a.attempts);
+        eq(10L, a.dueAt);
+        eq("payload-a", a.payload);
+        isNull(journal.entry("b"));
+        journal.compact();
+        reopen();
+        eq(1, journal.pending());
+        eq(1, journal.entry("a").attempts);
+        eq(10L, journal.entry("a").dueAt);
+    }
+
+    private void reopen() throws Exception {
+        journal.close();
+        journal = new JobJournal(file);
+    }
+
+    private static JobJournal.Entry entry(String id, long dueAt) {
+        return new JobJournal.Entry(id, "org.example.Handler", "payload-" + id, dueAt);
+    }
+
+}
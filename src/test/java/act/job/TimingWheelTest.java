@@ -0,0 +1,143 @@
+package act.job;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.app.AppThreadFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import osgl.ut.TestBase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TimingWheelTest extends TestBase {
+
+    private TimingWheel wheel;
+
+    @Before
+    public void prepare() {
+        // a small wheel so that tasks cascade through several levels
+        wheel = new TimingWheel(1, TimeUnit.MILLISECONDS, 4, new AppThreadFactory("timing-wheel-test", true));
+    }
+
+    @After
+    public void cleanup() {
+        wheel.destroy();
+    }
+
+    @Test
+    public void taskShallNotRunBeforeDeadline() throws Exception {
+        final int count = 200;
+        final CountDownLatch latch = new CountDownLatch(count);
+        final AtomicInteger early = new AtomicInteger();
+        final long start = System.nanoTime();
+        for (int i = 0; i < count; ++i) {
+            final long delay = (i * 7) % 300;
+            wheel.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    if (TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < delay) {
+                        early.incrementAndGet();
+                    }
+                    latch.countDown();
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+        }
+        yes(latch.await(5, TimeUnit.SECONDS));
+        eq(0, early.get());
+        eq(0, wheel.pending());
+    }
+
+    @Test
+    public void cancelledTaskShallNotRun() throws Exception {
+        final AtomicInteger counter = new AtomicInteger();
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                counter.incrementAndGet();
+            }
+        };
+        List<TimingWheel.Timeout> timeouts = new ArrayList<>();
+        for (int i = 0; i < 100; ++i) {
+            timeouts.add(wheel.schedule(task, 100 + i, TimeUnit.MILLISECONDS));
+        }
+        eq(100, wheel.pending());
+        for (TimingWheel.Timeout timeout : timeouts) {
+            yes(timeout.cancel());
+            yes(timeout.isCancelled());
+        }
+        eq(0, wheel.pending());
+        Thread.sleep(400);
+        eq(0, counter.get());
+    }
+
+    @Test
+    public void periodicTaskShallRunUntilCancelled() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(3);
+        final AtomicInteger counter = new AtomicInteger();
+        TimingWheel.Timeout timeout = wheel.scheduleAtFixedRate(new Runnable() {
+            @Override
+            public void run() {
+                counter.incrementAndGet();
+                latch.countDown();
+            }
+        }, 10, 20, TimeUnit.MILLISECONDS);
+        yes(latch.await(2, TimeUnit.SECONDS));
+        no(timeout.isDone());
+        eq(1, wheel.pending());
+        yes(timeout.cancel());
+        Thread.sleep(50);
+        int n = counter.get();
+        Thread.sleep(100);
+        eq(n, counter.get());
+    }
+
+    @Test
+    public void expiredTaskCannotBeCancelled() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        TimingWheel.Timeout timeout = wheel.schedule(new Runnable() {
+            @Override
+            public void run() {
+                latch.countDown();
+            }
+        }, 0, TimeUnit.MILLISECONDS);
+        yes(latch.await(2, TimeUnit.SECONDS));
+        yes(timeout.isDone());
+        no(timeout.cancel());
+        no(timeout.isCancelled());
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    public void stoppedWheelShallRejectTask() {
+        wheel.destroy();
+        wheel.schedule(new Runnable() {
+            @Override
+            public void run() {
+            }
+        }, 1, TimeUnit.SECONDS);
+    }
+
+}
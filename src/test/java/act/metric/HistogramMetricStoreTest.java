@@ -0,0 +1,108 @@
+package act.metric;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.ActTestBase;
+import org.junit.Before;
+import org.junit.Test;
+
+public class HistogramMetricStoreTest extends ActTestBase {
+    private HistogramMetricStore store;
+
+    @Before
+    public void prepare() {
+        store = new HistogramMetricStore(new HistogramMetricPlugin());
+    }
+
+    @Test
+    public void countOnceShallAggregateToParentCounter() {
+        store.countOnce("a:b:c");
+        store.countOnce("a:x:y");
+        store.countOnce("a:b:d");
+        store.countOnce("abc");
+        eq(1L, store.count("a:b:c"));
+        eq(2L, store.count("a:b"));
+        eq(3L, store.count("a"));
+        eq(1L, store.count("abc"));
+    }
+
+    @Test
+    public void timerShallReportPercentiles() {
+        for (int i = 1; i <= 1000; ++i) {
+            store.onTimerStop(new FixedTimer("a:b", i * 1000L));
+        }
+        HistogramInfo info = store.histogram("a:b");
+        eq(1000L, info.getCount());
+        eq(1000000L, info.getMax());
+        assertWithin(500000L, info.getP50());
+        assertWithin(990000L, info.getP99());
+        assertWithin(999000L, info.getP999());
+        eq(1000L, store.histogram("a").getCount());
+        yes(info.getRate1m() > 0.0d);
+    }
+
+    @Test
+    public void bucketShallCoverValue() {
+        long[] values = {0L, 1L, 7L, 8L, 15L, 16L, 17L, 1000L, 123456789L, Long.MAX_VALUE};
+        for (long v : values) {
+            int bucket = LatencyHistogram.bucketOf(v);
+            yes(bucket < LatencyHistogram.BUCKETS);
+            yes(LatencyHistogram.highestValueOf(bucket) >= v);
+            if (bucket > 0) {
+                yes(LatencyHistogram.highestValueOf(bucket - 1) < v);
+            }
+        }
+    }
+
+    // percentile reported shall be within the 12.5% precision of the histogram
+    private void assertWithin(long expected, long actual) {
+        yes(actual >= expected);
+        yes(actual <= expected + expected / LatencyHistogram.SUB_BUCKETS);
+    }
+
+    private static class FixedTimer implements Timer {
+        private String name;
+        private long ns;
+
+        FixedTimer(String name, long ns) {
+            this.name = name;
+            this.ns = ns;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public void stop() {
+        }
+
+        @Override
+        public long ns() {
+            return ns;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package act.metric;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.ActTestBase;
+import org.junit.Test;
+
+import java.io.StringWriter;
+
+public class OpenMetricsHandlerTest extends ActTestBase {
+
+    @Test
+    public void itShallWriteCountersAndTimers() throws Exception {
+        HistogramMetricPlugin plugin = new HistogramMetricPlugin();
+        HistogramMetricStore store = plugin.metricStore();
+        store.countOnce("act:http");
+        store.onTimerStop(new SimpleTimer("act:http:\"x\"", store));
+        StringWriter w = new StringWriter();
+        OpenMetricsHandler.write(w, plugin);
+        String s = w.toString();
+        yes(s.contains("act_counter_total{name=\"act:http\"} 2\n"));
+        yes(s.contains("act_timer_seconds_count{name=\"act:http:\\\"x\\\"\"} 1\n"));
+        yes(s.contains("act_timer_seconds{name=\"act:http\",quantile=\"0.99\"} "));
+        yes(s.contains("jvm_memory_used_bytes{area=\"heap\"} "));
+        yes(s.endsWith("# EOF\n"));
+    }
+
+}
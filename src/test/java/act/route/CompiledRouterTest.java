@@ -0,0 +1,66 @@
+package act.route;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2017 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.osgl.http.H.Method.GET;
+
+import act.handler.RequestHandler;
+import act.handler.builtin.AlwaysBadRequest;
+import act.handler.builtin.AlwaysNotFound;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+/**
+ * Run all {@link RouterTest} cases against the compiled routing engine
+ */
+public class CompiledRouterTest extends RouterTest {
+
+    @Override
+    protected void buildRouteMapping(Router router) {
+        router.compiledRouting(true);
+    }
+
+    @Test
+    public void itShallNotMatchPartOfMergedEdge() {
+        router.addMapping(GET, "/abc/134/foo/bar", controller);
+        same(AlwaysNotFound.INSTANCE, router.getInvoker(GET, "/abc/134", ctx));
+        same(AlwaysNotFound.INSTANCE, router.getInvoker(GET, "/abc/134/foobar", ctx));
+        same(controller, router.getInvoker(GET, "/abc/134/foo/bar/", ctx));
+    }
+
+    @Test
+    public void itShallRebuildTrieAfterRouteMappingChanged() {
+        router.addMapping(GET, "/foo", controller);
+        same(controller, router.getInvoker(GET, "/foo", ctx));
+        same(AlwaysNotFound.INSTANCE, router.getInvoker(GET, "/bar", ctx));
+        router.addMapping(GET, "/bar", controller);
+        same(controller, router.getInvoker(GET, "/bar", ctx));
+    }
+
+    @Test
+    public void itShallReturnBadRequestWhenDynamicPartNotMatched() {
+        router.addMapping(GET, "/int/{n<[0-9]+>}", controller);
+        RequestHandler handler = router.getInvoker(GET, "/int/abc", ctx);
+        same(AlwaysBadRequest.INSTANCE, handler);
+        Mockito.verify(ctx, Mockito.never()).urlPathParam(Mockito.anyString(), Mockito.anyString());
+    }
+
+}
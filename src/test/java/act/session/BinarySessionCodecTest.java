@@ -0,0 +1,97 @@
+package act.session;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import act.ActTestBase;
+import act.crypto.RotateSecretCrypto;
+import org.junit.Before;
+import org.junit.Test;
+import org.osgl.http.H;
+import org.osgl.util.S;
+
+public class BinarySessionCodecTest extends ActTestBase {
+
+    private RotateSecretCrypto crypto;
+
+    @Before
+    public void prepare() throws Exception {
+        super.setup();
+        when(mockAppConfig.sessionKeyUsername()).thenReturn("username");
+        when(mockAppConfig.csrfCookieName()).thenReturn("XSRF-TOKEN");
+        RotationSecretProvider secretProvider = mock(RotationSecretProvider.class);
+        when(secretProvider.rawSecret()).thenReturn("secret");
+        crypto = new RotateSecretCrypto(secretProvider);
+    }
+
+    @Test
+    public void sessionShallSurviveRoundTrip() {
+        BinarySessionCodec codec = new BinarySessionCodec(mockAppConfig, crypto);
+        H.Session session = session();
+        String encoded = codec.encodeSession(session);
+        H.Session decoded = codec.decodeSession(encoded, mockReq);
+        eq(session.get("username"), decoded.get("username"));
+        eq("bar", decoded.get("foo"));
+        eq(session.id(), decoded.id());
+    }
+
+    @Test
+    public void compressedSessionShallSurviveRoundTrip() {
+        when(mockAppConfig.sessionCompressThreshold()).thenReturn(16);
+        BinarySessionCodec codec = new BinarySessionCodec(mockAppConfig, crypto);
+        H.Session session = session();
+        String repeated = S.times("abcd", 100);
+        session.put("repeated", repeated);
+        String encoded = codec.encodeSession(session);
+        yes(encoded.length() < repeated.length());
+        eq(repeated, codec.decodeSession(encoded, mockReq).get("repeated"));
+    }
+
+    @Test
+    public void tamperedSessionShallBeDropped() {
+        BinarySessionCodec codec = new BinarySessionCodec(mockAppConfig, crypto);
+        String encoded = codec.encodeSession(session());
+        String tampered = encoded.substring(0, encoded.length() - 2) + (encoded.endsWith("AA") ? "BB" : "AA");
+        H.Session decoded = codec.decodeSession(tampered, mockReq);
+        isNull(decoded.get("username"));
+    }
+
+    @Test
+    public void flashShallSurviveRoundTrip() {
+        BinarySessionCodec codec = new BinarySessionCodec(mockAppConfig, crypto);
+        H.Flash flash = new H.Flash();
+        flash.error("oops");
+        flash.put("foo", "bar");
+        H.Flash decoded = codec.decodeFlash(codec.encodeFlash(flash));
+        eq("oops", decoded.error());
+        eq("bar", decoded.get("foo"));
+    }
+
+    private H.Session session() {
+        H.Session session = new H.Session();
+        session.put("username", "tom@act.org");
+        session.put("foo", "bar");
+        return session;
+    }
+
+}
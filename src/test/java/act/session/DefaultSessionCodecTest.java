@@ -0,0 +1,81 @@
+package act.session;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import act.ActTestBase;
+import act.crypto.RotateSecretCrypto;
+import org.junit.Before;
+import org.junit.Test;
+import org.osgl.http.H;
+
+public class DefaultSessionCodecTest extends ActTestBase {
+
+    private DefaultSessionCodec codec;
+
+    @Before
+    public void prepare() throws Exception {
+        super.setup();
+        RotationSecretProvider secretProvider = mock(RotationSecretProvider.class);
+        when(secretProvider.rawSecret()).thenReturn("secret");
+        codec = new DefaultSessionCodec(mockAppConfig, new RotateSecretCrypto(secretProvider));
+    }
+
+    @Test
+    public void sessionShallSurviveRoundTrip() {
+        H.Session session = new H.Session();
+        session.put("foo", "bar");
+        session.put("empty", "");
+        H.Session decoded = codec.decodeSession(codec.encodeSession(session), mockReq);
+        eq(session.id(), decoded.id());
+        eq("bar", decoded.get("foo"));
+        eq("", decoded.get("empty"));
+    }
+
+    @Test
+    public void flashShallSurviveRoundTrip() {
+        H.Flash flash = new H.Flash();
+        flash.put("empty", "");
+        flash.put("foo", "bar");
+        H.Flash decoded = codec.decodeFlash(codec.encodeFlash(flash));
+        eq("", decoded.get("empty"));
+        eq("bar", decoded.get("foo"));
+    }
+
+    @Test
+    public void repeatedSeparatorsShallBeSkipped() {
+        H.Flash decoded = codec.decodeFlash("k\u0001\u0001v\u0000\u0000\u0001a\u0001b\u0000e\u0001");
+        eq("v", decoded.get("k"));
+        eq("b", decoded.get("a"));
+        eq("", decoded.get("e"));
+    }
+
+    @Test
+    public void malformedPairsShallBeDropped() {
+        H.Flash decoded = codec.decodeFlash("k\u0000a\u0001b\u0001c\u0000foo\u0001bar");
+        isNull(decoded.get("k"));
+        isNull(decoded.get("a"));
+        eq("bar", decoded.get("foo"));
+    }
+
+}
@@ -71,6 +71,37 @@ public class JWTTest extends TestBase {
         eq(token, decoded);
     }
 
+    @Test
+    public void testClaims() {
+        JWT.Claims claims = jwt.claims(encoded);
+        notNull(claims);
+        eq(TOKEN_ID, claims.id());
+        eq((long) EXPIRE_AT, claims.expiresAt());
+        isNull(claims.subject());
+    }
+
+    @Test
+    public void testClaimsOfTamperedToken() {
+        String tampered = encoded.substring(0, encoded.length() - 2) + (encoded.endsWith("AA") ? "BB" : "AA");
+        isNull(jwt.claims(tampered));
+        isNull(jwt.deserialize(tampered));
+    }
+
+    @Test
+    public void cachedTokenShallNotBeAffectedByChangesToDecodedToken() {
+        JWT.Token decoded = jwt.deserialize(encoded);
+        decoded.payload(KEY_USERNAME, "jack@gmail.com");
+        eq(token, jwt.deserialize(encoded));
+    }
+
+    @Test
+    public void expiredTokenShallBeRejected() {
+        token.payload(EXPIRES_AT, (int) ($.ms() / 1000) - 1);
+        String expired = jwt.serialize(token);
+        isNull(jwt.deserialize(expired));
+        isNull(jwt.claims(expired));
+    }
+
     private String fromAuth0() throws Exception {
         JWTCreator.Builder builder = com.auth0.jwt.JWT.create();
         builder.withIssuer(ISSUER);
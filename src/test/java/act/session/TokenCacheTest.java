@@ -0,0 +1,73 @@
+package act.session;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.ActTestBase;
+import org.junit.Test;
+
+public class TokenCacheTest extends ActTestBase {
+
+    @Test
+    public void itShallReturnCachedValue() {
+        TokenCache<String> cache = new TokenCache<>(10, 0);
+        cache.put("a", "A", 0);
+        eq("A", cache.get("a", 0));
+        isNull(cache.get("b", 0));
+    }
+
+    @Test
+    public void itShallBeBounded() {
+        TokenCache<String> cache = new TokenCache<>(10, 0);
+        for (int i = 0; i < 100; ++i) {
+            cache.put("k" + i, "v" + i, 0);
+        }
+        yes(cache.size() <= 20);
+        isNull(cache.get("k0", 0));
+        eq("v99", cache.get("k99", 0));
+    }
+
+    @Test
+    public void frequentlyUsedEntryShallSurviveTurnover() {
+        TokenCache<String> cache = new TokenCache<>(10, 0);
+        cache.put("hot", "H", 0);
+        for (int i = 0; i < 100; ++i) {
+            cache.put("k" + i, "v" + i, 0);
+            eq("H", cache.get("hot", 0));
+        }
+    }
+
+    @Test
+    public void entryShallExpireAfterMaxAge() {
+        TokenCache<String> cache = new TokenCache<>(10, 1000);
+        cache.put("a", "A", 0);
+        eq("A", cache.get("a", 1000));
+        isNull(cache.get("a", 1001));
+    }
+
+    @Test
+    public void entryShallExpireAtGivenTime() {
+        TokenCache<String> cache = new TokenCache<>(10, 0);
+        cache.put("a", "A", 0, 500);
+        eq("A", cache.get("a", 499));
+        isNull(cache.get("a", 500));
+    }
+
+}
@@ -0,0 +1,112 @@
+package act.util;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2017 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.ActTestBase;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+public class BufferPoolTest extends ActTestBase {
+
+    private BufferPool pool;
+
+    @Before
+    public void prepare() throws Exception {
+        super.setup();
+        pool = new BufferPool(64 * 1024, 1024 * 1024, true);
+    }
+
+    @Test
+    public void releasedBufferShallBeReused() {
+        PooledBuffer buffer = pool.acquire(100);
+        ByteBuffer bb = buffer.buffer();
+        eq(BufferPool.MIN_BUFFER_SIZE, bb.capacity());
+        yes(bb.isDirect());
+        buffer.release();
+        // the second release has no effect
+        buffer.release();
+        PooledBuffer buffer2 = pool.acquire(BufferPool.MIN_BUFFER_SIZE);
+        same(bb, buffer2.buffer());
+        PooledBuffer buffer3 = pool.acquire(BufferPool.MIN_BUFFER_SIZE);
+        assertNotSame(bb, buffer3.buffer());
+        buffer2.release();
+        buffer3.release();
+    }
+
+    @Test
+    public void oversizeBufferShallBeAllocatedOnHeap() {
+        PooledBuffer buffer = pool.acquire(pool.maxBufferSize() + 1);
+        no(buffer.buffer().isDirect());
+        buffer.release();
+    }
+
+    @Test
+    public void encodeShallProduceUtf8() {
+        verifyEncode("hello world");
+        verifyEncode("héllo 中文 😀!");
+        eq("a?b", decode(pool.encode("a\uD800b")));
+        eq("a?", decode(pool.encode("a\uDC00")));
+    }
+
+    @Test
+    public void encodeShallReturnNullIfContentIsTooLarge() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < pool.maxBufferSize() / 3 + 1; ++i) {
+            sb.append('中');
+        }
+        assertNull(pool.encode(sb));
+    }
+
+    @Test
+    public void outputStreamShallGrowAcrossSizeClasses() {
+        byte[] data = new byte[200 * 1024];
+        new Random(1).nextBytes(data);
+        PooledOutputStream os = new PooledOutputStream(pool);
+        for (int i = 0; i < data.length; i += 777) {
+            os.write(data, i, Math.min(777, data.length - i));
+        }
+        eq(data.length, os.size());
+        assertArrayEquals(data, os.toByteArray());
+        os.release();
+        eq(0, os.size());
+    }
+
+    private void verifyEncode(String s) {
+        PooledBuffer buffer = pool.encode(s);
+        eq(s, decode(buffer));
+    }
+
+    private static String decode(PooledBuffer buffer) {
+        try {
+            ByteBuffer bb = buffer.buffer();
+            byte[] ba = new byte[bb.remaining()];
+            bb.get(ba);
+            return new String(ba, StandardCharsets.UTF_8);
+        } finally {
+            buffer.release();
+        }
+    }
+
+}
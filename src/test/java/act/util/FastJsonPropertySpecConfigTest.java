@@ -0,0 +1,119 @@
+package act.util;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2017 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.ActTestBase;
+import act.data.DataPropertyRepository;
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.serializer.SerializeConfig;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.osgl.util.C;
+
+import java.util.List;
+
+public class FastJsonPropertySpecConfigTest extends ActTestBase {
+    private FastJsonPropertyPreFilter filter;
+    private Foo foo;
+    private Foo foo2;
+
+    @BeforeClass
+    public static void classInit() {
+        FastJsonPropertyPreFilter.testClassInit();
+    }
+
+    @Before
+    public void prepare() throws Exception {
+        super.setup();
+        filter = new FastJsonPropertyPreFilter();
+        Zee zee = new Zee("zee", false);
+        Zee zee2 = new Zee("zee2", true);
+        Bar bar = new Bar("bar", 5, zee);
+        Bar bar1 = new Bar("bar1", 4, zee2);
+        Bar bar2 = new Bar("bar2", 3, null);
+        foo = new Foo("foo", bar);
+        foo2 = new Foo("foo2", bar, bar1, bar2);
+        JsonUtilConfig.configure(mockApp);
+        DataPropertyRepository repo = new DataPropertyRepository(mockApp);
+        filter.setFullPaths(repo.propertyListOf(Foo.class));
+    }
+
+    @Test
+    public void testIncludes() {
+        filter.addIncludes("bar/zee/flag,bar.age,name");
+        verify(foo);
+    }
+
+    @Test
+    public void testExcludes() {
+        filter.addExcludes("bar/zee/flag,name");
+        verify(foo2);
+    }
+
+    @Test
+    public void testPatternIncludes() {
+        filter.addIncludes(".*\\.flag");
+        verify(foo2);
+    }
+
+    @Test
+    public void testPatternExcludes() {
+        filter.addExcludes("(.*\\.)?name");
+        verify(foo2);
+    }
+
+    @Test
+    public void testTypeSelectedDifferentlyByPath() {
+        filter.addIncludes("bar.name,barList.age");
+        verify(foo2);
+    }
+
+    @Test
+    public void testCollection() {
+        filter.addIncludes("name,zee.flag");
+        List<Bar> bars = C.list(foo2.bar, foo2.barList.get(0), foo2.barList.get(1));
+        SerializeConfig config = FastJsonPropertySpecConfig.compile(Bar.class, filter, SerializeConfig.getGlobalInstance());
+        assertNotNull(config);
+        eq(JSON.toJSONString(bars, filter), JSON.toJSONString(bars, config));
+    }
+
+    @Test
+    public void testUntypedProperty() {
+        // value of any type could be found at `content`
+        FastJsonPropertyPreFilter filter = new FastJsonPropertyPreFilter("name,content");
+        assertNull(FastJsonPropertySpecConfig.compile(Box.class, filter, SerializeConfig.getGlobalInstance()));
+        filter = new FastJsonPropertyPreFilter("name");
+        assertNotNull(FastJsonPropertySpecConfig.compile(Box.class, filter, SerializeConfig.getGlobalInstance()));
+    }
+
+    private void verify(Foo foo) {
+        SerializeConfig config = FastJsonPropertySpecConfig.compile(Foo.class, filter, SerializeConfig.getGlobalInstance());
+        assertNotNull(config);
+        eq(JSON.toJSONString(foo, filter), JSON.toJSONString(foo, config));
+    }
+
+    public static class Box {
+        public String name;
+        public Object content;
+    }
+
+}
@@ -0,0 +1,68 @@
+package act.util;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.ActTestBase;
+import org.junit.Test;
+import org.osgl.$;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.*;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+public class JarsTest extends ActTestBase {
+
+    @Test
+    public void parallelIndexShallMergeJarsInOrder() throws IOException {
+        List<File> jars = new ArrayList<>();
+        jars.add(jar("a", "foo/A.class", "a", "conf/app.properties", "x=1\ny=1"));
+        jars.add(jar("b", "foo/B.class", "b", "conf/app.properties", "y=2"));
+        jars.add(jar("c", "foo/A.class", "c", "conf/prod/app.properties", "z=3"));
+        Map<String, Properties> conf = new HashMap<>();
+        Map<String, byte[]> index = Jars.buildClassNameIndex(jars, $.F.FALSE, conf);
+        eq(2, index.size());
+        // the later jar wins as in sequential scanning
+        eq("c", new String(index.get("foo.A")));
+        eq("b", new String(index.get("foo.B")));
+        Properties common = conf.get("common");
+        eq("1", common.getProperty("x"));
+        eq("2", common.getProperty("y"));
+        eq("3", conf.get("prod").getProperty("z"));
+    }
+
+    private static File jar(String name, String classEntry, String classContent, String confEntry, String confContent) throws IOException {
+        File file = File.createTempFile("jars-test-" + name, ".jar");
+        file.deleteOnExit();
+        try (JarOutputStream jos = new JarOutputStream(new FileOutputStream(file))) {
+            jos.putNextEntry(new JarEntry(classEntry));
+            jos.write(classContent.getBytes());
+            jos.closeEntry();
+            jos.putNextEntry(new JarEntry(confEntry));
+            jos.write(confContent.getBytes());
+            jos.closeEntry();
+        }
+        return file;
+    }
+
+}
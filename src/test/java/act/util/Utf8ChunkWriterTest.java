@@ -0,0 +1,109 @@
+package act.util;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.junit.Before;
+import org.junit.Test;
+import osgl.ut.TestBase;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+public class Utf8ChunkWriterTest extends TestBase {
+
+    private static class ChunkRecorder extends ByteArrayOutputStream {
+        List<Integer> chunks = new ArrayList<>();
+        int flushed;
+        boolean closed;
+
+        @Override
+        public void flush() {
+            chunks.add(size() - flushed);
+            flushed = size();
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    private ChunkRecorder os;
+
+    @Before
+    public void prepare() {
+        os = new ChunkRecorder();
+    }
+
+    @Test
+    public void itShallEncodeUtf8() throws IOException {
+        String s = "abcé中😀[]";
+        Utf8ChunkWriter writer = new Utf8ChunkWriter(os, 4);
+        writer.write(s);
+        writer.close();
+        eq(s, new String(os.toByteArray(), StandardCharsets.UTF_8));
+        yes(os.closed);
+    }
+
+    @Test
+    public void itShallEncodeSurrogatePairSplitAcrossWrites() throws IOException {
+        Utf8ChunkWriter writer = new Utf8ChunkWriter(os, 16);
+        writer.write('\ud83d');
+        writer.write("\ude00x");
+        writer.close();
+        eq("😀x", new String(os.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void itShallReplaceUnpairedSurrogate() throws IOException {
+        Utf8ChunkWriter writer = new Utf8ChunkWriter(os, 16);
+        writer.write("a\ude00b\ud83d");
+        writer.close();
+        eq("a?b?", new String(os.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void itShallWriteFixedSizeChunks() throws IOException {
+        Utf8ChunkWriter writer = new Utf8ChunkWriter(os, 8);
+        writer.write("0123456789abcdefghij");
+        writer.flush();
+        // flush does not send partial chunk
+        eq(2, os.chunks.size());
+        writer.close();
+        eq(3, os.chunks.size());
+        eq(8, (int) os.chunks.get(0));
+        eq(8, (int) os.chunks.get(1));
+        eq(4, (int) os.chunks.get(2));
+    }
+
+    @Test
+    public void multiByteCharShallNotSpanChunks() throws IOException {
+        Utf8ChunkWriter writer = new Utf8ChunkWriter(os, 4);
+        writer.write("ab中");
+        writer.close();
+        eq(2, (int) os.chunks.get(0));
+        eq(3, (int) os.chunks.get(1));
+    }
+
+}
@@ -0,0 +1,105 @@
+package act.view;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.ActTestBase;
+import act.MockResponse;
+import act.RequestImplBase;
+import act.app.ActionContext;
+import org.junit.Before;
+import org.junit.Test;
+import org.osgl.http.H;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class RenderJsonStreamTest extends ActTestBase {
+
+    private ActionContext ctx;
+    private MockResponse resp;
+
+    @Before
+    public void prepare() throws Exception {
+        super.setup();
+        when(mockAppConfig.locale()).thenReturn(Locale.ENGLISH);
+        resp = new MockResponse();
+        RequestImplBase req = mock(RequestImplBase.class);
+        when(req.method()).thenReturn(H.Method.GET);
+        ctx = ActionContext.create(mockApp, req, resp);
+        when(req.context()).thenReturn(ctx);
+    }
+
+    @Test
+    public void smallArrayShallBeSentInFull() {
+        when(mockAppConfig.renderJsonStreamChunkSize()).thenReturn(8192);
+        List<String> elements = elements(3);
+        render(elements.iterator());
+        eq("[\"item-0\",\"item-1\",\"item-2\"]", content());
+    }
+
+    @Test
+    public void arrayShallBeSentAcrossChunks() {
+        when(mockAppConfig.renderJsonStreamChunkSize()).thenReturn(16);
+        List<String> elements = elements(100);
+        render(elements.iterator());
+        StringBuilder expected = new StringBuilder("[");
+        for (int i = 0; i < elements.size(); ++i) {
+            if (i > 0) {
+                expected.append(',');
+            }
+            expected.append('"').append(elements.get(i)).append('"');
+        }
+        expected.append(']');
+        eq(expected.toString(), content());
+    }
+
+    @Test
+    public void emptyArrayShallBeSent() {
+        when(mockAppConfig.renderJsonStreamChunkSize()).thenReturn(8192);
+        render(new ArrayList<String>().iterator());
+        eq("[]", content());
+    }
+
+    private void render(Iterator<?> iterator) {
+        new RenderJsonStream(H.Status.OK, iterator, null, ctx).apply(ctx.req(), resp);
+    }
+
+    private String content() {
+        ByteArrayOutputStream baos = (ByteArrayOutputStream) resp.outputStream();
+        return new String(baos.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static List<String> elements(int n) {
+        List<String> list = new ArrayList<>();
+        for (int i = 0; i < n; ++i) {
+            list.add("item-" + i);
+        }
+        return list;
+    }
+
+}
@@ -0,0 +1,147 @@
+package act.view;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.ActTestBase;
+import act.MockResponse;
+import act.RequestImplBase;
+import act.app.ActionContext;
+import act.data.DataPropertyRepository;
+import act.handler.RequestHandler;
+import act.security.CORS;
+import act.util.ActContext;
+import act.util.PropertySpec;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Matchers;
+import org.osgl.$;
+import org.osgl.http.H;
+import org.osgl.util.C;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class RenderRowsTest extends ActTestBase {
+
+    public static class Item {
+        private String name;
+        private int qty;
+
+        Item(String name, int qty) {
+            this.name = name;
+            this.qty = qty;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getQty() {
+            return qty;
+        }
+    }
+
+    private ActionContext ctx;
+    private MockResponse resp;
+
+    @Before
+    public void prepare() throws Exception {
+        super.setup();
+        when(mockAppConfig.locale()).thenReturn(Locale.ENGLISH);
+        DataPropertyRepository repo = mock(DataPropertyRepository.class);
+        when(repo.outputFields(Matchers.any(PropertySpec.MetaInfo.class), Matchers.eq(Item.class), Matchers.any(ActContext.class))).thenReturn(C.list("name", "qty"));
+        when(mockApp.service(DataPropertyRepository.class)).thenReturn(repo);
+        resp = new MockResponse();
+        RequestImplBase req = mock(RequestImplBase.class);
+        when(req.method()).thenReturn(H.Method.GET);
+        ctx = ActionContext.create(mockApp, req, resp);
+        RequestHandler handler = mock(RequestHandler.class);
+        when(handler.sessionFree()).thenReturn(true);
+        when(handler.corsSpec()).thenReturn(CORS.Spec.DUMB);
+        ctx.handler(handler);
+        when(req.context()).thenReturn(ctx);
+    }
+
+    @Test
+    public void csvShallStartWithHeaderLine() {
+        String sep = $.OS.lineSeparator();
+        eq("name,qty" + sep + "a,1" + sep + "b,2", encode(new CsvRowEncoder(items(2).iterator(), null, ctx), 16));
+    }
+
+    @Test
+    public void csvShallBeEmptyForEmptySource() {
+        eq("", encode(new CsvRowEncoder(new ArrayList<Item>().iterator(), null, ctx), 16));
+    }
+
+    @Test
+    public void ndjsonShallWriteOneObjectPerLine() {
+        eq("{\"name\":\"a\",\"qty\":1}\n{\"name\":\"b\",\"qty\":2}\n", encode(new NdJsonRowEncoder(items(2).iterator(), null, ctx), 7));
+    }
+
+    @Test
+    public void ndjsonShallBeSentThroughResponse() {
+        RenderRows.ndjson(H.Status.OK, items(1).iterator(), null, ctx).apply(ctx.req(), resp);
+        yes(resp.contentType.startsWith(RenderRows.NDJSON_CONTENT_TYPE));
+        ByteArrayOutputStream baos = (ByteArrayOutputStream) resp.outputStream();
+        eq("{\"name\":\"a\",\"qty\":1}\n", new String(baos.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void elementStreamShallBeRenderedAsRows() {
+        yes(RenderRows.accept(items(1).iterator(), ctx));
+        no(RenderRows.accept(items(1), ctx));
+        ctx.setLargeResponse();
+        yes(RenderRows.accept(items(1), ctx));
+        no(RenderRows.accept("a", ctx));
+    }
+
+    private static List<Item> items(int n) {
+        List<Item> list = new ArrayList<>();
+        for (int i = 0; i < n; ++i) {
+            list.add(new Item(String.valueOf((char) ('a' + i)), i + 1));
+        }
+        return list;
+    }
+
+    private static String encode(RowEncoder encoder, int bufferSize) {
+        ByteBuffer buffer = ByteBuffer.allocate(bufferSize);
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        boolean more = true;
+        try {
+            while (more) {
+                more = encoder.encode(buffer);
+                os.write(buffer.array(), 0, buffer.position());
+                buffer.clear();
+            }
+        } finally {
+            encoder.close();
+        }
+        return new String(os.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+}
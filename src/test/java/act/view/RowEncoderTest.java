@@ -0,0 +1,113 @@
+package act.view;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.junit.Test;
+import org.osgl.util.C;
+import org.osgl.util.IO;
+import osgl.ut.TestBase;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+
+public class RowEncoderTest extends TestBase {
+
+    private static class LineEncoder extends RowEncoder {
+        LineEncoder(Object source) {
+            super(source, "test");
+        }
+
+        @Override
+        protected void writeRow(Object row, boolean first, Writer writer) {
+            IO.write(row + "\n", writer);
+        }
+    }
+
+    private static class CloseableIterator implements Iterator<String>, Closeable {
+        Iterator<String> itr = C.list("a", "b").iterator();
+        boolean closed;
+
+        @Override
+        public boolean hasNext() {
+            return itr.hasNext();
+        }
+
+        @Override
+        public String next() {
+            return itr.next();
+        }
+
+        @Override
+        public void remove() {
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    @Test
+    public void itShallEncodeRowsAcrossBuffers() {
+        List<String> rows = C.newList();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 100; ++i) {
+            String row = "row-" + i + "-é中😀";
+            rows.add(row);
+            expected.append(row).append("\n");
+        }
+        eq(expected.toString(), encode(new LineEncoder(rows), 7));
+    }
+
+    @Test
+    public void itShallEncodeNothingForEmptySource() {
+        eq("", encode(new LineEncoder(C.list()), 16));
+    }
+
+    @Test
+    public void itShallCloseIteratorSource() {
+        CloseableIterator itr = new CloseableIterator();
+        eq("a\nb\n", encode(new LineEncoder(itr), 16));
+        yes(itr.closed);
+    }
+
+    private String encode(RowEncoder encoder, int bufferSize) {
+        ByteBuffer buffer = ByteBuffer.allocate(bufferSize);
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        boolean more = true;
+        try {
+            while (more) {
+                more = encoder.encode(buffer);
+                os.write(buffer.array(), 0, buffer.position());
+                buffer.clear();
+            }
+        } finally {
+            encoder.close();
+        }
+        return new String(os.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,100 @@
+package act.xio;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2019 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.ActTestBase;
+import org.junit.Test;
+import org.osgl.util.IO;
+import org.osgl.util.S;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+public class GzipEncodingTest extends ActTestBase {
+
+    private static final String CONTENT = S.times("hello gzip encoding ", 200);
+
+    @Test
+    public void encodedBufferShallBeReadableByGzipInputStream() throws Exception {
+        byte[] content = CONTENT.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer encoded = GzipEncoding.encode(ByteBuffer.wrap(content), 6);
+        yes(encoded.remaining() < content.length);
+        byte[] ba = new byte[encoded.remaining()];
+        encoded.get(ba);
+        eq(CONTENT, decode(ba));
+    }
+
+    @Test
+    public void pooledDeflaterShallBeReusable() throws Exception {
+        for (int i = 0; i < 3; ++i) {
+            ByteBuffer encoded = GzipEncoding.encode(ByteBuffer.wrap(CONTENT.getBytes(StandardCharsets.UTF_8)), 1 + i * 4);
+            byte[] ba = new byte[encoded.remaining()];
+            encoded.get(ba);
+            eq(CONTENT, decode(ba));
+        }
+    }
+
+    @Test
+    public void encodedStreamShallBeReadableByGzipInputStream() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        OutputStream os = GzipEncoding.encode(baos, 6);
+        byte[] content = CONTENT.getBytes(StandardCharsets.UTF_8);
+        os.write(content, 0, 100);
+        os.write(content, 100, content.length - 100);
+        os.close();
+        eq(CONTENT, decode(baos.toByteArray()));
+    }
+
+    @Test
+    public void itShallCheckAcceptEncoding() {
+        yes(GzipEncoding.accepted("gzip, deflate, br"));
+        yes(GzipEncoding.accepted("br;q=1.0, gzip;q=0.8"));
+        yes(GzipEncoding.accepted("*"));
+        no(GzipEncoding.accepted("gzip;q=0"));
+        no(GzipEncoding.accepted("deflate, br"));
+        no(GzipEncoding.accepted(null));
+    }
+
+    @Test
+    public void itShallCheckCompressibleContentType() {
+        yes(GzipEncoding.compressible("text/html; charset=utf-8"));
+        yes(GzipEncoding.compressible("application/json"));
+        yes(GzipEncoding.compressible("image/svg+xml"));
+        no(GzipEncoding.compressible("image/png"));
+        no(GzipEncoding.compressible((String) null));
+    }
+
+    @Test
+    public void gzipVariantShallHaveItsOwnEtag() {
+        eq("abc-gzip", GzipEncoding.etag("abc"));
+        eq("\"abc-gzip\"", GzipEncoding.etag("\"abc\""));
+    }
+
+    private static String decode(byte[] ba) throws Exception {
+        byte[] decoded = IO.readContent(new GZIPInputStream(new ByteArrayInputStream(ba)));
+        return new String(decoded, StandardCharsets.UTF_8);
+    }
+
+}
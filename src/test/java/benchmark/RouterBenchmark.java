@@ -54,8 +54,14 @@ import java.util.Map;
 @BenchmarkOptions(warmupRounds = 1, benchmarkRounds = 100 * 100)
 public class RouterBenchmark extends BenchmarkBase {
 
+    private static final int[] ROUTE_TABLE_SIZES = {100, 1000, 10000};
+
     private static Router router;
     private static RouteTableRouterBuilder builder;
+    // routers with generated routes, indexed by ROUTE_TABLE_SIZES
+    private static Router[] legacyRouters;
+    private static Router[] compiledRouters;
+    private static String[][] sampleUrls;
     private ActionContext ctx;
     private static AppConfig config;
     private static App app;
@@ -83,6 +89,45 @@ public class RouterBenchmark extends BenchmarkBase {
         Play.applicationPath = new File(FastStr.of(url.getPath()).beforeLast('/').toString());
         Play.routes = VirtualFile.fromRelativePath("routes");
         play.mvc.Router.load("");
+        prepareGeneratedRouters();
+    }
+
+    private static void prepareGeneratedRouters() {
+        int n = ROUTE_TABLE_SIZES.length;
+        legacyRouters = new Router[n];
+        compiledRouters = new Router[n];
+        sampleUrls = new String[n][];
+        for (int i = 0; i < n; ++i) {
+            int size = ROUTE_TABLE_SIZES[i];
+            legacyRouters[i] = generatedRouter(size, false);
+            compiledRouters[i] = generatedRouter(size, true);
+            String[] urls = new String[size];
+            for (int j = 0; j < size; ++j) {
+                int res = N.randInt(size / 3);
+                switch (j % 3) {
+                    case 0:
+                        urls[j] = S.fmt("/api/v1/res%s", res);
+                        break;
+                    case 1:
+                        urls[j] = S.fmt("/api/v1/res%s/%s", res, S.random(8));
+                        break;
+                    default:
+                        urls[j] = S.fmt("/api/v1/res%s/%s/items/%s", res, S.random(8), N.randInt(10000));
+                }
+            }
+            sampleUrls[i] = urls;
+        }
+    }
+
+    // generate routes of three kinds: static, path variable and regex path variable
+    private static Router generatedRouter(int size, boolean compiled) {
+        Router router = new Router(new MockRequestHandlerResolver(), app).compiledRouting(compiled);
+        for (int i = 0, resources = size / 3; i < resources; ++i) {
+            router.addMapping(GET, S.fmt("/api/v1/res%s", i), S.fmt("Res%s.list", i));
+            router.addMapping(GET, S.fmt("/api/v1/res%s/{id}", i), S.fmt("Res%s.get", i));
+            router.addMapping(GET, S.fmt("/api/v1/res%s/{id}/items/{itemId<[0-9]+>}", i), S.fmt("Res%s.item", i));
+        }
+        return router;
     }
 
     void osgl(H.Method method, String url, Object... args) {
@@ -189,6 +234,49 @@ public class RouterBenchmark extends BenchmarkBase {
         runTest(false, true, POST, "/shuju/tuiguang/%s/mubiao/%s/yemian/%s/remove", S.random(24), S.random(21), N.randInt(20));
     }
 
+    @Test
+    public void legacy_100Routes() {
+        runGeneratedRoutesTest(false, 0);
+    }
+
+    @Test
+    public void compiled_100Routes() {
+        runGeneratedRoutesTest(true, 0);
+    }
+
+    @Test
+    public void legacy_1000Routes() {
+        runGeneratedRoutesTest(false, 1);
+    }
+
+    @Test
+    public void compiled_1000Routes() {
+        runGeneratedRoutesTest(true, 1);
+    }
+
+    @Test
+    public void legacy_10000Routes() {
+        runGeneratedRoutesTest(false, 2);
+    }
+
+    @Test
+    public void compiled_10000Routes() {
+        runGeneratedRoutesTest(true, 2);
+    }
+
+    private void runGeneratedRoutesTest(boolean compiled, int sizeIdx) {
+        Router router = compiled ? compiledRouters[sizeIdx] : legacyRouters[sizeIdx];
+        String[] urls = sampleUrls[sizeIdx];
+        final int loop = 1000 * 100;
+        for (int i = 0; i < loop; ++i) {
+            String url = urls[i % urls.length];
+            H.Request req = new MockRequest(config, GET, url);
+            ActionContext ctx = ActionContext.create(app, req, new MockResponse());
+            RequestHandler handler = router.getInvoker(GET, url, ctx);
+            E.unexpectedIf(AlwaysBadRequest.INSTANCE == handler || AlwaysNotFound.INSTANCE == handler, "route not found: %s", url);
+        }
+    }
+
     private void runTest(boolean osgl, H.Method method, String url, Object... fmtArgs) {
         runTest(osgl, false, method, url, fmtArgs);
     }